@@ -110,7 +110,10 @@ public class Initialization extends Application {
 			System.setProperty(RegistrationConstants.MOSIP_HOSTNAME, System.getenv(RegistrationConstants.MOSIP_HOSTNAME));
 		}
 		
-		return new AnnotationConfigApplicationContext(AppConfig.class);
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(AppConfig.class);
+		// the client exits with System.exit, close the context so the beans are destroyed
+		context.registerShutdownHook();
+		return context;
 	}
 
 	@Override
@@ -16,7 +16,6 @@ import io.mosip.registration.config.AppConfig;
 import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.constants.RegistrationUIConstants;
 import io.mosip.registration.dto.SuccessResponseDTO;
-import io.mosip.registration.jobs.BaseJob;
 import io.mosip.registration.service.config.JobConfigurationService;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -77,10 +76,10 @@ public class RestartController extends BaseController {
 		if (successResponseDTO != null) {
 
 			/*
-			 * Remove the particular completed job from completed_job_map as user will
+			 * Remove the particular completed job from the job run as user will
 			 * receive alert
 			 */
-			BaseJob.removeCompletedJobInMap(
+			jobConfigurationService.getJobRun().remove(
 					(String) successResponseDTO.getOtherAttributes().get(RegistrationConstants.JOB_ID));
 
 			/* Generate alert */
@@ -166,7 +165,7 @@ public class RestartController extends BaseController {
 										/* Check whether the user wanted to restart the application */
 										while (isToBeRestarted()) {
 											/* Clear the completed job map */
-											BaseJob.clearCompletedJobMap();
+											jobConfigurationService.getJobRun().clear();
 
 											/* Restart the application */
 											restart();
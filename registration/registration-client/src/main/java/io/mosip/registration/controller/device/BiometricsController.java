@@ -27,16 +27,7 @@ import org.springframework.stereotype.Controller;
 
 import io.mosip.commons.packet.constants.PacketManagerConstants;
 import io.mosip.commons.packet.dto.packet.BiometricsException;
-import io.mosip.kernel.biometrics.constant.BiometricFunction;
 import io.mosip.kernel.biometrics.constant.BiometricType;
-import io.mosip.kernel.biosdk.provider.factory.BioAPIFactory;
-import io.mosip.kernel.core.bioapi.exception.BiometricException;
-import io.mosip.kernel.core.cbeffutil.entity.BDBInfo;
-import io.mosip.kernel.core.cbeffutil.entity.BIR;
-import io.mosip.kernel.core.cbeffutil.entity.BIR.BIRBuilder;
-import io.mosip.kernel.core.cbeffutil.jaxbclasses.PurposeType;
-import io.mosip.kernel.core.cbeffutil.jaxbclasses.RegistryIDType;
-import io.mosip.kernel.core.cbeffutil.jaxbclasses.SingleType;
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.registration.config.AppConfig;
@@ -52,17 +43,16 @@ import io.mosip.registration.controller.FXUtils;
 import io.mosip.registration.controller.reg.DocumentScanController;
 import io.mosip.registration.controller.reg.RegistrationController;
 import io.mosip.registration.controller.reg.UserOnboardParentController;
-import io.mosip.registration.dao.UserDetailDAO;
 import io.mosip.registration.dto.mastersync.BiometricAttributeDto;
 import io.mosip.registration.dto.packetmanager.BiometricsDto;
 import io.mosip.registration.dto.packetmanager.DocumentDto;
-import io.mosip.registration.entity.UserBiometric;
 import io.mosip.registration.exception.RegBaseCheckedException;
 import io.mosip.registration.mdm.dto.Biometric;
 import io.mosip.registration.mdm.dto.MDMRequestDto;
 import io.mosip.registration.mdm.dto.MdmBioDevice;
 import io.mosip.registration.mdm.service.impl.MosipDeviceSpecificationFactory;
 import io.mosip.registration.service.bio.BioService;
+import io.mosip.registration.service.bio.OperatorGalleryService;
 import io.mosip.registration.service.operator.UserOnboardService;
 import javafx.concurrent.Service;
 import javafx.concurrent.Task;
@@ -286,10 +276,7 @@ public class BiometricsController extends BaseController /* implements Initializ
 	private UserOnboardParentController userOnboardParentController;
 
 	@Autowired
-	private BioAPIFactory bioAPIFactory;
-
-	@Autowired
-	private UserDetailDAO userDetailDAO;
+	private OperatorGalleryService operatorGalleryService;
 
 	private String bioType;
 
@@ -2334,40 +2321,7 @@ public class BiometricsController extends BaseController /* implements Initializ
 	}
 
 	private boolean identifyInLocalGallery(List<BiometricsDto> biometrics, String modality) {
-		BiometricType biometricType = BiometricType.fromValue(modality);
-		Map<String, List<BIR>> gallery = new HashMap<>();
-		List<UserBiometric> userBiometrics = userDetailDAO.findAllActiveUsers(biometricType.value());
-		if (userBiometrics.isEmpty())
-			return false;
-
-		userBiometrics.forEach(userBiometric -> {
-			String userId = userBiometric.getUserBiometricId().getUsrId();
-			gallery.computeIfAbsent(userId, k -> new ArrayList<BIR>())
-					.add(buildBir(userBiometric.getBioIsoImage(), biometricType));
-		});
-
-		List<BIR> sample = new ArrayList<>(biometrics.size());
-		biometrics.forEach(biometricDto -> {
-			sample.add(buildBir(biometricDto.getAttributeISO(), biometricType));
-		});
-
-		try {
-			Map<String, Boolean> result = bioAPIFactory.getBioProvider(biometricType, BiometricFunction.MATCH)
-					.identify(sample, gallery, biometricType, null);
-			return result.entrySet().stream().anyMatch(e -> e.getValue() == true);
-		} catch (BiometricException e) {
-			LOGGER.error(LOG_REG_BIOMETRIC_CONTROLLER, APPLICATION_NAME, APPLICATION_ID,
-					"Failed to dedupe >> " + ExceptionUtils.getStackTrace(e));
-		}
-		return false;
-	}
-
-	private BIR buildBir(byte[] biometricImageISO, BiometricType modality) {
-		return new BIRBuilder().withBdb(biometricImageISO)
-				.withBdbInfo(new BDBInfo.BDBInfoBuilder().withFormat(new RegistryIDType())
-						.withType(Collections.singletonList(SingleType.fromValue(modality.value())))
-						.withPurpose(PurposeType.IDENTIFY).build())
-				.build();
+		return operatorGalleryService.identify(BiometricType.fromValue(modality), biometrics);
 	}
 
 	private VBox getImageVBox(String modality, String subtype, List<String> configBioAttributes) {
@@ -4,11 +4,11 @@ import static io.mosip.registration.constants.LoggerConstants.STREAMER;
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.mosip.kernel.core.exception.ExceptionUtils;
@@ -16,6 +16,8 @@ import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.registration.config.AppConfig;
 import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.context.SessionContext;
+import io.mosip.registration.exception.RegBaseCheckedException;
+import io.mosip.registration.mdm.service.impl.MjpegFrameReader;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
@@ -24,6 +26,13 @@ public class Streamer {
 
 	private static final Logger LOGGER = AppConfig.getLogger(Streamer.class);
 
+	/** A frame is shown even when a newer one is arriving, if the last shown frame is older than this. */
+	private static final long MAX_FRAME_AGE = TimeUnit.SECONDS.toNanos(1);
+
+	/** Maximum preview frames decoded per second, the frames read in between are dropped. */
+	@Value("${mosip.registration.mdm.stream.max-fps:15}")
+	private int maxFramesPerSecond;
+
 	private InputStream urlStream;
 
 	public void setUrlStream(InputStream inputStream) {
@@ -55,8 +64,6 @@ public class Streamer {
 
 	private boolean isRunning = true;
 
-	private final String CONTENT_LENGTH = "Content-Length:";
-
 	private Thread streamer_thread = null;
 
 	public byte[] imageBytes = null;
@@ -101,12 +108,26 @@ public class Streamer {
 			public void run() {
 
 				setUrlStream(inputStream);
+				MjpegFrameReader frameReader = getFrameReader(inputStream);
+				long frameInterval = maxFramesPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxFramesPerSecond : 0;
+				long lastFrameTime = System.nanoTime() - MAX_FRAME_AGE;
 
 				while (null != urlStream) {
 					try {
-						imageBytes = retrieveNextImage(urlStream);
-						ByteArrayInputStream imageStream = new ByteArrayInputStream(imageBytes);
-						Image img = new Image(imageStream);
+						if (frameReader.nextFrame(Long.MAX_VALUE) < 0) {
+							throw new IOException("Stream ended");
+						}
+
+						// drop the frame if it comes too soon or a newer frame has already been received
+						long now = System.nanoTime();
+						if (now - lastFrameTime < frameInterval
+								|| (frameReader.isNextFrameAvailable() && now - lastFrameTime < MAX_FRAME_AGE)) {
+							continue;
+						}
+						lastFrameTime = now;
+
+						imageBytes = frameReader.copyFrame();
+						Image img = new Image(frameReader.getFrameStream());
 						streamImage.setImage(img);
 						if (null != scanImage) {
 							// scanImage.setImage(img);
@@ -114,7 +135,7 @@ public class Streamer {
 							setImageView(scanImage);
 							setStreamImage(img);
 						}
-					} catch (RuntimeException | IOException exception) {
+					} catch (RuntimeException | IOException | RegBaseCheckedException exception) {
 
 						LOGGER.error(STREAMER, RegistrationConstants.APPLICATION_NAME,
 								RegistrationConstants.APPLICATION_ID,
@@ -141,55 +162,20 @@ public class Streamer {
 	 * @throws IOException
 	 */
 	public byte[] retrieveNextImage(InputStream urlStream) throws IOException {
-
-		int currByte = -1;
-
-		boolean captureContentLength = false;
-		StringWriter contentLengthStringWriter = new StringWriter(128);
-		StringWriter headerWriter = new StringWriter(128);
-
-		int contentLength = 0;
-
-		while ((currByte = urlStream.read()) > -1) {
-			if (captureContentLength) {
-				if (currByte == 10 || currByte == 13) {
-					contentLength = Integer.parseInt(contentLengthStringWriter.toString().replace(" ", ""));
-					break;
-				}
-				contentLengthStringWriter.write(currByte);
-
-			} else {
-				headerWriter.write(currByte);
-				String tempString = headerWriter.toString();
-				int indexOf = tempString.indexOf(CONTENT_LENGTH);
-				if (indexOf > 0) {
-					captureContentLength = true;
-				}
+		try {
+			MjpegFrameReader frameReader = getFrameReader(urlStream);
+			if (frameReader.nextFrame(Long.MAX_VALUE) < 0) {
+				throw new IOException("Stream ended");
 			}
+			return frameReader.copyFrame();
+		} catch (RegBaseCheckedException exception) {
+			throw new IOException(exception.getMessage(), exception);
 		}
+	}
 
-		// 255 indicates the start of the jpeg image
-		while (urlStream.read() != 255) {
-
-		}
-
-		// && urlStream.read()!=-1
-		// if(urlStream.read()==-1) {
-		// throw new RuntimeException("No stream available");
-		// }
-
-		// rest is the buffer
-		byte[] imageBytes = new byte[contentLength + 1];
-		// since we ate the original 255 , shove it back in
-		imageBytes[0] = (byte) 255;
-		int offset = 1;
-		int numRead = 0;
-		while (offset < imageBytes.length
-				&& (numRead = urlStream.read(imageBytes, offset, imageBytes.length - offset)) >= 0) {
-			offset += numRead;
-		}
-
-		return imageBytes;
+	private MjpegFrameReader getFrameReader(InputStream inputStream) {
+		return inputStream instanceof MjpegFrameReader ? (MjpegFrameReader) inputStream
+				: new MjpegFrameReader(inputStream);
 	}
 
 	/**
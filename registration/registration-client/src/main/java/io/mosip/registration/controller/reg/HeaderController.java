@@ -36,7 +36,6 @@ import io.mosip.registration.dto.ResponseDTO;
 import io.mosip.registration.dto.SuccessResponseDTO;
 import io.mosip.registration.dto.UserDTO;
 import io.mosip.registration.exception.RegBaseCheckedException;
-import io.mosip.registration.jobs.BaseJob;
 import io.mosip.registration.scheduler.SchedulerUtil;
 import io.mosip.registration.service.config.JobConfigurationService;
 import io.mosip.registration.service.login.LoginService;
@@ -47,6 +46,7 @@ import io.mosip.registration.service.sync.SyncStatusValidatorService;
 import io.mosip.registration.update.SoftwareUpdateHandler;
 import io.mosip.registration.util.healthcheck.RegistrationAppHealthCheckUtil;
 import io.mosip.registration.util.restclient.AuthTokenUtilService;
+import javafx.application.Platform;
 import javafx.concurrent.Service;
 import javafx.concurrent.Task;
 import javafx.concurrent.WorkerStateEvent;
@@ -284,7 +284,7 @@ public class HeaderController extends BaseController {
 				executeSyncDataTask();
 				while (restartController.isToBeRestarted()) {
 					/* Clear the completed job map */
-					BaseJob.clearCompletedJobMap();
+					jobConfigurationService.getJobRun().clear();
 					/* Restart the application */
 					restartController.restart();
 				}
@@ -489,7 +489,8 @@ public class HeaderController extends BaseController {
 	}
 
 	private void executeSyncDataTask() {
-		progressTask();
+		double totalJobs = jobConfigurationService.getActiveSyncJobMap().size()
+				- jobConfigurationService.getOfflineJobs().size() - jobConfigurationService.getUnTaggedJobs().size();
 		progressIndicator = packetHandlerController.getProgressIndicator();
 		GridPane gridPane = homeController.getMainBox();
 		gridPane.setDisable(true);
@@ -513,7 +514,12 @@ public class HeaderController extends BaseController {
 						LOGGER.info("REGISTRATION - SYNC - HEADER_CONTROLLER", APPLICATION_NAME, APPLICATION_ID,
 								"Handling all the sync activities");
 
-						return jobConfigurationService.executeAllJobs();
+						/* The progress bar is updated as each job completes */
+						return jobConfigurationService.executeAllJobs(jobRun -> {
+							double success = jobRun.getSuccessCount();
+							Platform.runLater(
+									() -> packetHandlerController.syncProgressBar.setProgress(success / totalJobs));
+						});
 
 					}
 				};
@@ -526,10 +532,8 @@ public class HeaderController extends BaseController {
 		taskService.setOnSucceeded(new EventHandler<WorkerStateEvent>() {
 			@Override
 			public void handle(WorkerStateEvent t) {
-				double totalJobs = jobConfigurationService.getActiveSyncJobMap().size()
-						- jobConfigurationService.getOfflineJobs().size()
-						- jobConfigurationService.getUnTaggedJobs().size();
-				packetHandlerController.syncProgressBar.setProgress(BaseJob.successJob.size() / totalJobs);
+				packetHandlerController.syncProgressBar
+						.setProgress(jobConfigurationService.getJobRun().getSuccessCount() / totalJobs);
 				packetHandlerController.setLastUpdateTime();
 
 				ResponseDTO responseDTO = taskService.getValue();
@@ -552,32 +556,6 @@ public class HeaderController extends BaseController {
 
 	}
 
-	private void progressTask() {
-		double totalJobs = jobConfigurationService.getActiveSyncJobMap().size()
-				- jobConfigurationService.getOfflineJobs().size() - jobConfigurationService.getUnTaggedJobs().size();
-		Service<String> progressTask = new Service<String>() {
-			@Override
-			protected Task<String> createTask() {
-				BaseJob.successJob.clear();
-				BaseJob.getCompletedJobMap().clear();
-				return new Task<String>() {
-					double success = 0;
-
-					@Override
-					protected String call() {
-						while (BaseJob.getCompletedJobMap().size() != totalJobs) {
-							success = BaseJob.successJob.size();
-							packetHandlerController.syncProgressBar.setProgress(success / totalJobs);
-						}
-						return null;
-
-					}
-				};
-			}
-		};
-		progressTask.start();
-	}
-
 	public void executeSoftwareUpdateTask(Pane pane, ProgressIndicator progressIndicator) {
 
 		progressIndicator.setVisible(true);
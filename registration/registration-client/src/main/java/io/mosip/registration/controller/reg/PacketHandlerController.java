@@ -49,17 +49,16 @@ import io.mosip.registration.exception.RegistrationExceptionConstants;
 import io.mosip.registration.service.config.JobConfigurationService;
 import io.mosip.registration.service.operator.UserOnboardService;
 import io.mosip.registration.service.packet.PacketHandlerService;
-import io.mosip.registration.service.packet.PacketUploadService;
+import io.mosip.registration.service.packet.PacketOutboxService;
 import io.mosip.registration.service.packet.ReRegistrationService;
 import io.mosip.registration.service.packet.RegistrationApprovalService;
-import io.mosip.registration.service.sync.PacketSynchService;
 import io.mosip.registration.service.sync.PolicySyncService;
 import io.mosip.registration.service.sync.PreRegistrationDataSyncService;
 import io.mosip.registration.service.template.TemplateService;
 import io.mosip.registration.update.SoftwareUpdateHandler;
 import io.mosip.registration.util.acktemplate.TemplateGenerator;
-import io.mosip.registration.util.healthcheck.RegistrationAppHealthCheckUtil;
 import io.mosip.registration.util.restclient.AuthTokenUtilService;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.Parent;
@@ -193,6 +192,9 @@ public class PacketHandlerController extends BaseController implements Initializ
 	@Autowired
 	private PacketHandlerService packetHandlerService;
 
+	@Autowired
+	private PacketOutboxService packetOutboxService;
+
 	@Autowired
 	private DashBoardController dashBoardController;
 
@@ -205,11 +207,6 @@ public class PacketHandlerController extends BaseController implements Initializ
 	@Autowired
 	private UserOnboardParentController userOnboardParentController;
 
-	@Autowired
-	private PacketSynchService packetSynchService;
-
-	@Autowired
-	private PacketUploadService packetUploadService;
 	@Autowired
 	private PolicySyncService policySyncService;
 
@@ -308,6 +305,9 @@ public class PacketHandlerController extends BaseController implements Initializ
 				eodLabel.setVisible(false);
 			}
 			setLastUpdateTime();
+			// registrations left over by a restart finish in the background
+			packetOutboxService.resume(this::savePacket, new PacketOutboxService.Listener() {
+			});
 			pendingApprovalCountLbl.setText(RegistrationUIConstants.NO_PENDING_APPLICATIONS);
 			reRegistrationCountLbl.setText(RegistrationUIConstants.NO_RE_REGISTER_APPLICATIONS);
 
@@ -566,60 +566,103 @@ public class PacketHandlerController extends BaseController implements Initializ
 
 	public void showReciept() {
 		LOGGER.info(PACKET_HANDLER, APPLICATION_NAME, APPLICATION_ID, "Showing receipt Started.");
+		// the session registration is replaced once the operator moves to the next applicant
+		RegistrationDTO registrationDTO = getRegistrationDTOFromSession();
 		try {
-			RegistrationDTO registrationDTO = getRegistrationDTOFromSession();
-
-			String platformLanguageCode = ApplicationContext.applicationLanguage();
-			String ackTemplateText = templateService.getHtmlTemplate(ACKNOWLEDGEMENT_TEMPLATE_CODE,
-					platformLanguageCode);
-
-			if (ApplicationContext.applicationLanguage().equalsIgnoreCase(ApplicationContext.localLanguage())) {
-				ackTemplateText = ackTemplateText.replace("} / ${", "}  ${");
-			}
-
-			if (ackTemplateText != null && !ackTemplateText.isEmpty()) {
-				String key = "mosip.registration.important_guidelines_" + applicationContext.getApplicationLanguage();
-				String guidelines = getValueFromApplicationContext(key);
-				templateGenerator.setGuidelines(guidelines);
-				ResponseDTO templateResponse = templateGenerator.generateTemplate(ackTemplateText, registrationDTO,
-						templateManagerBuilder, RegistrationConstants.ACKNOWLEDGEMENT_TEMPLATE);
-				if (templateResponse != null && templateResponse.getSuccessResponseDTO() != null) {
-					Writer stringWriter = (Writer) templateResponse.getSuccessResponseDTO().getOtherAttributes()
-							.get(RegistrationConstants.TEMPLATE_NAME);
-					ackReceiptController.setStringWriter(stringWriter);
-					ResponseDTO packetCreationResponse = savePacket(stringWriter, registrationDTO);
-					if (packetCreationResponse.getSuccessResponseDTO() != null) {
-						Parent createRoot = BaseController.load(
-								getClass().getResource(RegistrationConstants.ACK_RECEIPT_PATH),
-								applicationContext.getApplicationLanguageBundle());
-						getScene(createRoot).setRoot(createRoot);
-						setIsAckOpened(true);
-						return;
-					} else {
-						clearRegistrationData();
-						createPacket();
-					}
-				} else if (templateResponse != null && templateResponse.getErrorResponseDTOs() != null) {
-					generateAlert(RegistrationConstants.ERROR,
-							RegistrationUIConstants.UNABLE_LOAD_ACKNOWLEDGEMENT_PAGE);
-					clearRegistrationData();
-					createPacket();
-				}
-			} else {
+			Writer stringWriter = generateAcknowledgement(registrationDTO);
+			if (stringWriter == null) {
 				generateAlert(RegistrationConstants.ERROR, RegistrationUIConstants.UNABLE_LOAD_ACKNOWLEDGEMENT_PAGE);
 				clearRegistrationData();
 				createPacket();
+				return;
 			}
+			registrationDTO.setAcknowledgeReceipt(
+					stringWriter.toString().getBytes(RegistrationConstants.TEMPLATE_ENCODING));
+
+			// the packet is created in the background, the acknowledgement is shown right away
+			packetOutboxService.submit(registrationDTO, this::savePacket, new PacketOutboxService.Listener() {
+
+				@Override
+				public void onStageFailed(String registrationId, PacketOutboxService.Stage stage,
+						ResponseDTO response) {
+					Platform.runLater(() -> onPacketOutboxFailure(registrationId, stage, response));
+				}
+			});
+			ackReceiptController.setStringWriter(stringWriter);
+			showAcknowledgement();
 		} catch (IOException ioException) {
 			LOGGER.error("REGISTRATION - UI- Officer Packet Create ", APPLICATION_NAME, APPLICATION_ID,
 					ioException.getMessage() + ExceptionUtils.getStackTrace(ioException));
 		} catch (RegBaseCheckedException regBaseCheckedException) {
 			LOGGER.error("REGISTRATION - UI- Officer Packet Create ", APPLICATION_NAME, APPLICATION_ID,
 					regBaseCheckedException.getMessage() + ExceptionUtils.getStackTrace(regBaseCheckedException));
+			if (regBaseCheckedException.getErrorCode()
+					.equals(RegistrationExceptionConstants.REG_PACKET_OUTBOX_FULL.getErrorCode())) {
+				generateAlert(RegistrationConstants.ERROR, RegistrationUIConstants.PACKET_CREATION_FAILURE);
+			}
 		}
 		LOGGER.info(PACKET_HANDLER, APPLICATION_NAME, APPLICATION_ID, "Showing receipt ended.");
 	}
 
+	/**
+	 * Generates the acknowledgement receipt of the registration
+	 * 
+	 * @return the receipt, null if it could not be generated
+	 */
+	private Writer generateAcknowledgement(RegistrationDTO registrationDTO) throws RegBaseCheckedException {
+		String platformLanguageCode = ApplicationContext.applicationLanguage();
+		String ackTemplateText = templateService.getHtmlTemplate(ACKNOWLEDGEMENT_TEMPLATE_CODE,
+				platformLanguageCode);
+
+		if (ackTemplateText == null || ackTemplateText.isEmpty()) {
+			return null;
+		}
+		if (ApplicationContext.applicationLanguage().equalsIgnoreCase(ApplicationContext.localLanguage())) {
+			ackTemplateText = ackTemplateText.replace("} / ${", "}  ${");
+		}
+
+		String key = "mosip.registration.important_guidelines_" + applicationContext.getApplicationLanguage();
+		String guidelines = getValueFromApplicationContext(key);
+		templateGenerator.setGuidelines(guidelines);
+		ResponseDTO templateResponse = templateGenerator.generateTemplate(ackTemplateText, registrationDTO,
+				templateManagerBuilder, RegistrationConstants.ACKNOWLEDGEMENT_TEMPLATE);
+		if (templateResponse == null || templateResponse.getSuccessResponseDTO() == null) {
+			return null;
+		}
+		return (Writer) templateResponse.getSuccessResponseDTO().getOtherAttributes()
+				.get(RegistrationConstants.TEMPLATE_NAME);
+	}
+
+	private void showAcknowledgement() {
+		try {
+			Parent createRoot = BaseController.load(getClass().getResource(RegistrationConstants.ACK_RECEIPT_PATH),
+					applicationContext.getApplicationLanguageBundle());
+			getScene(createRoot).setRoot(createRoot);
+			setIsAckOpened(true);
+		} catch (IOException ioException) {
+			LOGGER.error("REGISTRATION - UI- Officer Packet Create ", APPLICATION_NAME, APPLICATION_ID,
+					ioException.getMessage() + ExceptionUtils.getStackTrace(ioException));
+		}
+	}
+
+	private void onPacketOutboxFailure(String registrationId, PacketOutboxService.Stage stage,
+			ResponseDTO response) {
+		String errorCode = response.getErrorResponseDTOs() != null && !response.getErrorResponseDTOs().isEmpty()
+				? response.getErrorResponseDTOs().get(0).getCode()
+				: RegistrationConstants.ERROR;
+		boolean authFailure = RegistrationExceptionConstants.AUTH_ADVICE_USR_ERROR.getErrorCode().equals(errorCode);
+
+		if (stage == PacketOutboxService.Stage.PERSIST) {
+			// the operator may already be on the next registration, so only the failed one is reported
+			generateAlert(RegistrationConstants.ERROR,
+					(authFailure ? RegistrationUIConstants.AUTH_ADVICE_FAILURE
+							: RegistrationUIConstants.PACKET_CREATION_FAILURE) + " : " + registrationId);
+		} else {
+			generateAlert(RegistrationConstants.ERROR,
+					authFailure ? RegistrationUIConstants.AUTH_ADVICE_FAILURE : RegistrationUIConstants.UPLOAD_FAILED);
+		}
+	}
+
 	/**
 	 * Validating screen authorization and Approve, Reject and Hold packets
 	 */
@@ -787,22 +830,18 @@ public class PacketHandlerController extends BaseController implements Initializ
 
 	/**
 	 * To save the acknowledgement receipt along with the registration data and
-	 * create packet
+	 * create packet, runs on the packet outbox thread
 	 */
-	private ResponseDTO savePacket(Writer stringWriter, RegistrationDTO registrationDTO) {
+	private ResponseDTO savePacket(RegistrationDTO registrationDTO) {
 		LOGGER.info("packet creation has been started");
-		byte[] ackInBytes = null;
-		try {
-			ackInBytes = stringWriter.toString().getBytes(RegistrationConstants.TEMPLATE_ENCODING);
-		} catch (java.io.IOException ioException) {
-			LOGGER.error( ioException.getMessage(), ioException);
-		}
+		byte[] ackInBytes = registrationDTO.getAcknowledgeReceipt();
 
 		if (RegistrationConstants.ENABLE
 				.equalsIgnoreCase(getValueFromApplicationContext(RegistrationConstants.ACK_INSIDE_PACKET))) {
-			registrationDTO.setAcknowledgeReceipt(ackInBytes);
 			registrationDTO.setAcknowledgeReceiptName(
 					"RegistrationAcknowledgement." + RegistrationConstants.ACKNOWLEDGEMENT_FORMAT);
+		} else {
+			registrationDTO.setAcknowledgeReceipt(null);
 		}
 
 		// packet creation
@@ -813,14 +852,14 @@ public class PacketHandlerController extends BaseController implements Initializ
 
 			try {
 				// Deletes the pre registration Data after creation of registration Packet.
-				if (getRegistrationDTOFromSession().getPreRegistrationId() != null
-						&& !getRegistrationDTOFromSession().getPreRegistrationId().trim().isEmpty()) {
+				if (registrationDTO.getPreRegistrationId() != null
+						&& !registrationDTO.getPreRegistrationId().trim().isEmpty()) {
 
 					ResponseDTO responseDTO = new ResponseDTO();
 					List<PreRegistrationList> preRegistrationLists = new ArrayList<>();
 					PreRegistrationList preRegistrationList = preRegistrationDataSyncService
 							.getPreRegistrationRecordForDeletion(
-									getRegistrationDTOFromSession().getPreRegistrationId());
+									registrationDTO.getPreRegistrationId());
 					preRegistrationLists.add(preRegistrationList);
 					preRegistrationDataSyncService.deletePreRegRecords(responseDTO, preRegistrationLists);
 
@@ -836,34 +875,21 @@ public class PacketHandlerController extends BaseController implements Initializ
 				FileUtils.copyToFile(new ByteArrayInputStream(ackInBytes),
 						new File(filePath.concat("_Ack.").concat(RegistrationConstants.ACKNOWLEDGEMENT_FORMAT)));
 
-				// Sync and Uploads Packet when EOD Process Configuration is set to OFF
+				// Approves the Packet when EOD Process Configuration is set to OFF, sync and upload
+				// follow in the packet outbox
 				if (!getValueFromApplicationContext(RegistrationConstants.EOD_PROCESS_CONFIG_FLAG)
 						.equalsIgnoreCase(RegistrationConstants.ENABLE)) {
-					updatePacketStatus();
+					updatePacketStatus(registrationDTO.getRegistrationId());
 				}
-				/* sync the packet to server irrespective of eod enable/disable */
-				syncAndUploadPacket();
 
 				LOGGER.info("Registration's Acknowledgement Receipt saved");
 			} catch (io.mosip.kernel.core.exception.IOException ioException) {
 				LOGGER.error(ioException.getMessage(), ioException);
 			} catch (RegBaseCheckedException regBaseCheckedException) {
 				LOGGER.error(regBaseCheckedException.getMessage(), regBaseCheckedException);
-
-				if (regBaseCheckedException.getErrorCode()
-						.equals(RegistrationExceptionConstants.AUTH_ADVICE_USR_ERROR.getErrorCode())) {
-					generateAlert(RegistrationConstants.ERROR, RegistrationUIConstants.AUTH_ADVICE_FAILURE);
-				}
 			} catch (RuntimeException runtimeException) {
 				LOGGER.error(runtimeException.getMessage(), runtimeException);
 			}
-			return response;
-		}
-
-		if (response.getErrorResponseDTOs() != null) {
-			generateAlert(RegistrationConstants.ERROR, response.getErrorResponseDTOs().get(0).getCode()
-					.equals(RegistrationExceptionConstants.AUTH_ADVICE_USR_ERROR.getErrorCode()) ?
-					RegistrationUIConstants.AUTH_ADVICE_FAILURE : RegistrationUIConstants.PACKET_CREATION_FAILURE);
 		}
 		return response;
 	}
@@ -943,44 +969,18 @@ public class PacketHandlerController extends BaseController implements Initializ
 	 * 
 	 * @throws RegBaseCheckedException
 	 */
-	private void updatePacketStatus() throws RegBaseCheckedException {
+	private void updatePacketStatus(String registrationId) throws RegBaseCheckedException {
 		LOGGER.info(PACKET_HANDLER, APPLICATION_NAME, APPLICATION_ID,
 				"Auto Approval of Packet when EOD process disabled started");
 
-		registrationApprovalService.updateRegistration((getRegistrationDTOFromSession().getRegistrationId()),
-				RegistrationConstants.EMPTY, RegistrationClientStatusCode.APPROVED.getCode());
+		registrationApprovalService.updateRegistration(registrationId, RegistrationConstants.EMPTY,
+				RegistrationClientStatusCode.APPROVED.getCode());
 
 		LOGGER.info(PACKET_HANDLER, APPLICATION_NAME, APPLICATION_ID,
 				"Auto Approval of Packet when EOD process disabled ended");
 
 	}
 
-	/**
-	 * Sync and upload packet.
-	 *
-	 * @throws RegBaseCheckedException the reg base checked exception
-	 */
-	private void syncAndUploadPacket() throws RegBaseCheckedException {
-		LOGGER.info(PACKET_HANDLER, APPLICATION_NAME, APPLICATION_ID, "Sync and Upload of created Packet started");
-		if (RegistrationAppHealthCheckUtil.isNetworkAvailable()) {
-
-			String response = packetSynchService.packetSync(getRegistrationDTOFromSession().getRegistrationId());
-
-			// modified as per the story MOS-29831
-			if (!getValueFromApplicationContext(RegistrationConstants.EOD_PROCESS_CONFIG_FLAG)
-					.equalsIgnoreCase(RegistrationConstants.ENABLE)) {
-				if (response.equals(RegistrationConstants.EMPTY)) {
-
-					packetUploadService.uploadPacket(getRegistrationDTOFromSession().getRegistrationId());
-				} else {
-					generateAlert("ERROR", RegistrationUIConstants.UPLOAD_FAILED);
-				}
-			}
-
-		}
-		LOGGER.info(PACKET_HANDLER, APPLICATION_NAME, APPLICATION_ID, "Sync and Upload of created Packet ended");
-	}
-
 	private ResponseDTO isKeyValid() {
 
 		return policySyncService.checkKeyValidation();
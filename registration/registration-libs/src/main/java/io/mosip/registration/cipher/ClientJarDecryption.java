@@ -2,17 +2,31 @@ package io.mosip.registration.cipher;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
@@ -75,8 +89,12 @@ public class ClientJarDecryption extends Application {
 	private static final String IS_KEY_ENCRYPTED = "Y";
 	private static final String MOSIP_CLIENT_TPM_AVAILABILITY = "mosip.reg.client.tpm.availability";
 
-	private static String WIN_CMD_TEMPLATE = "%s %s %s -Dfile.encoding=UTF-8 -cp %s/*;/* io.mosip.registration.controller.Initialization %s %s";
-	private static String LIN_CMD_TEMPLATE = "%s %s %s -Dfile.encoding=UTF-8 -cp %s/*:/* io.mosip.registration.controller.Initialization %s %s";
+	private static String WIN_CMD_TEMPLATE = "%s %s %s -Dfile.encoding=UTF-8 -cp %s/*;%s/*;/* io.mosip.registration.controller.Initialization %s %s";
+	private static String LIN_CMD_TEMPLATE = "%s %s %s -Dfile.encoding=UTF-8 -cp %s/*:%s/*:/* io.mosip.registration.controller.Initialization %s %s";
+	private static final String LAUNCH_LIB_FOLDER = ".launch-lib";
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int GCM_TAG_LENGTH = 128;
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(ClientJarDecryption.class);
 
@@ -85,6 +103,12 @@ public class ClientJarDecryption extends Application {
 
 	static String tempPath;
 
+	/** Launch timings in milliseconds, logged once the client screen is loaded. */
+	private long launchStartTime;
+	private long jarCheckTime;
+	private long decryptionTime;
+	private String checksumCacheStats = "";
+
 	private String IS_TPM_AVAILABLE = "Checking TPM Avaialbility";
 	private String ENCRYPT_PROPERTIES = "Encrypting Properties";
 	private String DB_CHECK = "Checking for DB Availability";
@@ -159,6 +183,7 @@ public class ClientJarDecryption extends Application {
 		LOGGER.info(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
 				LoggerConstants.APPLICATION_ID, "Started JavaFx start");
 
+		launchStartTime = System.currentTimeMillis();
 		showDialog();
 		LOGGER.info(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
 				LoggerConstants.APPLICATION_ID, "mosip.min.mem : "+System.getProperty("mosip.min.mem", MIN_HEAP_SIZE));
@@ -196,6 +221,7 @@ public class ClientJarDecryption extends Application {
 							LOGGER.info(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
 									LoggerConstants.APPLICATION_ID, "Started check for jars task");
 
+							long jarCheckStartTime = System.currentTimeMillis();
 							SoftwareInstallationHandler registrationUpdate = new SoftwareInstallationHandler();
 
 							boolean hasJars = false;
@@ -221,8 +247,13 @@ public class ClientJarDecryption extends Application {
 										&& registrationUpdate.hasRequiredJars());
 							}
 
+							jarCheckTime = System.currentTimeMillis() - jarCheckStartTime;
+							checksumCacheStats = registrationUpdate.getChecksumCache().getHits() + " cached, "
+									+ registrationUpdate.getChecksumCache().getMisses() + " computed";
+
 							LOGGER.info(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
-									LoggerConstants.APPLICATION_ID, "Checking for jars Completed");
+									LoggerConstants.APPLICATION_ID, "Checking for jars Completed in " + jarCheckTime
+											+ " ms, jar checksums : " + checksumCacheStats);
 
 							if (!hasJars) {
 								LOGGER.info(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
@@ -306,32 +337,88 @@ public class ClientJarDecryption extends Application {
 	}
 
 	private void decryptMosipJars(Properties properties) throws IOException {
-		// ClientJarDecryption aesDecrypt = new ClientJarDecryption();
+		long decryptionStartTime = System.currentTimeMillis();
 		File encryptedClientJar = new File(binFolder + MOSIP_CLIENT);
 		File encryptedServicesJar = new File(binFolder + MOSIP_SERVICES);
 		tempPath = FileUtils.getTempDirectoryPath();
 		tempPath = tempPath + SLASH + UUID.randomUUID();
+		FileUtils.forceMkdir(new File(tempPath));
 
 		byte[] decryptedKey = getValue(MOSIP_REGISTRATION_APP_KEY, properties, isTPMAvailable(properties));
 		LOGGER.info(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
 				LoggerConstants.APPLICATION_ID, "Decrypting mosip-client");
-		byte[] decryptedRegFileBytes = decrypt(FileUtils.readFileToByteArray(encryptedClientJar), decryptedKey);
-		String clientJar = tempPath + SLASH + UUID.randomUUID();
 
 		// Decrypt Client Jar
-		FileUtils.writeByteArrayToFile(new File(clientJar + ".jar"), decryptedRegFileBytes);
+		decrypt(encryptedClientJar, new File(tempPath + SLASH + UUID.randomUUID() + ".jar"), decryptedKey);
 
 		LOGGER.info(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
 				LoggerConstants.APPLICATION_ID, "Decrypting mosip-services");
 
-		byte[] decryptedRegServiceBytes = decrypt(FileUtils.readFileToByteArray(encryptedServicesJar), decryptedKey);
-
 		// Decrypt Services Jar
-		FileUtils.writeByteArrayToFile(new File(tempPath + SLASH + UUID.randomUUID() + ".jar"),
-				decryptedRegServiceBytes);
+		decrypt(encryptedServicesJar, new File(tempPath + SLASH + UUID.randomUUID() + ".jar"), decryptedKey);
 
+		decryptionTime = System.currentTimeMillis() - decryptionStartTime;
 		LOGGER.info(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
-				LoggerConstants.APPLICATION_ID, "Decrypting mosip jars completed");
+				LoggerConstants.APPLICATION_ID, "Decrypting mosip jars completed in " + decryptionTime + " ms");
+	}
+
+	/**
+	 * Decrypts the file to the output file. The encrypted file is the AES-GCM
+	 * cipher text and tag followed by the IV, as written by
+	 * {@link ClientJarEncryption}.
+	 * <p>
+	 * The file is read in chunks, but the GCM cipher releases no plain text
+	 * before the tag is verified in {@code doFinal}, so it still holds the whole
+	 * jar in memory. Bounding that would need a chunked encryption format.
+	 * 
+	 * @param encryptedFile
+	 * @param decryptedFile
+	 * @param key
+	 * @throws IOException
+	 */
+	public static void decrypt(File encryptedFile, File decryptedFile, byte[] key) throws IOException {
+		try {
+			Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+			long cipherTextLength = encryptedFile.length() - cipher.getBlockSize();
+			if (cipherTextLength < 0) {
+				throw new InvalidDataException("0000", "MOSIP_INVALID_DATA_LENGTH_EXCEPTION");
+			}
+
+			byte[] randomIV = new byte[cipher.getBlockSize()];
+			try (RandomAccessFile randomAccessFile = new RandomAccessFile(encryptedFile, "r")) {
+				randomAccessFile.seek(cipherTextLength);
+				randomAccessFile.readFully(randomIV);
+			}
+			cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(key, AES_ALGORITHM),
+					new GCMParameterSpec(GCM_TAG_LENGTH, randomIV));
+
+			try (InputStream inputStream = new FileInputStream(encryptedFile);
+					OutputStream outputStream = new FileOutputStream(decryptedFile)) {
+				byte[] buffer = new byte[BUFFER_SIZE];
+				long remaining = cipherTextLength;
+				int read;
+				while (remaining > 0
+						&& (read = inputStream.read(buffer, 0, (int) Math.min(buffer.length, remaining))) > 0) {
+					remaining -= read;
+					byte[] output = cipher.update(buffer, 0, read);
+					if (output != null) {
+						outputStream.write(output);
+					}
+				}
+				outputStream.write(cipher.doFinal());
+			}
+		} catch (java.security.InvalidKeyException | InvalidAlgorithmParameterException
+				| java.security.NoSuchAlgorithmException | NoSuchPaddingException exception) {
+			FileUtils.deleteQuietly(decryptedFile);
+			throw new InvalidKeyException("0000", "MOSIP_INVALID_KEY_EXCEPTION", exception);
+		} catch (GeneralSecurityException exception) {
+			FileUtils.deleteQuietly(decryptedFile);
+			throw new InvalidDataException("MOSIP_INVALID_ENCRYPTED_DATA_CORRUPT_EXCEPTION", exception.getMessage(),
+					exception);
+		} catch (IOException | RuntimeException exception) {
+			FileUtils.deleteQuietly(decryptedFile);
+			throw exception;
+		}
 	}
 
 	private void cleanup() {
@@ -348,7 +435,17 @@ public class ClientJarDecryption extends Application {
 	}
 
 	private void launchRegClient(Properties properties) throws IOException, InterruptedException {
-		FileUtils.copyDirectory(new File("lib"), new File(tempPath));
+		File launchLibFolder = new File(LAUNCH_LIB_FOLDER);
+		try {
+			linkLibFolder(new File("lib"), launchLibFolder, !isWindows());
+		} catch (IOException ioException) {
+			// A client still running keeps the jars of the launch lib folder open
+			LOGGER.error(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
+					LoggerConstants.APPLICATION_ID, "Failed to update " + LAUNCH_LIB_FOLDER + ", copying lib folder : "
+							+ ExceptionUtils.getStackTrace(ioException));
+			launchLibFolder = new File(tempPath, "lib");
+			linkLibFolder(new File("lib"), launchLibFolder, !isWindows());
+		}
 		LOGGER.info(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
 				LoggerConstants.APPLICATION_ID, "Preparing command to launch the reg-client");
 		String jrePath = new File(System.getProperty("user.dir")) + SLASH + "jre/jre/bin/java";
@@ -356,7 +453,7 @@ public class ClientJarDecryption extends Application {
 		Process process = Runtime.getRuntime()
 				.exec(String.format(getCommandTemplate(), jrePath, System.getProperty("mosip.max.mem", MAX_HEAP_SIZE),
 						System.getProperty("mosip.min.mem", MIN_HEAP_SIZE), tempPath,
-						properties.getProperty("mosip.client.upgrade.server.url"),
+						launchLibFolder.getAbsolutePath(), properties.getProperty("mosip.client.upgrade.server.url"),
 						properties.getProperty(MOSIP_CLIENT_TPM_AVAILABILITY)));
 
 		LOGGER.info(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
@@ -371,6 +468,11 @@ public class ClientJarDecryption extends Application {
 						LoggerConstants.APPLICATION_ID, info);
 
 				if (info.contains(MOSIP_SCREEN_LOADED)) {
+					LOGGER.info(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
+							LoggerConstants.APPLICATION_ID,
+							"Client launched in " + (System.currentTimeMillis() - launchStartTime)
+									+ " ms (checking jars : " + jarCheckTime + " ms, decryption : " + decryptionTime
+									+ " ms, jar checksums : " + checksumCacheStats + ")");
 					closeStage();
 					break;
 				}
@@ -406,9 +508,72 @@ public class ClientJarDecryption extends Application {
 		// }
 	}
 
+	/**
+	 * Brings the launch folder up to date with the lib folder, so the client
+	 * keeps its own jars while the software update replaces the jars of the lib
+	 * folder. The launch folder is kept between launches: a jar with the same
+	 * size and last modified time as in the lib folder, the stamp the
+	 * {@link io.mosip.registration.config.JarChecksumCache} trusts, is reused,
+	 * and the files deleted from the lib folder are deleted. Changed jars are
+	 * hard linked when possible, which is as fast as listing them, or else
+	 * copied. On Windows they are always copied, as a jar opened by the client
+	 * could not be replaced through another of its links.
+	 * 
+	 * @param libFolder
+	 * @param launchFolder
+	 * @param link
+	 *            whether to hard link the jars
+	 * @throws IOException
+	 */
+	static void linkLibFolder(File libFolder, File launchFolder, boolean link) throws IOException {
+		Path source = libFolder.toPath();
+		Path target = launchFolder.toPath();
+		Set<Path> libPaths = new HashSet<>();
+		try (Stream<Path> paths = Files.walk(source)) {
+			for (Path path : (Iterable<Path>) paths::iterator) {
+				Path targetPath = target.resolve(source.relativize(path).toString());
+				libPaths.add(targetPath);
+				if (Files.isDirectory(path)) {
+					Files.createDirectories(targetPath);
+				} else if (!isUnchanged(path, targetPath)) {
+					Files.deleteIfExists(targetPath);
+					if (!link || !createLink(targetPath, path)) {
+						Files.copy(path, targetPath, StandardCopyOption.COPY_ATTRIBUTES);
+					}
+				}
+			}
+		}
+
+		List<Path> deletedPaths;
+		try (Stream<Path> paths = Files.walk(target)) {
+			deletedPaths = paths.filter(path -> !libPaths.contains(path)).sorted(Comparator.reverseOrder())
+					.collect(Collectors.toList());
+		}
+		for (Path path : deletedPaths) {
+			Files.delete(path);
+		}
+	}
+
+	private static boolean isUnchanged(Path path, Path launchPath) throws IOException {
+		return Files.isRegularFile(launchPath) && Files.size(launchPath) == Files.size(path)
+				&& Files.getLastModifiedTime(launchPath).equals(Files.getLastModifiedTime(path));
+	}
+
+	private static boolean createLink(Path link, Path existing) {
+		try {
+			Files.createLink(link, existing);
+			return true;
+		} catch (IOException | UnsupportedOperationException exception) {
+			return false;
+		}
+	}
+
+	private static boolean isWindows() {
+		return System.getProperty("os.name").toLowerCase().contains("windows");
+	}
+
 	private String getCommandTemplate() {
-		String osName = System.getProperty("os.name");
-		if (osName.toLowerCase().contains("windows"))
+		if (isWindows())
 			return WIN_CMD_TEMPLATE;
 		else
 			return LIN_CMD_TEMPLATE;
@@ -0,0 +1,167 @@
+package io.mosip.registration.config;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.bind.DatatypeConverter;
+
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.registration.constants.LoggerConstants;
+import io.mosip.registration.util.LoggerFactory;
+
+/**
+ * Checksums of the installed jars, kept in a file next to the manifest so
+ * that the jars are hashed again only when their size or last modified time
+ * changes.
+ * <p>
+ * The jars are hashed with SHA-256 while streaming them, the same digest as
+ * {@code HMACUtils2.digestAsPlainText} used to build the manifest.
+ *
+ * @since 1.1.5
+ */
+public class JarChecksumCache {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(JarChecksumCache.class);
+
+	private static final String HASH_ALGORITHM = "SHA-256";
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final String SEPARATOR = ":";
+
+	private final File cacheFile;
+
+	/** Checksum by jar path, stored as size:lastModified:checksum. */
+	private final Map<String, String> entries = new ConcurrentHashMap<>();
+
+	private final AtomicInteger hits = new AtomicInteger();
+
+	private final AtomicInteger misses = new AtomicInteger();
+
+	private volatile boolean modified;
+
+	public JarChecksumCache(File cacheFile) {
+		this.cacheFile = cacheFile;
+		load();
+	}
+
+	/**
+	 * Returns the checksum of the jar, computed only if the jar changed since it
+	 * was last hashed.
+	 *
+	 * @param jarFile
+	 *            the jar
+	 * @return the hex encoded SHA-256 checksum
+	 * @throws IOException
+	 * @throws NoSuchAlgorithmException
+	 */
+	public String getChecksum(File jarFile) throws IOException, NoSuchAlgorithmException {
+		String key = jarFile.getPath();
+		String stamp = jarFile.length() + SEPARATOR + jarFile.lastModified() + SEPARATOR;
+		String entry = entries.get(key);
+		if (entry != null && entry.startsWith(stamp)) {
+			hits.incrementAndGet();
+			return entry.substring(stamp.length());
+		}
+
+		misses.incrementAndGet();
+		String checksum = digest(jarFile);
+		entries.put(key, stamp + checksum);
+		modified = true;
+		return checksum;
+	}
+
+	public void remove(File jarFile) {
+		if (entries.remove(jarFile.getPath()) != null) {
+			modified = true;
+		}
+	}
+
+	/**
+	 * Writes the cache file if any checksum was added or removed.
+	 */
+	public synchronized void save() {
+		if (!modified) {
+			return;
+		}
+		modified = false;
+		Properties properties = new Properties();
+		properties.putAll(entries);
+		File tempFile = new File(cacheFile.getPath() + ".tmp");
+		try {
+			try (OutputStream outputStream = new FileOutputStream(tempFile)) {
+				properties.store(outputStream, null);
+			}
+			Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException ioException) {
+			LOGGER.error(LoggerConstants.SOFTWARE_INSTALLATION_HANDLER, LoggerConstants.APPLICATION_NAME,
+					LoggerConstants.APPLICATION_ID,
+					"Failed to save jar checksums : " + ExceptionUtils.getStackTrace(ioException));
+		}
+	}
+
+	/**
+	 * @return number of checksums taken from the cache
+	 */
+	public int getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return number of jars hashed
+	 */
+	public int getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Hashes the file without reading it fully into memory.
+	 *
+	 * @param file
+	 *            the file
+	 * @return the hex encoded SHA-256 checksum
+	 * @throws IOException
+	 * @throws NoSuchAlgorithmException
+	 */
+	public static String digest(File file) throws IOException, NoSuchAlgorithmException {
+		MessageDigest messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (InputStream inputStream = new FileInputStream(file)) {
+			int read;
+			while ((read = inputStream.read(buffer)) > 0) {
+				messageDigest.update(buffer, 0, read);
+			}
+		}
+		return DatatypeConverter.printHexBinary(messageDigest.digest());
+	}
+
+	private void load() {
+		if (!cacheFile.exists()) {
+			return;
+		}
+		Properties properties = new Properties();
+		try (InputStream inputStream = new FileInputStream(cacheFile)) {
+			properties.load(inputStream);
+			for (String key : properties.stringPropertyNames()) {
+				entries.put(key, properties.getProperty(key));
+			}
+		} catch (IOException | IllegalArgumentException exception) {
+			LOGGER.error(LoggerConstants.SOFTWARE_INSTALLATION_HANDLER, LoggerConstants.APPLICATION_NAME,
+					LoggerConstants.APPLICATION_ID, "Ignoring unreadable jar checksums : " + exception.getMessage());
+			entries.clear();
+		}
+	}
+}
@@ -9,19 +9,27 @@ import java.net.NoRouteToHostException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.file.Files;
+import java.security.GeneralSecurityException;
 import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 
-import io.mosip.kernel.core.util.HMACUtils2;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
 import org.springframework.stereotype.Component;
 
 import io.mosip.kernel.core.exception.ExceptionUtils;
@@ -64,6 +72,8 @@ public class SoftwareInstallationHandler {
 
 	private static String manifestFile = "MANIFEST.MF";
 
+	private static String checksumCacheFile = ".jar-checksums";
+
 	private  String serverRegClientURL;
 
 	private static String libFolder = "lib/";
@@ -75,10 +85,14 @@ public class SoftwareInstallationHandler {
 
 	private Manifest localManifest;
 
+	private static SSLContext sslContext;
+
 	private Manifest serverManifest;
 
 	private String mosip = "mosip";
 
+	private final JarChecksumCache checksumCache = new JarChecksumCache(new File(checksumCacheFile));
+
 	private static final Logger LOGGER = LoggerFactory.getLogger(SoftwareInstallationHandler.class);
 
 	private String getLatestVersion() {
@@ -337,19 +351,45 @@ public class SoftwareInstallationHandler {
 		return true;
 	}
 
+	public JarChecksumCache getChecksumCache() {
+		return checksumCache;
+	}
+
 	private boolean checkLocalJars(List<String> jarList) {
-		for (String jarFile : jarList) {
+		// Jars are hashed in parallel, the first invalid jar stops the check
+		ExecutorService executorService = Executors
+				.newFixedThreadPool(Math.max(1, Math.min(jarList.size(), Runtime.getRuntime().availableProcessors())));
+		try {
+			List<Future<Boolean>> results = new LinkedList<>();
+			for (String jarFile : jarList) {
 
-			File jar = jarFile.contains(mosip) ? new File(binFolder + SLASH + jarFile)
-					: new File(libFolder + SLASH + jarFile);
+				File jar = jarFile.contains(mosip) ? new File(binFolder + SLASH + jarFile)
+						: new File(libFolder + SLASH + jarFile);
 
-			if (!(jar.exists()) || !isCheckSumValid(jar, localManifest)) {
-				return false;
+				results.add(executorService.submit(() -> jar.exists() && isCheckSumValid(jar, localManifest)));
 			}
 
-		}
+			for (Future<Boolean> result : results) {
+				if (!result.get()) {
+					return false;
+				}
+			}
+			return true;
+		} catch (InterruptedException interruptedException) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException executionException) {
+			LOGGER.error(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
+					LoggerConstants.APPLICATION_ID, ExceptionUtils.getStackTrace(executionException));
+			return false;
+		} finally {
+			executorService.shutdownNow();
+			checksumCache.save();
 
-		return true;
+			LOGGER.info(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
+					LoggerConstants.APPLICATION_ID, "Jar checksums from cache : " + checksumCache.getHits()
+							+ ", computed : " + checksumCache.getMisses());
+		}
 	}
 
 	private boolean isCheckSumValid(File jarFile, Manifest manifest) {
@@ -359,11 +399,11 @@ public class SoftwareInstallationHandler {
 
 		String checkSum;
 		try {
-			checkSum = HMACUtils2.digestAsPlainText(Files.readAllBytes(jarFile.toPath()));
+			checkSum = checksumCache.getChecksum(jarFile);
 			String manifestCheckSum = (String) manifest.getEntries().get(jarFile.getName())
 					.get(Attributes.Name.CONTENT_TYPE);
 
-			return manifestCheckSum.equals(checkSum);
+			return manifestCheckSum.equalsIgnoreCase(checkSum);
 
 		} catch (IOException | NoSuchAlgorithmException ioException) {
 			
@@ -375,6 +415,7 @@ public class SoftwareInstallationHandler {
 				LOGGER.info(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
 						LoggerConstants.APPLICATION_ID, "Deleting : " + jarFile.getName());
 
+				checksumCache.remove(jarFile);
 				FileUtils.forceDelete(jarFile);
 			} catch (io.mosip.kernel.core.exception.IOException exception) {
 				
@@ -404,6 +445,7 @@ public class SoftwareInstallationHandler {
 		InputStream inputStream = null;
 		try {
 			URLConnection connection = new URL(url).openConnection();
+			configureSsl(connection);
 			connection.setConnectTimeout(50000);
 			// Space Check
 			if (hasSpace(connection.getContentLength())) {
@@ -421,6 +463,50 @@ public class SoftwareInstallationHandler {
 		return inputStream;
 	}
 
+	/**
+	 * Applies the SSL configuration of the server calls to the connection, the
+	 * same as the registration services do, instead of changing the default
+	 * socket factory of every {@link HttpsURLConnection} in the JVM.
+	 *
+	 * @param connection
+	 *            the connection to the server, not yet connected
+	 * @throws IOException
+	 *             if the SSL configuration could not be created
+	 */
+	static void configureSsl(URLConnection connection) throws IOException {
+		if (connection instanceof HttpsURLConnection) {
+			try {
+				((HttpsURLConnection) connection).setSSLSocketFactory(getSslContext().getSocketFactory());
+			} catch (GeneralSecurityException generalSecurityException) {
+				throw new IOException("Unable to configure SSL", generalSecurityException);
+			}
+		}
+	}
+
+	private static synchronized SSLContext getSslContext() throws GeneralSecurityException {
+		if (sslContext == null) {
+			// To-do need to be removed along with the one of the registration services
+			SSLContext context = SSLContext.getInstance("SSL");
+			context.init(null, new TrustManager[] { new X509TrustManager() {
+
+				@Override
+				public X509Certificate[] getAcceptedIssuers() {
+					return null;
+				}
+
+				@Override
+				public void checkClientTrusted(X509Certificate[] chain, String authType) {
+				}
+
+				@Override
+				public void checkServerTrusted(X509Certificate[] chain, String authType) {
+				}
+			} }, null);
+			sslContext = context;
+		}
+		return sslContext;
+	}
+
 	private void deleteUnNecessaryJars() {
 
 		LOGGER.info(LoggerConstants.CLIENT_JAR_DECRYPTION, LoggerConstants.APPLICATION_NAME,
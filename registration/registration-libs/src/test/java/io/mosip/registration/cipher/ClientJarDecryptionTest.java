@@ -0,0 +1,113 @@
+package io.mosip.registration.cipher;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.mosip.kernel.core.crypto.exception.InvalidDataException;
+import io.mosip.kernel.core.util.CryptoUtil;
+
+public class ClientJarDecryptionTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private byte[] key = CryptoUtil.decodeBase64("fdHPgbFn5LZjPE8fX5S0UQ==");
+
+	@Test
+	public void decryptFileTest() throws IOException {
+		byte[] jar = new byte[300 * 1024 + 17];
+		new Random(3).nextBytes(jar);
+		File encryptedFile = temporaryFolder.newFile("mosip-client.jar");
+		Files.write(encryptedFile.toPath(), new ClientJarEncryption().encyrpt(jar, key));
+
+		File decryptedFile = new File(temporaryFolder.getRoot(), "decrypted.jar");
+		ClientJarDecryption.decrypt(encryptedFile, decryptedFile, key);
+
+		assertArrayEquals(jar, Files.readAllBytes(decryptedFile.toPath()));
+	}
+
+	@Test
+	public void decryptTamperedFileTest() throws IOException {
+		byte[] encrypted = new ClientJarEncryption().encyrpt(new byte[1024], key);
+		encrypted[10] ^= 1;
+		File encryptedFile = temporaryFolder.newFile("mosip-client.jar");
+		Files.write(encryptedFile.toPath(), encrypted);
+
+		File decryptedFile = new File(temporaryFolder.getRoot(), "decrypted.jar");
+		try {
+			ClientJarDecryption.decrypt(encryptedFile, decryptedFile, key);
+			fail();
+		} catch (InvalidDataException invalidDataException) {
+			// expected
+		}
+		assertFalse(decryptedFile.exists());
+	}
+
+	@Test
+	public void linkLibFolderTest() throws IOException {
+		linkLibFolder(true);
+	}
+
+	@Test
+	public void copyLibFolderTest() throws IOException {
+		linkLibFolder(false);
+	}
+
+	@Test
+	public void updateLaunchFolderTest() throws IOException {
+		File lib = temporaryFolder.newFolder("lib");
+		Path a = Files.write(new File(lib, "a.jar").toPath(), "a".getBytes());
+		Files.write(new File(lib, "b.jar").toPath(), "b".getBytes());
+		File launchFolder = new File(temporaryFolder.getRoot(), "launch");
+		ClientJarDecryption.linkLibFolder(lib, launchFolder, false);
+
+		// an unchanged jar is not copied again
+		Path launchA = new File(launchFolder, "a.jar").toPath();
+		Files.write(launchA, "x".getBytes());
+		Files.setLastModifiedTime(launchA, Files.getLastModifiedTime(a));
+		Files.write(new File(lib, "b.jar").toPath(), "new b".getBytes());
+		Files.write(new File(lib, "c.jar").toPath(), "c".getBytes());
+
+		ClientJarDecryption.linkLibFolder(lib, launchFolder, false);
+
+		assertArrayEquals("x".getBytes(), Files.readAllBytes(launchA));
+		assertArrayEquals("new b".getBytes(), Files.readAllBytes(new File(launchFolder, "b.jar").toPath()));
+		assertArrayEquals("c".getBytes(), Files.readAllBytes(new File(launchFolder, "c.jar").toPath()));
+
+		Files.delete(new File(lib, "c.jar").toPath());
+		ClientJarDecryption.linkLibFolder(lib, launchFolder, false);
+
+		assertFalse(new File(launchFolder, "c.jar").exists());
+		assertTrue(new File(launchFolder, "a.jar").exists());
+	}
+
+	private void linkLibFolder(boolean link) throws IOException {
+		File lib = temporaryFolder.newFolder("lib");
+		Files.write(new File(lib, "a.jar").toPath(), "a".getBytes());
+		Files.write(new File(lib, "b.jar").toPath(), "b".getBytes());
+		File launchFolder = temporaryFolder.newFolder("launch");
+
+		ClientJarDecryption.linkLibFolder(lib, launchFolder, link);
+
+		// the software update replaces and deletes the jars of the lib folder
+		Path update = Files.write(new File(lib, "a.jar.part").toPath(), "new a".getBytes());
+		Files.move(update, new File(lib, "a.jar").toPath(), StandardCopyOption.REPLACE_EXISTING);
+		Files.delete(new File(lib, "b.jar").toPath());
+
+		assertArrayEquals("a".getBytes(), Files.readAllBytes(new File(launchFolder, "a.jar").toPath()));
+		assertArrayEquals("b".getBytes(), Files.readAllBytes(new File(launchFolder, "b.jar").toPath()));
+	}
+}
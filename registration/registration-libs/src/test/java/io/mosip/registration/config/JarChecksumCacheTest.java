@@ -0,0 +1,52 @@
+package io.mosip.registration.config;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.mosip.kernel.core.util.HMACUtils2;
+
+public class JarChecksumCacheTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void checksumTest() throws Exception {
+		byte[] bytes = new byte[200 * 1024];
+		new Random(5).nextBytes(bytes);
+		File jar = temporaryFolder.newFile("sample.jar");
+		Files.write(jar.toPath(), bytes);
+
+		// same checksum as the one written to the manifest
+		assertEquals(HMACUtils2.digestAsPlainText(bytes).toUpperCase(), JarChecksumCache.digest(jar).toUpperCase());
+	}
+
+	@Test
+	public void cacheTest() throws Exception {
+		File jar = temporaryFolder.newFile("sample.jar");
+		Files.write(jar.toPath(), new byte[] { 1, 2, 3 });
+		File cacheFile = new File(temporaryFolder.getRoot(), ".jar-checksums");
+
+		JarChecksumCache checksumCache = new JarChecksumCache(cacheFile);
+		String checksum = checksumCache.getChecksum(jar);
+		checksumCache.save();
+
+		// loaded from the file on the next launch
+		checksumCache = new JarChecksumCache(cacheFile);
+		assertEquals(checksum, checksumCache.getChecksum(jar));
+		assertEquals(1, checksumCache.getHits());
+		assertEquals(0, checksumCache.getMisses());
+
+		// hashed again once the jar changes
+		Files.write(jar.toPath(), new byte[] { 1, 2, 3, 4 });
+		assertEquals(JarChecksumCache.digest(jar), checksumCache.getChecksum(jar));
+		assertEquals(1, checksumCache.getMisses());
+	}
+}
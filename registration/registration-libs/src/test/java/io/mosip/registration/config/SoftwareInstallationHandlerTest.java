@@ -0,0 +1,27 @@
+package io.mosip.registration.config;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.net.URL;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
+
+import org.junit.Test;
+
+public class SoftwareInstallationHandlerTest {
+
+	@Test
+	public void configureSslTest() throws Exception {
+		SSLSocketFactory defaultSocketFactory = HttpsURLConnection.getDefaultSSLSocketFactory();
+		HttpsURLConnection connection = (HttpsURLConnection) new URL("https://localhost/registration-client/MANIFEST.MF")
+				.openConnection();
+
+		SoftwareInstallationHandler.configureSsl(connection);
+
+		// the download uses the same SSL configuration as the server calls, without changing the JVM default
+		assertNotSame(defaultSocketFactory, connection.getSSLSocketFactory());
+		assertSame(defaultSocketFactory, HttpsURLConnection.getDefaultSSLSocketFactory());
+	}
+}
@@ -0,0 +1,59 @@
+package io.mosip.registration.test.benchmark;
+
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.registration.config.AppConfig;
+
+/**
+ * Shared reporting of the benchmarks under <code>src/benchmark/java</code>.
+ * The results are written to the registration log, tagged with the name of
+ * the benchmark.
+ *
+ * <p>
+ * The benchmarks are not part of the unit tests, they are compiled and run
+ * only with <code>mvn test -Pbenchmark</code>.
+ * </p>
+ */
+public final class BenchmarkReport {
+
+	private static final Logger LOGGER = AppConfig.getLogger(BenchmarkReport.class);
+
+	private BenchmarkReport() {
+	}
+
+	/**
+	 * Logs a result line of the benchmark.
+	 *
+	 * @param benchmark
+	 *            the benchmark class
+	 * @param format
+	 *            the {@link String#format(String, Object...)} format of the line
+	 * @param args
+	 *            the values of the line
+	 */
+	public static void report(Class<?> benchmark, String format, Object... args) {
+		LOGGER.info("REGISTRATION - BENCHMARK - " + benchmark.getSimpleName(), APPLICATION_NAME, APPLICATION_ID,
+				String.format(format, args));
+	}
+
+	/**
+	 * Runs the work once and returns the elapsed time.
+	 *
+	 * @param work
+	 *            the measured work
+	 * @return the elapsed time in nanoseconds
+	 */
+	public static long time(Work work) throws Exception {
+		long start = System.nanoTime();
+		work.run();
+		return System.nanoTime() - start;
+	}
+
+	/** Measured work of a benchmark. */
+	@FunctionalInterface
+	public interface Work {
+		void run() throws Exception;
+	}
+}
@@ -0,0 +1,149 @@
+package io.mosip.registration.test.config;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.mosip.registration.test.benchmark.BenchmarkReport;
+
+/**
+ * Compares transaction latency of the per-transaction
+ * {@link DriverManagerDataSource} against the pooled {@link BasicDataSource}
+ * on an encrypted embedded Derby database, with concurrent "job" threads doing
+ * write transactions and "UI" threads doing short reads.
+ *
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+public class DataSourcePoolBenchmark {
+
+	private static final String DRIVER_CLASS_NAME = "org.apache.derby.jdbc.EmbeddedDriver";
+	private static final String BOOT_PASSWORD = "benchmarkBootPassword1";
+	private static final int JOB_THREADS = 4;
+	private static final int UI_THREADS = 4;
+	private static final int TRANSACTIONS_PER_THREAD = 500;
+
+	@ClassRule
+	public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private static String url;
+
+	@BeforeClass
+	public static void createDatabase() throws Exception {
+		Class.forName(DRIVER_CLASS_NAME);
+		url = String.format("jdbc:derby:%s/bench;bootPassword=%s", temporaryFolder.getRoot().getAbsolutePath(),
+				BOOT_PASSWORD);
+		DriverManagerDataSource dataSource = newDriverManagerDataSource();
+		dataSource.setUrl(url + ";create=true;dataEncryption=true;encryptionKeyLength=256;encryptionAlgorithm=AES/CFB/NoPadding");
+		new JdbcTemplate(dataSource).execute(
+				"CREATE TABLE BENCH_AUDIT (ID INTEGER NOT NULL PRIMARY KEY, DESCR VARCHAR(256), CR_DTIMES TIMESTAMP)");
+	}
+
+	@AfterClass
+	public static void shutdownDatabase() {
+		try {
+			DriverManager.getConnection("jdbc:derby:;shutdown=true;deregister=false;");
+		} catch (SQLException exception) {
+			// Derby always reports a successful shutdown as an exception
+		}
+	}
+
+	@Test
+	public void transactionLatencyBenchmark() throws Exception {
+		DriverManagerDataSource driverManagerDataSource = newDriverManagerDataSource();
+		driverManagerDataSource.setUrl(url);
+		long[] unpooled = run("DriverManagerDataSource", driverManagerDataSource, 0);
+
+		BasicDataSource pooledDataSource = new BasicDataSource();
+		pooledDataSource.setDriverClassName(DRIVER_CLASS_NAME);
+		pooledDataSource.setUrl(url);
+		pooledDataSource.setMaxTotal(10);
+		pooledDataSource.setMaxIdle(10);
+		pooledDataSource.setValidationQuery("VALUES 1");
+		pooledDataSource.setTestOnBorrow(true);
+		try {
+			long[] pooled = run("BasicDataSource", pooledDataSource, 1_000_000);
+			assertEquals(unpooled.length, pooled.length);
+		} finally {
+			pooledDataSource.close();
+		}
+	}
+
+	private static DriverManagerDataSource newDriverManagerDataSource() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource();
+		dataSource.setDriverClassName(DRIVER_CLASS_NAME);
+		return dataSource;
+	}
+
+	private long[] run(String name, DataSource dataSource, int idOffset) throws Exception {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		AtomicInteger ids = new AtomicInteger(idOffset);
+		List<Callable<long[]>> tasks = new ArrayList<>();
+		for (int i = 0; i < JOB_THREADS; i++) {
+			tasks.add(() -> measure(() -> transactionTemplate.execute(status -> jdbcTemplate.update(
+					"INSERT INTO BENCH_AUDIT VALUES (?, 'job', CURRENT_TIMESTAMP)", ids.incrementAndGet()))));
+		}
+		for (int i = 0; i < UI_THREADS; i++) {
+			tasks.add(() -> measure(() -> transactionTemplate.execute(
+					status -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM BENCH_AUDIT", Integer.class))));
+		}
+
+		ExecutorService executorService = Executors.newFixedThreadPool(tasks.size());
+		List<Long> latencies = new ArrayList<>();
+		long start = System.nanoTime();
+		try {
+			for (Future<long[]> future : executorService.invokeAll(tasks)) {
+				for (long latency : future.get()) {
+					latencies.add(latency);
+				}
+			}
+		} finally {
+			executorService.shutdown();
+		}
+		long elapsed = System.nanoTime() - start;
+
+		Collections.sort(latencies);
+		BenchmarkReport.report(DataSourcePoolBenchmark.class,
+				"%s : %d transactions in %d ms, avg %.3f ms, p50 %.3f ms, p95 %.3f ms, p99 %.3f ms", name, latencies.size(), elapsed / 1_000_000,
+				latencies.stream().mapToLong(Long::longValue).average().orElse(0) / 1_000_000d,
+				percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99));
+		return latencies.stream().mapToLong(Long::longValue).toArray();
+	}
+
+	private static long[] measure(Runnable transaction) {
+		long[] latencies = new long[TRANSACTIONS_PER_THREAD];
+		for (int i = 0; i < TRANSACTIONS_PER_THREAD; i++) {
+			long start = System.nanoTime();
+			transaction.run();
+			latencies[i] = System.nanoTime() - start;
+		}
+		return latencies;
+	}
+
+	private static double percentile(List<Long> sortedLatencies, int percentile) {
+		int index = (int) Math.ceil(percentile / 100d * sortedLatencies.size()) - 1;
+		return sortedLatencies.get(Math.max(index, 0)) / 1_000_000d;
+	}
+}
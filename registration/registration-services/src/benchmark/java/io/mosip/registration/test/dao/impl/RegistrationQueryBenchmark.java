@@ -0,0 +1,265 @@
+package io.mosip.registration.test.dao.impl;
+
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.registration.test.benchmark.BenchmarkReport;
+
+/**
+ * Compares the plans and the latency of the packet job and audit queries on a
+ * local Derby database with 50,000 packets and 500,000 audit logs, before and
+ * after the indexes of the 1.1.5.5 upgrade script:
+ * <ul>
+ * <li>the page of uploaded packets read by the packet status sync</li>
+ * <li>the page of approved packets read by the packet sync</li>
+ * <li>the page of processed packets read by the packet deletion</li>
+ * <li>the audit logs after a time, read by the audit sync</li>
+ * <li>the audit logs of a registration</li>
+ * </ul>
+ *
+ * The tables only have the columns used by the queries.
+ *
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+public class RegistrationQueryBenchmark {
+
+	private static final String DB_URL = "jdbc:derby:memory:queryBenchmark";
+	private static final String INDEX_SCRIPT = "sql/1.1.5.5/initial_db_scripts.sql";
+	private static final int PACKETS = 50_000;
+	private static final int AUDITS = 500_000;
+	private static final int PAGE_SIZE = 500;
+	private static final int ROUNDS = 20;
+	private static final long DAY = 24L * 60 * 60 * 1000;
+
+	private final long now = System.currentTimeMillis();
+
+	private final List<String> names = new ArrayList<>();
+
+	private final List<String> queries = new ArrayList<>();
+
+	private final List<Object[]> parameters = new ArrayList<>();
+
+	private Connection connection;
+
+	@Before
+	public void setUp() throws Exception {
+		connection = DriverManager.getConnection(DB_URL + ";create=true");
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE SCHEMA \"REG\"");
+			statement.execute("CREATE SCHEMA \"AUDIT\"");
+			statement.execute("CREATE TABLE \"REG\".\"REGISTRATION\" (\"ID\" VARCHAR(39) NOT NULL PRIMARY KEY, "
+					+ "\"CLIENT_STATUS_CODE\" VARCHAR(36), \"SERVER_STATUS_CODE\" VARCHAR(36), "
+					+ "\"SERVER_STATUS_DTIME\" TIMESTAMP, \"ACK_FILENAME\" VARCHAR(128), "
+					+ "\"CR_DTIMES\" TIMESTAMP NOT NULL, \"UPD_DTIMES\" TIMESTAMP)");
+			statement.execute("CREATE TABLE \"AUDIT\".\"APP_AUDIT_LOG\" (\"LOG_ID\" VARCHAR(64) NOT NULL PRIMARY KEY, "
+					+ "\"LOG_DTIMES\" TIMESTAMP NOT NULL, \"EVENT_ID\" VARCHAR(64) NOT NULL, \"REF_ID\" VARCHAR(64))");
+		}
+		connection.setAutoCommit(false);
+		Random random = new Random(42);
+		seedPackets(random);
+		seedAudits(random);
+		connection.commit();
+
+		addQuery("Packet status sync page",
+				"SELECT * FROM \"REG\".\"REGISTRATION\" WHERE \"CLIENT_STATUS_CODE\" = ? AND "
+						+ "(\"SERVER_STATUS_DTIME\" IS NULL OR \"SERVER_STATUS_DTIME\" < ?) AND \"ID\" > ? "
+						+ "ORDER BY \"ID\" FETCH FIRST " + PAGE_SIZE + " ROWS ONLY",
+				"PUSHED", new Timestamp(now), "");
+		addQuery("Packet sync page",
+				"SELECT * FROM \"REG\".\"REGISTRATION\" WHERE \"CLIENT_STATUS_CODE\" IN (?, ?) AND \"ID\" > ? "
+						+ "ORDER BY \"ID\" FETCH FIRST " + PAGE_SIZE + " ROWS ONLY",
+				"APPROVED", "REJECTED", "");
+		addQuery("Packet deletion page",
+				"SELECT * FROM \"REG\".\"REGISTRATION\" WHERE \"CR_DTIMES\" < ? AND \"SERVER_STATUS_CODE\" = ? "
+						+ "AND \"ID\" > ? ORDER BY \"ID\" FETCH FIRST " + PAGE_SIZE + " ROWS ONLY",
+				new Timestamp(now - 300 * DAY), "PROCESSED", "");
+		addQuery("Audit logs of the last hour",
+				"SELECT * FROM \"AUDIT\".\"APP_AUDIT_LOG\" WHERE \"LOG_DTIMES\" > ? ORDER BY \"LOG_DTIMES\"",
+				new Timestamp(now - 60 * 60 * 1000));
+		addQuery("Audit logs of a registration",
+				"SELECT * FROM \"AUDIT\".\"APP_AUDIT_LOG\" WHERE \"REF_ID\" = ? ORDER BY \"LOG_DTIMES\"",
+				registrationId(PACKETS / 2));
+	}
+
+	@After
+	public void tearDown() throws SQLException {
+		if (connection == null) {
+			return;
+		}
+		connection.close();
+		try {
+			DriverManager.getConnection(DB_URL + ";drop=true");
+		} catch (SQLException dropped) {
+			// Derby reports a dropped database with an exception
+		}
+	}
+
+	@Test
+	public void indexBenchmark() throws Exception {
+		double[] withoutIndexes = measure("without indexes");
+
+		try (Statement statement = connection.createStatement()) {
+			for (String createIndex : readIndexStatements()) {
+				statement.execute(createIndex);
+			}
+		}
+		connection.commit();
+		double[] withIndexes = measure("with indexes");
+
+		for (int query = 0; query < queries.size(); query++) {
+			BenchmarkReport.report(RegistrationQueryBenchmark.class, "%-30s: %8.3f ms -> %8.3f ms (%.1fx)", names.get(query),
+					withoutIndexes[query], withIndexes[query], withoutIndexes[query] / withIndexes[query]);
+		}
+	}
+
+	private double[] measure(String label) throws SQLException {
+		double[] latencies = new double[queries.size()];
+		for (int query = 0; query < queries.size(); query++) {
+			try (PreparedStatement statement = connection.prepareStatement(queries.get(query))) {
+				Object[] values = parameters.get(query);
+				for (int index = 0; index < values.length; index++) {
+					statement.setObject(index + 1, values[index]);
+				}
+				// warm up
+				for (int round = 0; round < ROUNDS; round++) {
+					run(statement);
+				}
+				long start = System.nanoTime();
+				for (int round = 0; round < ROUNDS; round++) {
+					assertFalse(run(statement) == 0);
+				}
+				latencies[query] = (System.nanoTime() - start) / 1e6 / ROUNDS;
+
+				BenchmarkReport.report(RegistrationQueryBenchmark.class, "%s %s :%n%s", names.get(query), label,
+						plan(statement));
+			}
+		}
+		return latencies;
+	}
+
+	private static int run(PreparedStatement statement) throws SQLException {
+		int rows = 0;
+		try (ResultSet resultSet = statement.executeQuery()) {
+			while (resultSet.next()) {
+				rows++;
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Runs the query once more with the runtime statistics on and returns the
+	 * scans of its plan
+	 */
+	private String plan(PreparedStatement statement) throws SQLException {
+		try (Statement statistics = connection.createStatement()) {
+			statistics.execute("CALL SYSCS_UTIL.SYSCS_SET_RUNTIMESTATISTICS(1)");
+			run(statement);
+			StringBuilder plan = new StringBuilder();
+			try (ResultSet resultSet = statistics.executeQuery("VALUES SYSCS_UTIL.SYSCS_GET_RUNTIMESTATISTICS()")) {
+				resultSet.next();
+				for (String line : resultSet.getString(1).split("\\R")) {
+					if (line.contains("Scan ResultSet") || line.contains("Number of rows visited")) {
+						plan.append("  ").append(line.trim()).append(System.lineSeparator());
+					}
+				}
+			}
+			statistics.execute("CALL SYSCS_UTIL.SYSCS_SET_RUNTIMESTATISTICS(0)");
+			return plan.toString();
+		}
+	}
+
+	/**
+	 * The index statements of the upgrade script on the tables of the benchmark
+	 */
+	private static List<String> readIndexStatements() throws IOException {
+		String script;
+		try (InputStream inputStream = RegistrationQueryBenchmark.class.getClassLoader()
+				.getResourceAsStream(INDEX_SCRIPT)) {
+			script = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+		}
+		List<String> statements = new ArrayList<>();
+		for (String statement : script.split(";")) {
+			String sql = statement.trim();
+			if (sql.startsWith("CREATE INDEX") && (sql.contains("\"REG\".\"REGISTRATION\"")
+					|| sql.contains("\"AUDIT\".\"APP_AUDIT_LOG\""))) {
+				statements.add(sql);
+			}
+		}
+		return statements;
+	}
+
+	private void addQuery(String name, String query, Object... values) {
+		names.add(name);
+		queries.add(query);
+		parameters.add(values);
+	}
+
+	/**
+	 * A year of packets, all but the last weeks processed by the server
+	 */
+	private void seedPackets(Random random) throws SQLException {
+		try (PreparedStatement insert = connection.prepareStatement(
+				"INSERT INTO \"REG\".\"REGISTRATION\" VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+			for (int packet = 0; packet < PACKETS; packet++) {
+				long created = now - (PACKETS - packet) * (365 * DAY / PACKETS);
+				boolean recent = packet >= PACKETS - PACKETS / 20;
+				String clientStatus = recent ? (random.nextBoolean() ? "PUSHED" : "APPROVED") : "PUSHED";
+				insert.setString(1, registrationId(packet));
+				insert.setString(2, clientStatus);
+				insert.setString(3, recent ? null : "PROCESSED");
+				insert.setTimestamp(4, recent && random.nextBoolean() ? null : new Timestamp(created + DAY));
+				insert.setString(5, "..//PacketStore/" + registrationId(packet) + "_Ack.html");
+				insert.setTimestamp(6, new Timestamp(created));
+				insert.setTimestamp(7, new Timestamp(created + DAY));
+				insert.addBatch();
+				if (packet % 1000 == 999) {
+					insert.executeBatch();
+				}
+			}
+			insert.executeBatch();
+		}
+	}
+
+	/**
+	 * Ten audit logs per packet, over the same year
+	 */
+	private void seedAudits(Random random) throws SQLException {
+		try (PreparedStatement insert = connection
+				.prepareStatement("INSERT INTO \"AUDIT\".\"APP_AUDIT_LOG\" VALUES (?, ?, ?, ?)")) {
+			for (int audit = 0; audit < AUDITS; audit++) {
+				insert.setString(1, "LOG" + audit);
+				insert.setTimestamp(2, new Timestamp(now - (AUDITS - audit) * (365 * DAY / AUDITS)));
+				insert.setString(3, "REG-EVT-" + random.nextInt(100));
+				insert.setString(4, audit < PACKETS * 10 ? registrationId(audit / 10) : null);
+				insert.addBatch();
+				if (audit % 1000 == 999) {
+					insert.executeBatch();
+				}
+			}
+			insert.executeBatch();
+		}
+	}
+
+	private static String registrationId(int packet) {
+		return String.format("100011000100259%014d", packet);
+	}
+}
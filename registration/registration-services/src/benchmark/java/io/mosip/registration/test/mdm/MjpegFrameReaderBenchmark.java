@@ -0,0 +1,130 @@
+package io.mosip.registration.test.mdm;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.mosip.registration.mdm.service.impl.MjpegFrameReader;
+import io.mosip.registration.test.benchmark.BenchmarkReport;
+
+/**
+ * Compares the frames per second and the bytes allocated per frame of the
+ * byte by byte header parsing, which the MDS stream readers used before, and
+ * {@link MjpegFrameReader}, on a synthetic capture of preview frames of up to
+ * 60 KB.
+ *
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+public class MjpegFrameReaderBenchmark {
+
+	private static final int FRAMES = 2000;
+	private static final int ROUNDS = 5;
+
+	private byte[] capture;
+
+	@Before
+	public void buildCapture() throws IOException {
+		// the byte by byte parser only matches the header in this case
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		for (byte[] frame : MjpegFrameReaderTest.buildFrames(FRAMES, 60000)) {
+			stream.write(("--mosipboundary\r\nContent-Type: image/jpeg\r\nContent-Length: " + frame.length + "\r\n\r\n")
+					.getBytes(StandardCharsets.US_ASCII));
+			stream.write(frame);
+			stream.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+		}
+		capture = stream.toByteArray();
+	}
+
+	@Test
+	public void frameReaderBenchmark() throws Exception {
+		for (int round = 0; round < ROUNDS; round++) {
+			boolean report = round == ROUNDS - 1;
+			measure("Byte by byte parser", report, inputStream -> {
+				int frames = 0;
+				while (frames < FRAMES) {
+					legacyNextImage(inputStream);
+					frames++;
+				}
+				return frames;
+			});
+			measure("MjpegFrameReader", report, inputStream -> {
+				MjpegFrameReader frameReader = new MjpegFrameReader(inputStream);
+				int frames = 0;
+				while (frameReader.nextFrame(Long.MAX_VALUE) >= 0) {
+					frames++;
+				}
+				return frames;
+			});
+		}
+	}
+
+	private void measure(String name, boolean report, FrameCounter frameCounter) throws Exception {
+		com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+		long start = System.nanoTime();
+
+		int frames = frameCounter.count(new ByteArrayInputStream(capture));
+
+		long elapsed = System.nanoTime() - start;
+		long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+		assertEquals(FRAMES, frames);
+		if (report) {
+			BenchmarkReport.report(MjpegFrameReaderBenchmark.class,
+					"%s : %.0f frames/s, %.1f MB/s of stream, %d bytes allocated per frame", name, frames / (elapsed / 1e9), capture.length / (elapsed / 1e9) / (1024 * 1024),
+					allocated / frames);
+		}
+	}
+
+	/** The parsing loop the MDS helper and the streamer used before. */
+	private static byte[] legacyNextImage(InputStream urlStream) throws IOException {
+		int currByte = -1;
+		boolean captureContentLength = false;
+		StringWriter contentLengthStringWriter = new StringWriter(128);
+		StringWriter headerWriter = new StringWriter(128);
+		int contentLength = 0;
+
+		while ((currByte = urlStream.read()) > -1) {
+			if (captureContentLength) {
+				if (currByte == 10 || currByte == 13) {
+					contentLength = Integer.parseInt(contentLengthStringWriter.toString().replace(" ", ""));
+					break;
+				}
+				contentLengthStringWriter.write(currByte);
+			} else {
+				headerWriter.write(currByte);
+				if (headerWriter.toString().indexOf("Content-Length:") > 0) {
+					captureContentLength = true;
+				}
+			}
+		}
+
+		while (urlStream.read() != 255) {
+		}
+
+		byte[] imageBytes = new byte[contentLength + 1];
+		imageBytes[0] = (byte) 255;
+		int offset = 1;
+		int numRead = 0;
+		while (offset < imageBytes.length
+				&& (numRead = urlStream.read(imageBytes, offset, imageBytes.length - offset)) >= 0) {
+			offset += numRead;
+		}
+		return imageBytes;
+	}
+
+	@FunctionalInterface
+	private interface FrameCounter {
+		int count(InputStream inputStream) throws Exception;
+	}
+}
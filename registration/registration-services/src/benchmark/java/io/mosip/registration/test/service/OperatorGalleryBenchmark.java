@@ -0,0 +1,144 @@
+package io.mosip.registration.test.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.biometrics.constant.BiometricFunction;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biosdk.provider.factory.BioAPIFactory;
+import io.mosip.kernel.biosdk.provider.spi.iBioProviderApi;
+import io.mosip.kernel.core.cbeffutil.entity.BDBInfo;
+import io.mosip.kernel.core.cbeffutil.entity.BIR;
+import io.mosip.kernel.core.cbeffutil.entity.BIR.BIRBuilder;
+import io.mosip.kernel.core.cbeffutil.jaxbclasses.PurposeType;
+import io.mosip.kernel.core.cbeffutil.jaxbclasses.RegistryIDType;
+import io.mosip.kernel.core.cbeffutil.jaxbclasses.SingleType;
+import io.mosip.registration.dao.UserDetailDAO;
+import io.mosip.registration.dto.packetmanager.BiometricsDto;
+import io.mosip.registration.entity.UserBiometric;
+import io.mosip.registration.service.bio.impl.OperatorGalleryServiceImpl;
+import io.mosip.registration.test.benchmark.BenchmarkReport;
+
+/**
+ * Compares the local de-duplication latency of building the operator gallery
+ * on every capture and matching it in one call, as the biometrics controller
+ * did before, with the cached and sharded operator gallery, for galleries of
+ * 10 to 1000 operators with 10 fingers each.
+ *
+ * The stub SDK spends a fixed time per template, the DAO returns prebuilt rows
+ * so the Derby read saved by the cache is not included.
+ *
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+public class OperatorGalleryBenchmark {
+
+	private static final int[] OPERATORS = { 10, 100, 1000 };
+	private static final int FINGERS = 10;
+	private static final int ROUNDS = 20;
+	private static final long NANOS_PER_TEMPLATE = 20000;
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@InjectMocks
+	private OperatorGalleryServiceImpl operatorGalleryService;
+
+	@Mock
+	private UserDetailDAO userDetailDAO;
+
+	@Mock
+	private BioAPIFactory bioAPIFactory;
+
+	@Mock
+	private iBioProviderApi bioProvider;
+
+	private final List<BiometricsDto> capture = Collections
+			.singletonList(new BiometricsDto("leftIndex", new byte[] { 1, 2, 3 }, 80));
+
+	@Before
+	public void setUp() throws Exception {
+		ReflectionTestUtils.setField(operatorGalleryService, "shardSize", 25);
+		ReflectionTestUtils.setField(operatorGalleryService, "matchThreads",
+				Runtime.getRuntime().availableProcessors());
+
+		Mockito.when(bioAPIFactory.getBioProvider(BiometricType.FINGER, BiometricFunction.MATCH))
+				.thenReturn(bioProvider);
+		Mockito.when(bioProvider.identify(Mockito.anyList(), Mockito.anyMap(), Mockito.eq(BiometricType.FINGER),
+				Mockito.isNull())).thenAnswer(invocation -> {
+					Map<String, List<BIR>> gallery = invocation.getArgument(1);
+					Map<String, Boolean> result = new HashMap<>();
+					gallery.forEach((userId, templates) -> {
+						spin(templates.size() * NANOS_PER_TEMPLATE);
+						result.put(userId, false);
+					});
+					return result;
+				});
+	}
+
+	@After
+	public void tearDown() {
+		operatorGalleryService.shutdown();
+	}
+
+	@Test
+	public void operatorGalleryBenchmark() throws Exception {
+		for (int operators : OPERATORS) {
+			List<UserBiometric> userBiometrics = OperatorGalleryServiceTest.buildUserBiometrics(operators, FINGERS);
+			Mockito.when(userDetailDAO.findAllActiveUsers(BiometricType.FINGER.value())).thenReturn(userBiometrics);
+			operatorGalleryService.invalidate();
+
+			long legacy = 0;
+			long cached = 0;
+			for (int round = 0; round < ROUNDS; round++) {
+				legacy += BenchmarkReport.time(this::legacyIdentify);
+				cached += BenchmarkReport.time(() -> operatorGalleryService.identify(BiometricType.FINGER, capture));
+			}
+			BenchmarkReport.report(OperatorGalleryBenchmark.class,
+					"%d operators : rebuilt gallery %.1f ms, cached sharded gallery %.1f ms", operators,
+					legacy / 1e6 / ROUNDS, cached / 1e6 / ROUNDS);
+		}
+	}
+
+	/** The de-duplication the biometrics controller did before. */
+	private boolean legacyIdentify() throws Exception {
+		BiometricType biometricType = BiometricType.FINGER;
+		Map<String, List<BIR>> gallery = new HashMap<>();
+		for (UserBiometric userBiometric : userDetailDAO.findAllActiveUsers(biometricType.value())) {
+			gallery.computeIfAbsent(userBiometric.getUserBiometricId().getUsrId(), k -> new ArrayList<BIR>())
+					.add(buildBir(userBiometric.getBioIsoImage(), biometricType));
+		}
+		List<BIR> sample = new ArrayList<>();
+		capture.forEach(biometricsDto -> sample.add(buildBir(biometricsDto.getAttributeISO(), biometricType)));
+		return bioAPIFactory.getBioProvider(biometricType, BiometricFunction.MATCH)
+				.identify(sample, gallery, biometricType, null).containsValue(true);
+	}
+
+	private static BIR buildBir(byte[] biometricImageISO, BiometricType modality) {
+		return new BIRBuilder().withBdb(biometricImageISO)
+				.withBdbInfo(new BDBInfo.BDBInfoBuilder().withFormat(new RegistryIDType())
+						.withType(Collections.singletonList(SingleType.fromValue(modality.value())))
+						.withPurpose(PurposeType.IDENTIFY).build())
+				.build();
+	}
+
+	private static void spin(long nanos) {
+		long end = System.nanoTime() + nanos;
+		while (System.nanoTime() < end) {
+			Thread.onSpinWait();
+		}
+	}
+}
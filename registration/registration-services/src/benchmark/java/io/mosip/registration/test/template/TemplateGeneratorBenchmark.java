@@ -0,0 +1,254 @@
+package io.mosip.registration.test.template;
+
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.ResourceBundle;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.qrcodegenerator.spi.QrCodeGenerator;
+import io.mosip.kernel.qrcode.generator.zxing.constant.QrVersion;
+import io.mosip.registration.constants.RegistrationConstants;
+import io.mosip.registration.context.ApplicationContext;
+import io.mosip.registration.context.SessionContext;
+import io.mosip.registration.context.SessionContext.UserContext;
+import io.mosip.registration.dto.OSIDataDTO;
+import io.mosip.registration.dto.RegistrationCenterDetailDTO;
+import io.mosip.registration.dto.RegistrationDTO;
+import io.mosip.registration.dto.RegistrationMetaDataDTO;
+import io.mosip.registration.dto.ResponseDTO;
+import io.mosip.registration.dto.UiSchemaDTO;
+import io.mosip.registration.dto.packetmanager.DocumentDto;
+import io.mosip.registration.service.impl.IdentitySchemaServiceImpl;
+import io.mosip.registration.test.benchmark.BenchmarkReport;
+import io.mosip.registration.util.acktemplate.TemplateGenerator;
+
+/**
+ * Compares the time to generate the preview and then the acknowledgement of a
+ * registration with 25 demographic fields and 4 documents of 100 KB, one of
+ * them a proof of exception, with the time of a single render:
+ * <ul>
+ * <li>with a new generator for each registration, so nothing is cached, as
+ * every call was before</li>
+ * <li>with the same generator, the templates compiled and the icons encoded
+ * once, the applicant sections and QR code shared by the preview and the
+ * acknowledgement</li>
+ * </ul>
+ *
+ * The stub QR code generator returns a fixed image, so the QR encoding saved by
+ * the cache is not included.
+ *
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+@RunWith(PowerMockRunner.class)
+@PowerMockIgnore({ "com.sun.org.apache.xerces.*", "javax.xml.*", "org.xml.*", "javax.management.*" })
+@PrepareForTest({ ApplicationContext.class, SessionContext.class })
+public class TemplateGeneratorBenchmark {
+
+	private static final int FIELDS = 25;
+	private static final int DOCUMENTS = 4;
+	private static final int DOCUMENT_SIZE = 100 * 1024;
+	private static final int REGISTRATIONS = 200;
+	private static final int ROUNDS = 5;
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@Mock
+	private QrCodeGenerator<QrVersion> qrCodeGenerator;
+
+	@Mock
+	private IdentitySchemaServiceImpl identitySchemaServiceImpl;
+
+	private final ResourceBundle labels = new ResourceBundle() {
+		@Override
+		protected Object handleGetObject(String key) {
+			return "label of " + key;
+		}
+
+		@Override
+		public Enumeration<String> getKeys() {
+			return Collections.emptyEnumeration();
+		}
+	};
+
+	private final List<RegistrationDTO> registrations = new ArrayList<>();
+
+	private String previewTemplate;
+
+	private String ackTemplate;
+
+	@Before
+	public void setUp() throws Exception {
+		PowerMockito.mockStatic(ApplicationContext.class);
+		when(ApplicationContext.applicationLanguage()).thenReturn("eng");
+		when(ApplicationContext.localLanguage()).thenReturn("ara");
+		when(ApplicationContext.localLanguageProperty()).thenReturn(labels);
+		when(ApplicationContext.applicationLanguageBundle()).thenReturn(labels);
+		when(ApplicationContext.map()).thenReturn(new HashMap<>());
+
+		UserContext userContext = Mockito.mock(SessionContext.UserContext.class);
+		PowerMockito.mockStatic(SessionContext.class);
+		PowerMockito.doReturn(userContext).when(SessionContext.class, "userContext");
+		RegistrationCenterDetailDTO centerDetailDTO = new RegistrationCenterDetailDTO();
+		centerDetailDTO.setRegistrationCenterName("Center A");
+		when(userContext.getRegistrationCenterDetailDTO()).thenReturn(centerDetailDTO);
+
+		when(qrCodeGenerator.generateQrCode(Mockito.anyString(), Mockito.any())).thenReturn(new byte[2048]);
+
+		List<UiSchemaDTO> schemaFields = new ArrayList<>();
+		for (int field = 0; field < FIELDS; field++) {
+			schemaFields.add(prepareField("field" + field, "simpleType", null));
+		}
+		for (int document = 0; document < DOCUMENTS; document++) {
+			schemaFields.add(prepareField("document" + document, "documentType", document == 0 ? "POE" : "POA"));
+		}
+		when(identitySchemaServiceImpl.getUISchema(Mockito.anyDouble())).thenReturn(schemaFields);
+
+		Random random = new Random(42);
+		for (int index = 0; index < REGISTRATIONS; index++) {
+			registrations.add(prepareRegistration(index, random));
+		}
+		previewTemplate = prepareTemplate("Preview");
+		ackTemplate = prepareTemplate("Acknowledgement");
+	}
+
+	@Test
+	public void previewThenAckBenchmark() throws Exception {
+		TemplateGenerator warmGenerator = newTemplateGenerator();
+		for (int round = 0; round < ROUNDS; round++) {
+			boolean report = round == ROUNDS - 1;
+
+			long start = System.nanoTime();
+			for (RegistrationDTO registration : registrations) {
+				generate(newTemplateGenerator(), registration, true);
+			}
+			double cold = (System.nanoTime() - start) / 1e6 / REGISTRATIONS;
+
+			start = System.nanoTime();
+			for (RegistrationDTO registration : registrations) {
+				generate(warmGenerator, registration, false);
+			}
+			double single = (System.nanoTime() - start) / 1e6 / REGISTRATIONS;
+
+			start = System.nanoTime();
+			for (RegistrationDTO registration : registrations) {
+				generate(warmGenerator, registration, true);
+			}
+			double cached = (System.nanoTime() - start) / 1e6 / REGISTRATIONS;
+
+			if (report) {
+				BenchmarkReport.report(TemplateGeneratorBenchmark.class,
+						"Single acknowledgement render     : %.3f ms", single);
+				BenchmarkReport.report(TemplateGeneratorBenchmark.class,
+						"Preview then ack, nothing cached  : %.3f ms (%.2fx single)", cold, cold / single);
+				BenchmarkReport.report(TemplateGeneratorBenchmark.class,
+						"Preview then ack, cached          : %.3f ms (%.2fx single)", cached, cached / single);
+			}
+		}
+	}
+
+	private void generate(TemplateGenerator templateGenerator, RegistrationDTO registration, boolean withPreview)
+			throws Exception {
+		if (withPreview) {
+			ResponseDTO preview = templateGenerator.generateTemplate(previewTemplate, registration, null,
+					RegistrationConstants.TEMPLATE_PREVIEW);
+			assertNotNull(preview.getSuccessResponseDTO());
+		}
+		ResponseDTO ack = templateGenerator.generateTemplate(ackTemplate, registration, null,
+				RegistrationConstants.ACKNOWLEDGEMENT_TEMPLATE);
+		assertNotNull(ack.getSuccessResponseDTO());
+	}
+
+	private TemplateGenerator newTemplateGenerator() {
+		TemplateGenerator templateGenerator = new TemplateGenerator();
+		ReflectionTestUtils.setField(templateGenerator, "qrCodeGenerator", qrCodeGenerator);
+		ReflectionTestUtils.setField(templateGenerator, "identitySchemaServiceImpl", identitySchemaServiceImpl);
+		templateGenerator.setGuidelines("Carry the acknowledgement$Collect the card at the center");
+		templateGenerator.setConsentText("I agree to share my details");
+		return templateGenerator;
+	}
+
+	private static String prepareTemplate(String title) {
+		StringBuilder template = new StringBuilder("<html><head><style>");
+		for (int rule = 0; rule < 200; rule++) {
+			template.append(".c").append(rule).append(" { border: 1px solid #ccc; padding: ").append(rule % 8)
+					.append("px; font-family: sans-serif; }\n");
+		}
+		template.append("</style></head><body><h1>").append(title).append("</h1>")
+				.append("<table><tr><td>$RIDUserLangLabel / $RIDLocalLangLabel</td><td>$RID</td>")
+				.append("<td><img src=\"$QRCodeSource\"/></td><td><img src=\"$ModifyImageSource\"/></td></tr>")
+				.append("<tr><td>$DateUserLangLabel</td><td>$Date</td><td>$RONameUserLangLabel</td><td>$ROName</td></tr>")
+				.append("<tr><td>$RegCenterUserLangLabel</td><td>$RegCenter</td></tr></table>")
+				.append("<h2>$DemographicInfo / $DemographicInfoSecondary</h2><table>")
+				.append("#foreach($id in $demographics.keySet())<tr class=\"c1\">")
+				.append("<td>$demographics.get($id).primaryLabel</td><td>$demographics.get($id).primaryValue</td>")
+				.append("<td>$demographics.get($id).secondaryValue</td><td>$demographics.get($id).secondaryLabel</td>")
+				.append("</tr>#end</table><h2>$DocumentsUserLangLabel</h2><table>")
+				.append("#foreach($id in $documents.keySet())<tr class=\"c2\">")
+				.append("<td>$documents.get($id).primaryLabel</td><td>$documents.get($id).category</td>")
+				.append("<td>$documents.get($id).value</td><td>$documents.get($id).format</td></tr>#end</table>")
+				.append("#if($ExceptionImageSource)<img src=\"$ExceptionImageSource\"/>#end")
+				.append("<h2>$ImportantGuidelines</h2><ol>#foreach($guideline in $Guidelines)<li>$guideline</li>#end</ol>")
+				.append("<p>$ConsentHeading</p><p>$ConsentData</p>")
+				.append("#if($isPreview)<p>$Modify</p>#end</body></html>");
+		return template.toString();
+	}
+
+	private static UiSchemaDTO prepareField(String id, String type, String subType) {
+		UiSchemaDTO field = new UiSchemaDTO();
+		field.setId(id);
+		field.setType(type);
+		field.setSubType(subType);
+		HashMap<String, String> label = new HashMap<>();
+		label.put("primary", "Label of " + id);
+		label.put("secondary", "Secondary label of " + id);
+		field.setLabel(label);
+		return field;
+	}
+
+	private static RegistrationDTO prepareRegistration(int index, Random random) {
+		RegistrationDTO registration = new RegistrationDTO();
+		registration.setIdSchemaVersion(0.1);
+		registration.setRegistrationId(String.format("100011000100259%014d", index));
+		registration.setRegistrationMetaDataDTO(new RegistrationMetaDataDTO());
+		OSIDataDTO osiDataDTO = new OSIDataDTO();
+		osiDataDTO.setOperatorID("110011");
+		registration.setOsiDataDTO(osiDataDTO);
+		for (int field = 0; field < FIELDS; field++) {
+			registration.addDemographicField("field" + field, "eng", "Value " + field + " of " + index, "ara",
+					"Local value " + field);
+		}
+		for (int document = 0; document < DOCUMENTS; document++) {
+			byte[] content = new byte[DOCUMENT_SIZE];
+			random.nextBytes(content);
+			DocumentDto documentDto = new DocumentDto();
+			documentDto.setCategory(document == 0 ? "POE" : "POA");
+			documentDto.setType(document == 0 ? "EOP" : "Passport");
+			documentDto.setValue("document" + document + "_" + index);
+			documentDto.setFormat("jpg");
+			documentDto.setDocument(content);
+			registration.getDocuments().put("document" + document, documentDto);
+		}
+		return registration;
+	}
+}
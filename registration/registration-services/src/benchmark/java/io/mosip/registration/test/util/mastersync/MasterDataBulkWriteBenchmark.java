@@ -0,0 +1,203 @@
+package io.mosip.registration.test.util.mastersync;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.mosip.registration.test.benchmark.BenchmarkReport;
+
+/**
+ * Compares the write strategies for a synthetic 100k row location hierarchy on
+ * an embedded Derby database: a lookup and insert/update per row as done by a
+ * JPA merge, batched inserts into the empty table, and batched MERGE upserts
+ * into the populated table, the statements used by
+ * {@link io.mosip.registration.util.mastersync.MasterDataBulkWriter}.
+ *
+ * Run with <code>mvn test -Pbenchmark</code>.
+ */
+public class MasterDataBulkWriteBenchmark {
+
+	private static final String DRIVER_CLASS_NAME = "org.apache.derby.jdbc.EmbeddedDriver";
+	private static final int BATCH_SIZE = 500;
+	private static final int[] LEVEL_SIZES = { 1, 10, 100, 1000, 98889 };
+	private static final String[] LEVEL_NAMES = { "Country", "Region", "Province", "City", "Zone" };
+
+	private static final String CREATE_TABLE = "CREATE TABLE REG.LOCATION (CODE VARCHAR(36) NOT NULL, NAME VARCHAR(128) NOT NULL, "
+			+ "HIERARCHY_LEVEL SMALLINT NOT NULL, HIERARCHY_LEVEL_NAME VARCHAR(64) NOT NULL, PARENT_LOC_CODE VARCHAR(32), "
+			+ "LANG_CODE VARCHAR(3) NOT NULL, IS_ACTIVE BOOLEAN NOT NULL, CR_BY VARCHAR(32) NOT NULL, CR_DTIMES TIMESTAMP NOT NULL, "
+			+ "UPD_BY VARCHAR(32), UPD_DTIMES TIMESTAMP, IS_DELETED BOOLEAN, DEL_DTIMES TIMESTAMP, "
+			+ "CONSTRAINT PK_LOC_CODE PRIMARY KEY (CODE, LANG_CODE))";
+	private static final String SELECT = "SELECT CODE FROM REG.LOCATION WHERE CODE = ? AND LANG_CODE = ?";
+	private static final String UPDATE = "UPDATE REG.LOCATION SET NAME = ?, HIERARCHY_LEVEL = ?, HIERARCHY_LEVEL_NAME = ?, "
+			+ "PARENT_LOC_CODE = ?, IS_ACTIVE = ?, CR_BY = ?, CR_DTIMES = ? WHERE CODE = ? AND LANG_CODE = ?";
+	private static final String INSERT = "INSERT INTO REG.LOCATION (CODE, LANG_CODE, NAME, HIERARCHY_LEVEL, HIERARCHY_LEVEL_NAME, "
+			+ "PARENT_LOC_CODE, IS_ACTIVE, CR_BY, CR_DTIMES) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final String MERGE = "MERGE INTO REG.LOCATION t USING SYSIBM.SYSDUMMY1 ON t.CODE = ? AND t.LANG_CODE = ? "
+			+ "WHEN MATCHED THEN UPDATE SET NAME = ?, HIERARCHY_LEVEL = ?, HIERARCHY_LEVEL_NAME = ?, PARENT_LOC_CODE = ?, "
+			+ "IS_ACTIVE = ?, CR_BY = ?, CR_DTIMES = ? WHEN NOT MATCHED THEN INSERT (CODE, LANG_CODE, NAME, HIERARCHY_LEVEL, "
+			+ "HIERARCHY_LEVEL_NAME, PARENT_LOC_CODE, IS_ACTIVE, CR_BY, CR_DTIMES) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	@ClassRule
+	public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private static String url;
+
+	private static List<Object[]> locations;
+
+	private Connection connection;
+
+	@BeforeClass
+	public static void createDatabase() throws Exception {
+		Class.forName(DRIVER_CLASS_NAME);
+		url = String.format("jdbc:derby:%s/bench", temporaryFolder.getRoot().getAbsolutePath());
+		try (Connection connection = DriverManager.getConnection(url + ";create=true");
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE SCHEMA REG");
+		}
+		locations = buildHierarchy();
+	}
+
+	@AfterClass
+	public static void shutdownDatabase() {
+		try {
+			DriverManager.getConnection("jdbc:derby:;shutdown=true;deregister=false;");
+		} catch (SQLException exception) {
+			// Derby always reports a successful shutdown as an exception
+		}
+	}
+
+	@Before
+	public void createTable() throws SQLException {
+		connection = DriverManager.getConnection(url);
+		try (Statement statement = connection.createStatement()) {
+			statement.execute(CREATE_TABLE);
+		}
+		connection.setAutoCommit(false);
+	}
+
+	@After
+	public void dropTable() throws SQLException {
+		connection.rollback();
+		connection.setAutoCommit(true);
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("DROP TABLE REG.LOCATION");
+		}
+		connection.close();
+	}
+
+	@Test
+	public void locationWriteBenchmark() throws Exception {
+		long rowByRow = measure("Lookup and insert per row (initial sync)", this::writeRowByRow);
+		connection.rollback();
+
+		long inserted = measure("Batched insert (initial sync)", () -> writeBatched(INSERT, false));
+		connection.commit();
+		long merged = measure("Batched MERGE (resync of every row)", () -> writeBatched(MERGE, true));
+		long rowByRowUpdate = measure("Lookup and update per row (resync of every row)", this::writeRowByRow);
+
+		assertEquals(locations.size(), countRows());
+		BenchmarkReport.report(MasterDataBulkWriteBenchmark.class, "Speed up : initial sync %.1fx, resync %.1fx",
+				(double) rowByRow / inserted, (double) rowByRowUpdate / merged);
+	}
+
+	private static List<Object[]> buildHierarchy() {
+		List<Object[]> rows = new ArrayList<>();
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		List<String> parents = new ArrayList<>();
+		parents.add(null);
+		for (int level = 0; level < LEVEL_SIZES.length; level++) {
+			List<String> codes = new ArrayList<>();
+			for (int i = 0; i < LEVEL_SIZES[level]; i++) {
+				String code = "L" + level + "_" + i;
+				rows.add(new Object[] { code, "eng", LEVEL_NAMES[level] + " " + i, level, LEVEL_NAMES[level],
+						parents.get(i % parents.size()), true, "SYSTEM", now });
+				codes.add(code);
+			}
+			parents = codes;
+		}
+		return rows;
+	}
+
+	private void writeRowByRow() throws SQLException {
+		try (PreparedStatement select = connection.prepareStatement(SELECT);
+				PreparedStatement insert = connection.prepareStatement(INSERT);
+				PreparedStatement update = connection.prepareStatement(UPDATE)) {
+			for (Object[] row : locations) {
+				select.setObject(1, row[0]);
+				select.setObject(2, row[1]);
+				boolean exists;
+				try (ResultSet resultSet = select.executeQuery()) {
+					exists = resultSet.next();
+				}
+				if (exists) {
+					for (int i = 2; i < row.length; i++) {
+						update.setObject(i - 1, row[i]);
+					}
+					update.setObject(row.length - 1, row[0]);
+					update.setObject(row.length, row[1]);
+					update.executeUpdate();
+				} else {
+					bind(insert, row, 1);
+					insert.executeUpdate();
+				}
+			}
+		}
+	}
+
+	private void writeBatched(String sql, boolean upsert) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			int pending = 0;
+			for (Object[] row : locations) {
+				int index = 1;
+				if (upsert) {
+					index = bind(statement, row, index);
+				}
+				bind(statement, row, index);
+				statement.addBatch();
+				if (++pending == BATCH_SIZE) {
+					statement.executeBatch();
+					pending = 0;
+				}
+			}
+			statement.executeBatch();
+		}
+	}
+
+	private static int bind(PreparedStatement statement, Object[] row, int index) throws SQLException {
+		for (Object value : row) {
+			statement.setObject(index++, value);
+		}
+		return index;
+	}
+
+	private int countRows() throws SQLException {
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM REG.LOCATION")) {
+			resultSet.next();
+			return resultSet.getInt(1);
+		}
+	}
+
+	private long measure(String name, BenchmarkReport.Work work) throws Exception {
+		long elapsed = BenchmarkReport.time(work) / 1_000_000;
+		BenchmarkReport.report(MasterDataBulkWriteBenchmark.class, "%s : %d rows in %d ms", name, locations.size(),
+				elapsed);
+		return Math.max(elapsed, 1);
+	}
+}
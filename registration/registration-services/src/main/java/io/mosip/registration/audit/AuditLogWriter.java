@@ -0,0 +1,269 @@
+package io.mosip.registration.audit;
+
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.mosip.kernel.auditmanager.entity.Audit;
+import io.mosip.kernel.auditmanager.request.AuditRequestDto;
+import io.mosip.kernel.auditmanager.util.AuditUtils;
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.registration.config.AppConfig;
+import io.mosip.registration.repositories.RegAuditRepository;
+
+/**
+ * Writes the audit events to the {@code APP_AUDIT_LOG} table in batches on a
+ * background thread.
+ * <p>
+ * The events are validated and mapped to the kernel {@link Audit} entity on
+ * the calling thread, as the kernel {@code AuditHandler} does, and queued in a
+ * bounded queue. The queue is flushed once the flush size is reached or the
+ * flush interval has elapsed, and each flush persists its batch through
+ * {@link RegAuditRepository} in a transaction of its own, which Hibernate
+ * sends as JDBC batches of {@code hibernate.jdbc.batch_size} inserts. When the
+ * queue is full, the
+ * caller writes the queued events itself, which slows the producer down
+ * instead of dropping audits. The queue is drained when the application
+ * context is closed.
+ *
+ * @since 1.1.5
+ */
+@Component
+public class AuditLogWriter {
+
+	private static final Logger LOGGER = AppConfig.getLogger(AuditLogWriter.class);
+
+	private static final String LOG_AUDIT_WRITER = "REGISTRATION - AUDIT_LOG_WRITER";
+
+	/** Maximum number of queued events, the caller flushes the queue when it is full. */
+	@Value("${mosip.registration.audit.queue-capacity:10000}")
+	private int queueCapacity;
+
+	/** Number of queued events that triggers a flush, also the size of a write transaction. */
+	@Value("${mosip.registration.audit.flush-size:100}")
+	private int flushSize;
+
+	/** Maximum time in milliseconds an event stays in the queue. */
+	@Value("${mosip.registration.audit.flush-interval-millis:500}")
+	private long flushInterval;
+
+	@Autowired
+	private RegAuditRepository regAuditRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private BlockingQueue<Audit> queue;
+
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+	private final AtomicBoolean stopped = new AtomicBoolean();
+
+	private final AtomicInteger maxQueueSize = new AtomicInteger();
+
+	private final AtomicLong queuedCount = new AtomicLong();
+
+	private final AtomicLong writtenCount = new AtomicLong();
+
+	private final AtomicLong failedCount = new AtomicLong();
+
+	private final AtomicLong callerFlushCount = new AtomicLong();
+
+	private volatile long lastFlushTime;
+
+	private ScheduledExecutorService flushExecutor;
+
+	/**
+	 * Creates the queue with the configured capacity.
+	 */
+	@PostConstruct
+	public void init() {
+		queue = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+	}
+
+	/**
+	 * Validates the audit event and queues it to be written.
+	 *
+	 * @param auditRequestDto
+	 *            the audit event
+	 */
+	public void add(AuditRequestDto auditRequestDto) {
+		AuditUtils.validateAuditRequestDto(auditRequestDto);
+		Audit audit = toAudit(auditRequestDto);
+		if (stopped.get()) {
+			write(Collections.singletonList(audit));
+			return;
+		}
+
+		queuedCount.incrementAndGet();
+		if (!queue.offer(audit)) {
+			callerFlushCount.incrementAndGet();
+			flush();
+			if (!queue.offer(audit)) {
+				// refilled by other producers meanwhile
+				write(Collections.singletonList(audit));
+				return;
+			}
+		}
+		int size = queue.size();
+		maxQueueSize.accumulateAndGet(size, Math::max);
+
+		if (size >= Math.max(flushSize, 1) && flushRequested.compareAndSet(false, true)) {
+			getFlushExecutor().execute(this::flush);
+		} else {
+			getFlushExecutor();
+		}
+	}
+
+	/**
+	 * Writes all the queued events. Called before the audits are read back from
+	 * the table.
+	 */
+	public synchronized void flush() {
+		flushRequested.set(false);
+		if (queue.isEmpty()) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		int batchSize = Math.max(flushSize, 1);
+		List<Audit> batch = new ArrayList<>(batchSize);
+		while (queue.drainTo(batch, batchSize) > 0) {
+			write(batch);
+			batch.clear();
+		}
+		lastFlushTime = System.currentTimeMillis() - start;
+		LOGGER.debug(LOG_AUDIT_WRITER, APPLICATION_NAME, APPLICATION_ID, "Audit events flushed : " + getMetrics());
+	}
+
+	/**
+	 * Returns the queue and write counters of the writer.
+	 *
+	 * @return the metrics by name
+	 */
+	public Map<String, Long> getMetrics() {
+		Map<String, Long> metrics = new LinkedHashMap<>();
+		metrics.put("queueSize", (long) queue.size());
+		metrics.put("maxQueueSize", (long) maxQueueSize.get());
+		metrics.put("queued", queuedCount.get());
+		metrics.put("written", writtenCount.get());
+		metrics.put("failed", failedCount.get());
+		metrics.put("callerFlushes", callerFlushCount.get());
+		metrics.put("lastFlushMillis", lastFlushTime);
+		return metrics;
+	}
+
+	/**
+	 * Stops the background flush and writes the queued events. Events added
+	 * afterwards are written on the calling thread.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		if (!stopped.compareAndSet(false, true)) {
+			return;
+		}
+		ScheduledExecutorService executor;
+		synchronized (this) {
+			executor = flushExecutor;
+		}
+		if (executor != null) {
+			executor.shutdown();
+			try {
+				executor.awaitTermination(Math.max(flushInterval, 1), TimeUnit.MILLISECONDS);
+			} catch (InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		flush();
+		LOGGER.info(LOG_AUDIT_WRITER, APPLICATION_NAME, APPLICATION_ID, "Audit log writer stopped : " + getMetrics());
+	}
+
+	private synchronized ScheduledExecutorService getFlushExecutor() {
+		if (flushExecutor == null) {
+			flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "audit-log-writer");
+				thread.setDaemon(true);
+				return thread;
+			});
+			long interval = Math.max(flushInterval, 1);
+			flushExecutor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+		}
+		return flushExecutor;
+	}
+
+	/**
+	 * Maps the request to the kernel {@link Audit} entity field by field, as the
+	 * kernel {@code AuditHandler} does.
+	 */
+	private Audit toAudit(AuditRequestDto auditRequestDto) {
+		Audit audit = new Audit();
+		audit.setUuid(UUID.randomUUID().toString());
+		audit.setCreatedAt(LocalDateTime.now(ZoneOffset.UTC));
+		audit.setEventId(auditRequestDto.getEventId());
+		audit.setEventName(auditRequestDto.getEventName());
+		audit.setEventType(auditRequestDto.getEventType());
+		audit.setActionTimeStamp(auditRequestDto.getActionTimeStamp());
+		audit.setHostName(auditRequestDto.getHostName());
+		audit.setHostIp(auditRequestDto.getHostIp());
+		audit.setApplicationId(auditRequestDto.getApplicationId());
+		audit.setApplicationName(auditRequestDto.getApplicationName());
+		audit.setSessionUserId(auditRequestDto.getSessionUserId());
+		audit.setSessionUserName(auditRequestDto.getSessionUserName());
+		audit.setId(auditRequestDto.getId());
+		audit.setIdType(auditRequestDto.getIdType());
+		audit.setCreatedBy(auditRequestDto.getCreatedBy());
+		audit.setModuleName(auditRequestDto.getModuleName());
+		audit.setModuleId(auditRequestDto.getModuleId());
+		audit.setDescription(auditRequestDto.getDescription());
+		return audit;
+	}
+
+	private void write(List<Audit> audits) {
+		try {
+			TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+			// The caller's transaction, if any, neither includes nor rolls back the audits
+			transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+			transactionTemplate.execute(status -> {
+				audits.forEach(regAuditRepository::create);
+				return null;
+			});
+			writtenCount.addAndGet(audits.size());
+		} catch (RuntimeException exception) {
+			if (audits.size() == 1) {
+				failedCount.incrementAndGet();
+				LOGGER.error(LOG_AUDIT_WRITER, APPLICATION_NAME, APPLICATION_ID, "Failed to write audit event "
+						+ audits.get(0).getEventId() + " : " + ExceptionUtils.getStackTrace(exception));
+				return;
+			}
+			LOGGER.error(LOG_AUDIT_WRITER, APPLICATION_NAME, APPLICATION_ID,
+					"Audit batch failed, writing the events one by one : " + exception.getMessage());
+			audits.forEach(audit -> write(Collections.singletonList(audit)));
+		}
+	}
+}
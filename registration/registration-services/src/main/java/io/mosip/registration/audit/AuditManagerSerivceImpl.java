@@ -11,9 +11,11 @@ import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import io.mosip.kernel.auditmanager.builder.AuditRequestBuilder;
@@ -43,7 +45,8 @@ import io.mosip.registration.service.packet.RegPacketStatusService;
  * <p>
  * This class creates a wrapper around {@link AuditRequestBuilder} class. This
  * class creates a {@link AuditRequestBuilder} object for each audit event and
- * persists the same using {@link AuditHandler} .
+ * persists the same using {@link AuditHandler} or queues it for the
+ * {@link AuditLogWriter}.
  * 
  * @author Balaji Sridharan
  * @since 1.0.0
@@ -64,6 +67,17 @@ public class AuditManagerSerivceImpl extends BaseService implements AuditManager
 	@Autowired
 	private AuditLogControlDAO auditLogControlDAO;
 
+	@Autowired
+	private AuditLogWriter auditLogWriter;
+
+	/** Queues the audit events for the {@link AuditLogWriter} instead of writing them on the calling thread. */
+	@Value("${mosip.registration.audit.async.enabled:true}")
+	private boolean asyncAuditEnabled;
+
+	/** Local host, looked up once in the background as the lookup can block on DNS. */
+	private final CompletableFuture<InetAddress> localHost = CompletableFuture
+			.supplyAsync(AuditManagerSerivceImpl::getLocalHost);
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -74,15 +88,13 @@ public class AuditManagerSerivceImpl extends BaseService implements AuditManager
 	@Override
 	public void audit(AuditEvent auditEventEnum, Components appModuleEnum, String refId, String refIdType) {
 
-		// Getting Host IP Address and Name
+		// Getting Host IP Address and Name, the defaults until the lookup completes
 		String hostIP = String.valueOf(ApplicationContext.map().get(RegistrationConstants.DEFAULT_HOST_IP));
 		String hostName = String.valueOf(ApplicationContext.map().get(RegistrationConstants.DEFAULT_HOST_NAME));
-		try {
-			hostIP = InetAddress.getLocalHost().getHostAddress();
-			hostName = InetAddress.getLocalHost().getHostName();
-		} catch (UnknownHostException unknownHostException) {
-			LOGGER.info("REGISTRATION-AUDIT_FACTORY-AUDIT", APPLICATION_NAME, APPLICATION_ID,
-					ExceptionUtils.getStackTrace(unknownHostException));
+		InetAddress inetAddress = localHost.getNow(null);
+		if (inetAddress != null) {
+			hostIP = inetAddress.getHostAddress();
+			hostName = inetAddress.getHostName();
 		}
 
 		if (auditEventEnum.getId().contains(RegistrationConstants.REGISTRATION_EVENTS)
@@ -105,8 +117,22 @@ public class AuditManagerSerivceImpl extends BaseService implements AuditManager
 				.setIdType(refIdType).setModuleId(appModuleEnum.getId()).setModuleName(appModuleEnum.getName())
 				.setSessionUserId(SessionContext.userId()).setSessionUserName(SessionContext.userName());
 
-		auditHandler.addAudit(auditRequestBuilder.build());
+		if (asyncAuditEnabled) {
+			auditLogWriter.add(auditRequestBuilder.build());
+		} else {
+			auditHandler.addAudit(auditRequestBuilder.build());
+		}
+
+	}
 
+	private static InetAddress getLocalHost() {
+		try {
+			return InetAddress.getLocalHost();
+		} catch (UnknownHostException unknownHostException) {
+			LOGGER.info("REGISTRATION-AUDIT_FACTORY-AUDIT", APPLICATION_NAME, APPLICATION_ID,
+					ExceptionUtils.getStackTrace(unknownHostException));
+			return null;
+		}
 	}
 
 	/*
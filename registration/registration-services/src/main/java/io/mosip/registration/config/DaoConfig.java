@@ -16,8 +16,10 @@ import io.mosip.registration.exception.RegBaseCheckedException;
 import io.mosip.registration.exception.RegBaseUncheckedException;
 import io.mosip.registration.exception.RegistrationExceptionConstants;
 import lombok.SneakyThrows;
+import org.apache.commons.dbcp2.BasicDataSource;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.hibernate.cfg.AvailableSettings;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.PropertyPlaceholderConfigurer;
 import org.springframework.context.annotation.Bean;
@@ -30,7 +32,6 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.orm.jpa.JpaVendorAdapter;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
@@ -79,6 +80,8 @@ public class DaoConfig extends HibernateDaoConfig {
 	private static final String GLOBAL_PARAM_PROPERTIES = "SELECT CODE, VAL FROM REG.GLOBAL_PARAM WHERE IS_ACTIVE=TRUE AND VAL IS NOT NULL";
 	private static final String KEY = "CODE";
 	private static final String VALUE= "VAL";
+	private static final String VALIDATION_QUERY = "VALUES 1";
+	private static final String POOL_JMX_NAME = "io.mosip.registration:type=DataSource,name=reg";
 
 	@Autowired
 	private ClientCryptoFacade clientCryptoFacade;
@@ -89,7 +92,7 @@ public class DaoConfig extends HibernateDaoConfig {
 	private static boolean isPPCUpdated = false;
 	private static PropertySourcesPlaceholderConfigurer ppc = null;
 
-	private DriverManagerDataSource driverManagerDataSource = null;
+	private BasicDataSource pooledDataSource = null;
 
 	static {
 
@@ -119,11 +122,11 @@ public class DaoConfig extends HibernateDaoConfig {
 	@Override
 	@Bean(name = "dataSource")
 	public DataSource dataSource() {
-		if(this.driverManagerDataSource == null) {
+		if(this.pooledDataSource == null) {
 			setupDataSource();
 		}
 		jdbcTemplate();
-		return this.driverManagerDataSource;
+		return this.pooledDataSource;
 	}
 
 	/**
@@ -135,7 +138,7 @@ public class DaoConfig extends HibernateDaoConfig {
 	@DependsOn("dataSource")
 	public JdbcTemplate jdbcTemplate() {
 		if(jdbcTemplate == null)
-			jdbcTemplate = new JdbcTemplate(this.driverManagerDataSource);
+			jdbcTemplate = new JdbcTemplate(this.pooledDataSource);
 		updateGlobalParamsInProperties(jdbcTemplate);
 		return jdbcTemplate;
 	}
@@ -204,6 +207,10 @@ public class DaoConfig extends HibernateDaoConfig {
 				keys.getProperty(HibernatePersistenceConstant.HIBERNATE_NON_CONTEXTUAL_CREATION, HibernatePersistenceConstant.FALSE));
 		jpaProperties.put(HibernatePersistenceConstant.HIBERNATE_CURRENT_SESSION_CONTEXT,
 				keys.getProperty(HibernatePersistenceConstant.HIBERNATE_CURRENT_SESSION_CONTEXT, HibernatePersistenceConstant.JTA));
+		jpaProperties.put(AvailableSettings.STATEMENT_BATCH_SIZE,
+				keys.getProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "100"));
+		jpaProperties.put(AvailableSettings.ORDER_INSERTS,
+				keys.getProperty(AvailableSettings.ORDER_INSERTS, HibernatePersistenceConstant.TRUE));
 		return jpaProperties;
 	}
 
@@ -214,12 +221,60 @@ public class DaoConfig extends HibernateDaoConfig {
 		reEncryptExistingDB();
 		setupUserAndPermits();
 		Map<String, String> dbConf = getDBConf();
-		this.driverManagerDataSource = new DriverManagerDataSource();
-		this.driverManagerDataSource.setDriverClassName(DRIVER_CLASS_NAME);
-		this.driverManagerDataSource.setSchema(SCHEMA_NAME);
-		this.driverManagerDataSource.setUrl(String.format(URL, dbPath, dbConf.get(BOOTPWD_KEY)));
-		this.driverManagerDataSource.setUsername(dbConf.get(USERNAME_KEY));
-		this.driverManagerDataSource.setPassword(dbConf.get(PWD_KEY));
+		this.pooledDataSource = new BasicDataSource();
+		this.pooledDataSource.setDriverClassName(DRIVER_CLASS_NAME);
+		this.pooledDataSource.setConnectionInitSqls(Collections.singletonList("SET SCHEMA " + SCHEMA_NAME));
+		this.pooledDataSource.setUrl(String.format(URL, dbPath, dbConf.get(BOOTPWD_KEY)));
+		this.pooledDataSource.setUsername(dbConf.get(USERNAME_KEY));
+		this.pooledDataSource.setPassword(dbConf.get(PWD_KEY));
+		setupConnectionPool(this.pooledDataSource);
+	}
+
+	/**
+	 * Bounds the connection pool and enables validation, and leak detection when
+	 * configured. The encrypted Derby boot handshake is paid only when a physical
+	 * connection is created, instead of on every transaction.
+	 *
+	 * Pool metrics (active, idle, borrowed, created and destroyed connections) are
+	 * published over JMX under {@value #POOL_JMX_NAME}.
+	 */
+	private void setupConnectionPool(BasicDataSource dataSource) {
+		dataSource.setInitialSize(getIntProperty("mosip.registration.db.pool.initial-size", 2));
+		dataSource.setMaxTotal(getIntProperty("mosip.registration.db.pool.max-total", 10));
+		dataSource.setMaxIdle(getIntProperty("mosip.registration.db.pool.max-idle", 10));
+		dataSource.setMinIdle(getIntProperty("mosip.registration.db.pool.min-idle", 2));
+		dataSource.setMaxWaitMillis(getIntProperty("mosip.registration.db.pool.max-wait-millis", 30000));
+		dataSource.setValidationQuery(VALIDATION_QUERY);
+		dataSource.setValidationQueryTimeout(getIntProperty("mosip.registration.db.pool.validation-timeout", 5));
+		dataSource.setTestOnBorrow(true);
+		dataSource.setTestWhileIdle(true);
+		dataSource.setTimeBetweenEvictionRunsMillis(
+				getIntProperty("mosip.registration.db.pool.eviction-interval-millis", 60000));
+		// Leak detection, off by default as a long master sync legitimately holds its
+		// connection past any fixed timeout. When enabled, connections held longer
+		// than the timeout are logged with the stack trace of the borrower and
+		// reclaimed
+		if (Boolean.parseBoolean(
+				keys.getProperty("mosip.registration.db.pool.remove-abandoned.enabled", "false").trim())) {
+			dataSource.setRemoveAbandonedOnBorrow(true);
+			dataSource.setRemoveAbandonedOnMaintenance(true);
+			dataSource.setRemoveAbandonedTimeout(
+					getIntProperty("mosip.registration.db.pool.leak-timeout-seconds", 300));
+			dataSource.setLogAbandoned(true);
+		}
+		dataSource.setJmxName(POOL_JMX_NAME);
+		LOGGER.info(LOGGER_CLASS_NAME, APPLICATION_NAME, APPLICATION_ID, "Connection pool configured with max total : "
+				+ dataSource.getMaxTotal() + ", max idle : " + dataSource.getMaxIdle());
+	}
+
+	private static int getIntProperty(String key, int defaultValue) {
+		try {
+			return Integer.parseInt(keys.getProperty(key, String.valueOf(defaultValue)).trim());
+		} catch (NumberFormatException exception) {
+			LOGGER.error(LOGGER_CLASS_NAME, APPLICATION_NAME, APPLICATION_ID,
+					"Invalid value for " + key + ", using default : " + defaultValue);
+			return defaultValue;
+		}
 	}
 
 	private static void shutdownDatabase() {
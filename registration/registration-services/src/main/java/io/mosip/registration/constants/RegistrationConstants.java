@@ -493,6 +493,8 @@ public class RegistrationConstants {
 	public static final String SIGN_REQUIRED = "service.signrequired";
 	public static final String AUTH_TYPE = "BASIC";
 	public static final String REQUEST_SIGN_REQUIRED = "service.requestsignrequired";
+	public static final String SERVICE_CONNECT_TIMEOUT = "service.connecttimeout";
+	public static final String SERVICE_READ_TIMEOUT = "service.readtimeout";
 
 	// OTP Related Details
 	public static final String OTP_GENERATOR_SERVICE_NAME = "otp_generator";
@@ -783,6 +785,12 @@ public class RegistrationConstants {
 	public static final List<String> PACKET_UPLOAD_STATUS = Arrays.asList("SYNCED", "EXPORTED", "RESEND", "E");
 
 	public static final String PACKET_UPLOAD = "packet_upload";
+	public static final String PACKET_UPLOAD_CHUNK = "packet_upload_chunk";
+	public static final String PACKET_UPLOAD_OFFSET = "packet_upload_offset";
+	public static final String PACKET_UPLOAD_RID = "rid";
+	public static final String PACKET_UPLOAD_OFFSET_KEY = "offset";
+	public static final String PACKET_UPLOAD_TOTAL_SIZE = "totalSize";
+	public static final String PACKET_UPLOAD_HASH = "packetHash";
 	public static final String DUPLICATE = "Duplicate";
 	public static final String FOUND = "Found";
 	public static final String PACKET_DUPLICATE = "duplicate";
@@ -1331,6 +1339,7 @@ public class RegistrationConstants {
 	public static final String REST_AUTHORIZATION = "authorization";
 	public static final String REST_RESPONSE_BODY = "responseBody";
 	public static final String REST_RESPONSE_HEADERS = "responseHeader";
+	public static final String REST_RESPONSE_RAW_BODY = "responseRawBody";
 	public static final String AUTH_SET_COOKIE = "Set-Cookie";
 	public static final String AUTH_AUTHORIZATION = "Authorization";
 	public static final String AUTH_EXPIRES = "Expires";
@@ -87,6 +87,7 @@ public class SessionContext {
 	private long idealTime;
 	private Map<String, Object> mapObject;
 	private AuthTokenDTO authTokenDTO;
+	private final StationContext stationContext = new StationContext();
 
 	/**
 	 * This method will make the Session context class as singleton and returns the
@@ -682,6 +683,28 @@ public class SessionContext {
 		}
 	}
 
+	/**
+	 * Reading stationContext from sessionContext
+	 * 
+	 * @return the station context, null if no session is available
+	 */
+	public static StationContext stationContext() {
+		return sessionContext == null ? null : sessionContext.stationContext;
+	}
+
+	/**
+	 * Invalidates the entries of the station context, if a session is available
+	 * 
+	 * @param keys
+	 *            the entries
+	 */
+	public static void invalidateStationContext(StationContext.Key<?>... keys) {
+		StationContext stationContext = stationContext();
+		if (stationContext != null) {
+			stationContext.invalidate(keys);
+		}
+	}
+
 	/**
 	 * Reading isSessionContextAvailable from sessionContext
 	 * 
@@ -0,0 +1,116 @@
+package io.mosip.registration.context;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The identity of the machine and its center and the results of the
+ * precondition checks, cached for the session of the user along with the
+ * global params found missing. The values are read by the services on every
+ * registration and every sync, and invalidated by the syncs changing them and
+ * by the center remap.
+ *
+ * <p>
+ * A value loaded while its entry is invalidated is returned but not cached, so
+ * a sync completing during the load is never hidden.
+ * </p>
+ *
+ * @since 1.1.5.5
+ */
+public class StationContext {
+
+	public static final Key<String> STATION_ID = new Key<>("stationId", String.class);
+	public static final Key<String> CENTER_ID = new Key<>("centerId", String.class);
+	public static final Key<Boolean> CENTER_ACTIVE = new Key<>("centerActive", Boolean.class);
+	public static final Key<Boolean> MACHINE_REMAPPED = new Key<>("machineRemapped", Boolean.class);
+	public static final Key<Boolean> USER_VALID = new Key<>("userValid", Boolean.class);
+	public static final Key<Boolean> POLICY_KEY_VALID = new Key<>("policyKeyValid", Boolean.class);
+
+	private final Map<Key<?>, Optional<Object>> values = new ConcurrentHashMap<>();
+
+	private final Set<String> missingGlobalParams = ConcurrentHashMap.newKeySet();
+
+	private long generation;
+
+	/**
+	 * @param key
+	 *            the entry
+	 * @param loader
+	 *            loads the value when not cached, may return null
+	 * @return the cached or loaded value
+	 */
+	public <T> T get(Key<T> key, Supplier<T> loader) {
+		Optional<Object> value = values.get(key);
+		if (value == null) {
+			long loadGeneration = getGeneration();
+			value = Optional.<Object>ofNullable(loader.get());
+			cache(key, value, loadGeneration);
+		}
+		return key.type.cast(value.orElse(null));
+	}
+
+	public synchronized void invalidate(Key<?>... keys) {
+		generation++;
+		for (Key<?> key : keys) {
+			values.remove(key);
+		}
+	}
+
+	public synchronized void invalidateAll() {
+		generation++;
+		values.clear();
+		missingGlobalParams.clear();
+	}
+
+	/**
+	 * @param code
+	 *            the global param code
+	 * @return true if the code was not found when the global params were last
+	 *         loaded
+	 */
+	public boolean isGlobalParamMissing(String code) {
+		return missingGlobalParams.contains(code);
+	}
+
+	public void setGlobalParamMissing(String code) {
+		missingGlobalParams.add(code);
+	}
+
+	public void invalidateGlobalParams() {
+		missingGlobalParams.clear();
+	}
+
+	private synchronized long getGeneration() {
+		return generation;
+	}
+
+	private synchronized void cache(Key<?> key, Optional<Object> value, long loadGeneration) {
+		if (loadGeneration == generation) {
+			values.putIfAbsent(key, value);
+		}
+	}
+
+	/**
+	 * An entry of the context, with the type of its value.
+	 */
+	public static final class Key<T> {
+
+		private final String name;
+
+		private final Class<T> type;
+
+		private Key(String name, Class<T> type) {
+			this.name = name;
+			this.type = type;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+}
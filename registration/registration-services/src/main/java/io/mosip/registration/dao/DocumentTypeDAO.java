@@ -1,5 +1,6 @@
 package io.mosip.registration.dao;
 
+import java.util.Collection;
 import java.util.List;
 
 import io.mosip.registration.entity.DocumentType;
@@ -28,4 +29,14 @@ public interface DocumentTypeDAO {
 	 */
 	List<DocumentType> getDocTypeByName(String docTypeName);
 
+	/**
+	 * This method is used to fetch all the document types by the given document
+	 * type names in one query
+	 * 
+	 * @param docTypeNames
+	 *             Doc Type Names
+	 * @return List of fetched doc types
+	 */
+	List<DocumentType> getDocTypesByNames(Collection<String> docTypeNames);
+
 }
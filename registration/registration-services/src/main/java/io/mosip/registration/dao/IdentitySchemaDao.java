@@ -20,6 +20,22 @@ public interface IdentitySchemaDao {
 	
 	public List<UiSchemaDTO> getUISchema(double idVersion) throws RegBaseCheckedException;
 	
+	/**
+	 * @return the field of the UI schema with the id, null if there is none
+	 */
+	public UiSchemaDTO getUISchemaField(double idVersion, String fieldId) throws RegBaseCheckedException;
+	
+	/**
+	 * @return the fields of the UI schema in the group, ignoring case, in schema order
+	 */
+	public List<UiSchemaDTO> getUISchemaFieldsByGroup(double idVersion, String group) throws RegBaseCheckedException;
+	
+	/**
+	 * @return the fields of the UI schema with the sub type, ignoring case, in schema order
+	 */
+	public List<UiSchemaDTO> getUISchemaFieldsBySubType(double idVersion, String subType)
+			throws RegBaseCheckedException;
+	
 	public String getIDSchema(double idVersion) throws RegBaseCheckedException;
 	
 	public void createIdentitySchema(SchemaDto schemaDto) throws IOException;
@@ -0,0 +1,50 @@
+package io.mosip.registration.dao;
+
+import java.util.List;
+
+import io.mosip.registration.entity.PacketOutbox;
+
+/**
+ * DAO for the packet outbox, the durable queue of the registrations whose
+ * packet is being created, synced or uploaded in the background.
+ *
+ * @since 1.1.5
+ */
+public interface PacketOutboxDAO {
+
+	/**
+	 * Fetches the outbox entry of the registration.
+	 * 
+	 * @param registrationId
+	 *            the registration id
+	 * @return the entry, or <code>null</code> if the registration is not in the
+	 *         outbox
+	 */
+	PacketOutbox get(String registrationId);
+
+	/**
+	 * Fetches the entries at the given stages, oldest first.
+	 * 
+	 * @param stages
+	 *            the stages
+	 * @return the entries
+	 */
+	List<PacketOutbox> getByStages(List<String> stages);
+
+	/**
+	 * Inserts or updates the entry.
+	 * 
+	 * @param packetOutbox
+	 *            the entry
+	 * @return the saved entry
+	 */
+	PacketOutbox save(PacketOutbox packetOutbox);
+
+	/**
+	 * Removes the registration from the outbox.
+	 * 
+	 * @param registrationId
+	 *            the registration id
+	 */
+	void delete(String registrationId);
+}
@@ -1,6 +1,8 @@
 package io.mosip.registration.dao;
 
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.Map;
 
 import io.mosip.registration.entity.Registration;
 
@@ -22,6 +24,22 @@ public interface RegPacketStatusDAO {
 	 */
 	List<Registration> getPacketIdsByStatusUploaded();
 	
+	/**
+	 * This method gets the next page of packets which are having the client status
+	 * as PUSHED and whose server status was not read since the given time. The
+	 * fetched data will be returned in the ascending order of registration id
+	 * 
+	 * @param serverStatusTime
+	 * 				packets whose server status was read at or after this time are skipped
+	 * @param lastId
+	 * 				the id of the last packet of the previous page, empty for the first page
+	 * @param pageSize
+	 * 				the maximum number of packets returned
+	 * @return {@link Registration}
+	 * 				returns the page of registrations which are uploaded successfully
+	 */
+	List<Registration> getPacketIdsByStatusUploaded(Timestamp serverStatusTime, String lastId, int pageSize);
+	
 	
 	/**
 	 * Fetch the registration based on the registration id.
@@ -36,6 +54,12 @@ public interface RegPacketStatusDAO {
 	 * @return registration	- the updated registration entity
 	 */
 	Registration update(Registration registration);
+
+	/**
+	 * Update the server status of the registrations in a single batch.
+	 * @param serverStatusCodes	- the server status code of each registration id
+	 */
+	void updateServerStatus(Map<String, String> serverStatusCodes);
 	
 	/**
 	 * Delete the particular registration from the table
@@ -43,4 +67,11 @@ public interface RegPacketStatusDAO {
 	 * @param registration	- the registration entity that has to be deleted
 	 */
 	void delete(Registration registration);
+
+	/**
+	 * Delete the registrations, and their audit log controls, in a single batch
+	 * and transaction.
+	 * @param registrationIds	- the ids of the registrations to be deleted
+	 */
+	void deleteAll(List<String> registrationIds);
 }
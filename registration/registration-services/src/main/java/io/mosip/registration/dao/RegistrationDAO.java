@@ -137,6 +137,19 @@ public interface RegistrationDAO {
 	 */
 	List<Registration> getPacketsToBeSynched(List<String> statusCodes);
 
+	/**
+	 * This method will fetch the next page of records which are in
+	 * Approved/Rejected/ReRegisterApproved, in the ascending order of
+	 * registration id.
+	 *
+	 * @param statusCodes the status codes - Approved/Rejected/ReRegisterApproved
+	 * @param lastId      the id of the last packet of the previous page, empty for
+	 *                    the first page
+	 * @param pageSize    the maximum number of packets returned
+	 * @return List of {@link Registration} entities
+	 */
+	List<Registration> getPacketsToBeSynched(List<String> statusCodes, String lastId, int pageSize);
+
 	/**
 	 * This method is used to update the Packet sync status in the database.
 	 *
@@ -179,6 +192,19 @@ public interface RegistrationDAO {
 	 */
 	List<Registration> get(Timestamp crDtimes, String serverStatusCode);
 
+	/**
+	 * This method is used to find the next page of registrations by CrDtimes and
+	 * server status code, in the ascending order of registration id.
+	 *
+	 * @param crDtimes         the date upto packets to be deleted
+	 * @param serverStatusCode status of resgistrationPacket
+	 * @param lastId           the id of the last packet of the previous page,
+	 *                         empty for the first page
+	 * @param pageSize         the maximum number of packets returned
+	 * @return list of registrations
+	 */
+	List<Registration> get(Timestamp crDtimes, String serverStatusCode, String lastId, int pageSize);
+
 	/**
 	 * This method is used to find list of registrations by server status code in.
 	 *
@@ -204,8 +230,31 @@ public interface RegistrationDAO {
 	 */
 	List<Registration> fetchPacketsToUpload(List<String> clientStatus, String serverStatus);
 
+	/**
+	 * This method is used to fetch the next page of records for the packets to
+	 * Upload, in the ascending order of registration id.
+	 *
+	 * @param clientStatus the client status
+	 * @param serverStatus the server status
+	 * @param lastId       the id of the last packet of the previous page, empty for
+	 *                     the first page
+	 * @param pageSize     the maximum number of packets returned
+	 * @return the list
+	 */
+	List<Registration> fetchPacketsToUpload(List<String> clientStatus, String serverStatus, String lastId,
+			int pageSize);
+
 	List<Registration> fetchReRegisterPendingPackets();
 
 	List<Registration> getAllRegistrations();
 
-}
\ No newline at end of file
+	/**
+	 * Persists the number of bytes of the packet acknowledged by the server during
+	 * a chunked upload, so that an interrupted upload can be resumed.
+	 *
+	 * @param registrationId the registration id
+	 * @param uploadOffset   the acknowledged upload offset
+	 */
+	void updateUploadOffset(String registrationId, long uploadOffset);
+
+}
@@ -83,6 +83,7 @@ public interface UserDetailDAO {
 	/**
 	 * 
 	 * @param bioType
+	 *            the bio type, matched ignoring case
 	 * @return
 	 */
 	List<UserBiometric> findAllActiveUsers(String bioType);
@@ -13,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import io.mosip.kernel.auditmanager.entity.Audit;
 import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.registration.audit.AuditLogWriter;
 import io.mosip.registration.config.AppConfig;
 import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.dao.AuditDAO;
@@ -34,6 +35,9 @@ public class AuditDAOImpl implements AuditDAO {
 	@Autowired
 	private RegAuditRepository regAuditRepository;
 
+	@Autowired
+	private AuditLogWriter auditLogWriter;
+
 	/** Object for Logger. */
 	private static final Logger LOGGER = AppConfig.getLogger(AuditDAOImpl.class);
 
@@ -58,6 +62,8 @@ public class AuditDAOImpl implements AuditDAO {
 				"Fetching of unsynchronized which are to be added to Registartion packet started");
 
 		try {
+			auditLogWriter.flush();
+
 			List<Audit> audits;
 			if (registrationAuditDates == null || registrationAuditDates.getAuditLogToDateTime() == null) {
 				audits = regAuditRepository.findByIdOrderByCreatedAtAsc(registrationId);
@@ -3,6 +3,8 @@ package io.mosip.registration.dao.impl;
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,4 +48,12 @@ public class DocumentTypeDAOImpl implements DocumentTypeDAO {
 		return documentTypeRepository.findByIsActiveTrueAndName(docTypeName);
 	}
 
+	@Override
+	public List<DocumentType> getDocTypesByNames(Collection<String> docTypeNames) {
+		if (docTypeNames == null || docTypeNames.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return documentTypeRepository.findByIsActiveTrueAndNameIn(docTypeNames);
+	}
+
 }
@@ -8,7 +8,14 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.apache.commons.io.FileUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,6 +50,16 @@ public class IdentitySchemaDaoImpl implements IdentitySchemaDao {
 	@Autowired
 	private IdentitySchemaRepository identitySchemaRepository;
 	
+	/**
+	 * Schemas read from their files, by id version. An entry is verified against
+	 * the stored file hash once when loaded and dropped when the schema of its
+	 * version is synced again.
+	 */
+	private final Map<Double, CachedSchema> schemaCache = new ConcurrentHashMap<>();
+	
+	/** Incremented on every invalidation, so that a load started before it is not cached */
+	private volatile long cacheGeneration;
+	
 	@Override
 	public Double getLatestEffectiveSchemaVersion() throws RegBaseCheckedException {
 		Double idVersion = identitySchemaRepository.findLatestEffectiveIdVersion(Timestamp.valueOf(DateUtils.getUTCCurrentDateTime()));
@@ -61,50 +78,38 @@ public class IdentitySchemaDaoImpl implements IdentitySchemaDao {
 
 	@Override
 	public List<UiSchemaDTO> getLatestEffectiveUISchema() throws RegBaseCheckedException {
-		IdentitySchema identitySchema = getLatestEffectiveIdentitySchema();
-		
-		if(identitySchema == null)
-			throw new RegBaseCheckedException(SchemaMessage.SCHEMA_NOT_SYNCED.getCode(), 
-					SchemaMessage.SCHEMA_NOT_SYNCED.getMessage());
-		
-		SchemaDto dto = getSchemaFromFile(identitySchema.getIdVersion(), identitySchema.getFileHash());
-		return dto.getSchema();
+		return getLatestEffectiveCachedSchema().schema.getSchema();
 	}
 
 	@Override
 	public String getLatestEffectiveIDSchema() throws RegBaseCheckedException {
-		IdentitySchema identitySchema = getLatestEffectiveIdentitySchema();	
-		
-		if(identitySchema == null)
-			throw new RegBaseCheckedException(SchemaMessage.SCHEMA_NOT_SYNCED.getCode(), 
-					SchemaMessage.SCHEMA_NOT_SYNCED.getMessage());
-		
-		SchemaDto dto = getSchemaFromFile(identitySchema.getIdVersion(), identitySchema.getFileHash());
-		return dto.getSchemaJson();
+		return getLatestEffectiveCachedSchema().schema.getSchemaJson();
 	}
 
 	@Override
 	public List<UiSchemaDTO> getUISchema(double idVersion) throws RegBaseCheckedException {
-		IdentitySchema identitySchema = identitySchemaRepository.findByIdVersion(idVersion);
-		
-		if(identitySchema == null)
-			throw new RegBaseCheckedException(SchemaMessage.SCHEMA_FILE_NOT_FOUND.getCode(), 
-					SchemaMessage.SCHEMA_FILE_NOT_FOUND.getMessage());
-		
-		SchemaDto dto = getSchemaFromFile(identitySchema.getIdVersion(), identitySchema.getFileHash());
-		return dto.getSchema();
+		return getCachedSchema(idVersion).schema.getSchema();
+	}
+
+	@Override
+	public UiSchemaDTO getUISchemaField(double idVersion, String fieldId) throws RegBaseCheckedException {
+		return fieldId == null ? null : getCachedSchema(idVersion).fieldsById.get(fieldId);
+	}
+
+	@Override
+	public List<UiSchemaDTO> getUISchemaFieldsByGroup(double idVersion, String group) throws RegBaseCheckedException {
+		return getIndexedFields(getCachedSchema(idVersion).fieldsByGroup, group);
+	}
+
+	@Override
+	public List<UiSchemaDTO> getUISchemaFieldsBySubType(double idVersion, String subType)
+			throws RegBaseCheckedException {
+		return getIndexedFields(getCachedSchema(idVersion).fieldsBySubType, subType);
 	}
 
 	@Override
 	public String getIDSchema(double idVersion) throws RegBaseCheckedException {
-		IdentitySchema identitySchema = identitySchemaRepository.findByIdVersion(idVersion);
-		
-		if(identitySchema == null)
-			throw new RegBaseCheckedException(SchemaMessage.SCHEMA_FILE_NOT_FOUND.getCode(), 
-					SchemaMessage.SCHEMA_FILE_NOT_FOUND.getMessage());
-		
-		SchemaDto dto = getSchemaFromFile(identitySchema.getIdVersion(), identitySchema.getFileHash());
-		return dto.getSchemaJson();
+		return getCachedSchema(idVersion).schema.getSchemaJson();
 	}
 
 	@Override
@@ -112,18 +117,76 @@ public class IdentitySchemaDaoImpl implements IdentitySchemaDao {
 		String filePath = getFilePath(schemaReponseDto.getIdVersion());
 		String content = MapperUtils.convertObjectToJsonString(schemaReponseDto);
 		
-		try(FileWriter writer = new FileWriter(filePath)) {
-			writer.write(content);
-		} 		
+		try {
+			try(FileWriter writer = new FileWriter(filePath)) {
+				writer.write(content);
+			} 		
+			
+			IdentitySchema identitySchema = new IdentitySchema();
+			identitySchema.setId(schemaReponseDto.getId());
+			identitySchema.setEffectiveFrom(Timestamp.valueOf(schemaReponseDto.getEffectiveFrom()));
+			identitySchema.setFileName(getFileName(schemaReponseDto.getIdVersion()));
+			identitySchema.setIdVersion(schemaReponseDto.getIdVersion());
+			identitySchema.setFileHash(CryptoUtil.computeFingerPrint(content, null).toLowerCase());
+			
+			identitySchemaRepository.save(identitySchema);
+		} finally {
+			invalidate(schemaReponseDto.getIdVersion());
+		}
+	}
+	
+	private CachedSchema getLatestEffectiveCachedSchema() throws RegBaseCheckedException {
+		long generation = cacheGeneration;
+		IdentitySchema identitySchema = getLatestEffectiveIdentitySchema();
+		
+		if(identitySchema == null)
+			throw new RegBaseCheckedException(SchemaMessage.SCHEMA_NOT_SYNCED.getCode(), 
+					SchemaMessage.SCHEMA_NOT_SYNCED.getMessage());
 		
-		IdentitySchema identitySchema = new IdentitySchema();
-		identitySchema.setId(schemaReponseDto.getId());
-		identitySchema.setEffectiveFrom(Timestamp.valueOf(schemaReponseDto.getEffectiveFrom()));
-		identitySchema.setFileName(getFileName(schemaReponseDto.getIdVersion()));
-		identitySchema.setIdVersion(schemaReponseDto.getIdVersion());
-		identitySchema.setFileHash(CryptoUtil.computeFingerPrint(content, null).toLowerCase());
+		CachedSchema cachedSchema = schemaCache.get(identitySchema.getIdVersion());
+		if(cachedSchema != null && cachedSchema.fileHash.equals(identitySchema.getFileHash()))
+			return cachedSchema;
 		
-		identitySchemaRepository.save(identitySchema);
+		return loadSchema(identitySchema, generation);
+	}
+	
+	private CachedSchema getCachedSchema(double idVersion) throws RegBaseCheckedException {
+		CachedSchema cachedSchema = schemaCache.get(idVersion);
+		if(cachedSchema != null)
+			return cachedSchema;
+		
+		long generation = cacheGeneration;
+		IdentitySchema identitySchema = identitySchemaRepository.findByIdVersion(idVersion);
+		
+		if(identitySchema == null)
+			throw new RegBaseCheckedException(SchemaMessage.SCHEMA_FILE_NOT_FOUND.getCode(), 
+					SchemaMessage.SCHEMA_FILE_NOT_FOUND.getMessage());
+		
+		return loadSchema(identitySchema, generation);
+	}
+	
+	private CachedSchema loadSchema(IdentitySchema identitySchema, long generation) throws RegBaseCheckedException {
+		CachedSchema cachedSchema = new CachedSchema(identitySchema.getFileHash(),
+				getSchemaFromFile(identitySchema.getIdVersion(), identitySchema.getFileHash()));
+		
+		synchronized (schemaCache) {
+			// not cached when the schema was synced again while it was being read
+			if(generation == cacheGeneration)
+				schemaCache.put(identitySchema.getIdVersion(), cachedSchema);
+		}
+		return cachedSchema;
+	}
+	
+	private void invalidate(double idVersion) {
+		synchronized (schemaCache) {
+			cacheGeneration++;
+			schemaCache.remove(idVersion);
+		}
+	}
+	
+	private static List<UiSchemaDTO> getIndexedFields(Map<String, List<UiSchemaDTO>> index, String key) {
+		List<UiSchemaDTO> fields = key == null ? null : index.get(key.toLowerCase(Locale.ROOT));
+		return fields == null ? Collections.emptyList() : fields;
 	}
 	
 	private SchemaDto getSchemaFromFile(double idVersion, String originalChecksum) throws RegBaseCheckedException {
@@ -168,13 +231,52 @@ public class IdentitySchemaDaoImpl implements IdentitySchemaDao {
 
 	@Override
 	public SchemaDto getIdentitySchema(double idVersion) throws RegBaseCheckedException {
-		IdentitySchema identitySchema = identitySchemaRepository.findByIdVersion(idVersion);
+		SchemaDto schema = getCachedSchema(idVersion).schema;
+		// a copy, the cached one is shared
+		return new SchemaDto(schema.getId(), schema.getIdVersion(), schema.getSchema(), schema.getSchemaJson(),
+				schema.getEffectiveFrom());
+	}
+	
+	/**
+	 * A verified schema with its fields indexed by id, group and sub type. The
+	 * field lists are unmodifiable and keep the order of the schema.
+	 */
+	private static final class CachedSchema {
 		
-		if(identitySchema == null)
-			throw new RegBaseCheckedException(SchemaMessage.SCHEMA_FILE_NOT_FOUND.getCode(), 
-					SchemaMessage.SCHEMA_FILE_NOT_FOUND.getMessage());
+		private final String fileHash;
+		private final SchemaDto schema;
+		private final Map<String, UiSchemaDTO> fieldsById;
+		private final Map<String, List<UiSchemaDTO>> fieldsByGroup;
+		private final Map<String, List<UiSchemaDTO>> fieldsBySubType;
 		
-		return getSchemaFromFile(identitySchema.getIdVersion(), identitySchema.getFileHash());
+		private CachedSchema(String fileHash, SchemaDto schema) {
+			List<UiSchemaDTO> fields = schema.getSchema() == null ? Collections.emptyList()
+					: Collections.unmodifiableList(new ArrayList<>(schema.getSchema()));
+			schema.setSchema(fields);
+			
+			Map<String, UiSchemaDTO> fieldsById = new LinkedHashMap<>();
+			for(UiSchemaDTO field : fields) {
+				if(field.getId() != null)
+					fieldsById.putIfAbsent(field.getId(), field);
+			}
+			
+			this.fileHash = fileHash;
+			this.schema = schema;
+			this.fieldsById = Collections.unmodifiableMap(fieldsById);
+			this.fieldsByGroup = index(fields, UiSchemaDTO::getGroup);
+			this.fieldsBySubType = index(fields, UiSchemaDTO::getSubType);
+		}
+		
+		private static Map<String, List<UiSchemaDTO>> index(List<UiSchemaDTO> fields,
+				Function<UiSchemaDTO, String> key) {
+			Map<String, List<UiSchemaDTO>> index = new LinkedHashMap<>();
+			for(UiSchemaDTO field : fields) {
+				if(key.apply(field) != null)
+					index.computeIfAbsent(key.apply(field).toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(field);
+			}
+			index.replaceAll((k, indexedFields) -> Collections.unmodifiableList(indexedFields));
+			return Collections.unmodifiableMap(index);
+		}
 	}
 
 }
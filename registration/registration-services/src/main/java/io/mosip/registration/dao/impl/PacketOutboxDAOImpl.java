@@ -0,0 +1,56 @@
+package io.mosip.registration.dao.impl;
+
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.registration.config.AppConfig;
+import io.mosip.registration.dao.PacketOutboxDAO;
+import io.mosip.registration.entity.PacketOutbox;
+import io.mosip.registration.repositories.PacketOutboxRepository;
+
+/**
+ * The implementation class of {@link PacketOutboxDAO}.
+ *
+ * @since 1.1.5
+ */
+@Repository
+public class PacketOutboxDAOImpl implements PacketOutboxDAO {
+
+	private static final Logger LOGGER = AppConfig.getLogger(PacketOutboxDAOImpl.class);
+
+	private static final String LOG_PACKET_OUTBOX_DAO = "REGISTRATION - PACKET_OUTBOX_DAO";
+
+	@Autowired
+	private PacketOutboxRepository packetOutboxRepository;
+
+	@Override
+	public PacketOutbox get(String registrationId) {
+		return packetOutboxRepository.findById(registrationId).orElse(null);
+	}
+
+	@Override
+	public List<PacketOutbox> getByStages(List<String> stages) {
+		return packetOutboxRepository.findByStageInOrderByCrDtimeAsc(stages);
+	}
+
+	@Override
+	public PacketOutbox save(PacketOutbox packetOutbox) {
+		LOGGER.debug(LOG_PACKET_OUTBOX_DAO, APPLICATION_NAME, APPLICATION_ID,
+				"Saving outbox entry " + packetOutbox.getRegId() + " at stage " + packetOutbox.getStage());
+
+		return packetOutboxRepository.save(packetOutbox);
+	}
+
+	@Override
+	public void delete(String registrationId) {
+		if (packetOutboxRepository.existsById(registrationId)) {
+			packetOutboxRepository.deleteById(registrationId);
+		}
+	}
+}
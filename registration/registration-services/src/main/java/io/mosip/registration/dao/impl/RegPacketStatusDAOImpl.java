@@ -3,12 +3,19 @@ package io.mosip.registration.dao.impl;
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.registration.config.AppConfig;
 import io.mosip.registration.constants.RegistrationClientStatusCode;
 import io.mosip.registration.dao.AuditLogControlDAO;
@@ -32,6 +39,15 @@ public class RegPacketStatusDAOImpl implements RegPacketStatusDAO {
 	@Autowired
 	private AuditLogControlDAO auditLogControlDAO;
 
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private static final String UPDATE_SERVER_STATUS = "UPDATE REG.REGISTRATION SET SERVER_STATUS_CODE = ?, SERVER_STATUS_DTIME = ? WHERE ID = ?";
+
+	private static final String DELETE_AUDIT_LOG_CONTROL = "DELETE FROM REG.AUDIT_LOG_CONTROL WHERE REG_ID = ?";
+
+	private static final String DELETE_REGISTRATION = "DELETE FROM REG.REGISTRATION WHERE ID = ?";
+
 	/**
 	 * Object for Logger
 	 */
@@ -53,6 +69,24 @@ public class RegPacketStatusDAOImpl implements RegPacketStatusDAO {
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * io.mosip.registration.dao.RegPacketStatusDAO#getPacketIdsByStatusUploaded(
+	 * java.sql.Timestamp, java.lang.String, int)
+	 */
+	@Override
+	public List<Registration> getPacketIdsByStatusUploaded(Timestamp serverStatusTime, String lastId,
+			int pageSize) {
+		LOGGER.info("REGISTRATION - PACKET_STATUS_SYNC - REG_PACKET_STATUS_DAO", APPLICATION_NAME, APPLICATION_ID,
+				"getting page of packets by status uploaded-successfully after " + lastId + " has been started");
+
+		return registrationRepository.findPacketsToCheckStatus(
+				RegistrationClientStatusCode.UPLOADED_SUCCESSFULLY.getCode(), serverStatusTime, lastId,
+				PageRequest.of(0, pageSize));
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -81,6 +115,30 @@ public class RegPacketStatusDAOImpl implements RegPacketStatusDAO {
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * io.mosip.registration.dao.RegPacketStatusDAO#updateServerStatus(java.util.
+	 * Map)
+	 */
+	@Override
+	public void updateServerStatus(Map<String, String> serverStatusCodes) {
+		LOGGER.info("REGISTRATION - PACKET_STATUS_SYNC - REG_PACKET_STATUS_DAO", APPLICATION_NAME, APPLICATION_ID,
+				"Update server status of " + serverStatusCodes.size() + " registrations has been started");
+
+		if (serverStatusCodes.isEmpty()) {
+			return;
+		}
+		Timestamp serverStatusTimestamp = Timestamp.valueOf(DateUtils.getUTCCurrentDateTime());
+		List<Object[]> batchArgs = new ArrayList<>();
+		for (Map.Entry<String, String> serverStatusCode : serverStatusCodes.entrySet()) {
+			batchArgs.add(new Object[] { serverStatusCode.getValue(), serverStatusTimestamp,
+					serverStatusCode.getKey() });
+		}
+		jdbcTemplate.batchUpdate(UPDATE_SERVER_STATUS, batchArgs);
+	}
+
 	@Override
 	public void delete(Registration registration) {
 		LOGGER.info("Delete registration has been started");
@@ -97,4 +155,29 @@ public class RegPacketStatusDAOImpl implements RegPacketStatusDAO {
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see io.mosip.registration.dao.RegPacketStatusDAO#deleteAll(java.util.List)
+	 */
+	@Override
+	@Transactional
+	public void deleteAll(List<String> registrationIds) {
+		LOGGER.info("REGISTRATION - PACKET_STATUS_SYNC - REG_PACKET_STATUS_DAO", APPLICATION_NAME, APPLICATION_ID,
+				"Delete " + registrationIds.size() + " registrations has been started");
+
+		if (registrationIds.isEmpty()) {
+			return;
+		}
+		List<Object[]> batchArgs = new ArrayList<>();
+		for (String registrationId : registrationIds) {
+			batchArgs.add(new Object[] { registrationId });
+		}
+		/* Delete Audit Logs */
+		jdbcTemplate.batchUpdate(DELETE_AUDIT_LOG_CONTROL, batchArgs);
+
+		/* Delete Registartions */
+		jdbcTemplate.batchUpdate(DELETE_REGISTRATION, batchArgs);
+	}
+
 }
@@ -14,6 +14,7 @@ import java.util.Optional;
 import javax.transaction.Transactional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
 import io.mosip.commons.packet.dto.packet.SimpleDto;
@@ -127,16 +128,14 @@ public class RegistrationDAOImpl implements RegistrationDAO {
 	
 	private String getKey(String subType) throws RegBaseCheckedException {
 		String key = null;
-		List<UiSchemaDTO> schemaFields = identitySchemaService.getLatestEffectiveUISchema();
+		List<UiSchemaDTO> schemaFields = identitySchemaService
+				.getUISchemaFieldsBySubType(identitySchemaService.getLatestEffectiveSchemaVersion(), subType);
 		for (UiSchemaDTO schemaField : schemaFields) {
-			if (schemaField.getSubType() != null && schemaField.getSubType().equalsIgnoreCase(subType)) {
-
-				if (subType.equalsIgnoreCase(RegistrationConstants.UI_SCHEMA_SUBTYPE_FULL_NAME)) {
-					key = key == null ? schemaField.getId() : key.concat(RegistrationConstants.COMMA).concat(schemaField.getId());
-				} else {
-					key = schemaField.getId();
-					return key;
-				}
+			if (subType.equalsIgnoreCase(RegistrationConstants.UI_SCHEMA_SUBTYPE_FULL_NAME)) {
+				key = key == null ? schemaField.getId() : key.concat(RegistrationConstants.COMMA).concat(schemaField.getId());
+			} else {
+				key = schemaField.getId();
+				return key;
 			}
 		}
 		return key;
@@ -221,6 +220,19 @@ public class RegistrationDAOImpl implements RegistrationDAO {
 		return registrationRepository.findByClientStatusCodeInOrderByUpdDtimesDesc(statusCodes);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * io.mosip.registration.dao.RegistrationDAO#getPacketsToBeSynched(java.util.
+	 * List, java.lang.String, int)
+	 */
+	@Override
+	public List<Registration> getPacketsToBeSynched(List<String> statusCodes, String lastId, int pageSize) {
+		return registrationRepository.findByClientStatusCodeInAndIdGreaterThanOrderByIdAsc(statusCodes, lastId,
+				PageRequest.of(0, pageSize));
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -280,6 +292,10 @@ public class RegistrationDAOImpl implements RegistrationDAO {
 		Registration reg = registrationRepository.getOne(packet.getFileName());
 		// reg.setStatusCode(packet.getPacketClientStatus());
 		reg.setClientStatusCode(packet.getPacketClientStatus());
+		if (packet.getPacketHash() != null) {
+			// the hash sent to the server, checked again before the chunked upload
+			reg.setPacketHash(packet.getPacketHash());
+		}
 		reg.setIsActive(true);
 		reg.setUploadTimestamp(timestamp);
 		return registrationRepository.update(reg);
@@ -338,6 +354,22 @@ public class RegistrationDAOImpl implements RegistrationDAO {
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see io.mosip.registration.dao.RegistrationDAO#get(java.sql.Timestamp,
+	 * java.lang.String, java.lang.String, int)
+	 */
+	@Override
+	public List<Registration> get(Timestamp crDtimes, String serverStatusCode, String lastId, int pageSize) {
+
+		LOGGER.debug("REGISTRATION - BY_STATUS - REGISTRATION_DAO", APPLICATION_NAME, APPLICATION_ID,
+				"Retrieving page of Registrations based on crDtime and status after " + lastId);
+
+		return registrationRepository.findByCrDtimeBeforeAndServerStatusCodeAndIdGreaterThanOrderByIdAsc(crDtimes,
+				serverStatusCode, lastId, PageRequest.of(0, pageSize));
+	}
+
 	@Override
 	public List<Registration> findByServerStatusCodeIn(List<String> serverStatusCodes) {
 
@@ -366,6 +398,17 @@ public class RegistrationDAOImpl implements RegistrationDAO {
 		return registrationRepository.findByClientStatusCodeInOrServerStatusCodeOrderByUpdDtimesDesc(clientStatus,
 				serverStatus);
 	}
+
+	@Override
+	public List<Registration> fetchPacketsToUpload(List<String> clientStatus, String serverStatus, String lastId,
+			int pageSize) {
+
+		LOGGER.debug("REGISTRATION - BY_STATUS - REGISTRATION_DAO", APPLICATION_NAME, APPLICATION_ID,
+				"Retrieving page of Registrations based on client and server status codes after " + lastId);
+
+		return registrationRepository.findPacketsToUpload(clientStatus, serverStatus, lastId,
+				PageRequest.of(0, pageSize));
+	}
 	
 	@Override
 	public List<Registration> fetchReRegisterPendingPackets() {
@@ -385,4 +428,18 @@ public class RegistrationDAOImpl implements RegistrationDAO {
 		
 		return registrationRepository.findAll();
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see io.mosip.registration.dao.RegistrationDAO#updateUploadOffset(java.lang.
+	 * String, long)
+	 */
+	@Override
+	public void updateUploadOffset(String registrationId, long uploadOffset) {
+		LOGGER.debug("REGISTRATION - UPDATE_UPLOAD_OFFSET - REGISTRATION_DAO", APPLICATION_NAME, APPLICATION_ID,
+				"Updating upload offset of " + registrationId + " to " + uploadOffset);
+
+		registrationRepository.updateUploadOffset(registrationId, uploadOffset);
+	}
 }
@@ -216,7 +216,7 @@ public class UserDetailDAOImpl implements UserDetailDAO {
 	public List<UserBiometric> findAllActiveUsers(String bioType) {
 		LOGGER.info(LOG_REG_USER_DETAIL, APPLICATION_NAME, APPLICATION_ID,
 				"Fetching all local users for bioType >>> " + bioType);
-		return userBiometricRepository.findByUserBiometricIdBioTypeCodeAndIsActiveTrue(bioType);
+		return userBiometricRepository.findByUserBiometricIdBioTypeCodeIgnoreCaseAndIsActiveTrue(bioType);
 	}
 
 	@Override
@@ -24,9 +24,11 @@ public class PacketStatusDTO {
 	private String supervisorComments;
 	private BigInteger packetSize;
 	private String packetHash;
+	private String syncedPacketHash;
 	private String createdTime;
 	private String name;
 	private String phone;
 	private String email;
+	private Long uploadOffset;
 	
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package io.mosip.registration.entity;
+
+import java.sql.Timestamp;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A registration in the packet outbox, with the next stage of its pipeline and
+ * the retry state of that stage. Until its packet is created, the entry also
+ * holds the registration data.
+ *
+ * @since 1.1.5
+ */
+@Entity
+@Table(schema = "reg", name = "packet_outbox")
+@Getter
+@Setter
+public class PacketOutbox extends RegistrationCommonFields {
+
+	@Id
+	@Column(name = "REG_ID")
+	private String regId;
+	@Column(name = "STAGE")
+	private String stage;
+	@Column(name = "ATTEMPTS")
+	private Integer attempts;
+	@Column(name = "NEXT_ATTEMPT_DTIMES")
+	private Timestamp nextAttemptDtimes;
+	@Column(name = "LAST_ERROR")
+	private String lastError;
+	@Lob
+	@Column(name = "REG_DATA")
+	private byte[] registrationData;
+}
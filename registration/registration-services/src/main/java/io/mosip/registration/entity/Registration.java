@@ -76,6 +76,10 @@ public class Registration extends RegistrationCommonFields {
 	private Timestamp latestRegTrnTimestamp;
 	@Column(name = "ADDITIONAL_INFO")
 	private byte[] additionalInfo;
+	@Column(name = "UPLOAD_OFFSET")
+	private Long uploadOffset;
+	@Column(name = "PACKET_HASH")
+	private String packetHash;
 
 	@ManyToOne
 	@JoinColumn(name = "CR_BY", referencedColumnName = "id", insertable = false, updatable = false)
@@ -318,4 +322,20 @@ public class Registration extends RegistrationCommonFields {
 	public void setAdditionalInfo(byte[] additionalInfo) {
 		this.additionalInfo = additionalInfo;
 	}
+	public Long getUploadOffset() {
+		return uploadOffset;
+	}
+
+	public void setUploadOffset(Long uploadOffset) {
+		this.uploadOffset = uploadOffset;
+	}
+
+	public String getPacketHash() {
+		return packetHash;
+	}
+
+	public void setPacketHash(String packetHash) {
+		this.packetHash = packetHash;
+	}
+
 }
@@ -165,6 +165,8 @@ public enum RegistrationExceptionConstants {
 	REG_PKT_TRIGGER_PT(PACKET_CREATION_EXP_CODE + "PUS-010", "Trigger point can not be empty or null"),
 	REG_PKT_ID(PACKET_CREATION_EXP_CODE + "PUS-011", "Packet id can not be empty or null"),
 	REG_PKT_UPLD_EXCEPTION(PACKET_CREATION_EXP_CODE + "PUS-001", "Upload Packet missing"),
+	REG_PKT_UPLD_OFFSET_ERROR(PACKET_CREATION_EXP_CODE + "PUS-012", "Invalid upload offset acknowledged by the server"),
+	REG_PKT_UPLD_HASH_MISMATCH(PACKET_CREATION_EXP_CODE + "PUS-013", "Packet hash does not match the synced packet hash"),
 	
 	REG_MASTER_SYNC_SERVICE_IMPL("REG-MSS-001","master sync service mandatory fields are missing."),
 	REG_MASTER_SYNC_SERVICE_IMPL_LANGCODE("REG-MSS-002","master sync service language code mandatory fields is missing."),
@@ -223,6 +225,11 @@ public enum RegistrationExceptionConstants {
 	MDS_PAYLOAD_EMPTY("REG-MDS-006","Payload is Empty"),
 	MDS_STREAM_TIMEOUT("REG-MDS-007","Stream Timeout Reached"),
 
+	REG_PACKET_OUTBOX_DUPLICATE("REG-POB-001", "Registration is already in the packet outbox"),
+	REG_PACKET_OUTBOX_FULL("REG-POB-002", "Too many registrations are waiting for packet creation"),
+	REG_PACKET_OUTBOX_INTERRUPTED("REG-POB-003", "Packet creation was interrupted before the packet was saved"),
+	REG_PACKET_OUTBOX_NOT_UPLOADED("REG-POB-004", "Packet upload was not acknowledged by the server"),
+
 	APP_INVALID_STATE("REG-INIT-001", "Application found in invalid state, tampering detected !");
 
 	/**
@@ -1,10 +1,5 @@
 package io.mosip.registration.jobs;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 import org.quartz.JobExecutionContext;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -56,12 +51,6 @@ public abstract class BaseJob extends QuartzJobBean {
 
 	protected String triggerPoint;
 
-	protected ResponseDTO responseDTO;
-
-	private static Map<String, String> completedJobMap = new HashMap<>();
-
-	public static final List<String> successJob = new ArrayList<>();
-
 	/**
 	 * LOGGER for logging
 	 */
@@ -80,7 +69,9 @@ public abstract class BaseJob extends QuartzJobBean {
 	}
 
 	/**
-	 * The executeJob will execute the service class defined in the functionality.
+	 * The executeJob will execute the parent job, then the service class defined
+	 * in the functionality. Jobs which are executed by themselves without their
+	 * parent job override this method.
 	 * 
 	 * As after executing the service it will update the job execution information
 	 * in sync_transaction and in sync_control tables.
@@ -98,7 +89,27 @@ public abstract class BaseJob extends QuartzJobBean {
 	 *            the job ID
 	 * @return Response of execution
 	 */
-	public abstract ResponseDTO executeJob(String triggerPoint, String jobId);
+	public ResponseDTO executeJob(String triggerPoint, String jobId) {
+		return executeJob(triggerPoint, jobId, executeParentJob(jobId));
+	}
+
+	/**
+	 * The executeJob will execute the service class defined in the functionality
+	 * after its parent job, without executing the parent job again. The service is
+	 * executed only if the parent job succeeded. Used when all the jobs are
+	 * executed, where the parent jobs are resolved by the job configuration
+	 * service.
+	 * 
+	 * @param triggerPoint
+	 *            the triggered person
+	 * @param jobId
+	 *            the job ID
+	 * @param parentJobResponse
+	 *            the response of the parent job, a success response if the job
+	 *            has no parent
+	 * @return Response of execution
+	 */
+	public abstract ResponseDTO executeJob(String triggerPoint, String jobId, ResponseDTO parentJobResponse);
 
 	/**
 	 * The executeChildJob will check for any parent jobs associated to the current
@@ -168,7 +179,8 @@ public abstract class BaseJob extends QuartzJobBean {
 	}
 
 	/**
-	 * The syncTransactionUpdate will update the job execution information for sync_transaction and sync_control in database.
+	 * The syncTransactionUpdate will update the job execution information for sync_transaction and sync_control in database,
+	 * and record the status in the current job run.
 	 * 
 	 * If response in a parameter is success : It will update the status
 	 * JOB_EXECUTION_SUCCESS in sync_transaction and in sync_control.
@@ -190,7 +202,7 @@ public abstract class BaseJob extends QuartzJobBean {
 				: RegistrationConstants.JOB_EXECUTION_FAILURE;
 		try {
 
-			addToCompletedJobMap(syncJobId, status);
+			jobManager.jobCompleted(syncJobId, status);
 
 			/* Insert Sync Transaction of executed with Success/failure */
 			SyncTransaction syncTransaction = syncManager.createSyncTransaction(status, status, triggerPoint,
@@ -251,11 +263,7 @@ public abstract class BaseJob extends QuartzJobBean {
 		}
 
 		/* Get Current JobId */
-		String currentJobId = jobManager.getJobId(context);
-
-		removeCompletedJobInMap(currentJobId);
-
-		return currentJobId;
+		return jobManager.getJobId(context);
 
 	}
 
@@ -265,23 +273,4 @@ public abstract class BaseJob extends QuartzJobBean {
 		}
 	}
 
-	public void addToCompletedJobMap(String jobId, String status) {
-		completedJobMap.put(jobId, status);
-		if (status.toLowerCase().contains(RegistrationConstants.SUCCESS.toLowerCase())) {
-			successJob.add(jobId);
-		}
-	}
-
-	public static Map<String, String> getCompletedJobMap() {
-		return completedJobMap;
-	}
-
-	public static void clearCompletedJobMap() {
-		completedJobMap.clear();
-	}
-
-	public static void removeCompletedJobInMap(String jobId) {
-		completedJobMap.remove(jobId);
-	}
-
 }
@@ -52,4 +52,29 @@ public interface JobManager {
 	 */
 	public String getJobId(Trigger trigger);
 
+	/**
+	 * To get the run the completed jobs are recorded in
+	 * 
+	 * @return the current job run
+	 */
+	public JobRun getJobRun();
+
+	/**
+	 * To start a new run, the jobs completed from now on are recorded in it
+	 * 
+	 * @param jobRun
+	 *            the new job run
+	 */
+	public void setJobRun(JobRun jobRun);
+
+	/**
+	 * To record the status of a completed job in the current run
+	 * 
+	 * @param jobId
+	 *            the job id
+	 * @param status
+	 *            the execution status
+	 */
+	public void jobCompleted(String jobId, String status);
+
 }
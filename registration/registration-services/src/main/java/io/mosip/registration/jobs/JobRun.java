@@ -0,0 +1,85 @@
+package io.mosip.registration.jobs;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import io.mosip.registration.constants.RegistrationConstants;
+
+/**
+ * The status of the sync jobs completed in one run, a sync of all the jobs or
+ * the scheduled jobs since. Jobs of a run complete concurrently, so the status
+ * is kept in a concurrent map.
+ *
+ * @since 1.1.5.5
+ */
+public class JobRun {
+
+	private final Map<String, String> completedJobs = new ConcurrentHashMap<>();
+
+	private final Consumer<JobRun> completionListener;
+
+	public JobRun() {
+		this(null);
+	}
+
+	/**
+	 * @param completionListener
+	 *            called with the run each time a job completes, null if none
+	 */
+	public JobRun(Consumer<JobRun> completionListener) {
+		this.completionListener = completionListener;
+	}
+
+	/**
+	 * Records the status of the completed job, replacing the status of an earlier
+	 * completion in the same run, and notifies the completion listener.
+	 *
+	 * @param jobId
+	 *            the job ID
+	 * @param status
+	 *            {@link RegistrationConstants#JOB_EXECUTION_SUCCESS} or
+	 *            {@link RegistrationConstants#JOB_EXECUTION_FAILURE}
+	 */
+	public void complete(String jobId, String status) {
+		completedJobs.put(jobId, status);
+		if (completionListener != null) {
+			completionListener.accept(this);
+		}
+	}
+
+	/**
+	 * @param jobId
+	 *            the job ID
+	 * @return the status of the job, null if it did not complete in this run
+	 */
+	public String getStatus(String jobId) {
+		return completedJobs.get(jobId);
+	}
+
+	/**
+	 * @return the status of the completed jobs by job ID
+	 */
+	public Map<String, String> getCompletedJobs() {
+		return Collections.unmodifiableMap(completedJobs);
+	}
+
+	public int getCompletedCount() {
+		return completedJobs.size();
+	}
+
+	public int getSuccessCount() {
+		return (int) completedJobs.values().stream().filter(RegistrationConstants.JOB_EXECUTION_SUCCESS::equals)
+				.count();
+	}
+
+	public void remove(String jobId) {
+		completedJobs.remove(jobId);
+	}
+
+	public void clear() {
+		completedJobs.clear();
+	}
+
+}
@@ -72,7 +72,7 @@ public class DeleteAuditLogsJob extends BaseJob {
 	public void executeInternal(JobExecutionContext context) {
 		LOGGER.debug(LoggerConstants.DELETE_AUDIT_LOGS_JOB, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "job execute internal started");
-		this.responseDTO = new ResponseDTO();
+		ResponseDTO responseDTO = new ResponseDTO();
 
 		try {
 
@@ -80,11 +80,11 @@ public class DeleteAuditLogsJob extends BaseJob {
 			auditService = applicationContext.getBean(AuditManagerService.class);
 
 			// Execute Parent Job
-			this.responseDTO = executeParentJob(jobId);
+			responseDTO = executeParentJob(jobId);
 
 			// Execute Current Job
 			if (responseDTO.getSuccessResponseDTO() != null) {
-				this.responseDTO = auditService.deleteAuditLogs();
+				responseDTO = auditService.deleteAuditLogs();
 			}
 
 			syncTransactionUpdate(responseDTO, triggerPoint, jobId);
@@ -108,17 +108,17 @@ public class DeleteAuditLogsJob extends BaseJob {
 	 * java.lang.String)
 	 */
 	@Override
-	public ResponseDTO executeJob(String triggerPoint, String jobId) {
+	public ResponseDTO executeJob(String triggerPoint, String jobId, ResponseDTO parentJobResponse) {
 
 		LOGGER.debug(LoggerConstants.DELETE_AUDIT_LOGS_JOB, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "execute Job started");
 
-		// Execute Parent Job
-		this.responseDTO = executeParentJob(jobId);
+		// Response of the parent job
+		ResponseDTO responseDTO = parentJobResponse;
 
 		// Execute Current Job
 		if (responseDTO.getSuccessResponseDTO() != null) {
-			this.responseDTO = auditService.deleteAuditLogs();
+			responseDTO = auditService.deleteAuditLogs();
 		}
 		syncTransactionUpdate(responseDTO, triggerPoint, jobId);
 
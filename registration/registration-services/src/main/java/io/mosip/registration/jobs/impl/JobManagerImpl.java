@@ -15,6 +15,7 @@ import io.mosip.registration.constants.LoggerConstants;
 import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.entity.SyncJobDef;
 import io.mosip.registration.jobs.JobManager;
+import io.mosip.registration.jobs.JobRun;
 
 /**
  * This job is the implementation of {@link JobManager}
@@ -41,6 +42,8 @@ public class JobManagerImpl implements JobManager {
 	 */
 	private static final Logger LOGGER = AppConfig.getLogger(JobManagerImpl.class);
 
+	private volatile JobRun jobRun = new JobRun();
+
 	public synchronized String getJobId(JobExecutionContext context) {
 
 		return getJobId(context.getJobDetail());
@@ -56,6 +59,21 @@ public class JobManagerImpl implements JobManager {
 		return getJobId((JobDetail) trigger.getJobDataMap().get(RegistrationConstants.JOB_DETAIL));
 	}
 
+	@Override
+	public JobRun getJobRun() {
+		return jobRun;
+	}
+
+	@Override
+	public void setJobRun(JobRun jobRun) {
+		this.jobRun = jobRun;
+	}
+
+	@Override
+	public void jobCompleted(String jobId, String status) {
+		jobRun.complete(jobId, status);
+	}
+
 	
 
 }
@@ -61,7 +61,7 @@ public class KeyPolicySyncJob extends BaseJob {
 	public void executeInternal(JobExecutionContext context) {
 		LOGGER.info(LoggerConstants.KEY_POLICY_SYNC_JOB_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "job execute internal started");
-		this.responseDTO = new ResponseDTO();
+		ResponseDTO responseDTO = new ResponseDTO();
 
 		try {
 
@@ -69,11 +69,11 @@ public class KeyPolicySyncJob extends BaseJob {
 			policySyncService = applicationContext.getBean(PolicySyncService.class);
 
 			// Execute Parent Job
-			this.responseDTO = executeParentJob(jobId);
+			responseDTO = executeParentJob(jobId);
 
 			// Execute Current Job
 			if (responseDTO.getSuccessResponseDTO() != null) {
-				this.responseDTO = policySyncService.fetchPolicy();
+				responseDTO = policySyncService.fetchPolicy();
 			}
 
 			syncTransactionUpdate(responseDTO, triggerPoint, jobId);
@@ -100,17 +100,18 @@ public class KeyPolicySyncJob extends BaseJob {
 	 * java.lang.String)
 	 */
 	@Override
-	public ResponseDTO executeJob(String triggerPoint, String jobId) {
+	public ResponseDTO executeJob(String triggerPoint, String jobId, ResponseDTO parentJobResponse) {
 
 		LOGGER.info(LoggerConstants.KEY_POLICY_SYNC_JOB_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "execute Job started");
 
-		try {// Execute Parent Job
-			this.responseDTO = executeParentJob(jobId);
+		// Response of the parent job
+		ResponseDTO responseDTO = parentJobResponse;
 
+		try {
 			// Execute Current Job
 			if (responseDTO.getSuccessResponseDTO() != null) {
-				this.responseDTO = policySyncService.fetchPolicy();
+				responseDTO = policySyncService.fetchPolicy();
 			}
 		} catch (RegBaseCheckedException checkedException) {
 
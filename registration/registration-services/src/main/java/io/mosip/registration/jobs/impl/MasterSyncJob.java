@@ -67,18 +67,18 @@ public class MasterSyncJob extends BaseJob {
 	public void executeInternal(JobExecutionContext context) {
 		LOGGER.info(LoggerConstants.MASTER_SYNC_STATUS_JOB_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "job execute internal started");
-		this.responseDTO = new ResponseDTO();
+		ResponseDTO responseDTO = new ResponseDTO();
 
 		try {
 			this.jobId = loadContext(context);
 			masterSyncService = applicationContext.getBean(MasterSyncService.class);
 
 			// Execute Parent Job
-			this.responseDTO = executeParentJob(jobId);
+			responseDTO = executeParentJob(jobId);
 
 			// Execute Current Job
 			if (responseDTO.getSuccessResponseDTO() != null) {
-				this.responseDTO = masterSyncService.getMasterSync(jobId, triggerPoint);
+				responseDTO = masterSyncService.getMasterSync(jobId, triggerPoint);
 			}
 
 			syncTransactionUpdate(responseDTO, triggerPoint, jobId);
@@ -97,14 +97,23 @@ public class MasterSyncJob extends BaseJob {
 				RegistrationConstants.APPLICATION_ID, "job execute internal Ended");
 	}
 
+	/**
+	 * Executes the master sync by itself, without its parent job.
+	 */
 	@Override
 	public ResponseDTO executeJob(String triggerPoint, String jobId) {
+		return executeJob(triggerPoint, jobId, null);
+	}
+
+	@Override
+	public ResponseDTO executeJob(String triggerPoint, String jobId, ResponseDTO parentJobResponse) {
 
 		LOGGER.info(LoggerConstants.MASTER_SYNC_STATUS_JOB_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "execute Job started");
 
+		ResponseDTO responseDTO = new ResponseDTO();
 		try {
-			this.responseDTO = masterSyncService.getMasterSync(jobId, triggerPoint);
+			responseDTO = masterSyncService.getMasterSync(jobId, triggerPoint);
 		} catch (RegBaseCheckedException checkedException) {
 			LOGGER.error(LoggerConstants.USER_DETAIL_SERVICE_JOB_TITLE, APPLICATION_NAME, APPLICATION_ID,
 					ExceptionUtils.getStackTrace(checkedException));
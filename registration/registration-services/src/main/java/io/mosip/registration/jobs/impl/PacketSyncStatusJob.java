@@ -67,7 +67,7 @@ public class PacketSyncStatusJob extends BaseJob {
 	public void executeInternal(JobExecutionContext context) {
 		LOGGER.info(LoggerConstants.PACKET_SYNC_STATUS_JOB_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "job execute internal started");
-		this.responseDTO = new ResponseDTO();
+		ResponseDTO responseDTO = new ResponseDTO();
 
 		try {
 
@@ -75,11 +75,11 @@ public class PacketSyncStatusJob extends BaseJob {
 			packetStatusService = applicationContext.getBean(RegPacketStatusService.class);
 
 			// Execute Parent Job
-			this.responseDTO = executeParentJob(jobId);
+			responseDTO = executeParentJob(jobId);
 
 			// Execute Current Job
 			if (responseDTO.getSuccessResponseDTO() != null) {
-				this.responseDTO = packetStatusService.packetSyncStatus(triggerPoint);
+				responseDTO = packetStatusService.packetSyncStatus(triggerPoint);
 			}
 
 			syncTransactionUpdate(responseDTO, triggerPoint, jobId);
@@ -106,17 +106,16 @@ public class PacketSyncStatusJob extends BaseJob {
 	 * java.lang.String)
 	 */
 	@Override
-	public ResponseDTO executeJob(String triggerPoint, String jobId) {
+	public ResponseDTO executeJob(String triggerPoint, String jobId, ResponseDTO parentJobResponse) {
 
 		LOGGER.info(LoggerConstants.PACKET_SYNC_STATUS_JOB_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "execute Job started");
+		// Response of the parent job
+		ResponseDTO responseDTO = parentJobResponse;
 		try {
-			// Execute Parent Job
-			this.responseDTO = executeParentJob(jobId);
-
 			// Execute Current Job
 			if (responseDTO.getSuccessResponseDTO() != null) {
-				this.responseDTO = packetStatusService.packetSyncStatus(triggerPoint);
+				responseDTO = packetStatusService.packetSyncStatus(triggerPoint);
 			}
 			syncTransactionUpdate(responseDTO, triggerPoint, jobId);
 
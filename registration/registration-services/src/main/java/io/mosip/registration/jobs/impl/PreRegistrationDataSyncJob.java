@@ -61,18 +61,18 @@ public class PreRegistrationDataSyncJob extends BaseJob {
 	public void executeInternal(JobExecutionContext context) {
 		LOGGER.info(LoggerConstants.PRE_REG_DATA_SYNC_JOB_LOGGER_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "job execute internal started");
-		this.responseDTO = new ResponseDTO();
+		ResponseDTO responseDTO = new ResponseDTO();
 
 		try {
 			this.jobId = loadContext(context);
 			preRegistrationDataSyncService = applicationContext.getBean(PreRegistrationDataSyncService.class);
 
 			// Execute Parent Job
-			this.responseDTO = executeParentJob(jobId);
+			responseDTO = executeParentJob(jobId);
 
 			// Execute Current Job
 			if (responseDTO.getSuccessResponseDTO() != null) {
-				this.responseDTO = preRegistrationDataSyncService
+				responseDTO = preRegistrationDataSyncService
 						.getPreRegistrationIds(RegistrationConstants.OPT_TO_REG_PDS_J00003);
 			}
 
@@ -97,17 +97,17 @@ public class PreRegistrationDataSyncJob extends BaseJob {
 	 * java.lang.String)
 	 */
 	@Override
-	public ResponseDTO executeJob(String triggerPoint, String jobId) {
+	public ResponseDTO executeJob(String triggerPoint, String jobId, ResponseDTO parentJobResponse) {
 
 		LOGGER.info(LoggerConstants.PRE_REG_DATA_SYNC_JOB_LOGGER_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "execute Job started");
 
-		// Execute Parent Job
-		this.responseDTO = executeParentJob(jobId);
+		// Response of the parent job
+		ResponseDTO responseDTO = parentJobResponse;
 
 		// Execute Current Job
 		if (responseDTO.getSuccessResponseDTO() != null) {
-			this.responseDTO = preRegistrationDataSyncService.getPreRegistrationIds(RegistrationConstants.OPT_TO_REG_PDS_J00003);
+			responseDTO = preRegistrationDataSyncService.getPreRegistrationIds(RegistrationConstants.OPT_TO_REG_PDS_J00003);
 		}
 		syncTransactionUpdate(responseDTO, triggerPoint, jobId);
 
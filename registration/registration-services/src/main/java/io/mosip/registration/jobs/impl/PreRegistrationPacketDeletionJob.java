@@ -60,17 +60,17 @@ public class PreRegistrationPacketDeletionJob extends BaseJob {
 	 * java.lang.String)
 	 */
 	@Override
-	public ResponseDTO executeJob(String triggerPoint, String jobId) {
+	public ResponseDTO executeJob(String triggerPoint, String jobId, ResponseDTO parentJobResponse) {
 
 		LOGGER.info("REGISTRATION - PRE_REG_PACKET_DELETION_STARTED_CHILD_JOB - PRE_REGISTRATION_PACKET_DELETION_JOB",
 				APPLICATION_NAME, APPLICATION_ID, "Pre-Registration Packet Deletion job started");
 
-		// Execute Parent Job
-		this.responseDTO = executeParentJob(jobId);
+		// Response of the parent job
+		ResponseDTO responseDTO = parentJobResponse;
 
 		// Execute Current Job
 		if (responseDTO.getSuccessResponseDTO() != null) {
-			this.responseDTO = preRegistrationDataSyncService.fetchAndDeleteRecords();
+			responseDTO = preRegistrationDataSyncService.fetchAndDeleteRecords();
 		}
 
 		syncTransactionUpdate(responseDTO, triggerPoint, jobId);
@@ -91,20 +91,20 @@ public class PreRegistrationPacketDeletionJob extends BaseJob {
 	public void executeInternal(JobExecutionContext context) {
 		LOGGER.info("REGISTRATION - PRE_REG_PACKET_DELETION_STARTED - PRE_REGISTRATION_PACKET_DELETION_JOB",
 				APPLICATION_NAME, APPLICATION_ID, "Pre-Registration Packet Deletion job started");
-		this.responseDTO = new ResponseDTO();
+		ResponseDTO responseDTO = new ResponseDTO();
 
 		try {
 			this.jobId = loadContext(context);
 			preRegistrationDataSyncService = applicationContext.getBean(PreRegistrationDataSyncService.class);
 
 			// Execute Parent Job
-			this.responseDTO = executeParentJob(jobId);
+			responseDTO = executeParentJob(jobId);
 
 			// Execute Current Job
 			if (responseDTO.getSuccessResponseDTO() != null) {
 				try {
 					// Run the Parent JOB always first
-					this.responseDTO = preRegistrationDataSyncService.fetchAndDeleteRecords();
+					responseDTO = preRegistrationDataSyncService.fetchAndDeleteRecords();
 
 				} catch (RuntimeException exception) {
 					LOGGER.error("PRE_REGISTRATION_PACKET_DELETION_JOB", RegistrationConstants.APPLICATION_NAME,
@@ -66,18 +66,18 @@ public class PublicKeySyncJob extends BaseJob {
 	public void executeInternal(JobExecutionContext context) {
 		LOGGER.info(LoggerConstants.PUBLIC_KEY_SYNC_STATUS_JOB_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "job execute internal started");
-		this.responseDTO = new ResponseDTO();
+		ResponseDTO responseDTO = new ResponseDTO();
 
 		try {
 			this.jobId = loadContext(context);
 			publicKeySyncService = applicationContext.getBean(PublicKeySync.class);
 
 			// Execute Parent Job
-			this.responseDTO = executeParentJob(jobId);
+			responseDTO = executeParentJob(jobId);
 
 			// Execute Current Job
 			if (responseDTO.getSuccessResponseDTO() != null) {
-				this.responseDTO = publicKeySyncService.getPublicKey(triggerPoint);
+				responseDTO = publicKeySyncService.getPublicKey(triggerPoint);
 
 			}
 
@@ -98,17 +98,17 @@ public class PublicKeySyncJob extends BaseJob {
 	}
 
 	@Override
-	public ResponseDTO executeJob(String triggerPoint, String jobId) {
+	public ResponseDTO executeJob(String triggerPoint, String jobId, ResponseDTO parentJobResponse) {
 
 		LOGGER.info(LoggerConstants.PUBLIC_KEY_SYNC_STATUS_JOB_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "execute Job started");
-		// Execute Parent Job
-		this.responseDTO = executeParentJob(jobId);
+		// Response of the parent job
+		ResponseDTO responseDTO = parentJobResponse;
 
 		// Execute Current Job
 		if (responseDTO.getSuccessResponseDTO() != null) {
 			try {
-				this.responseDTO = publicKeySyncService.getPublicKey(triggerPoint);
+				responseDTO = publicKeySyncService.getPublicKey(triggerPoint);
 			} catch (RegBaseCheckedException checkedException) {
 				LOGGER.error(LoggerConstants.PUBLIC_KEY_SYNC_STATUS_JOB_TITLE, APPLICATION_NAME, APPLICATION_ID,
 						ExceptionUtils.getStackTrace(checkedException));
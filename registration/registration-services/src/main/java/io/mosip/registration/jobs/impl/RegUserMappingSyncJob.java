@@ -42,15 +42,15 @@ public class RegUserMappingSyncJob extends BaseJob {
 	private static final Logger LOGGER = AppConfig.getLogger(SynchConfigDataJob.class);
 
 	@Override
-	public ResponseDTO executeJob(String triggerPoint, String jobId) {
+	public ResponseDTO executeJob(String triggerPoint, String jobId, ResponseDTO parentJobResponse) {
 		LOGGER.debug(RegistrationConstants.REG_USER_MAPPING_SYNC_JOB_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "execute Job started");
-		// Execute Parent Job
-		this.responseDTO = executeParentJob(jobId);
+		// Response of the parent job
+		ResponseDTO responseDTO = parentJobResponse;
 
 		// Execute Current Job
 		if (responseDTO.getSuccessResponseDTO() != null) {
-			this.responseDTO = userMachineMappingService.syncUserDetails();
+			responseDTO = userMachineMappingService.syncUserDetails();
 		}
 		syncTransactionUpdate(responseDTO, triggerPoint, jobId);
 
@@ -65,7 +65,7 @@ public class RegUserMappingSyncJob extends BaseJob {
 
 		LOGGER.debug(RegistrationConstants.REG_USER_MAPPING_SYNC_JOB_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "job execute internal started");
-		this.responseDTO = new ResponseDTO();
+		ResponseDTO responseDTO = new ResponseDTO();
 
 		try {
 			this.jobId = loadContext(context);
@@ -74,11 +74,11 @@ public class RegUserMappingSyncJob extends BaseJob {
 					.getBean(UserMachineMappingServiceImpl.class);
 
 			// Execute Parent Job
-			this.responseDTO = executeParentJob(jobId);
+			responseDTO = executeParentJob(jobId);
 
 			// Execute Current Job
 			if (responseDTO.getSuccessResponseDTO() != null) {
-				this.responseDTO = userMachineMappingService.syncUserDetails();
+				responseDTO = userMachineMappingService.syncUserDetails();
 			}
 
 			syncTransactionUpdate(responseDTO, triggerPoint, jobId);
@@ -58,7 +58,7 @@ public class RegistrationPacketSyncJob extends BaseJob {
 	public void executeInternal(JobExecutionContext context) {
 		LOGGER.debug(LoggerConstants.REG_PACKET_SYNC_STATUS_JOB, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "job execute internal started");
-		this.responseDTO = new ResponseDTO();
+		ResponseDTO responseDTO = new ResponseDTO();
 
 		try {
 
@@ -66,11 +66,11 @@ public class RegistrationPacketSyncJob extends BaseJob {
 			regPacketStatusService = applicationContext.getBean(RegPacketStatusService.class);
 
 			// Execute Parent Job
-			this.responseDTO = executeParentJob(jobId);
+			responseDTO = executeParentJob(jobId);
 
 			// Execute Current Job
 			if (responseDTO.getSuccessResponseDTO() != null) {
-				this.responseDTO = regPacketStatusService.syncPacket(triggerPoint);
+				responseDTO = regPacketStatusService.syncPacket(triggerPoint);
 
 			}
 
@@ -94,17 +94,17 @@ public class RegistrationPacketSyncJob extends BaseJob {
 	 * java.lang.String)
 	 */
 	@Override
-	public ResponseDTO executeJob(String triggerPoint, String jobId) {
+	public ResponseDTO executeJob(String triggerPoint, String jobId, ResponseDTO parentJobResponse) {
 
 		LOGGER.debug(LoggerConstants.REG_PACKET_SYNC_STATUS_JOB, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "execute Job started");
 
-		// Execute Parent Job
-		this.responseDTO = executeParentJob(jobId);
+		// Response of the parent job
+		ResponseDTO responseDTO = parentJobResponse;
 
 		// Execute Current Job
 		if (responseDTO.getSuccessResponseDTO() != null) {
-			this.responseDTO = regPacketStatusService.syncPacket(triggerPoint);
+			responseDTO = regPacketStatusService.syncPacket(triggerPoint);
 		}
 		syncTransactionUpdate(responseDTO, triggerPoint, jobId);
 
@@ -57,7 +57,7 @@ public class RegistrationPacketVirusScanJob extends BaseJob {
 	public void executeInternal(JobExecutionContext context) {
 		LOGGER.debug(LoggerConstants.REG_PACKET_VIRUS_SCAN, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "job execute internal started");
-		this.responseDTO = new ResponseDTO();
+		ResponseDTO responseDTO = new ResponseDTO();
 
 		try {
 
@@ -65,11 +65,11 @@ public class RegistrationPacketVirusScanJob extends BaseJob {
 			packetVirusScanService = applicationContext.getBean(RegistrationPacketVirusScanService.class);
 
 			// Execute Parent Job
-			this.responseDTO = executeParentJob(jobId);
+			responseDTO = executeParentJob(jobId);
 
 			// Execute Current Job
 			if (responseDTO.getSuccessResponseDTO() != null) {
-				this.responseDTO = packetVirusScanService.scanPacket();
+				responseDTO = packetVirusScanService.scanPacket();
 
 			}
 
@@ -93,17 +93,17 @@ public class RegistrationPacketVirusScanJob extends BaseJob {
 	 * java.lang.String)
 	 */
 	@Override
-	public ResponseDTO executeJob(String triggerPoint, String jobId) {
+	public ResponseDTO executeJob(String triggerPoint, String jobId, ResponseDTO parentJobResponse) {
 
 		LOGGER.debug(LoggerConstants.REG_PACKET_VIRUS_SCAN, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "execute Job started");
 
-		// Execute Parent Job
-		this.responseDTO = executeParentJob(jobId);
+		// Response of the parent job
+		ResponseDTO responseDTO = parentJobResponse;
 
 		// Execute Current Job
 		if (responseDTO.getSuccessResponseDTO() != null) {
-			this.responseDTO = packetVirusScanService.scanPacket();
+			responseDTO = packetVirusScanService.scanPacket();
 		}
 		syncTransactionUpdate(responseDTO, triggerPoint, jobId);
 
@@ -34,16 +34,25 @@ public class SyncCertificateJob extends BaseJob {
     private CertificateSyncService certificateSyncService;
 
 
+    /**
+     * Executes the certificate sync by itself, without its parent job.
+     */
     @Override
     public ResponseDTO executeJob(String triggerPoint, String jobId) {
+        return executeJob(triggerPoint, jobId, null);
+    }
+
+    @Override
+    public ResponseDTO executeJob(String triggerPoint, String jobId, ResponseDTO parentJobResponse) {
         LOGGER.info("", RegistrationConstants.APPLICATION_NAME,
                 RegistrationConstants.APPLICATION_ID, "execute Job started");
 
+        ResponseDTO responseDTO = new ResponseDTO();
         try {
-            this.responseDTO = certificateSyncService.getCACertificates(triggerPoint);
+            responseDTO = certificateSyncService.getCACertificates(triggerPoint);
         } catch (Throwable exception) {
             LOGGER.error("", APPLICATION_NAME, APPLICATION_ID, ExceptionUtils.getStackTrace(exception));
-            this.responseDTO.setSuccessResponseDTO(null);
+            responseDTO.setSuccessResponseDTO(null);
         }
         syncTransactionUpdate(responseDTO, triggerPoint, jobId);
 
@@ -58,18 +67,18 @@ public class SyncCertificateJob extends BaseJob {
     protected void executeInternal(JobExecutionContext context) {
         LOGGER.info("", RegistrationConstants.APPLICATION_NAME,
                 RegistrationConstants.APPLICATION_ID, "job execute internal started");
-        this.responseDTO = new ResponseDTO();
+        ResponseDTO responseDTO = new ResponseDTO();
 
         try {
             this.jobId = loadContext(context);
             certificateSyncService = applicationContext.getBean(CertificateSyncService.class);
 
             // Execute Parent Job
-            this.responseDTO = executeParentJob(jobId);
+            responseDTO = executeParentJob(jobId);
 
             // Execute Current Job
             if (responseDTO.getSuccessResponseDTO() != null) {
-                this.responseDTO = certificateSyncService.getCACertificates(triggerPoint);
+                responseDTO = certificateSyncService.getCACertificates(triggerPoint);
             }
 
         } catch (Throwable t) {
@@ -41,16 +41,16 @@ public class SynchConfigDataJob extends BaseJob {
 	private static final Logger LOGGER = AppConfig.getLogger(SynchConfigDataJob.class);
 
 	@Override
-	public ResponseDTO executeJob(String triggerPoint, String jobId) {
+	public ResponseDTO executeJob(String triggerPoint, String jobId, ResponseDTO parentJobResponse) {
 		LOGGER.info(RegistrationConstants.SYNCH_CONFIG_DATA_JOB_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "execute Job started");
 
-		// Execute Parent Job
-		this.responseDTO = executeParentJob(jobId);
+		// Response of the parent job
+		ResponseDTO responseDTO = parentJobResponse;
 
 		// Execute Current Job
 		if (responseDTO.getSuccessResponseDTO() != null) {
-			this.responseDTO = globalParamService
+			responseDTO = globalParamService
 					.synchConfigData(RegistrationConstants.JOB_TRIGGER_POINT_SYSTEM.equalsIgnoreCase(triggerPoint));
 		}
 		syncTransactionUpdate(responseDTO, triggerPoint, jobId);
@@ -65,7 +65,7 @@ public class SynchConfigDataJob extends BaseJob {
 	public void executeInternal(JobExecutionContext context) throws JobExecutionException {
 		LOGGER.info(RegistrationConstants.SYNCH_CONFIG_DATA_JOB_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "job execute internal started");
-		this.responseDTO = new ResponseDTO();
+		ResponseDTO responseDTO = new ResponseDTO();
 
 		try {
 
@@ -73,11 +73,11 @@ public class SynchConfigDataJob extends BaseJob {
 			globalParamService = applicationContext.getBean(GlobalParamService.class);
 
 			// Execute Parent Job
-			this.responseDTO = executeParentJob(jobId);
+			responseDTO = executeParentJob(jobId);
 
 			// Execute Current Job
 			if (responseDTO.getSuccessResponseDTO() != null) {
-				this.responseDTO = globalParamService.synchConfigData(true);
+				responseDTO = globalParamService.synchConfigData(true);
 
 			}
 
@@ -0,0 +1,298 @@
+package io.mosip.registration.mdm.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import io.mosip.registration.exception.RegBaseCheckedException;
+import io.mosip.registration.exception.RegistrationExceptionConstants;
+
+/**
+ * Reads the JPEG frames of a MDS stream, a multipart (MJPEG) response where
+ * every part has a Content-Length header followed by the JPEG bytes.
+ * <p>
+ * The stream is read in blocks into a reusable buffer and the part headers are
+ * scanned in place, line by line. The frame is copied into a reusable frame
+ * buffer, so once the buffers have grown to the frame size, reading a frame
+ * allocates nothing.
+ * <p>
+ * The reader is itself the stream. Hand the reader over instead of the
+ * underlying stream, so the bytes already buffered are not lost.
+ *
+ * @since 1.1.5
+ */
+public class MjpegFrameReader extends InputStream {
+
+	private static final byte[] CONTENT_LENGTH = "content-length:".getBytes(StandardCharsets.US_ASCII);
+
+	/** First byte of the JPEG start of image marker. */
+	private static final byte JPEG_START = (byte) 0xFF;
+
+	private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	private final InputStream in;
+
+	private final byte[] buffer;
+
+	private int position;
+
+	private int limit;
+
+	private byte[] frame;
+
+	private int frameLength;
+
+	private final FrameInputStream frameInputStream = new FrameInputStream();
+
+	public MjpegFrameReader(InputStream in) {
+		this(in, DEFAULT_BUFFER_SIZE);
+	}
+
+	public MjpegFrameReader(InputStream in, int bufferSize) {
+		this.in = in;
+		this.buffer = new byte[Math.max(bufferSize, 2 * CONTENT_LENGTH.length)];
+		this.frame = new byte[buffer.length];
+	}
+
+	/**
+	 * Reads the next frame into the frame buffer.
+	 *
+	 * @param deadline
+	 *            time in milliseconds after which the read fails, checked
+	 *            between the reads of the underlying stream
+	 * @return the length of the frame, or -1 if the stream ended before a
+	 *         complete frame
+	 * @throws IOException
+	 * @throws RegBaseCheckedException
+	 *             if the deadline has passed
+	 */
+	public int nextFrame(long deadline) throws IOException, RegBaseCheckedException {
+		frameLength = 0;
+		int contentLength = readContentLength(deadline);
+		if (contentLength < 0 || !skipToJpegStart(deadline)) {
+			return -1;
+		}
+
+		if (frame.length < contentLength) {
+			frame = new byte[Math.max(contentLength, frame.length * 2)];
+		}
+		int length = Math.min(limit - position, contentLength);
+		System.arraycopy(buffer, position, frame, 0, length);
+		position += length;
+		while (length < contentLength) {
+			timeOutCheck(deadline);
+			int read = in.read(frame, length, contentLength - length);
+			if (read < 0) {
+				return -1;
+			}
+			length += read;
+		}
+		frameLength = length;
+		return frameLength;
+	}
+
+	/**
+	 * @return the buffer holding the last frame, overwritten by the next frame
+	 */
+	public byte[] getFrame() {
+		return frame;
+	}
+
+	public int getFrameLength() {
+		return frameLength;
+	}
+
+	/**
+	 * @return a copy of the last frame
+	 */
+	public byte[] copyFrame() {
+		return Arrays.copyOf(frame, frameLength);
+	}
+
+	/**
+	 * @return the last frame as a stream, the same instance is reset and
+	 *         returned for every frame
+	 */
+	public InputStream getFrameStream() {
+		frameInputStream.reset(frame, frameLength);
+		return frameInputStream;
+	}
+
+	/**
+	 * Whether the next frame has been received completely, so reading it does not
+	 * block. Only the buffered bytes are scanned for its headers, the bytes
+	 * available from the underlying stream count towards its content.
+	 *
+	 * @return true if a complete frame follows the last frame
+	 * @throws IOException
+	 */
+	public boolean isNextFrameAvailable() throws IOException {
+		int lineStart = position;
+		int lineEnd;
+		while ((lineEnd = indexOf((byte) '\n', lineStart)) >= 0) {
+			int headerStart = indexOfContentLength(lineStart, lineEnd);
+			lineStart = lineEnd + 1;
+			if (headerStart >= 0) {
+				int contentLength = parseContentLength(headerStart, lineEnd);
+				int start = indexOf(JPEG_START, lineStart);
+				return start >= 0 && (long) limit - start + in.available() >= contentLength;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (position == limit && fill() < 0) {
+			return -1;
+		}
+		return buffer[position++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] bytes, int offset, int length) throws IOException {
+		if (length == 0) {
+			return 0;
+		}
+		if (position == limit) {
+			if (length >= buffer.length) {
+				return in.read(bytes, offset, length);
+			}
+			if (fill() < 0) {
+				return -1;
+			}
+		}
+		int read = Math.min(limit - position, length);
+		System.arraycopy(buffer, position, bytes, offset, read);
+		position += read;
+		return read;
+	}
+
+	@Override
+	public int available() throws IOException {
+		return limit - position + in.available();
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	/**
+	 * Reads header lines until the Content-Length header and parses its value.
+	 */
+	private int readContentLength(long deadline) throws IOException, RegBaseCheckedException {
+		while (true) {
+			int lineEnd = indexOf((byte) '\n', position);
+			if (lineEnd < 0) {
+				if (position == 0 && limit == buffer.length) {
+					// a line longer than the buffer is not a header, keep the tail for a split header name
+					position = limit - CONTENT_LENGTH.length;
+				}
+				timeOutCheck(deadline);
+				if (fill() < 0) {
+					return -1;
+				}
+				continue;
+			}
+
+			int headerStart = indexOfContentLength(position, lineEnd);
+			position = lineEnd + 1;
+			if (headerStart >= 0) {
+				return parseContentLength(headerStart, lineEnd);
+			}
+		}
+	}
+
+	private int parseContentLength(int headerStart, int lineEnd) {
+		int contentLength = 0;
+		for (int i = headerStart + CONTENT_LENGTH.length; i < lineEnd; i++) {
+			if (buffer[i] >= '0' && buffer[i] <= '9') {
+				contentLength = contentLength * 10 + (buffer[i] - '0');
+			}
+		}
+		return contentLength;
+	}
+
+	private boolean skipToJpegStart(long deadline) throws IOException, RegBaseCheckedException {
+		while (true) {
+			int start = indexOf(JPEG_START, position);
+			if (start >= 0) {
+				position = start;
+				return true;
+			}
+			position = limit;
+			timeOutCheck(deadline);
+			if (fill() < 0) {
+				return false;
+			}
+		}
+	}
+
+	private int indexOf(byte value, int from) {
+		for (int i = from; i < limit; i++) {
+			if (buffer[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private int indexOfContentLength(int from, int to) {
+		for (int i = from; i <= to - CONTENT_LENGTH.length; i++) {
+			int j = 0;
+			while (j < CONTENT_LENGTH.length && (buffer[i + j] | 0x20) == CONTENT_LENGTH[j]) {
+				j++;
+			}
+			if (j == CONTENT_LENGTH.length) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Moves the unread bytes to the start of the buffer and reads more after
+	 * them.
+	 *
+	 * @return the number of bytes read, -1 at the end of the stream
+	 */
+	private int fill() throws IOException {
+		if (position > 0) {
+			System.arraycopy(buffer, position, buffer, 0, limit - position);
+			limit -= position;
+			position = 0;
+		}
+		int read = in.read(buffer, limit, buffer.length - limit);
+		if (read > 0) {
+			limit += read;
+		}
+		return read;
+	}
+
+	private void timeOutCheck(long deadline) throws RegBaseCheckedException {
+		if (System.currentTimeMillis() > deadline) {
+			throw new RegBaseCheckedException(RegistrationExceptionConstants.MDS_STREAM_TIMEOUT.getErrorCode(),
+					RegistrationExceptionConstants.MDS_STREAM_TIMEOUT.getErrorMessage());
+		}
+	}
+
+	/**
+	 * Stream over the frame buffer that is reset for every frame.
+	 */
+	private static final class FrameInputStream extends ByteArrayInputStream {
+
+		private FrameInputStream() {
+			super(new byte[0]);
+		}
+
+		private void reset(byte[] bytes, int length) {
+			this.buf = bytes;
+			this.pos = 0;
+			this.count = length;
+			this.mark = 0;
+		}
+	}
+}
@@ -7,9 +7,12 @@ import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -18,6 +21,9 @@ import io.mosip.kernel.signature.dto.JWTSignatureVerifyRequestDto;
 import io.mosip.kernel.signature.dto.JWTSignatureVerifyResponseDto;
 import io.mosip.kernel.signature.service.SignatureService;
 import io.mosip.registration.exception.DeviceException;
+import javax.annotation.PreDestroy;
+
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
@@ -72,11 +78,22 @@ public class MosipDeviceSpecificationFactory {
 	@Autowired
 	private MosipDeviceSpecificationHelper mosipDeviceSpecificationHelper;
 
+	@Value("${mosip.registration.mdm.discovery.port-timeout-millis:1000}")
+	private int portTimeout;
+
+	@Value("${mosip.registration.mdm.discovery.threads:16}")
+	private int discoveryThreads;
+
 	private int portFrom;
 	private int portTo;
 
+	private ExecutorService discoveryExecutor;
+
+	/** Scan of the ports running or last completed */
+	private CompletableFuture<Void> discovery;
+
 	/** Key is modality value is (specVersion, MdmBioDevice) */
-	private static Map<String, MdmBioDevice> deviceInfoMap = new LinkedHashMap<>();
+	private static final Map<String, MdmBioDevice> deviceInfoMap = new ConcurrentHashMap<>();
 
 	/**
 	 * This method will prepare the device registry, device registry contains all
@@ -96,31 +113,80 @@ public class MosipDeviceSpecificationFactory {
 		LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
 				"Entering init method for preparing device registry");
 
+		/* An A-sync scan to complete MDS initialization */
+		discover();
+
+		LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
+				"Exit init method for preparing device registry");
+	}
+
+	/**
+	 * Scans the configured ports for running biometric devices on the discovery
+	 * threads. Each port is given at most
+	 * <code>mosip.registration.mdm.discovery.port-timeout-millis</code> to answer,
+	 * so the scan completes as soon as every port answered or timed out.
+	 * 
+	 * If a scan is already running, the running scan is returned instead of
+	 * starting another one.
+	 * 
+	 * @return the scan, completed once all the ports are checked
+	 */
+	public synchronized CompletableFuture<Void> discover() {
+		if (discovery != null && !discovery.isDone()) {
+			return discovery;
+		}
+
 		portFrom = getPortFrom();
 		portTo = getPortTo();
 
 		LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
 				"Checking device info from port : " + portFrom + " to port : " + portTo);
-		if (portFrom != 0) {
-			for (int port = portFrom; port <= portTo; port++) {
-
-				final int currentPort = port;
-
-				/* An A-sync task to complete MDS initialization */
-				new Thread(() -> {
-					try {
-						initByPort(currentPort);
-					} catch (RuntimeException exception) {
-						LOGGER.error(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
-								"Exception while mapping the response : " + exception.getMessage()
-										+ ExceptionUtils.getStackTrace(exception));
-					}
-				}).start();
+		if (portFrom == 0) {
+			discovery = CompletableFuture.completedFuture(null);
+			return discovery;
+		}
 
-			}
+		long startTime = System.currentTimeMillis();
+		List<CompletableFuture<Void>> portScans = new LinkedList<>();
+		for (int port = portFrom; port <= portTo; port++) {
+			final int currentPort = port;
+			portScans.add(CompletableFuture.runAsync(() -> {
+				try {
+					initByPort(currentPort);
+				} catch (RuntimeException exception) {
+					LOGGER.error(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
+							"Exception while mapping the response : " + exception.getMessage()
+									+ ExceptionUtils.getStackTrace(exception));
+				}
+			}, getDiscoveryExecutor()));
+		}
+
+		discovery = CompletableFuture.allOf(portScans.toArray(new CompletableFuture[0]))
+				.whenComplete((result, throwable) -> LOGGER.info(loggerClassName, APPLICATION_NAME,
+						APPLICATION_ID, "Checked ports " + portFrom + " to " + portTo + " in "
+								+ (System.currentTimeMillis() - startTime) + " ms, devices found : "
+								+ deviceInfoMap.keySet()));
+		return discovery;
+	}
+
+	private synchronized ExecutorService getDiscoveryExecutor() {
+		if (discoveryExecutor == null) {
+			AtomicInteger threadCount = new AtomicInteger();
+			discoveryExecutor = Executors.newFixedThreadPool(Math.max(1, discoveryThreads), runnable -> {
+				Thread thread = new Thread(runnable, "mds-discovery-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return discoveryExecutor;
+	}
+
+	@PreDestroy
+	public synchronized void shutdown() {
+		if (discoveryExecutor != null) {
+			discoveryExecutor.shutdownNow();
+			discoveryExecutor = null;
 		}
-		LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
-				"Exit init method for preparing device registry");
 	}
 
 	private int getPortTo() {
@@ -171,13 +237,12 @@ public class MosipDeviceSpecificationFactory {
 	public static boolean checkServiceAvailability(String serviceUrl, String method) {
 		HttpUriRequest request = RequestBuilder.create(method).setUri(serviceUrl).build();
 
-		CloseableHttpClient client = HttpClients.createDefault();
-		try {
-			client.execute(request);
+		try (CloseableHttpClient client = HttpClients.createDefault();
+				CloseableHttpResponse response = client.execute(request)) {
+			return true;
 		} catch (Exception exception) {
 			return false;
 		}
-		return true;
 
 	}
 
@@ -188,14 +253,14 @@ public class MosipDeviceSpecificationFactory {
 			String url = mosipDeviceSpecificationHelper.buildUrl(availablePort,
 					MosipBioDeviceConstants.DEVICE_INFO_ENDPOINT);
 
-			if (!checkServiceAvailability(url, "MOSIPDINFO")) {
+			String deviceInfoResponse = getDeviceInfoResponse(url);
+			if (deviceInfoResponse == null) {
 				LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
 						"No device is running at port number " + availablePort);
 				return;
 			}
 
 			try {
-				String deviceInfoResponse = getDeviceInfoResponse(url);
 
 				for (MosipDeviceSpecificationProvider deviceSpecificationProvider : deviceSpecificationProviders) {
 					LOGGER.debug(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
@@ -216,35 +281,15 @@ public class MosipDeviceSpecificationFactory {
 			}
 
 		} else {
-			portFrom = getPortFrom();
-
-			portTo = getPortTo();
-
-			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
-					"Checking device info from port : " + portFrom + " to port : " + portTo);
-			ExecutorService executorService = Executors.newFixedThreadPool(5);
-
-			for (int port = portFrom; port <= portTo; port++) {
-
-				int currentPort = port;
-				executorService.execute(new Runnable() {
-					public void run() {
-
-						initByPort(currentPort);
-
-					}
-				});
-
-			}
-
 			try {
-				executorService.shutdown();
-				executorService.awaitTermination(500, TimeUnit.SECONDS);
-			} catch (Exception exception) {
-				executorService.shutdown();
+				discover().get();
+			} catch (InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+				LOGGER.error(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
+						"Interrupted while checking device info : " + interruptedException.getMessage());
+			} catch (ExecutionException exception) {
 				LOGGER.error(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
 						exception.getMessage() + ExceptionUtils.getStackTrace(exception));
-
 			}
 		}
 	}
@@ -291,20 +336,22 @@ public class MosipDeviceSpecificationFactory {
 		return null;
 	}
 
+	/*
+	 * Device info of the port, null if nothing answered within the port timeout
+	 */
 	private String getDeviceInfoResponse(String url) {
-		HttpUriRequest request = RequestBuilder.create("MOSIPDINFO").setUri(url).build();
-		CloseableHttpClient client = HttpClients.createDefault();
-		CloseableHttpResponse clientResponse = null;
-		String response = null;
-
-		try {
-			clientResponse = client.execute(request);
-			response = EntityUtils.toString(clientResponse.getEntity());
+		HttpUriRequest request = RequestBuilder.create("MOSIPDINFO").setUri(url)
+				.setConfig(RequestConfig.custom().setConnectTimeout(portTimeout).setSocketTimeout(portTimeout)
+						.setConnectionRequestTimeout(portTimeout).build())
+				.build();
+
+		try (CloseableHttpResponse clientResponse = mosipDeviceSpecificationHelper.getHttpClient().execute(request)) {
+			return clientResponse.getEntity() == null ? null : EntityUtils.toString(clientResponse.getEntity());
 		} catch (IOException exception) {
-			LOGGER.error(MOSIP_BIO_DEVICE_INTEGERATOR, APPLICATION_NAME, APPLICATION_ID,
-					ExceptionUtils.getStackTrace(exception));
+			LOGGER.debug(MOSIP_BIO_DEVICE_INTEGERATOR, APPLICATION_NAME, APPLICATION_ID,
+					"No device info from " + url + " : " + exception.getMessage());
 		}
-		return response;
+		return null;
 	}
 
 	public String getLatestSpecVersion(String[] specVersion) {
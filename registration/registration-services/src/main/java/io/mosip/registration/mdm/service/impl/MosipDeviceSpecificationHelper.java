@@ -16,17 +16,25 @@ import io.mosip.registration.exception.RegistrationExceptionConstants;
 import io.mosip.registration.mdm.dto.Biometric;
 import io.mosip.registration.mdm.dto.MDMError;
 import io.mosip.registration.mdm.dto.MdmDeviceInfo;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.StringWriter;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import javax.annotation.PreDestroy;
+
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
 
@@ -54,8 +62,15 @@ public class MosipDeviceSpecificationHelper {
 	@Value("${mosip.registration.mdm.trust.domain.deviceinfo:DEVICE}")
 	private String deviceInfoTrustDomain;
 
+	@Value("${mosip.registration.mdm.http.max-connections:20}")
+	private int maxConnections;
+
+	@Value("${mosip.registration.mdm.http.max-connections-per-port:5}")
+	private int maxConnectionsPerPort;
 
-	private final String CONTENT_LENGTH = "Content-Length:";
+	private PoolingHttpClientConnectionManager connectionManager;
+
+	private CloseableHttpClient httpClient;
 
 	public String getPayLoad(String data) throws RegBaseCheckedException {
 		if (data == null || data.isEmpty()) {
@@ -118,69 +133,78 @@ public class MosipDeviceSpecificationHelper {
 	}
 
 	/**
-	 * Using the urlStream get the next JPEG image as a byte[]
+	 * Gives the HTTP client shared by all the calls to the MDS on this machine.
+	 * The connections to each port are pooled and kept alive between the calls.
 	 *
-	 * @return byte[] of the JPEG
-	 * @throws IOException
-	 * @throws RegBaseCheckedException
+	 * @return the shared HTTP client
 	 */
-	public byte[] getJPEGByteArray(InputStream urlStream, long maxTimeLimit)
-			throws IOException, RegBaseCheckedException {
-
-		int currByte = -1;
-
-		boolean captureContentLength = false;
-		StringWriter contentLengthStringWriter = new StringWriter(128);
-		StringWriter headerWriter = new StringWriter(128);
-
-		int contentLength = 0;
-
-		while ((currByte = urlStream.read()) > -1) {
-			if (captureContentLength) {
-				if (currByte == 10 || currByte == 13) {
-					contentLength = Integer.parseInt(contentLengthStringWriter.toString().replace(" ", ""));
-					break;
-				}
-				contentLengthStringWriter.write(currByte);
-
-			} else {
-				headerWriter.write(currByte);
-				String tempString = headerWriter.toString();
-				int indexOf = tempString.indexOf(CONTENT_LENGTH);
-				if (indexOf > 0) {
-					captureContentLength = true;
-				}
-			}
-			timeOutCheck(maxTimeLimit);
+	public synchronized CloseableHttpClient getHttpClient() {
+		if (httpClient == null) {
+			connectionManager = new PoolingHttpClientConnectionManager();
+			connectionManager.setMaxTotal(maxConnections);
+			connectionManager.setDefaultMaxPerRoute(maxConnectionsPerPort);
+			// a connection closed by the MDS is not reused for a capture, which is not retried
+			connectionManager.setValidateAfterInactivity(500);
+			httpClient = HttpClients.custom().setConnectionManager(connectionManager)
+					.setDefaultRequestConfig(RequestConfig.custom().setConnectionRequestTimeout(10000).build())
+					.evictIdleConnections(30, TimeUnit.SECONDS).disableAutomaticRetries().build();
 		}
+		return httpClient;
+	}
 
-		// 255 indicates the start of the jpeg image
-		while (urlStream.read() != 255) {
-
-			timeOutCheck(maxTimeLimit);
+	/**
+	 * Gives the body of a streaming response. Closing the stream closes the
+	 * connection instead of reading the rest of the endless stream.
+	 *
+	 * @param response
+	 *            the response of the stream request
+	 * @return the body, <code>null</code> if the response has none
+	 * @throws IOException
+	 *             if the body could not be read
+	 */
+	public InputStream getResponseStream(CloseableHttpResponse response) throws IOException {
+		if (response.getEntity() == null) {
+			response.close();
+			return null;
 		}
+		return new FilterInputStream(response.getEntity().getContent()) {
+			@Override
+			public void close() throws IOException {
+				response.close();
+			}
+		};
+	}
 
-		// rest is the buffer
-		byte[] imageBytes = new byte[contentLength + 1];
-		// since we ate the original 255 , shove it back in
-		imageBytes[0] = (byte) 255;
-		int offset = 1;
-		int numRead = 0;
-		while (offset < imageBytes.length
-				&& (numRead = urlStream.read(imageBytes, offset, imageBytes.length - offset)) >= 0) {
-			timeOutCheck(maxTimeLimit);
-			offset += numRead;
+	@PreDestroy
+	public synchronized void closeHttpClient() {
+		if (httpClient != null) {
+			try {
+				httpClient.close();
+			} catch (IOException exception) {
+				LOGGER.error(LoggerConstants.MOSIP_BIO_DEVICE_INTEGERATOR, APPLICATION_NAME, APPLICATION_ID,
+						"Failed to close MDS http client : " + exception.getMessage());
+			}
+			httpClient = null;
 		}
-
-		return imageBytes;
 	}
 
-	private void timeOutCheck(long maxTimeLimit) throws RegBaseCheckedException {
-
-		if (System.currentTimeMillis() > maxTimeLimit) {
-
-			throw new RegBaseCheckedException(RegistrationExceptionConstants.MDS_STREAM_TIMEOUT.getErrorCode(),
-					RegistrationExceptionConstants.MDS_STREAM_TIMEOUT.getErrorMessage());
+	/**
+	 * Using the urlStream get the next JPEG image as a byte[]
+	 * <p>
+	 * Pass a {@link MjpegFrameReader} to continue reading the stream afterwards,
+	 * any other stream is wrapped and the bytes read ahead are lost.
+	 *
+	 * @return byte[] of the JPEG
+	 * @throws IOException
+	 * @throws RegBaseCheckedException
+	 */
+	public byte[] getJPEGByteArray(InputStream urlStream, long maxTimeLimit)
+			throws IOException, RegBaseCheckedException {
+		MjpegFrameReader frameReader = urlStream instanceof MjpegFrameReader ? (MjpegFrameReader) urlStream
+				: new MjpegFrameReader(urlStream);
+		if (frameReader.nextFrame(maxTimeLimit) < 0) {
+			throw new IOException("MDS stream ended before a complete frame");
 		}
+		return frameReader.copyFrame();
 	}
 }
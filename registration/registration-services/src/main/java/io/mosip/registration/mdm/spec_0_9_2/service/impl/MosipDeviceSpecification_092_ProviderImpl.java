@@ -20,7 +20,6 @@ import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.assertj.core.util.Arrays;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,6 +45,7 @@ import io.mosip.registration.mdm.dto.MDMRequestDto;
 import io.mosip.registration.mdm.dto.MdmBioDevice;
 import io.mosip.registration.mdm.dto.MdmDeviceInfo;
 import io.mosip.registration.mdm.integrator.MosipDeviceSpecificationProvider;
+import io.mosip.registration.mdm.service.impl.MjpegFrameReader;
 import io.mosip.registration.mdm.service.impl.MosipDeviceSpecificationFactory;
 import io.mosip.registration.mdm.service.impl.MosipDeviceSpecificationHelper;
 import io.mosip.registration.mdm.spec_0_9_2.dto.request.DeviceDiscoveryRequest;
@@ -139,11 +139,11 @@ public class MosipDeviceSpecification_092_ProviderImpl implements MosipDeviceSpe
 			streamRequestDTO.setDeviceId(bioDevice.getDeviceId());
 			streamRequestDTO.setDeviceSubId(getDeviceSubId(modality));
 
-			String request = new ObjectMapper().writeValueAsString(streamRequestDTO);
+			String request = mosipDeviceSpecificationHelper.getMapper().writeValueAsString(streamRequestDTO);
 
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID, "Request for Stream...." + request);
 
-			CloseableHttpClient client = HttpClients.createDefault();
+			CloseableHttpClient client = mosipDeviceSpecificationHelper.getHttpClient();
 			StringEntity requestEntity = new StringEntity(request, ContentType.create("Content-Type", Consts.UTF_8));
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
 					"Building Stream url...." + System.currentTimeMillis());
@@ -157,8 +157,9 @@ public class MosipDeviceSpecification_092_ProviderImpl implements MosipDeviceSpe
 					"Request completed.... " + System.currentTimeMillis());
 
 			InputStream urlStream = null;
-			if (response.getEntity() != null) {
-				urlStream = response.getEntity().getContent();
+			InputStream responseStream = mosipDeviceSpecificationHelper.getResponseStream(response);
+			if (responseStream != null) {
+				urlStream = new MjpegFrameReader(responseStream);
 			}
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
 					"Stream Request Completed" + System.currentTimeMillis());
@@ -192,12 +193,12 @@ public class MosipDeviceSpecification_092_ProviderImpl implements MosipDeviceSpe
 					"Entering into Capture method....." + System.currentTimeMillis());
 
 			String requestBody = null;
-			ObjectMapper mapper = new ObjectMapper();
+			ObjectMapper mapper = mosipDeviceSpecificationHelper.getMapper();
 			requestBody = mapper.writeValueAsString(rCaptureRequestDTO);
 
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID, "Request for RCapture...." + requestBody);
 
-			CloseableHttpClient client = HttpClients.createDefault();
+			CloseableHttpClient client = mosipDeviceSpecificationHelper.getHttpClient();
 			StringEntity requestEntity = new StringEntity(requestBody,
 					ContentType.create("Content-Type", Consts.UTF_8));
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
@@ -205,11 +206,12 @@ public class MosipDeviceSpecification_092_ProviderImpl implements MosipDeviceSpe
 			HttpUriRequest request = RequestBuilder.create("RCAPTURE").setUri(url).setEntity(requestEntity).build();
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
 					"Requesting capture url...." + System.currentTimeMillis());
-			CloseableHttpResponse response = client.execute(request);
-			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
-					"Request completed.... " + System.currentTimeMillis());
-
-			String val = EntityUtils.toString(response.getEntity());
+			String val;
+			try (CloseableHttpResponse response = client.execute(request)) {
+				LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
+						"Request completed.... " + System.currentTimeMillis());
+				val = EntityUtils.toString(response.getEntity());
+			}
 
 			RCaptureResponseDTO captureResponse = mapper.readValue(val.getBytes(StandardCharsets.UTF_8),
 					RCaptureResponseDTO.class);
@@ -365,12 +367,12 @@ public class MosipDeviceSpecification_092_ProviderImpl implements MosipDeviceSpe
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
 					"Entering into Device availbale check....." + System.currentTimeMillis());
 
-			ObjectMapper mapper = new ObjectMapper();
+			ObjectMapper mapper = mosipDeviceSpecificationHelper.getMapper();
 			String requestBody = mapper.writeValueAsString(deviceDiscoveryRequest);
 
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID, "Request for RCapture...." + requestBody);
 
-			CloseableHttpClient client = HttpClients.createDefault();
+			CloseableHttpClient client = mosipDeviceSpecificationHelper.getHttpClient();
 			StringEntity requestEntity = new StringEntity(requestBody,
 					ContentType.create("Content-Type", Consts.UTF_8));
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
@@ -380,12 +382,15 @@ public class MosipDeviceSpecification_092_ProviderImpl implements MosipDeviceSpe
 					.setUri(mosipDeviceSpecificationHelper.buildUrl(mdmBioDevice.getPort(), "device"))
 					.setEntity(requestEntity).build();
 
-			CloseableHttpResponse response = client.execute(request);
+			String discoveryResponse;
+			try (CloseableHttpResponse response = client.execute(request)) {
+				discoveryResponse = EntityUtils.toString(response.getEntity());
+			}
 
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
 					"parsing device discovery response to 095 dto");
 			List<DeviceDiscoveryMDSResponse> deviceList = (mosipDeviceSpecificationHelper.getMapper().readValue(
-					EntityUtils.toString(response.getEntity()), new TypeReference<List<DeviceDiscoveryMDSResponse>>() {	}));
+					discoveryResponse, new TypeReference<List<DeviceDiscoveryMDSResponse>>() {	}));
 
 			isDeviceAvailable = deviceList.stream().anyMatch(resp ->
 					Arrays.asList(resp.getSpecVersion()).contains(SPEC_VERSION)
@@ -24,7 +24,6 @@ import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.assertj.core.util.Arrays;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -50,6 +49,7 @@ import io.mosip.registration.mdm.dto.MDMRequestDto;
 import io.mosip.registration.mdm.dto.MdmBioDevice;
 import io.mosip.registration.mdm.dto.MdmDeviceInfo;
 import io.mosip.registration.mdm.integrator.MosipDeviceSpecificationProvider;
+import io.mosip.registration.mdm.service.impl.MjpegFrameReader;
 import io.mosip.registration.mdm.service.impl.MosipDeviceSpecificationFactory;
 import io.mosip.registration.mdm.service.impl.MosipDeviceSpecificationHelper;
 import io.mosip.registration.mdm.spec_0_9_5.dto.request.DeviceDiscoveryRequest;
@@ -142,9 +142,9 @@ public class MosipDeviceSpecification_095_ProviderImpl implements MosipDeviceSpe
 			StreamRequestDTO streamRequestDTO = new StreamRequestDTO(bioDevice.getDeviceId(), getDeviceSubId(modality),
 					timeout);
 
-			String request = new ObjectMapper().writeValueAsString(streamRequestDTO);
+			String request = mosipDeviceSpecificationHelper.getMapper().writeValueAsString(streamRequestDTO);
 
-			CloseableHttpClient client = HttpClients.createDefault();
+			CloseableHttpClient client = mosipDeviceSpecificationHelper.getHttpClient();
 			StringEntity requestEntity = new StringEntity(request, ContentType.create("Content-Type", Consts.UTF_8));
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
 					"Building Stream url...." + System.currentTimeMillis());
@@ -157,9 +157,10 @@ public class MosipDeviceSpecification_095_ProviderImpl implements MosipDeviceSpe
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
 					"Request completed.... " + System.currentTimeMillis());
 
-			InputStream urlStream = null;
-			if (response.getEntity() != null) {
-				urlStream = response.getEntity().getContent();
+			MjpegFrameReader urlStream = null;
+			InputStream responseStream = mosipDeviceSpecificationHelper.getResponseStream(response);
+			if (responseStream != null) {
+				urlStream = new MjpegFrameReader(responseStream);
 			}
 
 			try {
@@ -212,12 +213,12 @@ public class MosipDeviceSpecification_095_ProviderImpl implements MosipDeviceSpe
 					"Entering into Capture method....." + System.currentTimeMillis());
 
 			String requestBody = null;
-			ObjectMapper mapper = new ObjectMapper();
+			ObjectMapper mapper = mosipDeviceSpecificationHelper.getMapper();
 			requestBody = mapper.writeValueAsString(rCaptureRequestDTO);
 
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID, "Request for RCapture...." + requestBody);
 
-			CloseableHttpClient client = HttpClients.createDefault();
+			CloseableHttpClient client = mosipDeviceSpecificationHelper.getHttpClient();
 			StringEntity requestEntity = new StringEntity(requestBody,
 					ContentType.create("Content-Type", Consts.UTF_8));
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
@@ -227,11 +228,12 @@ public class MosipDeviceSpecification_095_ProviderImpl implements MosipDeviceSpe
 					.setEntity(requestEntity).build();
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
 					"Requesting capture url...." + System.currentTimeMillis());
-			CloseableHttpResponse response = client.execute(request);
-			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
-					"Request completed.... " + System.currentTimeMillis());
-
-			String val = EntityUtils.toString(response.getEntity());
+			String val;
+			try (CloseableHttpResponse response = client.execute(request)) {
+				LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
+						"Request completed.... " + System.currentTimeMillis());
+				val = EntityUtils.toString(response.getEntity());
+			}
 
 			RCaptureResponseDTO captureResponse = mapper.readValue(val.getBytes(StandardCharsets.UTF_8),
 					RCaptureResponseDTO.class);
@@ -448,12 +450,11 @@ public class MosipDeviceSpecification_095_ProviderImpl implements MosipDeviceSpe
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
 					"Entering into Device availbale check....." + System.currentTimeMillis());
 
-			ObjectMapper mapper = new ObjectMapper();
-			String requestBody = mapper.writeValueAsString(deviceDiscoveryRequest);
+			String requestBody = mosipDeviceSpecificationHelper.getMapper().writeValueAsString(deviceDiscoveryRequest);
 
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID, "Request for RCapture...." + requestBody);
 
-			CloseableHttpClient client = HttpClients.createDefault();
+			CloseableHttpClient client = mosipDeviceSpecificationHelper.getHttpClient();
 			StringEntity requestEntity = new StringEntity(requestBody,
 					ContentType.create("Content-Type", Consts.UTF_8));
 			LOGGER.info(loggerClassName, APPLICATION_NAME, APPLICATION_ID,
@@ -463,10 +464,13 @@ public class MosipDeviceSpecification_095_ProviderImpl implements MosipDeviceSpe
 					.setUri(mosipDeviceSpecificationHelper.buildUrl(mdmBioDevice.getPort(), "device"))
 					.setEntity(requestEntity).build();
 
-			CloseableHttpResponse response = client.execute(request);
+			String discoveryResponse;
+			try (CloseableHttpResponse response = client.execute(request)) {
+				discoveryResponse = EntityUtils.toString(response.getEntity());
+			}
 
 			LOGGER.info("Request completed {}. parsing device discovery response to 095 dto", System.currentTimeMillis());
-			List<DeviceDiscoveryMDSResponse> deviceList = (mosipDeviceSpecificationHelper.getMapper().readValue(EntityUtils.toString(response.getEntity()),
+			List<DeviceDiscoveryMDSResponse> deviceList = (mosipDeviceSpecificationHelper.getMapper().readValue(discoveryResponse,
 					new TypeReference<List<DeviceDiscoveryMDSResponse>>() {}));
 
 			isDeviceAvailable = deviceList.stream().anyMatch(device ->
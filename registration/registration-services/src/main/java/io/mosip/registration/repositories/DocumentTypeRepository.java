@@ -1,5 +1,6 @@
 package io.mosip.registration.repositories;
 
+import java.util.Collection;
 import java.util.List;
 
 import io.mosip.kernel.core.dataaccess.spi.repository.BaseRepository;
@@ -17,6 +18,8 @@ public interface DocumentTypeRepository extends BaseRepository<DocumentType, Str
 	List<DocumentType> findByIsActiveTrueAndLangCodeAndCodeIn(String langCode, List<String> docCode);
 
 	List<DocumentType> findByIsActiveTrueAndName(String docTypeName);
+
+	List<DocumentType> findByIsActiveTrueAndNameIn(Collection<String> docTypeNames);
 	
 	List<DocumentType> findAllByIsActiveTrue();
 }
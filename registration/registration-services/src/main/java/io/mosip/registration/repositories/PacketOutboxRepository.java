@@ -0,0 +1,16 @@
+package io.mosip.registration.repositories;
+
+import java.util.List;
+
+import io.mosip.kernel.core.dataaccess.spi.repository.BaseRepository;
+import io.mosip.registration.entity.PacketOutbox;
+
+/**
+ * Repository for the packet outbox.
+ *
+ * @since 1.1.5
+ */
+public interface PacketOutboxRepository extends BaseRepository<PacketOutbox, String> {
+
+	List<PacketOutbox> findByStageInOrderByCrDtimeAsc(List<String> stages);
+}
@@ -3,6 +3,8 @@ package io.mosip.registration.repositories;
 import java.sql.Timestamp;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -53,6 +55,22 @@ public interface RegistrationRepository extends BaseRepository<Registration, Str
 	 * @return List of registration packets
 	 */
 	List<Registration> findByClientStatusCodeInOrderByUpdDtimesDesc(List<String> statusCodes);
+
+	/**
+	 * Fetches the next page of registration packets with the given client status
+	 * codes, in the order of their ids.
+	 *
+	 * @param statusCodes
+	 *            the status codes
+	 * @param lastId
+	 *            the id of the last packet of the previous page, empty for the
+	 *            first page
+	 * @param pageable
+	 *            the page size
+	 * @return List of registration packets
+	 */
+	List<Registration> findByClientStatusCodeInAndIdGreaterThanOrderByIdAsc(List<String> statusCodes, String lastId,
+			Pageable pageable);
 	
 	/**
 	 * To fetch the records for Packet Upload.
@@ -65,6 +83,43 @@ public interface RegistrationRepository extends BaseRepository<Registration, Str
 	 */
 	List<Registration> findByClientStatusCodeInOrServerStatusCodeOrderByUpdDtimesDesc(List<String> statusCodes,String serverStatus);
 
+	/**
+	 * Fetches the next page of records for Packet Upload, in the order of their
+	 * ids.
+	 *
+	 * @param statusCodes
+	 * 				the status codes
+	 * @param serverStatus
+	 * 				the server status
+	 * @param lastId
+	 * 				the id of the last packet of the previous page, empty for the first page
+	 * @param pageable
+	 * 				the page size
+	 * @return List of registration packets
+	 */
+	@Query("select reg from Registration reg where (reg.clientStatusCode in :statusCodes or reg.serverStatusCode = :serverStatus) and reg.id > :lastId order by reg.id")
+	List<Registration> findPacketsToUpload(@Param("statusCodes") List<String> statusCodes,
+			@Param("serverStatus") String serverStatus, @Param("lastId") String lastId, Pageable pageable);
+
+	/**
+	 * Fetches the next page of packets with the client status whose server status
+	 * was not read since the given time, in the order of their ids.
+	 *
+	 * @param clientStatus
+	 * 				the client status
+	 * @param serverStatusTime
+	 * 				packets with a server status read at or after this time are skipped
+	 * @param lastId
+	 * 				the id of the last packet of the previous page, empty for the first page
+	 * @param pageable
+	 * 				the page size
+	 * @return List of registration packets
+	 */
+	@Query("select reg from Registration reg where reg.clientStatusCode = :clientStatus and (reg.serverStatusTimestamp is null or reg.serverStatusTimestamp < :serverStatusTime) and reg.id > :lastId order by reg.id")
+	List<Registration> findPacketsToCheckStatus(@Param("clientStatus") String clientStatus,
+			@Param("serverStatusTime") Timestamp serverStatusTime, @Param("lastId") String lastId,
+			Pageable pageable);
+
 	/**
 	 * Fetching all the re registration records.
 	 *
@@ -115,6 +170,23 @@ public interface RegistrationRepository extends BaseRepository<Registration, Str
 	 * @return list of registrations
 	 */
 	List<Registration> findByCrDtimeBeforeAndServerStatusCode(Timestamp crDtimes, String clientStatus);
+
+	/**
+	 * Fetches the next page of packets created before the given time with the
+	 * server status, in the order of their ids.
+	 *
+	 * @param crDtimes
+	 * 				the date upto packets to be deleted
+	 * @param serverStatus
+	 * 				the server status
+	 * @param lastId
+	 * 				the id of the last packet of the previous page, empty for the first page
+	 * @param pageable
+	 * 				the page size
+	 * @return list of registrations
+	 */
+	List<Registration> findByCrDtimeBeforeAndServerStatusCodeAndIdGreaterThanOrderByIdAsc(Timestamp crDtimes,
+			String serverStatus, String lastId, Pageable pageable);
 	
 	/**
 	 * fetches all the Registration records which is having the given server status
@@ -145,4 +217,17 @@ public interface RegistrationRepository extends BaseRepository<Registration, Str
 	 */
 	List<Registration> findByClientStatusCodeNotInAndServerStatusCodeIn(List<String> clientStutusCodes,
 			List<String> serverStatusCodes);
+
+	/**
+	 * Updates the acknowledged chunked upload offset of the packet.
+	 *
+	 * @param id
+	 * 				the registration id
+	 * @param uploadOffset
+	 * 				the number of bytes acknowledged by the server
+	 * @return the number of records updated
+	 */
+	@Modifying
+	@Query("update Registration reg set reg.uploadOffset = :uploadOffset where reg.id = :id")
+	int updateUploadOffset(@Param("id") String id, @Param("uploadOffset") Long uploadOffset);
 }
@@ -23,7 +23,7 @@ public interface UserBiometricRepository extends BaseRepository<UserBiometric, U
 
 	void deleteByUserBiometricIdUsrId(String userID);
 	
-	public List<UserBiometric> findByUserBiometricIdBioTypeCodeAndIsActiveTrue(String bioType);
+	public List<UserBiometric> findByUserBiometricIdBioTypeCodeIgnoreCaseAndIsActiveTrue(String bioType);
 
 	public List<UserBiometric> findByUserBiometricIdUsrId(String userId);
 }
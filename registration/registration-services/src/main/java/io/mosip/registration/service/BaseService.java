@@ -16,6 +16,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Supplier;
 
 import io.mosip.kernel.core.util.HMACUtils2;
 import io.mosip.registration.constants.PreConditionChecks;
@@ -58,6 +59,7 @@ import io.mosip.registration.constants.DeviceTypes;
 import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.context.ApplicationContext;
 import io.mosip.registration.context.SessionContext;
+import io.mosip.registration.context.StationContext;
 import io.mosip.registration.dao.MachineMappingDAO;
 import io.mosip.registration.dao.UserOnboardDAO;
 import io.mosip.registration.dto.ErrorResponseDTO;
@@ -234,33 +236,37 @@ public class BaseService {
 	}
 
 	/**
-	 * Gets the station id.
+	 * Gets the station id, cached for the session.
 	 *
 	 * @return the station id
 	 */
 	public String getStationId() {
-		String machineName = RegistrationSystemPropertiesChecker.getMachineId();
-		MachineMaster machineMaster = machineMasterRepository.findByNameIgnoreCaseAndRegMachineSpecIdLangCode(machineName.toLowerCase(),
-				ApplicationContext.applicationLanguage());
+		return getFromStationContext(StationContext.STATION_ID, () -> {
+			String machineName = RegistrationSystemPropertiesChecker.getMachineId();
+			MachineMaster machineMaster = machineMasterRepository.findByNameIgnoreCaseAndRegMachineSpecIdLangCode(machineName.toLowerCase(),
+					ApplicationContext.applicationLanguage());
 
-		if(machineMaster != null && machineMaster.getRegMachineSpecId().getId() != null && machineMaster.getIsActive())
-			return machineMaster.getRegMachineSpecId().getId();
-		return null;
+			if(machineMaster != null && machineMaster.getRegMachineSpecId().getId() != null && machineMaster.getIsActive())
+				return machineMaster.getRegMachineSpecId().getId();
+			return null;
+		});
 	}
 
 	/**
-	 * Gets the center id.
+	 * Gets the center id, cached for the session.
 	 *
 	 * @return the center id
 	 */
 	public String getCenterId() {
-		String stationId = getStationId();
-		if (stationId != null) {
-			CenterMachine centerMachine = centerMachineRepository.findByCenterMachineIdMachineId(stationId);
-			return centerMachine != null && centerMachine.getIsActive() ?
-					centerMachine.getCenterMachineId().getRegCenterId() : null;
-		}
-		return null;
+		return getFromStationContext(StationContext.CENTER_ID, () -> {
+			String stationId = getStationId();
+			if (stationId != null) {
+				CenterMachine centerMachine = centerMachineRepository.findByCenterMachineIdMachineId(stationId);
+				return centerMachine != null && centerMachine.getIsActive() ?
+						centerMachine.getCenterMachineId().getRegCenterId() : null;
+			}
+			return null;
+		});
 	}
 
 	/**
@@ -289,11 +295,17 @@ public class BaseService {
 		String val = null;
 		if (key != null) {
 			ApplicationContext.getInstance();
-			// Check application map
-			if (ApplicationContext.map().isEmpty() || ApplicationContext.map().get(key) == null) {
+			StationContext stationContext = SessionContext.stationContext();
+			// Check application map, a key missing after the last load is not loaded again in the session
+			if (ApplicationContext.map().isEmpty() || (ApplicationContext.map().get(key) == null
+					&& (stationContext == null || !stationContext.isGlobalParamMissing(key)))) {
 
 				// Load Global params if application map is empty
 				ApplicationContext.setApplicationMap(globalParamService.getGlobalParams());
+
+				if (stationContext != null && ApplicationContext.map().get(key) == null) {
+					stationContext.setGlobalParamMissing(key);
+				}
 			}
 
 			// Get Value of global param
@@ -318,7 +330,9 @@ public class BaseService {
 		statusDTO.setUploadStatus(registration.getFileUploadStatus());
 		statusDTO.setPacketStatus(registration.getStatusCode());
 		statusDTO.setSupervisorStatus(registration.getClientStatusCode());
-		statusDTO.setSupervisorComments(registration.getClientStatusComments());		
+		statusDTO.setSupervisorComments(registration.getClientStatusComments());
+		statusDTO.setUploadOffset(registration.getUploadOffset());
+		statusDTO.setSyncedPacketHash(registration.getPacketHash());
 		
 		try {
 			if (registration.getAdditionalInfo() != null) {
@@ -645,8 +659,7 @@ public class BaseService {
 			throw new PreConditionCheckException(PreConditionChecks.NO_CONNECTION.name(),
 					action + " forbidden as User is inactive");
 
-		if(SessionContext.isSessionContextAvailable() &&
-				!userDetailService.isValidUser(SessionContext.userId()) && !isInitialSync())
+		if(SessionContext.isSessionContextAvailable() && !isValidSessionUser() && !isInitialSync())
 			throw new PreConditionCheckException(PreConditionChecks.USER_INACTIVE.name(),
 					action + " forbidden as User is inactive");
 	}
@@ -661,7 +674,7 @@ public class BaseService {
 		}
 
 		//check if remap is in progress
-		if(centerMachineReMapService.isMachineRemapped())
+		if(isMarkedForRemap())
 			throw new PreConditionCheckException(PreConditionChecks.MARKED_FOR_REMAP.name(),
 					"Sync forbidden as machine is marked for center remap");
 
@@ -672,7 +685,7 @@ public class BaseService {
 
 		//check regcenter table for center status
 		//if center is inactive, sync is not allowed
-		if(!registrationCenterDAO.isMachineCenterActive(machineId))
+		if(!isCenterActive(machineId))
 			throw new PreConditionCheckException(PreConditionChecks.CENTER_INACTIVE.name(),
 					"Pre-reg data sync action forbidden as center is inactive");
 	}
@@ -688,7 +701,7 @@ public class BaseService {
 	public void proceedWithSoftwareUpdate() throws PreConditionCheckException {
 		commonPreConditionChecks("Software update");
 
-		if(centerMachineReMapService.isMachineRemapped())
+		if(isMarkedForRemap())
 			throw new PreConditionCheckException(PreConditionChecks.MARKED_FOR_REMAP.name(),
 					"Software update forbidden as machine is marked for center remap");
 
@@ -698,7 +711,7 @@ public class BaseService {
 	public void proceedWithOperatorOnboard() throws PreConditionCheckException {
 		commonPreConditionChecks("Onboarding");
 
-		if(centerMachineReMapService.isMachineRemapped())
+		if(isMarkedForRemap())
 			throw new PreConditionCheckException(PreConditionChecks.MARKED_FOR_REMAP.name(),
 					"Onboarding forbidden as machine is marked for center remap");
 
@@ -709,18 +722,17 @@ public class BaseService {
 					"Onboarding action forbidden as machine is inactive");
 
 
-		if(!registrationCenterDAO.isMachineCenterActive(machineId))
+		if(!isCenterActive(machineId))
 			throw new PreConditionCheckException(PreConditionChecks.CENTER_INACTIVE.name(),
 					"Onboarding action forbidden as center is inactive");
 	}
 
 	public void proceedWithRegistration() throws PreConditionCheckException {
-		if(SessionContext.isSessionContextAvailable() &&
-				!userDetailService.isValidUser(SessionContext.userId()) && !isInitialSync())
+		if(SessionContext.isSessionContextAvailable() && !isValidSessionUser() && !isInitialSync())
 			throw new PreConditionCheckException(PreConditionChecks.USER_INACTIVE.name(),
 					"Registration forbidden as User is inactive");
 
-		if(centerMachineReMapService.isMachineRemapped())
+		if(isMarkedForRemap())
 			throw new PreConditionCheckException(PreConditionChecks.MARKED_FOR_REMAP.name(),
 					"Registration forbidden as machine is marked for center remap");
 
@@ -730,20 +742,17 @@ public class BaseService {
 			throw new PreConditionCheckException(PreConditionChecks.MACHINE_INACTIVE.name(),
 					"Registration forbidden as machine is inactive");
 
-		if(!registrationCenterDAO.isMachineCenterActive(machineId))
+		if(!isCenterActive(machineId))
 			throw new PreConditionCheckException(PreConditionChecks.CENTER_INACTIVE.name(),
 					"Registration forbidden as center is inactive");
 
-		ResponseDTO responseDTO = policySyncService.checkKeyValidation();
-		if(responseDTO == null || responseDTO.getSuccessResponseDTO() == null ||
-				!responseDTO.getSuccessResponseDTO().getMessage().equals(RegistrationConstants.VALID_KEY))
+		if(!isPolicyKeyValid())
 			throw new PreConditionCheckException(PreConditionChecks.NO_OR_INVALID_POLICY_KEY.name(),
 					"Registration forbidden as client POLICY_KEY is INVALID");
 	}
 
 	public void proceedWithReRegistration() throws PreConditionCheckException {
-		if(SessionContext.isSessionContextAvailable() &&
-				!userDetailService.isValidUser(SessionContext.userId()) && !isInitialSync())
+		if(SessionContext.isSessionContextAvailable() && !isValidSessionUser() && !isInitialSync())
 			throw new PreConditionCheckException(PreConditionChecks.USER_INACTIVE.name(),
 					"Registration forbidden as User is inactive");
 
@@ -752,11 +761,47 @@ public class BaseService {
 			throw new PreConditionCheckException(PreConditionChecks.MACHINE_INACTIVE.name(),
 					"Registration forbidden as machine is inactive");
 
-		if(!registrationCenterDAO.isMachineCenterActive(machineId))
+		if(!isCenterActive(machineId))
 			throw new PreConditionCheckException(PreConditionChecks.CENTER_INACTIVE.name(),
 					"Registration forbidden as center is inactive");
 	}
 
+	private boolean isValidSessionUser() {
+		return getFromStationContext(StationContext.USER_VALID,
+				() -> userDetailService.isValidUser(SessionContext.userId()));
+	}
+
+	private boolean isMarkedForRemap() {
+		return getFromStationContext(StationContext.MACHINE_REMAPPED, centerMachineReMapService::isMachineRemapped);
+	}
+
+	/**
+	 * @param machineId
+	 *            the station id of this machine
+	 * @return true if the center of the machine is active
+	 */
+	private boolean isCenterActive(String machineId) {
+		return getFromStationContext(StationContext.CENTER_ACTIVE,
+				() -> registrationCenterDAO.isMachineCenterActive(machineId));
+	}
+
+	private boolean isPolicyKeyValid() {
+		return getFromStationContext(StationContext.POLICY_KEY_VALID, () -> {
+			ResponseDTO responseDTO = policySyncService.checkKeyValidation();
+			return responseDTO != null && responseDTO.getSuccessResponseDTO() != null
+					&& RegistrationConstants.VALID_KEY.equals(responseDTO.getSuccessResponseDTO().getMessage());
+		});
+	}
+
+	/**
+	 * Gets the value from the station context of the session, loading it when not
+	 * cached. Without a session the value is loaded on every call.
+	 */
+	private <T> T getFromStationContext(StationContext.Key<T> key, Supplier<T> loader) {
+		StationContext stationContext = SessionContext.stationContext();
+		return stationContext != null ? stationContext.get(key, loader) : loader.get();
+	}
+
 	/**
 	 * Checks if this is initial launch
 	 * @return
@@ -18,6 +18,13 @@ public interface IdentitySchemaService {
 	
 	public List<UiSchemaDTO> getUISchema(double idVersion) throws RegBaseCheckedException;
 	
+	public UiSchemaDTO getUISchemaField(double idVersion, String fieldId) throws RegBaseCheckedException;
+	
+	public List<UiSchemaDTO> getUISchemaFieldsByGroup(double idVersion, String group) throws RegBaseCheckedException;
+	
+	public List<UiSchemaDTO> getUISchemaFieldsBySubType(double idVersion, String subType)
+			throws RegBaseCheckedException;
+	
 	public String getIDSchema(double idVersion) throws RegBaseCheckedException;
 	
 	public SchemaDto getIdentitySchema(double idVersion) throws RegBaseCheckedException;
@@ -0,0 +1,51 @@
+package io.mosip.registration.service.bio;
+
+import java.util.List;
+
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.registration.dto.packetmanager.BiometricsDto;
+
+/**
+ * Matches captured biometrics against the biometrics of the operators
+ * onboarded to this machine.
+ *
+ * <p>
+ * The operator biometrics of a modality are read once and kept as prebuilt
+ * BIRs until {@link #invalidate()} is called after the operator biometrics
+ * are changed.
+ * </p>
+ *
+ * @since 1.1.5
+ */
+public interface OperatorGalleryService {
+
+	/**
+	 * Checks if the captured biometrics match any onboarded operator.
+	 *
+	 * @param biometricType
+	 *            the modality
+	 * @param biometrics
+	 *            the captured biometrics
+	 * @return <code>true</code> if an operator matched
+	 */
+	boolean identify(BiometricType biometricType, List<BiometricsDto> biometrics);
+
+	/**
+	 * Checks if the captured biometrics match the given operator.
+	 *
+	 * @param userId
+	 *            the operator id
+	 * @param biometricType
+	 *            the modality
+	 * @param biometrics
+	 *            the captured biometrics
+	 * @return <code>true</code> if the operator matched
+	 */
+	boolean verify(String userId, BiometricType biometricType, List<BiometricsDto> biometrics);
+
+	/**
+	 * Drops the cached operator biometrics of all modalities, they are read
+	 * again on the next match.
+	 */
+	void invalidate();
+}
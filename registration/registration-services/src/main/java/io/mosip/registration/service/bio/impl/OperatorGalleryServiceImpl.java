@@ -0,0 +1,273 @@
+package io.mosip.registration.service.bio.impl;
+
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.mosip.kernel.biometrics.constant.BiometricFunction;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biosdk.provider.factory.BioAPIFactory;
+import io.mosip.kernel.biosdk.provider.spi.iBioProviderApi;
+import io.mosip.kernel.core.bioapi.exception.BiometricException;
+import io.mosip.kernel.core.cbeffutil.entity.BDBInfo;
+import io.mosip.kernel.core.cbeffutil.entity.BIR;
+import io.mosip.kernel.core.cbeffutil.entity.BIR.BIRBuilder;
+import io.mosip.kernel.core.cbeffutil.jaxbclasses.ProcessedLevelType;
+import io.mosip.kernel.core.cbeffutil.jaxbclasses.PurposeType;
+import io.mosip.kernel.core.cbeffutil.jaxbclasses.RegistryIDType;
+import io.mosip.kernel.core.cbeffutil.jaxbclasses.SingleType;
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.registration.config.AppConfig;
+import io.mosip.registration.dao.UserDetailDAO;
+import io.mosip.registration.dto.packetmanager.BiometricsDto;
+import io.mosip.registration.entity.UserBiometric;
+import io.mosip.registration.service.BaseService;
+import io.mosip.registration.service.bio.OperatorGalleryService;
+
+/**
+ * Implementation class of {@link OperatorGalleryService}.
+ *
+ * <p>
+ * For identification the gallery is split into shards of operators which are
+ * matched in parallel, so the time to a result does not grow with the number
+ * of operators onboarded to the machine. A biometric SDK which is not thread
+ * safe can be matched on a single thread with
+ * <code>mosip.registration.operator.gallery.match-threads=1</code>.
+ * </p>
+ *
+ * @since 1.1.5
+ */
+@Service
+public class OperatorGalleryServiceImpl extends BaseService implements OperatorGalleryService {
+
+	private static final Logger LOGGER = AppConfig.getLogger(OperatorGalleryServiceImpl.class);
+
+	private static final String LOG_OPERATOR_GALLERY = "REGISTRATION - OPERATOR_GALLERY_SERVICE";
+
+	/** Number of operators matched in one call to the biometric SDK. */
+	@Value("${mosip.registration.operator.gallery.shard-size:25}")
+	private int shardSize;
+
+	@Value("${mosip.registration.operator.gallery.match-threads:4}")
+	private int matchThreads;
+
+	@Autowired
+	private UserDetailDAO userDetailDAO;
+
+	@Autowired
+	private BioAPIFactory bioAPIFactory;
+
+	private final Map<BiometricType, Gallery> galleries = new ConcurrentHashMap<>();
+
+	/** Incremented on every invalidation, galleries loaded before are stale. */
+	private final AtomicLong generation = new AtomicLong();
+
+	private ExecutorService matchExecutor;
+
+	@Override
+	public boolean identify(BiometricType biometricType, List<BiometricsDto> biometrics) {
+		Gallery gallery = getGallery(biometricType);
+		if (gallery.shards.isEmpty()) {
+			return false;
+		}
+
+		List<BIR> sample = new ArrayList<>(biometrics.size());
+		biometrics.forEach(biometricsDto -> sample.add(buildIdentifyBir(biometricsDto.getAttributeISO(), biometricType)));
+
+		try {
+			iBioProviderApi bioProvider = bioAPIFactory.getBioProvider(biometricType, BiometricFunction.MATCH);
+			if (gallery.shards.size() == 1 || matchThreads <= 1) {
+				for (Map<String, List<BIR>> shard : gallery.shards) {
+					if (isMatched(bioProvider.identify(sample, shard, biometricType, null))) {
+						return true;
+					}
+				}
+				return false;
+			}
+			return identifyInShards(bioProvider, sample, gallery, biometricType);
+		} catch (BiometricException | RuntimeException exception) {
+			LOGGER.error(LOG_OPERATOR_GALLERY, APPLICATION_NAME, APPLICATION_ID,
+					"Failed to identify in operator gallery : " + ExceptionUtils.getStackTrace(exception));
+		}
+		return false;
+	}
+
+	@Override
+	public boolean verify(String userId, BiometricType biometricType, List<BiometricsDto> biometrics) {
+		List<BIR> record = getGallery(biometricType).records.get(userId);
+		if (record == null || record.isEmpty()) {
+			return false;
+		}
+
+		List<BIR> sample = new ArrayList<>(biometrics.size());
+		biometrics.forEach(biometricsDto -> sample.add(buildBir(biometricsDto)));
+
+		try {
+			iBioProviderApi bioProvider = bioAPIFactory.getBioProvider(biometricType, BiometricFunction.MATCH);
+			if (bioProvider != null) {
+				return bioProvider.verify(sample, record, biometricType, null);
+			}
+		} catch (BiometricException | RuntimeException exception) {
+			LOGGER.error(LOG_OPERATOR_GALLERY, APPLICATION_NAME, APPLICATION_ID,
+					"Failed to verify operator " + userId + " : " + ExceptionUtils.getStackTrace(exception));
+		}
+		return false;
+	}
+
+	@Override
+	public void invalidate() {
+		generation.incrementAndGet();
+		galleries.clear();
+		LOGGER.info(LOG_OPERATOR_GALLERY, APPLICATION_NAME, APPLICATION_ID, "Operator gallery invalidated");
+	}
+
+	@PreDestroy
+	public synchronized void shutdown() {
+		if (matchExecutor != null) {
+			matchExecutor.shutdownNow();
+		}
+	}
+
+	private boolean identifyInShards(iBioProviderApi bioProvider, List<BIR> sample, Gallery gallery,
+			BiometricType biometricType) {
+		CompletionService<Boolean> completionService = new ExecutorCompletionService<>(getMatchExecutor());
+		List<Future<Boolean>> futures = new ArrayList<>(gallery.shards.size());
+		for (Map<String, List<BIR>> shard : gallery.shards) {
+			Callable<Boolean> match = () -> isMatched(bioProvider.identify(sample, shard, biometricType, null));
+			futures.add(completionService.submit(match));
+		}
+
+		try {
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					if (completionService.take().get()) {
+						return true;
+					}
+				} catch (ExecutionException executionException) {
+					// a failed shard counts as not matched, like a failed match of the whole gallery
+					LOGGER.error(LOG_OPERATOR_GALLERY, APPLICATION_NAME, APPLICATION_ID,
+							"Failed to identify in operator gallery shard : "
+									+ ExceptionUtils.getStackTrace(executionException.getCause()));
+				}
+			}
+		} catch (InterruptedException interruptedException) {
+			Thread.currentThread().interrupt();
+		} finally {
+			futures.forEach(future -> future.cancel(true));
+		}
+		return false;
+	}
+
+	private static boolean isMatched(Map<String, Boolean> result) {
+		return result != null && result.values().stream().anyMatch(Boolean.TRUE::equals);
+	}
+
+	private Gallery getGallery(BiometricType biometricType) {
+		Gallery gallery = galleries.get(biometricType);
+		if (gallery != null && gallery.generation == generation.get()) {
+			return gallery;
+		}
+		return loadGallery(biometricType);
+	}
+
+	private synchronized Gallery loadGallery(BiometricType biometricType) {
+		long currentGeneration = generation.get();
+		Gallery gallery = galleries.get(biometricType);
+		if (gallery != null && gallery.generation == currentGeneration) {
+			return gallery;
+		}
+
+		long startTime = System.currentTimeMillis();
+		List<UserBiometric> userBiometrics = userDetailDAO.findAllActiveUsers(biometricType.value());
+
+		Map<String, List<BIR>> identifyGallery = new LinkedHashMap<>();
+		Map<String, List<BIR>> records = new ConcurrentHashMap<>();
+		for (UserBiometric userBiometric : userBiometrics) {
+			String userId = userBiometric.getUserBiometricId().getUsrId();
+			identifyGallery.computeIfAbsent(userId, key -> new ArrayList<>())
+					.add(buildIdentifyBir(userBiometric.getBioIsoImage(), biometricType));
+			records.computeIfAbsent(userId, key -> new ArrayList<>())
+					.add(buildBir(userBiometric.getUserBiometricId().getBioAttributeCode(),
+							userBiometric.getQualityScore(), userBiometric.getBioIsoImage(),
+							ProcessedLevelType.PROCESSED));
+		}
+
+		List<Map<String, List<BIR>>> shards = new ArrayList<>();
+		Map<String, List<BIR>> shard = null;
+		for (Map.Entry<String, List<BIR>> entry : identifyGallery.entrySet()) {
+			if (shard == null || shard.size() >= Math.max(shardSize, 1)) {
+				shard = new LinkedHashMap<>();
+				shards.add(shard);
+			}
+			shard.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+		}
+
+		gallery = new Gallery(currentGeneration, shards, records);
+		galleries.put(biometricType, gallery);
+
+		LOGGER.info(LOG_OPERATOR_GALLERY, APPLICATION_NAME, APPLICATION_ID,
+				String.format("Loaded %s gallery of %d operators in %d shards in %d ms", biometricType.value(),
+						identifyGallery.size(), shards.size(), System.currentTimeMillis() - startTime));
+		return gallery;
+	}
+
+	private BIR buildIdentifyBir(byte[] biometricImageISO, BiometricType modality) {
+		return new BIRBuilder().withBdb(biometricImageISO)
+				.withBdbInfo(new BDBInfo.BDBInfoBuilder().withFormat(new RegistryIDType())
+						.withType(Collections.singletonList(SingleType.fromValue(modality.value())))
+						.withPurpose(PurposeType.IDENTIFY).build())
+				.build();
+	}
+
+	private synchronized ExecutorService getMatchExecutor() {
+		if (matchExecutor == null) {
+			AtomicInteger threadCount = new AtomicInteger();
+			matchExecutor = Executors.newFixedThreadPool(matchThreads, runnable -> {
+				Thread thread = new Thread(runnable, "operator-gallery-match-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return matchExecutor;
+	}
+
+	/** Prebuilt BIRs of the operators for one modality. */
+	private static final class Gallery {
+
+		private final long generation;
+
+		/** Operators split for identification, each shard is never modified. */
+		private final List<Map<String, List<BIR>>> shards;
+
+		/** BIRs by operator for verification. */
+		private final Map<String, List<BIR>> records;
+
+		private Gallery(long generation, List<Map<String, List<BIR>>> shards, Map<String, List<BIR>> records) {
+			this.generation = generation;
+			this.shards = Collections.unmodifiableList(shards);
+			this.records = records;
+		}
+	}
+}
@@ -2,10 +2,12 @@ package io.mosip.registration.service.config;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import io.mosip.registration.dto.ResponseDTO;
 import io.mosip.registration.entity.SyncControl;
 import io.mosip.registration.entity.SyncJobDef;
+import io.mosip.registration.jobs.JobRun;
 
 /**
  * This interface manages all the jobs with respect to registration client application. 
@@ -73,12 +75,32 @@ public interface JobConfigurationService {
 	ResponseDTO getSyncJobsTransaction();
 
 	/**
-	 * It pulls all the jobs from table and forcefully execute it. 
+	 * It pulls all the jobs from table and forcefully execute it. Each job is
+	 * executed after its parent job succeeded, jobs not depending on each other
+	 * are executed concurrently.
 	 * 
 	 * @return response of job
 	 */
 	ResponseDTO executeAllJobs();
 
+	/**
+	 * Executes all the jobs as {@link #executeAllJobs()}, notifying the listener
+	 * each time a job of the run completes.
+	 * 
+	 * @param completionListener
+	 *            called with the run on the thread of the completed job
+	 * @return response of job
+	 */
+	ResponseDTO executeAllJobs(Consumer<JobRun> completionListener);
+
+	/**
+	 * It returns the run of the last execution of all the jobs, with the jobs
+	 * the scheduler completed since.
+	 * 
+	 * @return the status of the completed jobs
+	 */
+	JobRun getJobRun();
+
 	/**
 	 * Is Application to be restart
 	 * 
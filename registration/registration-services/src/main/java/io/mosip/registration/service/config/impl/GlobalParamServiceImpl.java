@@ -32,6 +32,8 @@ import io.mosip.registration.config.AppConfig;
 import io.mosip.registration.constants.LoggerConstants;
 import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.context.ApplicationContext;
+import io.mosip.registration.context.SessionContext;
+import io.mosip.registration.context.StationContext;
 import io.mosip.registration.dao.GlobalParamDAO;
 import io.mosip.registration.dto.ResponseDTO;
 import io.mosip.registration.dto.SuccessResponseDTO;
@@ -113,6 +115,12 @@ public class GlobalParamServiceImpl extends BaseService implements GlobalParamSe
 
 		saveGlobalParams(responseDTO, triggerPoint);
 
+		// the params found missing may have been added
+		StationContext stationContext = SessionContext.stationContext();
+		if (stationContext != null) {
+			stationContext.invalidateGlobalParams();
+		}
+
 		if (!isJob) {
 			/* If unable to fetch from server and no data in DB create error response */
 			if (responseDTO.getSuccessResponseDTO() == null && getGlobalParams().isEmpty()) {
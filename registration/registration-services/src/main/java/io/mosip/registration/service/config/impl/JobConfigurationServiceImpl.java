@@ -8,16 +8,25 @@ import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.quartz.CronScheduleBuilder;
 import org.quartz.CronTrigger;
@@ -31,6 +40,7 @@ import org.quartz.SchedulerException;
 import org.quartz.TriggerBuilder;
 import org.quartz.TriggerListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 import org.springframework.stereotype.Service;
@@ -55,7 +65,9 @@ import io.mosip.registration.entity.SyncControl;
 import io.mosip.registration.entity.SyncJobDef;
 import io.mosip.registration.entity.SyncTransaction;
 import io.mosip.registration.jobs.BaseJob;
+import io.mosip.registration.jobs.JobManager;
 import io.mosip.registration.jobs.JobProcessListener;
+import io.mosip.registration.jobs.JobRun;
 import io.mosip.registration.jobs.JobTriggerListener;
 import io.mosip.registration.service.BaseService;
 import io.mosip.registration.service.config.JobConfigurationService;
@@ -126,9 +138,19 @@ public class JobConfigurationServiceImpl extends BaseService implements JobConfi
 	private JobDataMap jobDataMap = null;
 
 	/**
-	 * Base Job
+	 * Keeps the run the completed jobs are recorded in
 	 */
-	private BaseJob baseJob;
+	@Autowired
+	private JobManager jobManager;
+
+	/**
+	 * Number of jobs executed at the same time by the execution of all the jobs
+	 * and of the missed triggers
+	 */
+	@Value("${mosip.registration.jobs.threads:4}")
+	private int jobThreads;
+
+	private ExecutorService jobExecutor;
 
 	private List<String> restartableJobList;
 
@@ -284,7 +306,7 @@ public class JobConfigurationServiceImpl extends BaseService implements JobConfi
 						&& !schedulerFactoryBean.getScheduler().checkExists(new JobKey(jobId))) {
 
 					// Get Job instance through application context
-					baseJob = (BaseJob) applicationContext.getBean(syncJob.getApiName());
+					BaseJob baseJob = (BaseJob) applicationContext.getBean(syncJob.getApiName());
 
 					JobDetail jobDetail = JobBuilder.newJob(baseJob.jobClass()).withIdentity(syncJob.getId())
 							.usingJobData(jobDataMap).build();
@@ -451,6 +473,18 @@ public class JobConfigurationServiceImpl extends BaseService implements JobConfi
 	 */
 
 	public ResponseDTO executeJob(String jobId, String triggerPoint) {
+		return executeJob(jobId, triggerPoint, null);
+	}
+
+	/**
+	 * Executes the job, after its parent job unless the parent job was already
+	 * executed.
+	 * 
+	 * @param parentJobResponse
+	 *            the response of the executed parent job, null to execute the
+	 *            parent job first
+	 */
+	private ResponseDTO executeJob(String jobId, String triggerPoint, ResponseDTO parentJobResponse) {
 
 		LOGGER.info(LoggerConstants.BATCH_JOBS_CONFIG_LOGGER_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "Execute job started : " + jobId);
@@ -461,14 +495,13 @@ public class JobConfigurationServiceImpl extends BaseService implements JobConfi
 
 				if (syncJobDef != null && !isNull(syncJobDef.getApiName())) {
 					// Get Job using application context and api name
-					baseJob = (BaseJob) applicationContext.getBean(syncJobDef.getApiName());
-
-					BaseJob.removeCompletedJobInMap(jobId);
+					BaseJob baseJob = (BaseJob) applicationContext.getBean(syncJobDef.getApiName());
 
 					baseJob.setApplicationContext(applicationContext);
 
 					// Job Invocation
-					responseDTO = baseJob.executeJob(triggerPoint, jobId);
+					responseDTO = parentJobResponse == null ? baseJob.executeJob(triggerPoint, jobId)
+							: baseJob.executeJob(triggerPoint, jobId, parentJobResponse);
 
 				} else {
 					setErrorResponse(responseDTO, RegistrationConstants.EXECUTE_JOB_ERROR_MESSAGE, null);
@@ -736,7 +769,7 @@ public class JobConfigurationServiceImpl extends BaseService implements JobConfi
 		map.forEach((jobId, syncJob) -> {
 			if (!isNull(syncJob.getSyncFreq()) && !isNull(syncJob.getApiName())) {
 				/* An A-sync task to complete missed trigger */
-				new Thread(() -> executeMissedTrigger(jobId, syncJob.getSyncFreq())).start();
+				getJobExecutor().execute(() -> executeMissedTrigger(jobId, syncJob.getSyncFreq()));
 			}
 
 		});
@@ -754,34 +787,47 @@ public class JobConfigurationServiceImpl extends BaseService implements JobConfi
 	 */
 	@Override
 	public ResponseDTO executeAllJobs() {
+		return executeAllJobs(null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * io.mosip.registration.service.config.JobConfigurationService#executeAllJobs(
+	 * java.util.function.Consumer)
+	 */
+	@Override
+	public ResponseDTO executeAllJobs(Consumer<JobRun> completionListener) {
 
 		LOGGER.info(LoggerConstants.BATCH_JOBS_CONFIG_LOGGER_TITLE, RegistrationConstants.APPLICATION_NAME,
 				RegistrationConstants.APPLICATION_ID, "Started execute all jobs");
 		ResponseDTO responseDTO = new ResponseDTO();
-		BaseJob.successJob.clear();
-		BaseJob.clearCompletedJobMap();
 		List<String> failureJobs = new LinkedList<>();
 
+		/* The jobs of this execution complete in a new run */
+		JobRun jobRun = new JobRun(completionListener);
+		jobManager.setJobRun(jobRun);
+
+		String triggerPoint = getUserIdFromSession().equals(RegistrationConstants.JOB_TRIGGER_POINT_SYSTEM)
+				? RegistrationConstants.JOB_TRIGGER_POINT_SYSTEM
+				: RegistrationConstants.JOB_TRIGGER_POINT_USER;
+
+		JobGraph jobGraph = new JobGraph(triggerPoint, jobRun);
 		for (Entry<String, SyncJobDef> syncJob : syncActiveJobMapExecutable.entrySet()) {
 			LOGGER.info(LoggerConstants.BATCH_JOBS_CONFIG_LOGGER_TITLE, RegistrationConstants.APPLICATION_NAME,
 					RegistrationConstants.APPLICATION_ID, "Validating job to execute : " + syncJob.getKey());
 
-			if ((offlineJobs == null || !offlineJobs.contains(syncJob.getKey())
-					&& (unTaggedJobs == null || !unTaggedJobs.contains(syncJob.getKey())))
-					&& !isNull(syncJob.getValue().getApiName())) {
+			if (isExecutableInAllJobs(syncJob.getValue())) {
 
-				String triggerPoint = getUserIdFromSession().equals(RegistrationConstants.JOB_TRIGGER_POINT_SYSTEM)
-						? RegistrationConstants.JOB_TRIGGER_POINT_SYSTEM
-						: RegistrationConstants.JOB_TRIGGER_POINT_USER;
-
-				executeJob(syncJob.getKey(), triggerPoint);
+				jobGraph.schedule(syncJob.getValue());
 
 			}
 		}
 
-		/* Child Job's check */
-		BaseJob.getCompletedJobMap().forEach((jobId, status) -> {
-			if (!status.equalsIgnoreCase(RegistrationConstants.JOB_EXECUTION_SUCCESS)) {
+		/* Parent and child jobs check */
+		jobGraph.awaitResults().forEach((jobId, succeeded) -> {
+			if (!succeeded) {
 				failureJobs.add(syncActiveJobMap.get(jobId).getName());
 			}
 		});
@@ -808,14 +854,14 @@ public class JobConfigurationServiceImpl extends BaseService implements JobConfi
 				RegistrationConstants.APPLICATION_ID, "Checking for is to be re-start started");
 
 		ResponseDTO responseDTO = new ResponseDTO();
-		/* Fetch completed job map */
-		Map<String, String> completedSyncJobMap = BaseJob.getCompletedJobMap();
+		/* Fetch completed jobs of the current run */
+		JobRun jobRun = jobManager.getJobRun();
 
 		/* Compare with restart-able job list */
 		for (String jobId : restartableJobList) {
 
 			/* Check the job completed with success/failure */
-			if (RegistrationConstants.JOB_EXECUTION_SUCCESS.equals(completedSyncJobMap.get(jobId))) {
+			if (RegistrationConstants.JOB_EXECUTION_SUCCESS.equals(jobRun.getStatus(jobId))) {
 
 				/* Store job info in attributes of response */
 				Map<String, Object> successJobAttribute = new WeakHashMap<>();
@@ -831,6 +877,11 @@ public class JobConfigurationServiceImpl extends BaseService implements JobConfi
 		return responseDTO;
 	}
 
+	@Override
+	public JobRun getJobRun() {
+		return jobManager.getJobRun();
+	}
+
 	@Override
 	public ResponseDTO getRestartTime() {
 
@@ -914,4 +965,126 @@ public class JobConfigurationServiceImpl extends BaseService implements JobConfi
 		return syncControl;
 	}
 
+	/**
+	 * Offline and untagged jobs are not executed with all the jobs, neither by
+	 * themselves nor as the parent job of another job
+	 */
+	private boolean isExecutableInAllJobs(SyncJobDef syncJob) {
+		return (offlineJobs == null || !offlineJobs.contains(syncJob.getId())
+				&& (unTaggedJobs == null || !unTaggedJobs.contains(syncJob.getId())))
+				&& !isNull(syncJob.getApiName());
+	}
+
+	private synchronized ExecutorService getJobExecutor() {
+		if (jobExecutor == null) {
+			AtomicInteger threadCount = new AtomicInteger();
+			jobExecutor = Executors.newFixedThreadPool(Math.max(1, jobThreads), runnable -> {
+				Thread thread = new Thread(runnable, "sync-job-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return jobExecutor;
+	}
+
+	@PreDestroy
+	public synchronized void shutdown() {
+		if (jobExecutor != null) {
+			jobExecutor.shutdownNow();
+			jobExecutor = null;
+		}
+	}
+
+	/**
+	 * The jobs of one execution of all the jobs, each job depending on its parent
+	 * job. A job is executed once, as soon as its parent job succeeded, and jobs
+	 * without a parent at once, so the execution takes as long as the longest
+	 * chain of jobs rather than the sum of all of them. The response of the parent
+	 * job is passed to the job, which does not execute its parent job again. A
+	 * parent job excluded from the execution is not executed, its child jobs
+	 * execute as jobs without a parent.
+	 */
+	private class JobGraph {
+
+		private final String triggerPoint;
+
+		private final JobRun jobRun;
+
+		/**
+		 * The response of the job, by job id, in the order the jobs were scheduled
+		 */
+		private final Map<String, CompletableFuture<ResponseDTO>> jobResults = new LinkedHashMap<>();
+
+		/**
+		 * Jobs whose parent jobs are being scheduled, to detect a cycle of parents
+		 */
+		private final Set<String> schedulingJobs = new HashSet<>();
+
+		private JobGraph(String triggerPoint, JobRun jobRun) {
+			this.triggerPoint = triggerPoint;
+			this.jobRun = jobRun;
+		}
+
+		private CompletableFuture<ResponseDTO> schedule(SyncJobDef syncJob) {
+			CompletableFuture<ResponseDTO> jobResult = jobResults.get(syncJob.getId());
+			if (jobResult != null) {
+				return jobResult;
+			}
+
+			SyncJobDef parentJob = parentJobMap.get(syncJob.getId());
+			if (parentJob != null && !isExecutableInAllJobs(parentJob)) {
+				LOGGER.info(LoggerConstants.BATCH_JOBS_CONFIG_LOGGER_TITLE, RegistrationConstants.APPLICATION_NAME,
+						RegistrationConstants.APPLICATION_ID, "Parent job " + parentJob.getId()
+								+ " excluded from the execution, executing " + syncJob.getId() + " without it");
+				parentJob = null;
+			}
+			if (parentJob == null) {
+				ResponseDTO noParentJobResponse = new ResponseDTO();
+				setSuccessResponse(noParentJobResponse, RegistrationConstants.SUCCESS, null);
+				jobResult = CompletableFuture.supplyAsync(() -> execute(syncJob, noParentJobResponse),
+						getJobExecutor());
+			} else if (!schedulingJobs.add(syncJob.getId())) {
+				LOGGER.error(LoggerConstants.BATCH_JOBS_CONFIG_LOGGER_TITLE, RegistrationConstants.APPLICATION_NAME,
+						RegistrationConstants.APPLICATION_ID,
+						"Job not executed as its parent jobs form a cycle : " + syncJob.getId());
+				jobResult = CompletableFuture.completedFuture(skip(syncJob));
+			} else {
+				jobResult = schedule(parentJob).thenApplyAsync(parentJobResponse -> isSuccess(parentJobResponse)
+						? execute(syncJob, parentJobResponse)
+						: skip(syncJob), getJobExecutor());
+				schedulingJobs.remove(syncJob.getId());
+			}
+			jobResults.putIfAbsent(syncJob.getId(), jobResult);
+			return jobResults.get(syncJob.getId());
+		}
+
+		private ResponseDTO execute(SyncJobDef syncJob, ResponseDTO parentJobResponse) {
+			ResponseDTO jobResponse = executeJob(syncJob.getId(), triggerPoint, parentJobResponse);
+			jobRun.complete(syncJob.getId(), isSuccess(jobResponse) ? RegistrationConstants.JOB_EXECUTION_SUCCESS
+					: RegistrationConstants.JOB_EXECUTION_FAILURE);
+			return jobResponse;
+		}
+
+		private ResponseDTO skip(SyncJobDef syncJob) {
+			LOGGER.info(LoggerConstants.BATCH_JOBS_CONFIG_LOGGER_TITLE, RegistrationConstants.APPLICATION_NAME,
+					RegistrationConstants.APPLICATION_ID,
+					"Job not executed as its parent job failed : " + syncJob.getId());
+			jobRun.complete(syncJob.getId(), RegistrationConstants.JOB_EXECUTION_FAILURE);
+			return new ResponseDTO();
+		}
+
+		private boolean isSuccess(ResponseDTO jobResponse) {
+			return jobResponse != null && jobResponse.getSuccessResponseDTO() != null;
+		}
+
+		/**
+		 * @return whether each job succeeded, once all of them completed
+		 */
+		private Map<String, Boolean> awaitResults() {
+			Map<String, Boolean> results = new LinkedHashMap<>();
+			jobResults.forEach((jobId, jobResult) -> results.put(jobId, isSuccess(jobResult.join())));
+			return results;
+		}
+	}
+
 }
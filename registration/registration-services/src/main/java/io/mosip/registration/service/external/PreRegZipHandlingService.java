@@ -41,7 +41,8 @@ public interface PreRegZipHandlingService {
 	 * the disk
 	 * 
 	 * <p>
-	 * This method internally uses {@link MosipEncryptor} component for encryption
+	 * The packet is encrypted while it is written to the disk, in the same format
+	 * as the {@link MosipEncryptor} component
 	 * </p>
 	 * 
 	 * <p>
@@ -10,22 +10,28 @@ import static java.io.File.separator;
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
+import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
 
 import io.mosip.kernel.keygenerator.bouncycastle.util.KeyGeneratorUtils;
 import org.apache.commons.io.FilenameUtils;
@@ -85,6 +91,9 @@ public class PreRegZipHandlingServiceImpl implements PreRegZipHandlingService {
 
 	private static final Logger LOGGER = AppConfig.getLogger(PreRegZipHandlingServiceImpl.class);
 
+	/** PKCS5 padding of the JCE is the PKCS7 padding for the AES block size */
+	private static final String PACKET_CIPHER = "AES/CBC/PKCS5Padding";
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -95,55 +104,46 @@ public class PreRegZipHandlingServiceImpl implements PreRegZipHandlingService {
 	public RegistrationDTO extractPreRegZipFile(byte[] preRegZipFile) throws RegBaseCheckedException {
 		LOGGER.debug("PRE_REG_ZIP_HANDLING_SERVICE_IMPL", RegistrationConstants.APPLICATION_NAME, RegistrationConstants.APPLICATION_ID,
 				"extractPreRegZipFile invoked");
-		try{
-			BufferedReader bufferedReader = null;
-			try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(preRegZipFile))) {
-				ZipEntry zipEntry;
-				while ((zipEntry = zipInputStream.getNextEntry()) != null) {
-					if (zipEntry.getName().equalsIgnoreCase("ID.json")) {
-						bufferedReader = new BufferedReader(new InputStreamReader(zipInputStream, StandardCharsets.UTF_8));
-						parseDemographicJson(bufferedReader, zipEntry);						
-					}	
-				}
-			}finally {
-				if(bufferedReader != null) {
-					bufferedReader.close();
-					bufferedReader = null;
-				}				
-			}
-			
+		try {
+			// documents read before the ID.json are matched once it is parsed
+			Map<String, byte[]> pendingDocuments = new HashMap<>();
+			Map<String, Entry<String, DocumentDto>> documentsByFileName = null;
+			List<DocumentDto> attachedDocuments = new ArrayList<>();
+
 			try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(preRegZipFile))) {
 				ZipEntry zipEntry;
 				while ((zipEntry = zipInputStream.getNextEntry()) != null) {
 					String fileName = zipEntry.getName();
-					//if (zipEntry.getName().contains("_")) {
 					LOGGER.debug("PRE_REG_ZIP_HANDLING_SERVICE_IMPL", RegistrationConstants.APPLICATION_NAME, RegistrationConstants.APPLICATION_ID,
-							"extractPreRegZipFile zipEntry >>>> " + fileName);				
-						Optional<Map.Entry<String, DocumentDto>> result = getRegistrationDtoContent().getDocuments().entrySet().stream()
-								.filter(e -> fileName.equals(e.getValue().getValue().concat(".").concat(e.getValue().getFormat()))).findFirst();
-						if(result.isPresent()) {
-							DocumentDto documentDto = result.get().getValue();
-							documentDto.setDocument(IOUtils.toByteArray(zipInputStream));
-							
-							List<DocumentType> documentTypes = documentTypeDAO.getDocTypeByName(documentDto.getType());
-							if(Objects.nonNull(documentTypes) && !documentTypes.isEmpty()) {
-								LOGGER.debug("PRE_REG_ZIP_HANDLING_SERVICE_IMPL", RegistrationConstants.APPLICATION_NAME, RegistrationConstants.APPLICATION_ID,
-										documentDto.getType() + " >>>> documentTypes.get(0).getCode() >>>> " + documentTypes.get(0).getCode());	
-								documentDto.setType(documentTypes.get(0).getCode());
-								documentDto.setValue(documentDto.getCategory().concat("_").concat(documentDto.getType()));
-							}							
-							getRegistrationDtoContent().addDocument(result.get().getKey(), result.get().getValue());
-							LOGGER.debug("PRE_REG_ZIP_HANDLING_SERVICE_IMPL", RegistrationConstants.APPLICATION_NAME, RegistrationConstants.APPLICATION_ID,
-									"Added zip entry as document for field >>>> " + result.get().getKey());	
+							"extractPreRegZipFile zipEntry >>>> " + fileName);
+					if (fileName.equalsIgnoreCase("ID.json")) {
+						// not closed here, closing the reader closes the zip
+						parseDemographicJson(new BufferedReader(new InputStreamReader(zipInputStream, StandardCharsets.UTF_8)),
+								zipEntry);
+						documentsByFileName = getDocumentsByFileName();
+						for (Entry<String, byte[]> pendingDocument : pendingDocuments.entrySet()) {
+							attachDocument(documentsByFileName.get(pendingDocument.getKey()), pendingDocument.getValue(),
+									attachedDocuments);
 						}
-					//}	
+						pendingDocuments.clear();
+					} else if (documentsByFileName == null) {
+						pendingDocuments.put(fileName, IOUtils.toByteArray(zipInputStream));
+					} else if (documentsByFileName.containsKey(fileName)) {
+						attachDocument(documentsByFileName.get(fileName), IOUtils.toByteArray(zipInputStream),
+								attachedDocuments);
+					}
 				}
 			}
-			
-			Set<Entry<String, DocumentDto>> entries = getRegistrationDtoContent().getDocuments().entrySet();
-			entries.stream()
-				.filter(e -> e.getValue().getDocument() == null || e.getValue().getDocument().length == 0)
-				.forEach(e -> { getRegistrationDtoContent().removeDocument(e.getKey()); });
+
+			setDocumentTypeCodes(attachedDocuments);
+
+			List<String> missingDocuments = new ArrayList<>();
+			getRegistrationDtoContent().getDocuments().forEach((fieldId, documentDto) -> {
+				if (documentDto.getDocument() == null || documentDto.getDocument().length == 0) {
+					missingDocuments.add(fieldId);
+				}
+			});
+			missingDocuments.forEach(fieldId -> getRegistrationDtoContent().removeDocument(fieldId));
 		
 		} catch (IOException exception) {
 			exception.printStackTrace();
@@ -162,6 +162,67 @@ public class PreRegZipHandlingServiceImpl implements PreRegZipHandlingService {
 	}
 	
 	
+	/**
+	 * Maps the file name of each document in the ID.json to its field and
+	 * document, so each zip entry is matched with one lookup.
+	 */
+	private Map<String, Entry<String, DocumentDto>> getDocumentsByFileName() {
+		Map<String, Entry<String, DocumentDto>> documentsByFileName = new HashMap<>();
+		if (getRegistrationDtoContent() != null) {
+			for (Entry<String, DocumentDto> document : getRegistrationDtoContent().getDocuments().entrySet()) {
+				DocumentDto documentDto = document.getValue();
+				if (documentDto.getValue() != null && documentDto.getFormat() != null) {
+					documentsByFileName.putIfAbsent(
+							documentDto.getValue().concat(".").concat(documentDto.getFormat()), document);
+				}
+			}
+		}
+		return documentsByFileName;
+	}
+
+	private void attachDocument(Entry<String, DocumentDto> document, byte[] content,
+			List<DocumentDto> attachedDocuments) {
+		if (document == null) {
+			return;
+		}
+		document.getValue().setDocument(content);
+		attachedDocuments.add(document.getValue());
+		LOGGER.debug("PRE_REG_ZIP_HANDLING_SERVICE_IMPL", RegistrationConstants.APPLICATION_NAME, RegistrationConstants.APPLICATION_ID,
+				"Added zip entry as document for field >>>> " + document.getKey());
+	}
+
+	/**
+	 * Replaces the document type names of the pre-registration with the document
+	 * type codes, loading all the document types in one query.
+	 */
+	private void setDocumentTypeCodes(List<DocumentDto> documents) {
+		Set<String> docTypeNames = new HashSet<>();
+		documents.forEach(documentDto -> {
+			if (documentDto.getType() != null) {
+				docTypeNames.add(documentDto.getType());
+			}
+		});
+		if (docTypeNames.isEmpty()) {
+			return;
+		}
+
+		Map<String, String> docTypeCodes = new HashMap<>();
+		List<DocumentType> documentTypes = documentTypeDAO.getDocTypesByNames(docTypeNames);
+		if (documentTypes != null) {
+			documentTypes.forEach(documentType -> docTypeCodes.putIfAbsent(documentType.getName(), documentType.getCode()));
+		}
+
+		for (DocumentDto documentDto : documents) {
+			String docTypeCode = docTypeCodes.get(documentDto.getType());
+			if (docTypeCode != null) {
+				LOGGER.debug("PRE_REG_ZIP_HANDLING_SERVICE_IMPL", RegistrationConstants.APPLICATION_NAME, RegistrationConstants.APPLICATION_ID,
+						documentDto.getType() + " >>>> documentType code >>>> " + docTypeCode);
+				documentDto.setType(docTypeCode);
+				documentDto.setValue(documentDto.getCategory().concat("_").concat(docTypeCode));
+			}
+		}
+	}
+
 	private void attachDocument(DocumentDto documentDetailsDTO, ZipInputStream zipInputStream, String fileName,
 			String docCatgory) throws IOException {
 		documentDetailsDTO.setDocument(IOUtils.toByteArray(zipInputStream));
@@ -333,18 +394,24 @@ public class PreRegZipHandlingServiceImpl implements PreRegZipHandlingService {
 		// Generate AES Session Key
 		final SecretKey symmetricKey = keyGenerator.generateKey();
 
-		// Encrypt the Pre reg packet data using AES
-		final byte[] encryptedData = MosipEncryptor.symmetricEncrypt(symmetricKey.getEncoded(), preRegPacket,
-				MosipSecurityMethod.AES_WITH_CBC_AND_PKCS7PADDING);
+		// Encrypt the Pre reg packet data using AES while it is written to the disk
+		String filePath;
+		try (InputStream encryptedPacket = new CipherInputStream(new ByteArrayInputStream(preRegPacket),
+				getPacketCipher(symmetricKey))) {
+			filePath = storePreRegPacketToDisk(preRegistrationId, encryptedPacket);
+		} catch (IOException exception) {
+			LOGGER.error("REGISTRATION - PRE_REG_ZIP_HANDLING_SERVICE_IMPL", RegistrationConstants.APPLICATION_NAME,
+					RegistrationConstants.APPLICATION_ID,
+					exception.getMessage() + ExceptionUtils.getStackTrace(exception));
+			throw new RegBaseCheckedException(REG_IO_EXCEPTION.getErrorCode(),
+					REG_IO_EXCEPTION.getErrorMessage() + ExceptionUtils.getStackTrace(exception));
+		}
 
 		LOGGER.info(LOG_PKT_STORAGE, APPLICATION_NAME, APPLICATION_ID, "Pre Registration packet Encrypted");
 
-		String filePath = storePreRegPacketToDisk(preRegistrationId, encryptedData);
-
 		PreRegistrationDTO preRegistrationDTO = new PreRegistrationDTO();
 		preRegistrationDTO.setPacketPath(filePath);
 		preRegistrationDTO.setSymmetricKey(Base64.getEncoder().encodeToString(symmetricKey.getEncoded()));
-		preRegistrationDTO.setEncryptedPacket(encryptedData);
 		preRegistrationDTO.setPreRegId(preRegistrationId);
 		return preRegistrationDTO;
 
@@ -359,13 +426,18 @@ public class PreRegZipHandlingServiceImpl implements PreRegZipHandlingService {
 	@Override
 	public String storePreRegPacketToDisk(String preRegistrationId, byte[] encryptedPacket)
 			throws RegBaseCheckedException {
+		return storePreRegPacketToDisk(preRegistrationId, new ByteArrayInputStream(encryptedPacket));
+	}
+
+	private String storePreRegPacketToDisk(String preRegistrationId, InputStream encryptedPacket)
+			throws RegBaseCheckedException {
 		try {
 			// Generate the file path for storing the Encrypted Packet
 			String filePath = String
 					.valueOf(ApplicationContext.map().get(RegistrationConstants.PRE_REG_PACKET_LOCATION))
 					.concat(separator).concat(preRegistrationId).concat(ZIP_FILE_EXTENSION);
 			// Storing the Encrypted Registration Packet as zip
-			FileUtils.copyToFile(new ByteArrayInputStream(encryptedPacket),
+			FileUtils.copyToFile(encryptedPacket,
 					FileUtils.getFile(FilenameUtils.getFullPath(filePath) + FilenameUtils.getName(filePath)));
 
 			LOGGER.info(LOG_PKT_STORAGE, APPLICATION_NAME, APPLICATION_ID, "Pre Registration Encrypted packet saved");
@@ -399,6 +471,23 @@ public class PreRegZipHandlingServiceImpl implements PreRegZipHandlingService {
 				MosipSecurityMethod.AES_WITH_CBC_AND_PKCS7PADDING);
 	}
 
+	/**
+	 * AES in CBC mode with PKCS7 padding and a zero IV, the same output as
+	 * {@link MosipEncryptor} so the packets are decrypted with
+	 * {@link MosipDecryptor}. Each packet has its own key.
+	 */
+	private static Cipher getPacketCipher(SecretKey symmetricKey) {
+		try {
+			Cipher cipher = Cipher.getInstance(PACKET_CIPHER);
+			cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(symmetricKey.getEncoded(), "AES"),
+					new IvParameterSpec(new byte[cipher.getBlockSize()]));
+			return cipher;
+		} catch (GeneralSecurityException securityException) {
+			throw new RegBaseUncheckedException(RegistrationConstants.ENCRYPTED_PACKET_STORAGE,
+					securityException.getMessage(), securityException);
+		}
+	}
+
 	private RegistrationDTO getRegistrationDtoContent() {
 		return (RegistrationDTO) SessionContext.map().get(RegistrationConstants.REGISTRATION_DATA);
 	}
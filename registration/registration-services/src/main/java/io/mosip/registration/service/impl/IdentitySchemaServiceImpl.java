@@ -42,6 +42,22 @@ public class IdentitySchemaServiceImpl implements IdentitySchemaService {
 		return identitySchemaDao.getUISchema(idVersion);
 	}
 
+	@Override
+	public UiSchemaDTO getUISchemaField(double idVersion, String fieldId) throws RegBaseCheckedException {
+		return identitySchemaDao.getUISchemaField(idVersion, fieldId);
+	}
+
+	@Override
+	public List<UiSchemaDTO> getUISchemaFieldsByGroup(double idVersion, String group) throws RegBaseCheckedException {
+		return identitySchemaDao.getUISchemaFieldsByGroup(idVersion, group);
+	}
+
+	@Override
+	public List<UiSchemaDTO> getUISchemaFieldsBySubType(double idVersion, String subType)
+			throws RegBaseCheckedException {
+		return identitySchemaDao.getUISchemaFieldsBySubType(idVersion, subType);
+	}
+
 	@Override
 	public String getIDSchema(double idVersion) throws RegBaseCheckedException {
 		return identitySchemaDao.getIDSchema(idVersion);
@@ -15,6 +15,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import io.mosip.registration.context.SessionContext;
+import io.mosip.registration.context.StationContext;
 import lombok.NonNull;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,8 +43,10 @@ import io.mosip.registration.entity.id.UserRoleId;
 import io.mosip.registration.exception.RegBaseCheckedException;
 import io.mosip.registration.exception.RegistrationExceptionConstants;
 import io.mosip.registration.service.BaseService;
+import io.mosip.registration.service.bio.OperatorGalleryService;
 import io.mosip.registration.service.operator.UserDetailService;
 import io.mosip.registration.util.healthcheck.RegistrationAppHealthCheckUtil;
+import io.mosip.registration.util.restclient.AuthTokenUtilService;
 
 /**
  * Implementation for {@link UserDetailService}
@@ -60,6 +63,12 @@ public class UserDetailServiceImpl extends BaseService implements UserDetailServ
 	@Autowired
 	private ClientCryptoFacade clientCryptoFacade;
 
+	@Autowired
+	private OperatorGalleryService operatorGalleryService;
+
+	@Autowired
+	private AuthTokenUtilService authTokenUtilService;
+
 	/** Object for Logger. */
 	private static final Logger LOGGER = AppConfig.getLogger(UserDetailServiceImpl.class);
 
@@ -121,6 +130,11 @@ public class UserDetailServiceImpl extends BaseService implements UserDetailServ
 			LOGGER.error(LOG_REG_USER_DETAIL, APPLICATION_NAME, APPLICATION_ID,
 					ExceptionUtils.getStackTrace(exception));
 			setErrorResponse(responseDTO, exception.getMessage(), null);
+		} finally {
+			// deleted and deactivated users must not be matched or used for auth tokens any more
+			operatorGalleryService.invalidate();
+			authTokenUtilService.invalidateAuthTokens();
+			SessionContext.invalidateStationContext(StationContext.USER_VALID);
 		}
 		return responseDTO;
 	}
@@ -37,6 +37,7 @@ import io.mosip.registration.exception.RegBaseCheckedException;
 import io.mosip.registration.exception.RegBaseUncheckedException;
 import io.mosip.registration.exception.RegistrationExceptionConstants;
 import io.mosip.registration.service.BaseService;
+import io.mosip.registration.service.bio.OperatorGalleryService;
 import io.mosip.registration.service.operator.UserOnboardService;
 import io.mosip.registration.util.healthcheck.RegistrationAppHealthCheckUtil;
 import io.mosip.registration.util.healthcheck.RegistrationSystemPropertiesChecker;
@@ -93,6 +94,9 @@ public class UserOnboardServiceImpl extends BaseService implements UserOnboardSe
 	@Autowired
 	private BioAPIFactory bioAPIFactory;
 
+	@Autowired
+	private OperatorGalleryService operatorGalleryService;
+
 	/**
 	 * logger for logging
 	 */
@@ -392,6 +396,9 @@ public class UserOnboardServiceImpl extends BaseService implements UserOnboardSe
 
 			setErrorResponse(responseDTO, RegistrationConstants.USER_ON_BOARDING_ERROR_RESPONSE, null);
 
+		} finally {
+			// the operator biometrics may have been replaced, even partially
+			operatorGalleryService.invalidate();
 		}
 		return responseDTO;
 	}
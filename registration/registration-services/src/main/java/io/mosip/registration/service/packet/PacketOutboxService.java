@@ -0,0 +1,116 @@
+package io.mosip.registration.service.packet;
+
+import io.mosip.registration.dto.RegistrationDTO;
+import io.mosip.registration.dto.ResponseDTO;
+import io.mosip.registration.exception.RegBaseCheckedException;
+
+/**
+ * Service interface for the packet outbox, which takes a finished
+ * registration through packet creation, packet sync and packet upload on
+ * background threads.
+ *
+ * <p>
+ * Every registration is recorded in the outbox table before its packet is
+ * created and moves through the stages {@link Stage#PERSIST},
+ * {@link Stage#SYNC} and {@link Stage#UPLOAD}. Each stage runs on its own
+ * thread with its own retry policy. The stage is persisted after every step,
+ * so a registration interrupted by a restart resumes at the stage it had
+ * reached. The registration data is kept with the entry until its packet is
+ * created, so packet creation interrupted by a restart is run again.
+ * </p>
+ *
+ * @since 1.1.5
+ */
+public interface PacketOutboxService {
+
+	/**
+	 * Stages of the outbox pipeline.
+	 */
+	enum Stage {
+		PERSIST, SYNC, UPLOAD, DONE, FAILED
+	}
+
+	/**
+	 * Progress callbacks of the pipeline, called on the pipeline threads.
+	 */
+	interface Listener {
+
+		/**
+		 * Called when a stage of the registration completed.
+		 *
+		 * @param registrationId
+		 *            the registration id
+		 * @param stage
+		 *            the completed stage
+		 * @param response
+		 *            the response of the packet creation for
+		 *            {@link Stage#PERSIST}, <code>null</code> for the other
+		 *            stages
+		 */
+		default void onStageCompleted(String registrationId, Stage stage, ResponseDTO response) {
+		}
+
+		/**
+		 * Called when a stage of the registration failed and will not be
+		 * retried.
+		 *
+		 * @param registrationId
+		 *            the registration id
+		 * @param stage
+		 *            the failed stage
+		 * @param response
+		 *            the response with the errors
+		 */
+		default void onStageFailed(String registrationId, Stage stage, ResponseDTO response) {
+		}
+	}
+
+	/**
+	 * Creates the packet of a registration, called on the packet creation
+	 * thread.
+	 */
+	interface Persister {
+
+		/**
+		 * Creates the packet.
+		 *
+		 * @param registrationDTO
+		 *            the registration, read back from the outbox when packet
+		 *            creation is resumed after a restart
+		 * @return the response of the packet creation, successful if it has a
+		 *         success response
+		 * @throws Exception
+		 *             if the packet could not be created
+		 */
+		ResponseDTO persist(RegistrationDTO registrationDTO) throws Exception;
+	}
+
+	/**
+	 * Adds the registration to the outbox and creates its packet in the
+	 * background. Once the packet is created, it is synced and uploaded.
+	 *
+	 * @param registrationDTO
+	 *            the registration, saved with the outbox entry until its packet
+	 *            is created
+	 * @param persister
+	 *            creates the packet
+	 * @param listener
+	 *            the progress callbacks
+	 * @throws RegBaseCheckedException
+	 *             if the registration is already in the outbox or too many
+	 *             registrations are waiting for packet creation
+	 */
+	void submit(RegistrationDTO registrationDTO, Persister persister, Listener listener)
+			throws RegBaseCheckedException;
+
+	/**
+	 * Resumes the registrations left in the outbox by the previous run of the
+	 * application. Only the first call has an effect.
+	 *
+	 * @param persister
+	 *            creates the packets whose creation was interrupted
+	 * @param listener
+	 *            the progress callbacks of the resumed registrations
+	 */
+	void resume(Persister persister, Listener listener);
+}
@@ -701,10 +701,9 @@ public class PacketHandlerServiceImpl extends BaseService implements PacketHandl
 
 		List<String> defaultFieldGroups = new ArrayList<String>() {};
 		defaultFieldGroups.add(RegistrationConstants.UI_SCHEMA_GROUP_FULL_NAME);
-		List<String> defaultFields = identitySchemaService.getUISchema(registrationDTO.getIdSchemaVersion()).stream()
-				.filter(schemaDto -> schemaDto.getGroup() != null && schemaDto.getGroup().equalsIgnoreCase(
-						RegistrationConstants.UI_SCHEMA_GROUP_FULL_NAME
-				)).map(UiSchemaDTO::getId).collect(Collectors.toList());
+		List<String> defaultFields = identitySchemaService.getUISchemaFieldsByGroup(registrationDTO.getIdSchemaVersion(),
+				RegistrationConstants.UI_SCHEMA_GROUP_FULL_NAME).stream().map(UiSchemaDTO::getId)
+				.collect(Collectors.toList());
 
 		// Used to update printing name as default
 		registrationDTO.setDefaultUpdatableFieldGroups(defaultFieldGroups);
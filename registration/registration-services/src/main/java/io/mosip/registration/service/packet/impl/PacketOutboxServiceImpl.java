@@ -0,0 +1,504 @@
+package io.mosip.registration.service.packet.impl;
+
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.registration.config.AppConfig;
+import io.mosip.registration.constants.RegistrationClientStatusCode;
+import io.mosip.registration.constants.RegistrationConstants;
+import io.mosip.registration.dao.PacketOutboxDAO;
+import io.mosip.registration.dao.RegistrationDAO;
+import io.mosip.registration.context.ApplicationContext;
+import io.mosip.registration.dto.ErrorResponseDTO;
+import io.mosip.registration.dto.RegistrationDTO;
+import io.mosip.registration.dto.ResponseDTO;
+import io.mosip.registration.dto.packetmanager.BiometricsDto;
+import io.mosip.registration.entity.PacketOutbox;
+import io.mosip.registration.entity.Registration;
+import io.mosip.registration.exception.RegBaseCheckedException;
+import io.mosip.registration.exception.RegistrationExceptionConstants;
+import io.mosip.registration.service.BaseService;
+import io.mosip.registration.service.packet.PacketOutboxService;
+import io.mosip.registration.service.packet.PacketUploadService;
+import io.mosip.registration.service.sync.PacketSynchService;
+import io.mosip.registration.util.healthcheck.RegistrationAppHealthCheckUtil;
+
+/**
+ * Implementation class of {@link PacketOutboxService}.
+ *
+ * <p>
+ * Packet creation runs on a single thread with a bounded queue. Sync and
+ * upload run on their own scheduled threads and are retried with a doubling
+ * delay up to the configured attempts. While the network is unavailable the
+ * stage is postponed without using an attempt. A registration whose sync or
+ * upload is given up stays in the REGISTRATION table with its status, where
+ * the scheduled packet sync and upload jobs pick it up.
+ * </p>
+ *
+ * <p>
+ * The registration data is saved with the entry as JSON and cleared once the
+ * packet is created. On start, packet creation is run again from that data
+ * for the entries left in {@link Stage#PERSIST}. An entry whose data is
+ * missing or cannot be read back is marked {@link Stage#FAILED}.
+ * </p>
+ *
+ * @since 1.1.5
+ */
+@Service
+public class PacketOutboxServiceImpl extends BaseService implements PacketOutboxService {
+
+	private static final Logger LOGGER = AppConfig.getLogger(PacketOutboxServiceImpl.class);
+
+	private static final String LOG_PACKET_OUTBOX = "REGISTRATION - PACKET_OUTBOX_SERVICE";
+
+	private static final List<String> PENDING_STAGES = Arrays.asList(Stage.PERSIST.name(), Stage.SYNC.name(),
+			Stage.UPLOAD.name());
+
+	private static final int MAX_ERROR_LENGTH = 256;
+
+	private static final Listener LOGGING_LISTENER = new Listener() {
+	};
+
+	/**
+	 * Reads and writes the registration data through its fields, with the type
+	 * of the untyped values, such as the demographic values, kept in the JSON.
+	 */
+	private static final ObjectMapper REGISTRATION_DATA_MAPPER = new ObjectMapper()
+			.registerModule(new JavaTimeModule()).setVisibility(PropertyAccessor.ALL, Visibility.NONE)
+			.setVisibility(PropertyAccessor.FIELD, Visibility.ANY)
+			.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+			.addMixIn(RegistrationDTO.class, RegistrationDTOMixIn.class)
+			.addMixIn(BiometricsDto.class, BiometricsDtoMixIn.class)
+			.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
+					ObjectMapper.DefaultTyping.OBJECT_AND_NON_CONCRETE);
+
+	/** Number of registrations that can wait for packet creation. */
+	@Value("${mosip.registration.outbox.persist.queue-capacity:5}")
+	private int persistQueueCapacity;
+
+	@Value("${mosip.registration.outbox.sync.max-attempts:3}")
+	private int syncMaxAttempts;
+
+	@Value("${mosip.registration.outbox.sync.retry-delay-millis:30000}")
+	private long syncRetryDelay;
+
+	@Value("${mosip.registration.outbox.upload.max-attempts:3}")
+	private int uploadMaxAttempts;
+
+	@Value("${mosip.registration.outbox.upload.retry-delay-millis:60000}")
+	private long uploadRetryDelay;
+
+	/** Delay before a stage is tried again when the network is unavailable. */
+	@Value("${mosip.registration.outbox.offline-retry-delay-millis:60000}")
+	private long offlineRetryDelay;
+
+	@Autowired
+	private PacketOutboxDAO packetOutboxDAO;
+
+	@Autowired
+	private RegistrationDAO registrationDAO;
+
+	@Autowired
+	private PacketSynchService packetSynchService;
+
+	@Autowired
+	private PacketUploadService packetUploadService;
+
+	/** Registrations queued or scheduled in this run of the application. */
+	private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+	private final AtomicBoolean resumed = new AtomicBoolean();
+
+	private ThreadPoolExecutor persistExecutor;
+
+	private ScheduledExecutorService syncExecutor;
+
+	private ScheduledExecutorService uploadExecutor;
+
+	@Override
+	public void submit(RegistrationDTO registrationDTO, Persister persister, Listener listener)
+			throws RegBaseCheckedException {
+		String registrationId = registrationDTO.getRegistrationId();
+		LOGGER.info(LOG_PACKET_OUTBOX, APPLICATION_NAME, APPLICATION_ID,
+				"Adding registration to the packet outbox : " + registrationId);
+
+		resume(persister, LOGGING_LISTENER);
+
+		if (!inProgress.add(registrationId) || packetOutboxDAO.get(registrationId) != null) {
+			throw new RegBaseCheckedException(
+					RegistrationExceptionConstants.REG_PACKET_OUTBOX_DUPLICATE.getErrorCode(),
+					RegistrationExceptionConstants.REG_PACKET_OUTBOX_DUPLICATE.getErrorMessage());
+		}
+
+		PacketOutbox packetOutbox = new PacketOutbox();
+		packetOutbox.setRegId(registrationId);
+		packetOutbox.setStage(Stage.PERSIST.name());
+		packetOutbox.setAttempts(0);
+		packetOutbox.setRegistrationData(writeRegistrationData(registrationDTO));
+		packetOutbox.setIsActive(true);
+		packetOutbox.setCrBy(getUserIdFromSession());
+		packetOutbox.setCrDtime(null);
+		packetOutboxDAO.save(packetOutbox);
+
+		try {
+			getPersistExecutor().execute(() -> persist(packetOutbox, registrationDTO, persister, listener));
+		} catch (RejectedExecutionException rejectedExecutionException) {
+			packetOutboxDAO.delete(registrationId);
+			inProgress.remove(registrationId);
+			throw new RegBaseCheckedException(RegistrationExceptionConstants.REG_PACKET_OUTBOX_FULL.getErrorCode(),
+					RegistrationExceptionConstants.REG_PACKET_OUTBOX_FULL.getErrorMessage(),
+					rejectedExecutionException);
+		}
+	}
+
+	@Override
+	public void resume(Persister persister, Listener listener) {
+		if (!resumed.compareAndSet(false, true)) {
+			return;
+		}
+
+		List<PacketOutbox> pending = packetOutboxDAO.getByStages(PENDING_STAGES);
+		LOGGER.info(LOG_PACKET_OUTBOX, APPLICATION_NAME, APPLICATION_ID,
+				"Resuming registrations left in the packet outbox : " + pending.size());
+
+		List<PacketOutbox> interrupted = new LinkedList<>();
+		for (PacketOutbox packetOutbox : pending) {
+			String registrationId = packetOutbox.getRegId();
+			if (!inProgress.add(registrationId)) {
+				continue;
+			}
+
+			if (Stage.PERSIST.name().equals(packetOutbox.getStage())) {
+				if (getRegistration(registrationId) != null) {
+					// The packet was saved before the restart
+					moveToStage(packetOutbox, Stage.SYNC, null, listener);
+				} else {
+					interrupted.add(packetOutbox);
+				}
+			} else {
+				long delay = packetOutbox.getNextAttemptDtimes() == null ? 0
+						: packetOutbox.getNextAttemptDtimes().getTime() - System.currentTimeMillis();
+				schedule(packetOutbox, Stage.valueOf(packetOutbox.getStage()), Math.max(delay, 0), listener);
+			}
+		}
+
+		if (!interrupted.isEmpty()) {
+			try {
+				// One task for all of them, they are not limited by the queue capacity
+				getPersistExecutor().execute(
+						() -> interrupted.forEach(packetOutbox -> persistAgain(packetOutbox, persister, listener)));
+			} catch (RejectedExecutionException rejectedExecutionException) {
+				LOGGER.info(LOG_PACKET_OUTBOX, APPLICATION_NAME, APPLICATION_ID,
+						"Packet creation of " + interrupted.size() + " registrations left for the next start");
+			}
+		}
+	}
+
+	/**
+	 * Stops the pipeline threads. Registrations still in the outbox are resumed
+	 * on the next start.
+	 */
+	@PreDestroy
+	public synchronized void shutdown() {
+		for (ExecutorService executorService : Arrays.asList(persistExecutor, syncExecutor,
+				uploadExecutor)) {
+			if (executorService != null) {
+				executorService.shutdownNow();
+			}
+		}
+	}
+
+	private void persistAgain(PacketOutbox packetOutbox, Persister persister, Listener listener) {
+		RegistrationDTO registrationDTO = readRegistrationData(packetOutbox);
+		if (registrationDTO == null) {
+			fail(packetOutbox, Stage.PERSIST,
+					errorResponse(RegistrationExceptionConstants.REG_PACKET_OUTBOX_INTERRUPTED.getErrorCode(),
+							RegistrationExceptionConstants.REG_PACKET_OUTBOX_INTERRUPTED.getErrorMessage()),
+					listener);
+			return;
+		}
+		LOGGER.info(LOG_PACKET_OUTBOX, APPLICATION_NAME, APPLICATION_ID,
+				"Creating the packet again for " + packetOutbox.getRegId());
+		persist(packetOutbox, registrationDTO, persister, listener);
+	}
+
+	private void persist(PacketOutbox packetOutbox, RegistrationDTO registrationDTO, Persister persister,
+			Listener listener) {
+		String registrationId = packetOutbox.getRegId();
+		ResponseDTO response;
+		try {
+			response = persister.persist(registrationDTO);
+		} catch (Exception exception) {
+			LOGGER.error(LOG_PACKET_OUTBOX, APPLICATION_NAME, APPLICATION_ID,
+					"Packet creation failed for " + registrationId + " : " + ExceptionUtils.getStackTrace(exception));
+			response = errorResponse(RegistrationExceptionConstants.REG_PACKET_CREATION_EXCEPTION.getErrorCode(),
+					exception.getMessage());
+		}
+
+		if (response != null && response.getSuccessResponseDTO() != null) {
+			moveToStage(packetOutbox, Stage.SYNC, response, listener);
+		} else {
+			// Nothing was saved, the registration leaves the outbox
+			packetOutboxDAO.delete(registrationId);
+			inProgress.remove(registrationId);
+			notifyFailure(listener, registrationId, Stage.PERSIST,
+					response != null ? response : errorResponse(RegistrationConstants.ERROR, null));
+		}
+	}
+
+	private void runStage(PacketOutbox packetOutbox, Stage stage, Listener listener) {
+		String registrationId = packetOutbox.getRegId();
+		if (!RegistrationAppHealthCheckUtil.isNetworkAvailable()) {
+			LOGGER.info(LOG_PACKET_OUTBOX, APPLICATION_NAME, APPLICATION_ID,
+					"Network unavailable, postponing " + stage + " of " + registrationId);
+			postpone(packetOutbox, stage, offlineRetryDelay, null, listener);
+			return;
+		}
+
+		try {
+			if (stage == Stage.SYNC) {
+				String response = packetSynchService.packetSync(registrationId);
+				if (!RegistrationConstants.EMPTY.equals(response)) {
+					throw new RegBaseCheckedException(
+							RegistrationExceptionConstants.REG_PACKET_SYNC_EXCEPTION.getErrorCode(), response);
+				}
+				// Packets are uploaded right away only when the EOD process is off
+				moveToStage(packetOutbox, isEodProcessEnabled() ? Stage.DONE : Stage.UPLOAD, null, listener);
+			} else {
+				packetUploadService.uploadPacket(registrationId);
+				Registration registration = getRegistration(registrationId);
+				if (registration == null || !RegistrationClientStatusCode.UPLOAD_SUCCESS_STATUS.getCode()
+						.equals(registration.getFileUploadStatus())) {
+					throw new RegBaseCheckedException(
+							RegistrationExceptionConstants.REG_PACKET_OUTBOX_NOT_UPLOADED.getErrorCode(),
+							RegistrationExceptionConstants.REG_PACKET_OUTBOX_NOT_UPLOADED.getErrorMessage());
+				}
+				moveToStage(packetOutbox, Stage.DONE, null, listener);
+			}
+		} catch (RegBaseCheckedException | RuntimeException exception) {
+			String errorCode = exception instanceof RegBaseCheckedException
+					? ((RegBaseCheckedException) exception).getErrorCode()
+					: RegistrationConstants.ERROR;
+			int attempts = packetOutbox.getAttempts() == null ? 1 : packetOutbox.getAttempts() + 1;
+			packetOutbox.setAttempts(attempts);
+
+			LOGGER.error(LOG_PACKET_OUTBOX, APPLICATION_NAME, APPLICATION_ID,
+					stage + " attempt " + attempts + " failed for " + registrationId + " : " + exception.getMessage());
+
+			boolean retryable = !RegistrationExceptionConstants.AUTH_ADVICE_USR_ERROR.getErrorCode().equals(errorCode);
+			int maxAttempts = stage == Stage.SYNC ? syncMaxAttempts : uploadMaxAttempts;
+			if (retryable && attempts < maxAttempts) {
+				long retryDelay = (stage == Stage.SYNC ? syncRetryDelay : uploadRetryDelay) << (attempts - 1);
+				postpone(packetOutbox, stage, retryDelay, exception.getMessage(), listener);
+			} else {
+				fail(packetOutbox, stage, errorResponse(errorCode, exception.getMessage()), listener);
+			}
+		}
+	}
+
+	private void moveToStage(PacketOutbox packetOutbox, Stage nextStage, ResponseDTO response, Listener listener) {
+		Stage completedStage = Stage.valueOf(packetOutbox.getStage());
+		String registrationId = packetOutbox.getRegId();
+
+		if (nextStage == Stage.DONE) {
+			packetOutboxDAO.delete(registrationId);
+			inProgress.remove(registrationId);
+		} else {
+			packetOutbox.setStage(nextStage.name());
+			packetOutbox.setAttempts(0);
+			packetOutbox.setNextAttemptDtimes(null);
+			packetOutbox.setLastError(null);
+			// The packet holds the registration data from now on
+			packetOutbox.setRegistrationData(null);
+			packetOutboxDAO.save(packetOutbox);
+		}
+
+		LOGGER.info(LOG_PACKET_OUTBOX, APPLICATION_NAME, APPLICATION_ID,
+				completedStage + " completed for " + registrationId + ", next stage : " + nextStage);
+
+		try {
+			listener.onStageCompleted(registrationId, completedStage, response);
+		} catch (RuntimeException runtimeException) {
+			LOGGER.error(LOG_PACKET_OUTBOX, APPLICATION_NAME, APPLICATION_ID,
+					"Outbox listener failed : " + ExceptionUtils.getStackTrace(runtimeException));
+		}
+
+		if (nextStage != Stage.DONE) {
+			schedule(packetOutbox, nextStage, 0, listener);
+		}
+	}
+
+	private void postpone(PacketOutbox packetOutbox, Stage stage, long delay, String error, Listener listener) {
+		packetOutbox.setNextAttemptDtimes(new Timestamp(System.currentTimeMillis() + delay));
+		if (error != null) {
+			packetOutbox.setLastError(truncate(error));
+		}
+		packetOutboxDAO.save(packetOutbox);
+		schedule(packetOutbox, stage, delay, listener);
+	}
+
+	private void fail(PacketOutbox packetOutbox, Stage stage, ResponseDTO response, Listener listener) {
+		packetOutbox.setStage(Stage.FAILED.name());
+		packetOutbox.setNextAttemptDtimes(null);
+		packetOutbox.setLastError(truncate(stage + " : " + response.getErrorResponseDTOs().get(0).getMessage()));
+		packetOutboxDAO.save(packetOutbox);
+		inProgress.remove(packetOutbox.getRegId());
+
+		notifyFailure(listener, packetOutbox.getRegId(), stage, response);
+	}
+
+	private void notifyFailure(Listener listener, String registrationId, Stage stage, ResponseDTO response) {
+		LOGGER.error(LOG_PACKET_OUTBOX, APPLICATION_NAME, APPLICATION_ID, stage + " failed for " + registrationId);
+		try {
+			listener.onStageFailed(registrationId, stage, response);
+		} catch (RuntimeException runtimeException) {
+			LOGGER.error(LOG_PACKET_OUTBOX, APPLICATION_NAME, APPLICATION_ID,
+					"Outbox listener failed : " + ExceptionUtils.getStackTrace(runtimeException));
+		}
+	}
+
+	private void schedule(PacketOutbox packetOutbox, Stage stage, long delay, Listener listener) {
+		try {
+			getStageExecutor(stage).schedule(() -> runStage(packetOutbox, stage, listener), delay,
+					TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException rejectedExecutionException) {
+			// Shutting down, the registration stays in the outbox for the next start
+			LOGGER.info(LOG_PACKET_OUTBOX, APPLICATION_NAME, APPLICATION_ID,
+					stage + " of " + packetOutbox.getRegId() + " left for the next start");
+		}
+	}
+
+	private byte[] writeRegistrationData(RegistrationDTO registrationDTO) {
+		try {
+			return REGISTRATION_DATA_MAPPER.writeValueAsBytes(registrationDTO);
+		} catch (IOException ioException) {
+			// The registration is still processed, only a restart before its packet is created loses it
+			LOGGER.error(LOG_PACKET_OUTBOX, APPLICATION_NAME, APPLICATION_ID,
+					"Unable to save the data of " + registrationDTO.getRegistrationId() + " : "
+							+ ExceptionUtils.getStackTrace(ioException));
+			return null;
+		}
+	}
+
+	private RegistrationDTO readRegistrationData(PacketOutbox packetOutbox) {
+		if (packetOutbox.getRegistrationData() == null) {
+			return null;
+		}
+		try {
+			return REGISTRATION_DATA_MAPPER.readValue(packetOutbox.getRegistrationData(), RegistrationDTO.class);
+		} catch (IOException | RuntimeException exception) {
+			LOGGER.error(LOG_PACKET_OUTBOX, APPLICATION_NAME, APPLICATION_ID,
+					"Unable to read the data of " + packetOutbox.getRegId() + " : "
+							+ ExceptionUtils.getStackTrace(exception));
+			return null;
+		}
+	}
+
+	private Registration getRegistration(String registrationId) {
+		List<Registration> registrations = registrationDAO.get(Collections.singletonList(registrationId));
+		return registrations == null || registrations.isEmpty() ? null : registrations.get(0);
+	}
+
+	private boolean isEodProcessEnabled() {
+		return RegistrationConstants.ENABLE
+				.equalsIgnoreCase(getGlobalConfigValueOf(RegistrationConstants.EOD_PROCESS_CONFIG_FLAG));
+	}
+
+	private ResponseDTO errorResponse(String code, String message) {
+		ErrorResponseDTO errorResponseDTO = new ErrorResponseDTO();
+		errorResponseDTO.setCode(code);
+		errorResponseDTO.setMessage(message);
+		List<ErrorResponseDTO> errorResponseDTOs = new LinkedList<>();
+		errorResponseDTOs.add(errorResponseDTO);
+		ResponseDTO responseDTO = new ResponseDTO();
+		responseDTO.setErrorResponseDTOs(errorResponseDTOs);
+		return responseDTO;
+	}
+
+	private String truncate(String error) {
+		return error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+	}
+
+	private synchronized ThreadPoolExecutor getPersistExecutor() {
+		if (persistExecutor == null) {
+			persistExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(Math.max(persistQueueCapacity, 1)),
+					runnable -> newThread(runnable, "packet-outbox-persist"));
+		}
+		return persistExecutor;
+	}
+
+	private synchronized ScheduledExecutorService getStageExecutor(Stage stage) {
+		if (stage == Stage.SYNC) {
+			if (syncExecutor == null) {
+				syncExecutor = Executors
+						.newSingleThreadScheduledExecutor(runnable -> newThread(runnable, "packet-outbox-sync"));
+			}
+			return syncExecutor;
+		}
+		if (uploadExecutor == null) {
+			uploadExecutor = Executors
+					.newSingleThreadScheduledExecutor(runnable -> newThread(runnable, "packet-outbox-upload"));
+		}
+		return uploadExecutor;
+	}
+
+	private static Thread newThread(Runnable runnable, String name) {
+		Thread thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	/** Leaves out the application context held by every registration. */
+	private abstract static class RegistrationDTOMixIn {
+
+		@JsonIgnore
+		protected ApplicationContext applicationContext;
+	}
+
+	/** Creates the biometrics, which have no default constructor. */
+	private abstract static class BiometricsDtoMixIn {
+
+		@JsonCreator
+		BiometricsDtoMixIn(@JsonProperty("bioAttribute") String bioAttribute,
+				@JsonProperty("attributeISO") byte[] attributeISO, @JsonProperty("qualityScore") double qualityScore) {
+		}
+	}
+}
@@ -20,6 +20,7 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 
@@ -81,6 +82,9 @@ public class PacketSynchServiceImpl extends BaseService implements PacketSynchSe
     @Qualifier("OfflinePacketCryptoServiceImpl")
     private IPacketCryptoService offlinePacketCryptoServiceImpl;
 
+	@Value("${mosip.registration.packet.page-size:500}")
+	private int packetPageSize;
+
 	private static final Logger LOGGER = AppConfig.getLogger(PacketSynchServiceImpl.class);
 
 	/*
@@ -375,16 +379,24 @@ public class PacketSynchServiceImpl extends BaseService implements PacketSynchSe
 	 */
 	@Override
 	public void syncAllPackets() throws RegBaseCheckedException {
-		List<PacketStatusDTO> idsToBeSynched = new ArrayList<>();
-		List<Registration> packetsToBeSynched = syncRegistrationDAO.fetchPacketsToUpload(
-				RegistrationConstants.PACKET_STATUS_UPLOAD, RegistrationConstants.SERVER_STATUS_RESEND);
-		if (null != packetsToBeSynched && !packetsToBeSynched.isEmpty()) {
-			for (Registration registration : packetsToBeSynched) {
-				idsToBeSynched.add(packetStatusDtoPreperation(registration));
+		/* one sync request per page, stops at the first one that fails */
+		String lastId = RegistrationConstants.EMPTY;
+		String syncErrorStatus = RegistrationConstants.EMPTY;
+		List<Registration> packetsToBeSynched;
+		do {
+			List<PacketStatusDTO> idsToBeSynched = new ArrayList<>();
+			packetsToBeSynched = syncRegistrationDAO.fetchPacketsToUpload(RegistrationConstants.PACKET_STATUS_UPLOAD,
+					RegistrationConstants.SERVER_STATUS_RESEND, lastId, packetPageSize);
+			if (null != packetsToBeSynched && !packetsToBeSynched.isEmpty()) {
+				lastId = packetsToBeSynched.get(packetsToBeSynched.size() - 1).getId();
+				for (Registration registration : packetsToBeSynched) {
+					idsToBeSynched.add(packetStatusDtoPreperation(registration));
+				}
 			}
-		}
-		if (!idsToBeSynched.isEmpty())
-			packetSync(idsToBeSynched);
+			if (!idsToBeSynched.isEmpty())
+				syncErrorStatus = packetSync(idsToBeSynched);
+		} while (null != packetsToBeSynched && packetsToBeSynched.size() == packetPageSize
+				&& RegistrationConstants.EMPTY.equals(syncErrorStatus));
 	}
 
 	/*
@@ -4,16 +4,38 @@ import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.net.SocketTimeoutException;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
 import javax.transaction.Transactional;
 
 import io.mosip.registration.exception.PreConditionCheckException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.apache.commons.codec.binary.Hex;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
@@ -69,6 +91,43 @@ public class PacketUploadServiceImpl extends BaseService implements PacketUpload
 	@Autowired
 	private AuditManagerService auditFactory;
 
+	/** Number of packets uploaded in parallel. */
+	@Value("${mosip.registration.packet.upload.parallelism:4}")
+	private int uploadParallelism;
+
+	/** Number of times a packet upload is retried on transient failures. */
+	@Value("${mosip.registration.packet.upload.retry.count:2}")
+	private int uploadRetryCount;
+
+	/** Initial backoff in milliseconds between retries, doubled on every retry. */
+	@Value("${mosip.registration.packet.upload.retry.backoff:2000}")
+	private long uploadRetryBackoff;
+
+	/** Uploads packets in resumable chunks instead of a single multipart request. */
+	@Value("${mosip.registration.packet.upload.chunked.enabled:false}")
+	private boolean chunkedUploadEnabled;
+
+	/** Size in bytes of each chunk in chunked upload mode. */
+	@Value("${mosip.registration.packet.upload.chunk.size:1048576}")
+	private int uploadChunkSize;
+
+	private ThreadPoolExecutor uploadExecutor;
+
+	private final AtomicInteger pendingUploads = new AtomicInteger();
+
+	@PreDestroy
+	public void destroy() {
+		if (uploadExecutor != null) {
+			try {
+				uploadExecutor.shutdown();
+				uploadExecutor.awaitTermination(60, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				LOGGER.error("Failed to shutdown packet upload executor service", e);
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -208,6 +267,16 @@ public class PacketUploadServiceImpl extends BaseService implements PacketUpload
 
 	/**
 	 * Upload synced packets.
+	 * 
+	 * <p>
+	 * Packets are pushed in parallel on a bounded pool of
+	 * <code>mosip.registration.packet.upload.parallelism</code> workers. Each
+	 * packet is retried with exponential backoff on transient failures. The
+	 * workers only upload. The calling thread is the only writer of the upload
+	 * status and persists the status of each packet as soon as its upload
+	 * completes, in completion order, so a slow packet does not hold back the
+	 * status of the others.
+	 * </p>
 	 *
 	 * @param syncedPackets
 	 *            the synced packets
@@ -216,58 +285,394 @@ public class PacketUploadServiceImpl extends BaseService implements PacketUpload
 		LOGGER.info("REGISTRATION - PUSH_PACKET - PACKET_UPLOAD_SERVICE", APPLICATION_NAME, APPLICATION_ID,
 				"uploadSyncedPacket invoked");
 		ResponseDTO responseDTO = new ResponseDTO();
-		List<PacketStatusDTO> packetUploadList = new ArrayList<>();
+		CompletionService<Boolean> completionService = new ExecutorCompletionService<>(getUploadExecutor());
+		Map<Future<Boolean>, PacketStatusDTO> uploads = new LinkedHashMap<>();
+		Map<Future<Boolean>, Boolean> results = new HashMap<>();
 
 		for (PacketStatusDTO syncedPacket : syncedPackets) {
-
 			if (syncedPacket != null) {
-				String ackFileName = syncedPacket.getPacketPath();
-				int lastIndex = ackFileName.indexOf(RegistrationConstants.ACKNOWLEDGEMENT_FILE);
-				String packetPath = ackFileName.substring(0, lastIndex);
-				File packet = FileUtils.getFile(packetPath + RegistrationConstants.ZIP_FILE_EXTENSION);
-				try {
-					if (packet.exists()) {
-						LOGGER.info("REGISTRATION - PUSH_PACKET - PACKET_UPLOAD_SERVICE", APPLICATION_NAME,
-								APPLICATION_ID, "Uploading Packet : " + packet.getName());
-
-						ResponseDTO response = pushPacket(packet);
-
-						if (response.getSuccessResponseDTO() != null) {
-							LOGGER.info("REGISTRATION - PUSH_PACKET - PACKET_UPLOAD_SERVICE", APPLICATION_NAME,
-									APPLICATION_ID, "Uploaded Success : " + packet.getName());
-							syncedPacket.setPacketClientStatus(RegistrationClientStatusCode.UPLOADED_SUCCESSFULLY.getCode());
-							syncedPacket.setUploadStatus(RegistrationClientStatusCode.UPLOAD_SUCCESS_STATUS.getCode());
-							syncedPacket.setPacketServerStatus(response.getSuccessResponseDTO().getMessage());
-							packetUploadList.add(syncedPacket);
-							setSuccessResponse(responseDTO, RegistrationConstants.SUCCESS, null);
-						}
+				pendingUploads.incrementAndGet();
+				uploads.put(completionService.submit(() -> uploadSyncedPacket(syncedPacket)), syncedPacket);
+				// Uploads run on this thread while the pool is saturated, their status is persisted right away
+				for (Future<Boolean> upload = completionService.poll(); upload != null; upload = completionService
+						.poll()) {
+					results.put(upload, persistUploadStatus(upload, uploads.get(upload)));
+				}
+			}
+		}
 
-						if (response.getErrorResponseDTOs() != null && !response.getErrorResponseDTOs().stream().anyMatch(e ->
-								e.getMessage().contains(RegistrationConstants.PACKET_DUPLICATE))) {
-							LOGGER.error("REGISTRATION - PUSH_PACKET - PACKET_UPLOAD_SERVICE", APPLICATION_NAME,
-									APPLICATION_ID, "Uploaded Failure : " + packet.getName());
-							syncedPacket.setUploadStatus(RegistrationClientStatusCode.UPLOAD_ERROR_STATUS.getCode());
-							packetUploadList.add(syncedPacket);
-							setErrorResponse(responseDTO, RegistrationConstants.FAILURE, null);
-							responseDTO.setSuccessResponseDTO(null);
-						}
-					}
-				} catch (RegBaseCheckedException | URISyntaxException | RuntimeException exception) {
-					LOGGER.error("REGISTRATION - HANDLE_PACKET_UPLOAD_ERROR - PACKET_UPLOAD_SERVICE",
-							APPLICATION_NAME, APPLICATION_ID, "Error while pushing packets to the server"
-									+ exception.getMessage() + ExceptionUtils.getStackTrace(exception));
+		LOGGER.info("REGISTRATION - PUSH_PACKET - PACKET_UPLOAD_SERVICE", APPLICATION_NAME, APPLICATION_ID,
+				"Packets queued for upload : " + uploads.size() + ", upload queue depth : " + pendingUploads.get());
+
+		while (results.size() < uploads.size()) {
+			try {
+				Future<Boolean> upload = completionService.take();
+				results.put(upload, persistUploadStatus(upload, uploads.get(upload)));
+			} catch (InterruptedException interruptedException) {
+				LOGGER.error("REGISTRATION - HANDLE_PACKET_UPLOAD_ERROR - PACKET_UPLOAD_SERVICE", APPLICATION_NAME,
+						APPLICATION_ID, "Interrupted while waiting for packet upload");
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+
+		// Results are merged in submission order to keep the response deterministic
+		for (Future<Boolean> upload : uploads.keySet()) {
+			Boolean uploaded = results.get(upload);
+			if (Boolean.TRUE.equals(uploaded)) {
+				setSuccessResponse(responseDTO, RegistrationConstants.SUCCESS, null);
+			} else if (Boolean.FALSE.equals(uploaded)) {
+				setErrorResponse(responseDTO, RegistrationConstants.FAILURE, null);
+				responseDTO.setSuccessResponseDTO(null);
+			}
+		}
+		return responseDTO;
+	}
+
+	/**
+	 * Persists the upload status of a completed upload.
+	 *
+	 * @param upload
+	 *            the completed upload
+	 * @param syncedPacket
+	 *            the uploaded packet
+	 * @return the result of the upload
+	 */
+	private Boolean persistUploadStatus(Future<Boolean> upload, PacketStatusDTO syncedPacket) {
+		Boolean uploaded;
+		try {
+			uploaded = upload.get();
+		} catch (InterruptedException | ExecutionException exception) {
+			if (exception instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			LOGGER.error("REGISTRATION - HANDLE_PACKET_UPLOAD_ERROR - PACKET_UPLOAD_SERVICE", APPLICATION_NAME,
+					APPLICATION_ID, ExceptionUtils.getStackTrace(exception));
+			syncedPacket.setUploadStatus(RegistrationClientStatusCode.UPLOAD_ERROR_STATUS.getCode());
+			uploaded = false;
+		}
+
+		if (uploaded != null) {
+			updateStatus(Collections.singletonList(syncedPacket));
+		}
+		return uploaded;
+	}
+
+	/**
+	 * Uploads a single synced packet and sets its upload status, which is
+	 * persisted by the caller.
+	 *
+	 * @param syncedPacket
+	 *            the synced packet
+	 * @return <code>true</code> if uploaded, <code>false</code> if failed and
+	 *         <code>null</code> if there was nothing to upload
+	 */
+	private Boolean uploadSyncedPacket(PacketStatusDTO syncedPacket) {
+		Boolean uploaded = null;
+		try {
+			String ackFileName = syncedPacket.getPacketPath();
+			int lastIndex = ackFileName.indexOf(RegistrationConstants.ACKNOWLEDGEMENT_FILE);
+			String packetPath = ackFileName.substring(0, lastIndex);
+			File packet = FileUtils.getFile(packetPath + RegistrationConstants.ZIP_FILE_EXTENSION);
+			if (packet.exists()) {
+				LOGGER.info("REGISTRATION - PUSH_PACKET - PACKET_UPLOAD_SERVICE", APPLICATION_NAME,
+						APPLICATION_ID, "Uploading Packet : " + packet.getName());
+
+				long startTime = System.currentTimeMillis();
+				ResponseDTO response = pushPacketWithRetry(syncedPacket, packet);
+				long timeTaken = Math.max(System.currentTimeMillis() - startTime, 1);
+
+				if (response.getSuccessResponseDTO() != null) {
+					LOGGER.info("REGISTRATION - PUSH_PACKET - PACKET_UPLOAD_SERVICE", APPLICATION_NAME,
+							APPLICATION_ID, "Uploaded Success : " + packet.getName() + " (" + packet.length()
+									+ " bytes in " + timeTaken + " ms, " + (packet.length() / timeTaken) + " KB/s)");
+					syncedPacket.setPacketClientStatus(RegistrationClientStatusCode.UPLOADED_SUCCESSFULLY.getCode());
+					syncedPacket.setUploadStatus(RegistrationClientStatusCode.UPLOAD_SUCCESS_STATUS.getCode());
+					syncedPacket.setPacketServerStatus(response.getSuccessResponseDTO().getMessage());
+					uploaded = true;
+				}
+
+				if (response.getErrorResponseDTOs() != null && !response.getErrorResponseDTOs().stream().anyMatch(e ->
+						e.getMessage().contains(RegistrationConstants.PACKET_DUPLICATE))) {
+					LOGGER.error("REGISTRATION - PUSH_PACKET - PACKET_UPLOAD_SERVICE", APPLICATION_NAME,
+							APPLICATION_ID, "Uploaded Failure : " + packet.getName());
 					syncedPacket.setUploadStatus(RegistrationClientStatusCode.UPLOAD_ERROR_STATUS.getCode());
-					packetUploadList.add(syncedPacket);
-					setErrorResponse(responseDTO, RegistrationConstants.FAILURE, null);
-					responseDTO.setSuccessResponseDTO(null);
+					uploaded = false;
 				}
 			}
+		} catch (RegBaseCheckedException | URISyntaxException | RuntimeException exception) {
+			LOGGER.error("REGISTRATION - HANDLE_PACKET_UPLOAD_ERROR - PACKET_UPLOAD_SERVICE",
+					APPLICATION_NAME, APPLICATION_ID, "Error while pushing packets to the server"
+							+ exception.getMessage() + ExceptionUtils.getStackTrace(exception));
+			syncedPacket.setUploadStatus(RegistrationClientStatusCode.UPLOAD_ERROR_STATUS.getCode());
+			uploaded = false;
+		} finally {
+			LOGGER.info("REGISTRATION - PUSH_PACKET - PACKET_UPLOAD_SERVICE", APPLICATION_NAME, APPLICATION_ID,
+					"Upload queue depth : " + pendingUploads.decrementAndGet());
 		}
+		return uploaded;
+	}
+
+	/**
+	 * Pushes the packet to the server, retrying with exponential backoff when the
+	 * failure is transient (connection errors, timeouts and server errors).
+	 *
+	 * @param packet
+	 *            the packet to be pushed
+	 * @return the response of the last attempt
+	 */
+	private ResponseDTO pushPacketWithRetry(PacketStatusDTO syncedPacket, File packet)
+			throws URISyntaxException, RegBaseCheckedException {
+		String packetHash = chunkedUploadEnabled ? getVerifiedPacketHash(syncedPacket, packet) : null;
+		long backoff = uploadRetryBackoff;
+		for (int attempt = 0;; attempt++) {
+			try {
+				return chunkedUploadEnabled ? pushPacketInChunks(syncedPacket, packet, packetHash) : pushPacket(packet);
+			} catch (RegBaseCheckedException | RegBaseUncheckedException exception) {
+				if (attempt >= uploadRetryCount || !isRetryable(exception)) {
+					throw exception;
+				}
+				LOGGER.error("REGISTRATION - PUSH_PACKET - PACKET_UPLOAD_SERVICE", APPLICATION_NAME, APPLICATION_ID,
+						"Retrying upload of " + packet.getName() + " in " + backoff + " ms, attempt "
+								+ (attempt + 1) + " failed : " + exception.getMessage());
+				try {
+					Thread.sleep(backoff);
+				} catch (InterruptedException interruptedException) {
+					Thread.currentThread().interrupt();
+					throw exception;
+				}
+				backoff *= 2;
+			}
+		}
+	}
 
-		updateStatus(packetUploadList);
+	/**
+	 * Pushes the packet to the server in chunks of
+	 * <code>mosip.registration.packet.upload.chunk.size</code> bytes.
+	 * 
+	 * <p>
+	 * The upload resumes from the offset acknowledged by the server, falling back
+	 * to the offset persisted in the REGISTRATION table when the server has no
+	 * record of the packet. Every acknowledged offset is persisted, so an upload
+	 * interrupted by a network failure or a restart continues from the last
+	 * acknowledged chunk. When the whole packet has already been acknowledged
+	 * the upload is not restarted, an empty chunk at the end of the packet is sent
+	 * instead so that the server confirms the completed upload. The packet hash,
+	 * verified against the hash sent during packet sync, is sent to the server
+	 * with every chunk for the final verification.
+	 * </p>
+	 *
+	 * @param syncedPacket
+	 *            the synced packet
+	 * @param packet
+	 *            the packet to be pushed
+	 * @param packetHash
+	 *            the verified hash of the packet
+	 * @return the status of the packet push
+	 */
+	@SuppressWarnings("unchecked")
+	private ResponseDTO pushPacketInChunks(PacketStatusDTO syncedPacket, File packet, String packetHash)
+			throws RegBaseCheckedException {
+		LOGGER.info("REGISTRATION - PUSH_PACKET_CHUNK - PACKET_UPLOAD_SERVICE", APPLICATION_NAME, APPLICATION_ID,
+				"Push packet in chunks to the server : " + packet.getName());
+
+		String rid = syncedPacket.getFileName();
+
+		ResponseDTO responseDTO = new ResponseDTO();
+		long totalSize = packet.length();
+		long offset = getAcknowledgedOffset(rid,
+				syncedPacket.getUploadOffset() == null ? 0 : syncedPacket.getUploadOffset());
+		if (offset > totalSize) {
+			throw new RegBaseCheckedException(RegistrationExceptionConstants.REG_PKT_UPLD_OFFSET_ERROR.getErrorCode(),
+					RegistrationExceptionConstants.REG_PKT_UPLD_OFFSET_ERROR.getErrorMessage());
+		}
+		offset = Math.max(offset, 0);
+
+		try (RandomAccessFile packetFile = new RandomAccessFile(packet, "r")) {
+			byte[] buffer = new byte[Math.max(uploadChunkSize, 1)];
+			do {
+				packetFile.seek(offset);
+				int length = packetFile.read(buffer, 0, (int) Math.min(buffer.length, totalSize - offset));
+				byte[] chunk = new byte[Math.max(length, 0)];
+				System.arraycopy(buffer, 0, chunk, 0, chunk.length);
+
+				LinkedMultiValueMap<String, Object> map = new LinkedMultiValueMap<>();
+				map.add(RegistrationConstants.PACKET_TYPE, new ByteArrayResource(chunk) {
+					@Override
+					public String getFilename() {
+						return packet.getName();
+					}
+				});
+				map.add(RegistrationConstants.PACKET_UPLOAD_RID, rid);
+				map.add(RegistrationConstants.PACKET_UPLOAD_OFFSET_KEY, String.valueOf(offset));
+				map.add(RegistrationConstants.PACKET_UPLOAD_TOTAL_SIZE, String.valueOf(totalSize));
+				map.add(RegistrationConstants.PACKET_UPLOAD_HASH, packetHash);
+
+				LinkedHashMap<String, Object> response = (LinkedHashMap<String, Object>) serviceDelegateUtil.post(
+						RegistrationConstants.PACKET_UPLOAD_CHUNK, map, RegistrationConstants.JOB_TRIGGER_POINT_USER);
+
+				if (response == null || response.get(RegistrationConstants.ERRORS) != null
+						|| response.get(RegistrationConstants.RESPONSE) == null) {
+					ErrorResponseDTO errorResponseDTO = new ErrorResponseDTO();
+					errorResponseDTO.setCode(RegistrationConstants.ERROR);
+					errorResponseDTO.setMessage(response != null && response.get(RegistrationConstants.ERRORS) != null
+							? ((List<LinkedHashMap<String, String>>) response.get(RegistrationConstants.ERRORS)).get(0)
+									.get("message")
+							: RegistrationExceptionConstants.REG_PACKET_UPLOAD_ERROR.getErrorMessage());
+					List<ErrorResponseDTO> erResponseDTOs = new ArrayList<>();
+					erResponseDTOs.add(errorResponseDTO);
+					responseDTO.setErrorResponseDTOs(erResponseDTOs);
+					return responseDTO;
+				}
+
+				Map<String, Object> chunkResponse = (Map<String, Object>) response.get(RegistrationConstants.RESPONSE);
+				long acknowledgedOffset = Long
+						.parseLong(String.valueOf(chunkResponse.get(RegistrationConstants.PACKET_UPLOAD_OFFSET_KEY)));
+				boolean verification = offset == totalSize;
+				if (acknowledgedOffset > totalSize || (verification ? acknowledgedOffset != totalSize
+						: acknowledgedOffset <= offset)) {
+					throw new RegBaseCheckedException(
+							RegistrationExceptionConstants.REG_PKT_UPLD_OFFSET_ERROR.getErrorCode(),
+							RegistrationExceptionConstants.REG_PKT_UPLD_OFFSET_ERROR.getErrorMessage());
+				}
+				offset = acknowledgedOffset;
+				registrationDAO.updateUploadOffset(rid, offset);
+
+				if (offset == totalSize) {
+					SuccessResponseDTO successResponseDTO = new SuccessResponseDTO();
+					successResponseDTO.setCode(RegistrationConstants.SUCCESS);
+					successResponseDTO.setMessage((String) chunkResponse.get(RegistrationConstants.UPLOAD_STATUS));
+					responseDTO.setSuccessResponseDTO(successResponseDTO);
+					auditFactory.audit(AuditEvent.PACKET_UPLOADED, Components.PACKET_UPLOAD,
+							RegistrationConstants.APPLICATION_NAME,
+							AuditReferenceIdTypes.REGISTRATION_ID.getReferenceTypeId());
+				}
+			} while (offset < totalSize);
+		} catch (HttpClientErrorException clientException) {
+			LOGGER.error("REGISTRATION - PUSH_PACKET_CHUNK_CLIENT_ERROR - PACKET_UPLOAD_SERVICE", APPLICATION_NAME,
+					APPLICATION_ID, clientException.getRawStatusCode()
+							+ "Http error while pushing packet chunk to the server at offset " + offset);
+			throw new RegBaseCheckedException(Integer.toString(clientException.getRawStatusCode()),
+					clientException.getStatusText());
+		} catch (HttpServerErrorException serverException) {
+			LOGGER.error("REGISTRATION - PUSH_PACKET_CHUNK_SERVER_ERROR - PACKET_UPLOAD_SERVICE", APPLICATION_NAME,
+					APPLICATION_ID, serverException.getRawStatusCode()
+							+ "Http server error while pushing packet chunk to the server at offset " + offset);
+			throw new RegBaseCheckedException(Integer.toString(serverException.getRawStatusCode()),
+					serverException.getResponseBodyAsString());
+		} catch (IOException exception) {
+			LOGGER.error("REGISTRATION - PUSH_PACKET_CHUNK_ERROR - PACKET_UPLOAD_SERVICE", APPLICATION_NAME,
+					APPLICATION_ID, exception.getMessage() + "Error while pushing packet chunk to the server at offset "
+							+ offset);
+			throw new RegBaseCheckedException(RegistrationExceptionConstants.REG_PACKET_UPLOAD_ERROR.getErrorCode(),
+					exception.getMessage(), exception);
+		} catch (RuntimeException runtimeException) {
+			LOGGER.error("REGISTRATION - PUSH_PACKET_CHUNK_CONNECTION_ERROR - PACKET_UPLOAD_SERVICE",
+					APPLICATION_NAME, APPLICATION_ID, runtimeException.getMessage()
+							+ "Runtime error while pushing packet chunk to the server at offset " + offset);
+			throw new RegBaseUncheckedException(RegistrationExceptionConstants.REG_PACKET_UPLOAD_ERROR.getErrorCode(),
+					RegistrationExceptionConstants.REG_PACKET_UPLOAD_ERROR.getErrorMessage());
+		}
 		return responseDTO;
 	}
 
+	/**
+	 * Negotiates the offset to resume from with the server. The server is the
+	 * source of truth, the locally persisted offset is used only when the server
+	 * does not report one.
+	 */
+	@SuppressWarnings("unchecked")
+	private long getAcknowledgedOffset(String rid, long localOffset) {
+		try {
+			Map<String, String> requestParams = new HashMap<>();
+			requestParams.put(RegistrationConstants.PACKET_UPLOAD_RID, rid);
+			LinkedHashMap<String, Object> response = (LinkedHashMap<String, Object>) serviceDelegateUtil.get(
+					RegistrationConstants.PACKET_UPLOAD_OFFSET, requestParams, true,
+					RegistrationConstants.JOB_TRIGGER_POINT_USER);
+			if (response != null && response.get(RegistrationConstants.RESPONSE) != null) {
+				Object offset = ((Map<String, Object>) response.get(RegistrationConstants.RESPONSE))
+						.get(RegistrationConstants.PACKET_UPLOAD_OFFSET_KEY);
+				if (offset != null) {
+					LOGGER.info("REGISTRATION - PUSH_PACKET_CHUNK - PACKET_UPLOAD_SERVICE", APPLICATION_NAME,
+							APPLICATION_ID, "Server acknowledged offset of " + rid + " : " + offset
+									+ ", local offset : " + localOffset);
+					return Long.parseLong(String.valueOf(offset));
+				}
+			}
+		} catch (RegBaseCheckedException | SocketTimeoutException | RuntimeException exception) {
+			LOGGER.error("REGISTRATION - PUSH_PACKET_CHUNK - PACKET_UPLOAD_SERVICE", APPLICATION_NAME, APPLICATION_ID,
+					"Failed to fetch upload offset from server, resuming from local offset : "
+							+ ExceptionUtils.getStackTrace(exception));
+		}
+		return localOffset;
+	}
+
+	/**
+	 * Computes the packet hash once for all the upload attempts and checks it
+	 * against the hash sent during packet sync, as the packet on disk may have
+	 * changed or been corrupted since. Packets synced before the hash was
+	 * recorded are not checked.
+	 */
+	private String getVerifiedPacketHash(PacketStatusDTO syncedPacket, File packet) throws RegBaseCheckedException {
+		String packetHash = getPacketHash(packet);
+		if (syncedPacket.getSyncedPacketHash() != null
+				&& !syncedPacket.getSyncedPacketHash().equalsIgnoreCase(packetHash)) {
+			throw new RegBaseCheckedException(RegistrationExceptionConstants.REG_PKT_UPLD_HASH_MISMATCH.getErrorCode(),
+					RegistrationExceptionConstants.REG_PKT_UPLD_HASH_MISMATCH.getErrorMessage());
+		}
+		return packetHash;
+	}
+
+	/**
+	 * Computes the packet hash by streaming the file, in the same format used
+	 * during packet sync.
+	 */
+	private String getPacketHash(File packet) throws RegBaseCheckedException {
+		try (InputStream inputStream = new FileInputStream(packet)) {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = inputStream.read(buffer)) != -1) {
+				messageDigest.update(buffer, 0, read);
+			}
+			return Hex.encodeHexString(messageDigest.digest()).toUpperCase();
+		} catch (IOException | NoSuchAlgorithmException exception) {
+			throw new RegBaseCheckedException(RegistrationExceptionConstants.REG_PKT_HASH.getErrorCode(),
+					RegistrationExceptionConstants.REG_PKT_HASH.getErrorMessage(), exception);
+		}
+	}
+
+	/**
+	 * Client errors (4xx) will fail again on retry, everything else is treated as
+	 * transient.
+	 */
+	private boolean isRetryable(Exception exception) {
+		if (exception instanceof RegBaseCheckedException) {
+			String errorCode = ((RegBaseCheckedException) exception).getErrorCode();
+			return errorCode == null || !errorCode.matches("4\\d\\d");
+		}
+		return true;
+	}
+
+	/**
+	 * The queue holds one pending upload per worker, further uploads run on the
+	 * submitting thread until a worker is free.
+	 */
+	private synchronized ThreadPoolExecutor getUploadExecutor() {
+		if (uploadExecutor == null) {
+			int parallelism = Math.max(uploadParallelism, 1);
+			uploadExecutor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<>(parallelism), (runnable, executor) -> {
+						if (executor.isShutdown()) {
+							throw new RejectedExecutionException("Packet upload executor is shut down");
+						}
+						runnable.run();
+					});
+			uploadExecutor.allowCoreThreadTimeOut(true);
+		}
+		return uploadExecutor;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -5,25 +5,33 @@ import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
 
-import org.assertj.core.util.Files;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
-import org.springframework.web.client.ResourceAccessException;
 
 import io.mosip.commons.packet.spi.IPacketCryptoService;
 import io.mosip.kernel.core.exception.ExceptionUtils;
@@ -62,6 +70,14 @@ import io.mosip.registration.service.sync.PacketSynchService;
  * the registration packets based on Packet Status Reader service and delete the
  * Registration Packets based on the status of the packets
  * 
+ * <p>
+ * The status of the uploaded packets is read from the server in chunks of
+ * <code>mosip.registration.packet-status.chunk-size</code>, several at a time,
+ * and each chunk is saved with a single batch update. The start of an
+ * unfinished run is kept in a checkpoint file, so that the next run skips the
+ * packets whose status was already read.
+ * </p>
+ * 
  * @author Himaja Dhanyamraju
  * @since 1.0.0
  */
@@ -81,9 +97,23 @@ public class RegPacketStatusServiceImpl extends BaseService implements RegPacket
     @Qualifier("OfflinePacketCryptoServiceImpl")
     private IPacketCryptoService offlinePacketCryptoServiceImpl;
 
+	@Value("${mosip.registration.packet-status.chunk-size:100}")
+	private int chunkSize;
+
+	@Value("${mosip.registration.packet-status.threads:2}")
+	private int statusThreads;
+
+	@Value("${mosip.registration.packet-status.checkpoint-file:.packet-status-sync.checkpoint}")
+	private String checkpointFile;
+
+	@Value("${mosip.registration.packet.page-size:500}")
+	private int packetPageSize;
+
 	private static final Logger LOGGER = AppConfig.getLogger(RegPacketStatusServiceImpl.class);
 
-	private HashMap<String, Registration> registrationMap = new HashMap<>();
+	private ExecutorService statusExecutor;
+
+	private CompletableFuture<ResponseDTO> runningSync;
 
 	/*
 	 * (non-Javadoc)
@@ -99,15 +129,22 @@ public class RegPacketStatusServiceImpl extends BaseService implements RegPacket
 		ResponseDTO responseDTO = new ResponseDTO();
 
 		try {
-			/* Get Registrations to be deleted */
-			List<Registration> registrations = registrationDAO.get(
-					getPacketDeletionLastDate(Timestamp.valueOf(DateUtils.getUTCCurrentDateTime())),
-					RegistrationConstants.PACKET_STATUS_CODE_PROCESSED);
+			Timestamp deletionLastDate = getPacketDeletionLastDate(
+					Timestamp.valueOf(DateUtils.getUTCCurrentDateTime()));
 
-			if (!isNull(registrations) && !isEmpty(registrations)) {
-				deleteRegistrations(registrations);
+			/* Get Registrations to be deleted, page by page */
+			String lastId = RegistrationConstants.EMPTY;
+			List<Registration> registrations;
+			do {
+				registrations = registrationDAO.get(deletionLastDate, RegistrationConstants.PACKET_STATUS_CODE_PROCESSED,
+						lastId, packetPageSize);
 
-			}
+				if (!isNull(registrations) && !isEmpty(registrations)) {
+					lastId = registrations.get(registrations.size() - 1).getId();
+					deleteRegistrations(registrations);
+
+				}
+			} while (!isNull(registrations) && registrations.size() == packetPageSize);
 
 			setSuccessResponse(responseDTO, RegistrationConstants.REGISTRATION_DELETION_BATCH_JOBS_SUCCESS, null);
 
@@ -141,16 +178,18 @@ public class RegPacketStatusServiceImpl extends BaseService implements RegPacket
 				.findByServerStatusCodeIn(RegistrationConstants.PACKET_STATUS_CODES_FOR_REMAPDELETE);
 		if (registrations != null && !registrations.isEmpty()) {
 
+			List<Registration> registrationsToDelete = new ArrayList<>();
 			for (Registration registration : registrations) {
 				if (RegistrationConstants.PACKET_STATUS_CODE_REREGISTER
 						.equalsIgnoreCase(registration.getServerStatusCode())) {
 					if (RegistrationClientStatusCode.RE_REGISTER.getCode()
 							.equalsIgnoreCase(registration.getClientStatusCode()))
-						delete(registration);
+						registrationsToDelete.add(registration);
 				} else {
-					delete(registration);
+					registrationsToDelete.add(registration);
 				}
 			}
+			delete(registrationsToDelete);
 		}
 
 	}
@@ -168,51 +207,75 @@ public class RegPacketStatusServiceImpl extends BaseService implements RegPacket
 	}
 
 	/**
-	 * Get all registrationIDs for which the clientStatus is post-sync
+	 * Read the status of the chunk of packets from the server and update it with
+	 * a single batch
 	 *
-	 * @return List<String> list of registrationId's required for packet status sync
-	 *         with server
+	 * @param packets      the chunk of packets
+	 * @param triggerPoint the trigger point
+	 * @return the registration statuses sent by the server, null if there are
+	 *         none
 	 */
-	private List<String> getPacketIds() {
-		LOGGER.info(LoggerConstants.LOG_PKT_DELETE, APPLICATION_NAME, APPLICATION_ID,
-				"getting packets by status post-sync has been ended");
-
-		List<Registration> registrationList = regPacketStatusDAO.getPacketIdsByStatusUploaded();
+	@SuppressWarnings("unchecked")
+	private List<LinkedHashMap<String, String>> syncChunkStatus(List<Registration> packets, String triggerPoint)
+			throws RegBaseCheckedException, SocketTimeoutException {
+		PacketStatusReaderDTO packetStatusReaderDTO = new PacketStatusReaderDTO();
+		packetStatusReaderDTO.setId(RegistrationConstants.PACKET_STATUS_READER_ID);
+		packetStatusReaderDTO.setVersion(RegistrationConstants.PACKET_SYNC_VERSION);
+		packetStatusReaderDTO.setRequesttime(DateUtils.formatToISOString(DateUtils.getUTCCurrentDateTime()));
+
+		List<RegistrationIdDTO> registrationIdDTOs = new ArrayList<>();
+		for (Registration packet : packets) {
+			RegistrationIdDTO registrationIdDTO = new RegistrationIdDTO();
+			registrationIdDTO.setRegistrationId(packet.getId());
+			registrationIdDTOs.add(registrationIdDTO);
+		}
 
-		List<String> packetIds = new ArrayList<>();
-		for (Registration registration : registrationList) {
-			String registrationId = registration.getId();
+		packetStatusReaderDTO.setRequest(registrationIdDTOs);
 
-			registrationMap.put(registrationId, registration);
-			packetIds.add(registrationId);
+		/* Obtain RegistrationStatusDTO from service delegate util */
+		LinkedHashMap<String, Object> packetStatusResponse = (LinkedHashMap<String, Object>) serviceDelegateUtil
+				.post(RegistrationConstants.PACKET_STATUS_SYNC_SERVICE_NAME, packetStatusReaderDTO, triggerPoint);
+		List<LinkedHashMap<String, String>> registrations = packetStatusResponse == null ? null
+				: (List<LinkedHashMap<String, String>>) packetStatusResponse.get(RegistrationConstants.RESPONSE);
+		if (registrations == null || registrations.isEmpty()) {
+			return null;
 		}
-		LOGGER.info(LoggerConstants.LOG_PKT_DELETE, APPLICATION_NAME, APPLICATION_ID,
-				"getting packets by status post-sync has been ended");
-		return packetIds;
+
+		/* update the status of packets after sync with server */
+		updatePacketIdsByServerStatus(packets, registrations);
+		return registrations;
 	}
 
 	/**
 	 * update status for all packets that are synced with server
 	 *
+	 * @param packets              the packets whose status was requested
 	 * @param registrationStatuses list of registration entities which are represented as
 	 *                      LinkedHashMap which maps the attributes of registration
 	 *                      entity to their respective values that are obtained
 	 *                      after sync with server
 	 */
-	private void updatePacketIdsByServerStatus(List<LinkedHashMap<String, String>> registrationStatuses) {
+	private void updatePacketIdsByServerStatus(List<Registration> packets,
+			List<LinkedHashMap<String, String>> registrationStatuses) {
 		LOGGER.info(LoggerConstants.LOG_PKT_DELETE, APPLICATION_NAME, APPLICATION_ID,
 				"packets status sync from server has been started");
 
 		try {
+			Map<String, String> serverStatusCodes = new HashMap<>();
+			for (Registration packet : packets) {
+				serverStatusCodes.put(packet.getId(), null);
+			}
 			for (LinkedHashMap<String, String> registrationStatus : registrationStatuses) {
-				Registration registration = registrationMap
-						.get(registrationStatus.get(RegistrationConstants.PACKET_STATUS_READER_REGISTRATION_ID));
-				registration.setServerStatusCode(
-						registrationStatus.get(RegistrationConstants.PACKET_STATUS_READER_STATUS_CODE));
-				registration.setServerStatusTimestamp(new Timestamp(System.currentTimeMillis()));
-
-				registration = regPacketStatusDAO.update(registration);
+				String registrationId = registrationStatus.get(RegistrationConstants.PACKET_STATUS_READER_REGISTRATION_ID);
+				if (serverStatusCodes.containsKey(registrationId)) {
+					serverStatusCodes.put(registrationId,
+							registrationStatus.get(RegistrationConstants.PACKET_STATUS_READER_STATUS_CODE));
+				}
 			}
+			/* packets the server did not answer for are read again */
+			serverStatusCodes.values().removeIf(serverStatusCode -> serverStatusCode == null);
+
+			regPacketStatusDAO.updateServerStatus(serverStatusCodes);
 
 			LOGGER.info(LoggerConstants.LOG_PKT_DELETE, APPLICATION_NAME, APPLICATION_ID,
 					"packets status sync from server has been ended");
@@ -232,111 +295,159 @@ public class RegPacketStatusServiceImpl extends BaseService implements RegPacket
 	 * io.mosip.registration.service.packet.RegPacketStatusService#packetSyncStatus(
 	 * java.lang.String)
 	 */
-	@SuppressWarnings("unchecked")
-	public synchronized ResponseDTO packetSyncStatus(String triggerPoint) throws RegBaseCheckedException {
+	public ResponseDTO packetSyncStatus(String triggerPoint) throws RegBaseCheckedException {
 
 		LOGGER.info(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID, "packet status sync called");
 
 		//Precondition check, proceed only if met, otherwise throws exception
 		proceedWithPacketSync();
 
-		/* Create Response to Return to UI layer */
-		ResponseDTO response = new ResponseDTO();
-
-		if (validateTriggerPoint(triggerPoint)) {
-			List<String> packetIds = getPacketIds();
-			LOGGER.info(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
-					"PacketIds for sync with server have been retrieved");
+		if (!validateTriggerPoint(triggerPoint)) {
+			LOGGER.error(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
+					"Trigger point cannot be empty or null");
+			throw new RegBaseCheckedException(RegistrationExceptionConstants.REG_TRIGGER_POINT_MISSING.getErrorCode(),
+					RegistrationExceptionConstants.REG_TRIGGER_POINT_MISSING.getErrorMessage());
+		}
 
-			SuccessResponseDTO successResponse;
+		/* A sync already running is joined instead of being repeated */
+		CompletableFuture<ResponseDTO> sync;
+		synchronized (this) {
+			if (runningSync != null) {
+				LOGGER.info(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
+						"Packet status sync already running, waiting for it");
+				sync = runningSync;
+			} else {
+				runningSync = new CompletableFuture<>();
+				sync = null;
+			}
+		}
+		if (sync != null) {
+			return sync.join();
+		}
 
-			/* Validator response service API creation */
-			final String SERVICE_NAME = RegistrationConstants.PACKET_STATUS_SYNC_SERVICE_NAME;
+		ResponseDTO response = null;
+		try {
+			response = syncPacketStatus(triggerPoint);
+			return response;
+		} finally {
+			synchronized (this) {
+				/* completed even on unexpected errors, so that no caller waits forever */
+				runningSync.complete(response != null ? response
+						: setErrorResponse(new ResponseDTO(), RegistrationConstants.PACKET_STATUS_SYNC_ERROR_RESPONSE,
+								null));
+				runningSync = null;
+			}
+		}
+	}
 
-			PacketStatusReaderDTO packetStatusReaderDTO = new PacketStatusReaderDTO();
-			packetStatusReaderDTO.setId(RegistrationConstants.PACKET_STATUS_READER_ID);
-			packetStatusReaderDTO.setVersion(RegistrationConstants.PACKET_SYNC_VERSION);
-			packetStatusReaderDTO.setRequesttime(DateUtils.formatToISOString(DateUtils.getUTCCurrentDateTime()));
+	private ResponseDTO syncPacketStatus(String triggerPoint) {
+		/* Create Response to Return to UI layer */
+		ResponseDTO response = new ResponseDTO();
 
-			List<RegistrationIdDTO> registrationIdDTOs = new ArrayList<>();
-			for (String packetId : packetIds) {
-				RegistrationIdDTO registrationIdDTO = new RegistrationIdDTO();
-				registrationIdDTO.setRegistrationId(packetId);
-				registrationIdDTOs.add(registrationIdDTO);
-			}
+		Timestamp syncStartTime = readCheckpoint();
+		if (syncStartTime != null) {
+			LOGGER.info(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
+					"Resuming packet status sync started at " + syncStartTime);
+		} else {
+			syncStartTime = Timestamp.valueOf(DateUtils.getUTCCurrentDateTime());
+		}
 
-			packetStatusReaderDTO.setRequest(registrationIdDTOs);
+		SuccessResponseDTO successResponse;
 
-			try {
-				if (!packetIds.isEmpty()) {
-					/* Obtain RegistrationStatusDTO from service delegate util */
-					LinkedHashMap<String, Object> packetStatusResponse = (LinkedHashMap<String, Object>) serviceDelegateUtil
-							.post(SERVICE_NAME, packetStatusReaderDTO, triggerPoint);
-					List<LinkedHashMap<String, String>> registrations = (List<LinkedHashMap<String, String>>) packetStatusResponse
-							.get(RegistrationConstants.RESPONSE);
-					if (registrations != null && !registrations.isEmpty()) {
-						/* update the status of packets after sync with server */
-						try {
-							updatePacketIdsByServerStatus(registrations);
-						} catch (RegBaseUncheckedException regBaseUncheckedException) {
-							LOGGER.error(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
-									regBaseUncheckedException.getMessage()
-											+ ExceptionUtils.getStackTrace(regBaseUncheckedException));
-
-							setErrorResponse(response, RegistrationConstants.PACKET_STATUS_SYNC_ERROR_RESPONSE, null);
-							return response;
+		try {
+			/*
+			 * Packets whose status was not read since the start of the run, one page
+			 * per chunk. Pages are read by id so that the statuses saved meanwhile do
+			 * not shift them, and each chunk is sent while the next page is read.
+			 */
+			List<Future<List<LinkedHashMap<String, String>>>> chunkResults = new ArrayList<>();
+			int pageSize = chunkSize > 0 ? chunkSize : Integer.MAX_VALUE;
+			String lastId = RegistrationConstants.EMPTY;
+			List<Registration> chunk;
+			do {
+				chunk = regPacketStatusDAO.getPacketIdsByStatusUploaded(syncStartTime, lastId, pageSize);
+				if (!chunk.isEmpty()) {
+					if (chunkResults.isEmpty()) {
+						writeCheckpoint(syncStartTime);
+					}
+					lastId = chunk.get(chunk.size() - 1).getId();
+					List<Registration> packets = chunk;
+					chunkResults.add(getStatusExecutor().submit(() -> syncChunkStatus(packets, triggerPoint)));
+				}
+			} while (chunk.size() == pageSize);
+			LOGGER.info(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
+					"PacketIds for sync with server have been retrieved in " + chunkResults.size() + " chunks");
+
+			if (!chunkResults.isEmpty()) {
+				List<LinkedHashMap<String, String>> registrations = new ArrayList<>();
+				boolean completed = true;
+				for (Future<List<LinkedHashMap<String, String>>> chunkResult : chunkResults) {
+					try {
+						List<LinkedHashMap<String, String>> chunkRegistrations = chunkResult.get();
+						if (chunkRegistrations == null) {
+							completed = false;
+						} else {
+							registrations.addAll(chunkRegistrations);
 						}
-						/* Create Success response */
-						successResponse = new SuccessResponseDTO();
-						successResponse.setCode(RegistrationConstants.ALERT_INFORMATION);
-						successResponse.setMessage(RegistrationConstants.PACKET_STATUS_SYNC_SUCCESS_MESSAGE);
-						Map<String, Object> otherAttributes = new WeakHashMap<>();
-						otherAttributes.put(RegistrationConstants.PACKET_STATUS_SYNC_RESPONSE_ENTITY, registrations);
-						successResponse.setOtherAttributes(otherAttributes);
-						response.setSuccessResponseDTO(successResponse);
-						LOGGER.info(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
-								"Success Response Created");
-					} else {
-						/* Create Error response */
-						setErrorResponse(response, RegistrationConstants.PACKET_STATUS_SYNC_ERROR_RESPONSE, null);
-						return response;
+					} catch (ExecutionException executionException) {
+						/* the other chunks are kept, this one is read again by the next run */
+						completed = false;
+						LOGGER.error(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
+								executionException.getCause().getMessage()
+										+ ExceptionUtils.getStackTrace(executionException.getCause()));
 					}
-				} else {
-					/* If there are no uploaded packets to check the status from the server */
+				}
+
+				if (completed) {
+					deleteCheckpoint();
+
+					/* Create Success response */
 					successResponse = new SuccessResponseDTO();
 					successResponse.setCode(RegistrationConstants.ALERT_INFORMATION);
 					successResponse.setMessage(RegistrationConstants.PACKET_STATUS_SYNC_SUCCESS_MESSAGE);
 					Map<String, Object> otherAttributes = new WeakHashMap<>();
-					/* sending empty success response as there are no packets to check status */
-					otherAttributes.put(RegistrationConstants.PACKET_STATUS_SYNC_RESPONSE_ENTITY,
-							RegistrationConstants.EMPTY);
+					otherAttributes.put(RegistrationConstants.PACKET_STATUS_SYNC_RESPONSE_ENTITY, registrations);
 					successResponse.setOtherAttributes(otherAttributes);
 					response.setSuccessResponseDTO(successResponse);
 					LOGGER.info(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
 							"Success Response Created");
+				} else {
+					/* Create Error response */
+					setErrorResponse(response, RegistrationConstants.PACKET_STATUS_SYNC_ERROR_RESPONSE, null);
+					return response;
 				}
-			} catch (SocketTimeoutException | RegBaseCheckedException | IllegalArgumentException
-					| HttpClientErrorException | HttpServerErrorException | ResourceAccessException exception) {
-				LOGGER.error(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
-						exception.getMessage() + ExceptionUtils.getStackTrace(exception));
-
-				setErrorResponse(response, RegistrationConstants.PACKET_STATUS_SYNC_ERROR_RESPONSE, null);
-				return response;
-			} catch (RuntimeException runtimeException) {
-				LOGGER.error(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
-						runtimeException.getMessage() + ExceptionUtils.getStackTrace(runtimeException));
-
-				setErrorResponse(response, RegistrationConstants.PACKET_STATUS_SYNC_ERROR_RESPONSE, null);
-				return response;
+			} else {
+				deleteCheckpoint();
+
+				/* If there are no uploaded packets to check the status from the server */
+				successResponse = new SuccessResponseDTO();
+				successResponse.setCode(RegistrationConstants.ALERT_INFORMATION);
+				successResponse.setMessage(RegistrationConstants.PACKET_STATUS_SYNC_SUCCESS_MESSAGE);
+				Map<String, Object> otherAttributes = new WeakHashMap<>();
+				/* sending empty success response as there are no packets to check status */
+				otherAttributes.put(RegistrationConstants.PACKET_STATUS_SYNC_RESPONSE_ENTITY,
+						RegistrationConstants.EMPTY);
+				successResponse.setOtherAttributes(otherAttributes);
+				response.setSuccessResponseDTO(successResponse);
+				LOGGER.info(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
+						"Success Response Created");
 			}
-			LOGGER.info(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID, "Packet Status Sync ended");
+		} catch (InterruptedException interruptedException) {
+			Thread.currentThread().interrupt();
+			LOGGER.error(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
+					"Packet status sync interrupted, it resumes with the next run");
+
+			setErrorResponse(response, RegistrationConstants.PACKET_STATUS_SYNC_ERROR_RESPONSE, null);
 			return response;
-		} else {
+		} catch (RuntimeException runtimeException) {
 			LOGGER.error(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
-					"Trigger point cannot be empty or null");
-			throw new RegBaseCheckedException(RegistrationExceptionConstants.REG_TRIGGER_POINT_MISSING.getErrorCode(),
-					RegistrationExceptionConstants.REG_TRIGGER_POINT_MISSING.getErrorMessage());
+					runtimeException.getMessage() + ExceptionUtils.getStackTrace(runtimeException));
+
+			setErrorResponse(response, RegistrationConstants.PACKET_STATUS_SYNC_ERROR_RESPONSE, null);
+			return response;
 		}
+		LOGGER.info(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID, "Packet Status Sync ended");
+		return response;
 	}
 
 	private boolean validateTriggerPoint(String triggerPoint) {
@@ -357,34 +468,123 @@ public class RegPacketStatusServiceImpl extends BaseService implements RegPacket
 	 */
 	@Override
 	public void deleteRegistrations(final List<Registration> registrations) {
+		List<Registration> registrationsToDelete = new ArrayList<>();
 		for (Registration registration : registrations) {
 
 			if (registration.getServerStatusCode()
 					.equalsIgnoreCase(RegistrationConstants.PACKET_STATUS_CODE_PROCESSED)) {
-				/* Delete Registration */
-				delete(registration);
+				registrationsToDelete.add(registration);
 			}
 		}
+		/* Delete Registrations */
+		delete(registrationsToDelete);
 
 	}
 
-	private void delete(Registration registration) {
-		File ackFile = null;
-		File zipFile = null;
-		String ackPath = registration.getAckFilename();
-		ackFile = FileUtils.getFile(ackPath);
+	/**
+	 * Deletes the packet files of the registrations, then the rows of the
+	 * registrations whose files were deleted in a single batch. A registration
+	 * whose files could not be deleted keeps its row, so the deletion is retried
+	 * by the next run.
+	 */
+	private void delete(List<Registration> registrations) {
+		List<String> registrationIds = new ArrayList<>();
+		for (Registration registration : registrations) {
+			if (deletePacketFiles(registration.getAckFilename())) {
+				registrationIds.add(registration.getId());
+			}
+		}
+		if (registrationIds.isEmpty()) {
+			return;
+		}
+
+		/* Delete rows from DB */
+		regPacketStatusDAO.deleteAll(registrationIds);
+
+		LOGGER.info(LoggerConstants.LOG_PKT_DELETE, APPLICATION_NAME, APPLICATION_ID,
+				"Deleted " + registrationIds.size() + " of " + registrations.size() + " registrations");
+	}
+
+	/**
+	 * @return true if the packet and acknowledgement files no longer exist
+	 */
+	private boolean deletePacketFiles(String ackPath) {
+		File ackFile = FileUtils.getFile(ackPath);
 		String zipPath = ackPath.replace("_Ack.html", RegistrationConstants.ZIP_FILE_EXTENSION);
-		zipFile = FileUtils.getFile(zipPath);
+		File zipFile = FileUtils.getFile(zipPath);
 
-		if (zipFile.exists()) {
+		try {
+			Files.deleteIfExists(zipFile.toPath());
+			Files.deleteIfExists(ackFile.toPath());
+			return true;
+		} catch (IOException | RuntimeException exception) {
+			LOGGER.error(LoggerConstants.LOG_PKT_DELETE, APPLICATION_NAME, APPLICATION_ID,
+					"Packet files of " + ackPath + " could not be deleted : " + exception.getMessage());
+			return false;
+		}
+	}
+
+	private synchronized ExecutorService getStatusExecutor() {
+		if (statusExecutor == null) {
+			AtomicInteger threadCount = new AtomicInteger();
+			statusExecutor = Executors.newFixedThreadPool(Math.max(1, statusThreads), runnable -> {
+				Thread thread = new Thread(runnable, "packet-status-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return statusExecutor;
+	}
+
+	@PreDestroy
+	public synchronized void shutdown() {
+		if (statusExecutor != null) {
+			statusExecutor.shutdownNow();
+			statusExecutor = null;
+		}
+	}
 
-			Files.delete(ackFile);
-			Files.delete(zipFile);
+	/**
+	 * @return the start of the unfinished run, null if the last run completed
+	 */
+	private Timestamp readCheckpoint() {
+		File file = FileUtils.getFile(checkpointFile);
+		if (file.isFile()) {
+			try {
+				return new Timestamp(
+						Long.parseLong(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim()));
+			} catch (IOException | NumberFormatException exception) {
+				LOGGER.error(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
+						"Packet status checkpoint could not be read, reading all the packets : "
+								+ exception.getMessage());
+			}
+		}
+		return null;
+	}
 
+	private void writeCheckpoint(Timestamp syncStartTime) {
+		File file = FileUtils.getFile(checkpointFile);
+		try {
+			File directory = file.getAbsoluteFile().getParentFile();
+			if (directory != null && !directory.exists()) {
+				directory.mkdirs();
+			}
+			File tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+			Files.write(tempFile.toPath(), String.valueOf(syncStartTime.getTime()).getBytes(StandardCharsets.UTF_8));
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException | RuntimeException exception) {
+			LOGGER.error(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
+					"Packet status checkpoint could not be saved : " + exception.getMessage());
 		}
+	}
 
-		/* Delete row from DB */
-		regPacketStatusDAO.delete(registration);
+	private void deleteCheckpoint() {
+		try {
+			Files.deleteIfExists(FileUtils.getFile(checkpointFile).toPath());
+		} catch (IOException ioException) {
+			LOGGER.error(LoggerConstants.LOG_PKT_SYNC, APPLICATION_NAME, APPLICATION_ID,
+					"Packet status checkpoint could not be deleted : " + ioException.getMessage());
+		}
 	}
 
 	/*
@@ -406,61 +606,20 @@ public class RegPacketStatusServiceImpl extends BaseService implements RegPacket
 			//Precondition check, proceed only if met, otherwise throws exception
 			proceedWithPacketSync();
 
-			List<Registration> packetsToBeSynched = registrationDAO
-					.getPacketsToBeSynched(RegistrationConstants.PACKET_STATUS);
-			List<SyncRegistrationDTO> syncDtoList = new ArrayList<>();
-			List<PacketStatusDTO> packetDto = new ArrayList<>();
-			List<PacketStatusDTO> synchedPackets = new ArrayList<>();
-			for (Registration reg : packetsToBeSynched) {
-				packetDto.add(packetStatusDtoPreperation(reg));
-			}
-			ResponseDTO response = new ResponseDTO();
-			if (!packetDto.isEmpty()) {
-
-				for (PacketStatusDTO packetToBeSynch : packetDto) {
-					SyncRegistrationDTO syncDto = new SyncRegistrationDTO();
-					syncDto.setLangCode(getGlobalConfigValueOf(RegistrationConstants.PRIMARY_LANGUAGE));
-					syncDto.setRegistrationId(packetToBeSynch.getFileName());
-					syncDto.setName(packetToBeSynch.getName());
-					syncDto.setEmail(packetToBeSynch.getEmail());
-					syncDto.setPhone(packetToBeSynch.getPhone());
-					syncDto.setRegistrationType(packetToBeSynch.getPacketStatus().toUpperCase());
-					syncDto.setPacketHashValue(packetToBeSynch.getPacketHash());
-					syncDto.setPacketSize(packetToBeSynch.getPacketSize());
-					if (RegistrationClientStatusCode.RE_REGISTER.getCode()
-							.equalsIgnoreCase(packetToBeSynch.getPacketClientStatus())) {
-						syncDto.setSupervisorStatus(RegistrationConstants.CLIENT_STATUS_APPROVED);
-					} else {
-						syncDto.setSupervisorStatus(packetToBeSynch.getSupervisorStatus());
-					}
-					syncDto.setSupervisorComment(packetToBeSynch.getSupervisorComments());
-					syncDtoList.add(syncDto);
+			/* one sync request per page, stops at the first one not accepted */
+			String lastId = RegistrationConstants.EMPTY;
+			List<Registration> packetsToBeSynched;
+			boolean synched;
+			do {
+				packetsToBeSynched = registrationDAO.getPacketsToBeSynched(RegistrationConstants.PACKET_STATUS,
+						lastId, packetPageSize);
+				if (!packetsToBeSynched.isEmpty()) {
+					lastId = packetsToBeSynched.get(packetsToBeSynched.size() - 1).getId();
 				}
-				RegistrationPacketSyncDTO registrationPacketSyncDTO = new RegistrationPacketSyncDTO();
-				registrationPacketSyncDTO
-						.setRequesttime(DateUtils.formatToISOString(DateUtils.getUTCCurrentDateTime()));
-				registrationPacketSyncDTO.setSyncRegistrationDTOs(syncDtoList);
-				registrationPacketSyncDTO.setId(RegistrationConstants.PACKET_SYNC_STATUS_ID);
-				registrationPacketSyncDTO.setVersion(RegistrationConstants.PACKET_SYNC_VERSION);
-				String regId = registrationPacketSyncDTO.getSyncRegistrationDTOs().get(0).getRegistrationId();
-				response = packetSynchService.syncPacketsToServer(CryptoUtil.encodeBase64(offlinePacketCryptoServiceImpl
-						.encrypt(regId, javaObjectToJsonString(registrationPacketSyncDTO).getBytes())),
-						triggerPoint);
-			} else {
-				response.setSuccessResponseDTO(new SuccessResponseDTO());
-			}
-			if (response != null && response.getSuccessResponseDTO() != null) {
-				for (PacketStatusDTO registration : packetDto) {
-					String status = (String) response.getSuccessResponseDTO().getOtherAttributes()
-							.get(registration.getFileName());
-					if (status != null && status.equalsIgnoreCase(RegistrationConstants.SUCCESS)) {
+				synched = syncPackets(packetsToBeSynched, triggerPoint);
+			} while (synched && packetsToBeSynched.size() == packetPageSize);
 
-						registration.setPacketClientStatus(RegistrationClientStatusCode.META_INFO_SYN_SERVER.getCode());
-
-						synchedPackets.add(registration);
-					}
-				}
-				packetSynchService.updateSyncStatus(synchedPackets);
+			if (synched) {
 				successResponseDTO.setMessage(RegistrationConstants.SUCCESS);
 				responseDTO.setSuccessResponseDTO(successResponseDTO);
 			}
@@ -479,6 +638,74 @@ public class RegPacketStatusServiceImpl extends BaseService implements RegPacket
 		return responseDTO;
 	}
 
+	/**
+	 * Sync the page of packets to the server and update the status of the packets
+	 * accepted by it
+	 *
+	 * @param packetsToBeSynched the page of packets
+	 * @param triggerPoint       the trigger point
+	 * @return true if the server responded
+	 */
+	private boolean syncPackets(List<Registration> packetsToBeSynched, String triggerPoint)
+			throws RegBaseCheckedException, JsonProcessingException, URISyntaxException {
+		List<SyncRegistrationDTO> syncDtoList = new ArrayList<>();
+		List<PacketStatusDTO> packetDto = new ArrayList<>();
+		List<PacketStatusDTO> synchedPackets = new ArrayList<>();
+		for (Registration reg : packetsToBeSynched) {
+			packetDto.add(packetStatusDtoPreperation(reg));
+		}
+		ResponseDTO response = new ResponseDTO();
+		if (!packetDto.isEmpty()) {
+
+			for (PacketStatusDTO packetToBeSynch : packetDto) {
+				SyncRegistrationDTO syncDto = new SyncRegistrationDTO();
+				syncDto.setLangCode(getGlobalConfigValueOf(RegistrationConstants.PRIMARY_LANGUAGE));
+				syncDto.setRegistrationId(packetToBeSynch.getFileName());
+				syncDto.setName(packetToBeSynch.getName());
+				syncDto.setEmail(packetToBeSynch.getEmail());
+				syncDto.setPhone(packetToBeSynch.getPhone());
+				syncDto.setRegistrationType(packetToBeSynch.getPacketStatus().toUpperCase());
+				syncDto.setPacketHashValue(packetToBeSynch.getPacketHash());
+				syncDto.setPacketSize(packetToBeSynch.getPacketSize());
+				if (RegistrationClientStatusCode.RE_REGISTER.getCode()
+						.equalsIgnoreCase(packetToBeSynch.getPacketClientStatus())) {
+					syncDto.setSupervisorStatus(RegistrationConstants.CLIENT_STATUS_APPROVED);
+				} else {
+					syncDto.setSupervisorStatus(packetToBeSynch.getSupervisorStatus());
+				}
+				syncDto.setSupervisorComment(packetToBeSynch.getSupervisorComments());
+				syncDtoList.add(syncDto);
+			}
+			RegistrationPacketSyncDTO registrationPacketSyncDTO = new RegistrationPacketSyncDTO();
+			registrationPacketSyncDTO
+					.setRequesttime(DateUtils.formatToISOString(DateUtils.getUTCCurrentDateTime()));
+			registrationPacketSyncDTO.setSyncRegistrationDTOs(syncDtoList);
+			registrationPacketSyncDTO.setId(RegistrationConstants.PACKET_SYNC_STATUS_ID);
+			registrationPacketSyncDTO.setVersion(RegistrationConstants.PACKET_SYNC_VERSION);
+			String regId = registrationPacketSyncDTO.getSyncRegistrationDTOs().get(0).getRegistrationId();
+			response = packetSynchService.syncPacketsToServer(CryptoUtil.encodeBase64(offlinePacketCryptoServiceImpl
+					.encrypt(regId, javaObjectToJsonString(registrationPacketSyncDTO).getBytes())),
+					triggerPoint);
+		} else {
+			response.setSuccessResponseDTO(new SuccessResponseDTO());
+		}
+		if (response != null && response.getSuccessResponseDTO() != null) {
+			for (PacketStatusDTO registration : packetDto) {
+				String status = (String) response.getSuccessResponseDTO().getOtherAttributes()
+						.get(registration.getFileName());
+				if (status != null && status.equalsIgnoreCase(RegistrationConstants.SUCCESS)) {
+
+					registration.setPacketClientStatus(RegistrationClientStatusCode.META_INFO_SYN_SERVER.getCode());
+
+					synchedPackets.add(registration);
+				}
+			}
+			packetSynchService.updateSyncStatus(synchedPackets);
+			return true;
+		}
+		return false;
+	}
+
 	private String createdByUser() {
 		return SessionContext.isSessionContextAvailable() && SessionContext.userContext() != null
 				&& SessionContext.userContext().getUserId() != null ? SessionContext.userContext().getUserId()
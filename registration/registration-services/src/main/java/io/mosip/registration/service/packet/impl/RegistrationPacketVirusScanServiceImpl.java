@@ -4,18 +4,44 @@ import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.FileUtils;
+import io.mosip.kernel.core.util.HMACUtils2;
 import io.mosip.kernel.core.virusscanner.exception.VirusScannerException;
 import io.mosip.kernel.core.virusscanner.spi.VirusScanner;
 import io.mosip.registration.config.AppConfig;
@@ -26,10 +52,19 @@ import io.mosip.registration.dto.ResponseDTO;
 import io.mosip.registration.dto.SuccessResponseDTO;
 import io.mosip.registration.service.BaseService;
 import io.mosip.registration.service.packet.RegistrationPacketVirusScanService;
+import lombok.Data;
 
 /**
  * Implementation class for {@link RegistrationPacketVirusScanService}
- * 
+ *
+ * <p>
+ * Files found clean are kept in a scan index with their size, last modified
+ * time and content hash. Only the files added or changed since, or not scanned
+ * for <code>mosip.registration.virus-scan.rescan-after-days</code>, are sent to
+ * the virus scanner, on a bounded pool of threads. Files with the same content
+ * are scanned once.
+ * </p>
+ *
  * @author saravanakumar gnanaguru
  * @since 1.0.0
  */
@@ -39,11 +74,35 @@ public class RegistrationPacketVirusScanServiceImpl extends BaseService implemen
 	@Autowired
 	private VirusScanner<Boolean, InputStream> virusScanner;
 
+	@Value("${mosip.registration.virus-scan.index-file:.virus-scan-index.json}")
+	private String indexFile;
+
+	@Value("${mosip.registration.virus-scan.threads:4}")
+	private int scanThreads;
+
+	@Value("${mosip.registration.virus-scan.rescan-after-days:7}")
+	private int rescanAfterDays;
+
 	private static final Logger LOGGER = AppConfig.getLogger(RegistrationPacketVirusScanServiceImpl.class);
 
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private ExecutorService scanExecutor;
+
+	/**
+	 * A file found clean by the virus scanner.
+	 */
+	@Data
+	public static class ScanIndexEntry {
+		private long size;
+		private long lastModified;
+		private String hash;
+		private long scannedAt;
+	}
+
 	/*
 	 * (non-Javadoc)
-	 * 
+	 *
 	 * @see
 	 * io.mosip.registration.service.packet.impl.RegistrationPacketVirusScanService#
 	 * scanPacket()
@@ -56,27 +115,25 @@ public class RegistrationPacketVirusScanServiceImpl extends BaseService implemen
 		ResponseDTO responseDTO = new ResponseDTO();
 		SuccessResponseDTO successResponseDTO = new SuccessResponseDTO();
 		List<String> pathList = Arrays.asList(
-				String.valueOf(ApplicationContext.map().get(RegistrationConstants.PKT_STORE_LOC)), 
+				String.valueOf(ApplicationContext.map().get(RegistrationConstants.PKT_STORE_LOC)),
 				String.valueOf(ApplicationContext.map().get(RegistrationConstants.PRE_REG_PACKET_LOCATION)),
 				String.valueOf(ApplicationContext.map().get(RegistrationConstants.LOGS_PATH)),
 				String.valueOf(ApplicationContext.map().get(RegistrationConstants.DB_PATH)),
 				String.valueOf(ApplicationContext.map().get(RegistrationConstants.CLIENT_PATH)));
-		List<File> filesList = new ArrayList<>();
+		Map<String, File> filesToScan = new LinkedHashMap<>();
 		List<String> infectedFiles = new ArrayList<>();
 		List<ErrorResponseDTO> errorList = new ArrayList<>();
 		StringBuilder infectedFileName = new StringBuilder();
+		Map<String, ScanIndexEntry> scanIndex = readScanIndex();
 		try {
 			for (String path : pathList) {
-				filesList.addAll(getFilesFromFolders(path, filesList));
+				getFilesFromFolders(path, filesToScan);
 			}
+			filesToScan.remove(getIndexFile().getCanonicalPath());
+			scanIndex.keySet().retainAll(filesToScan.keySet());
 
-			for (File fileToScan : filesList) {
-				
-				if (!virusScanner.scanDocument(fileToScan)) {
+			infectedFiles.addAll(scanFiles(filesToScan, scanIndex));
 
-					infectedFiles.add(fileToScan.getName());
-				}
-			}
 			if (!infectedFiles.isEmpty()) {
 				for (String fileName : infectedFiles) {
 					infectedFileName.append(fileName + ";");
@@ -91,9 +148,9 @@ public class RegistrationPacketVirusScanServiceImpl extends BaseService implemen
 					virusScannerException.getMessage());
 			LOGGER.debug("REGISTRATION - PACKET_SCAN_EXCEPTION_DEBUG", APPLICATION_NAME, APPLICATION_ID,
 					virusScannerException.getMessage() + ExceptionUtils.getStackTrace(virusScannerException));
-			
+
 			setSuccessResponse(responseDTO, RegistrationConstants.ANTIVIRUS_SERVICE_NOT_ACCESSIBLE, null);
-			
+
 		} catch (IOException ioException) {
 			LOGGER.error("REGISTRATION - PACKET_SCAN_IOEXCEPTION", APPLICATION_NAME, APPLICATION_ID,
 					ioException.getMessage() + ExceptionUtils.getStackTrace(ioException));
@@ -102,6 +159,9 @@ public class RegistrationPacketVirusScanServiceImpl extends BaseService implemen
 			errorResponseDTO.setMessage("Error in reading the file");
 			errorList.add(errorResponseDTO);
 			responseDTO.setErrorResponseDTOs(errorList);
+		} finally {
+			// files found clean before a failure are not scanned again
+			writeScanIndex(scanIndex);
 		}
 		LOGGER.info("REGISTRATION - PACKET_SCAN_END - REGISTRATION_PACKET_VIRUS_SCAN", APPLICATION_NAME, APPLICATION_ID,
 				"Scanning of Virus Packet End");
@@ -109,14 +169,212 @@ public class RegistrationPacketVirusScanServiceImpl extends BaseService implemen
 	}
 
 	/**
-	 * This method will get the folder path and return the list of which are present
-	 * inside the folder
-	 * 
+	 * Scans the files not in the scan index or changed since they were indexed,
+	 * and adds the clean ones to the index.
+	 *
+	 * @param filesToScan
+	 *            the files by canonical path
+	 * @param scanIndex
+	 *            the files found clean by canonical path
+	 * @return the names of the infected files
+	 */
+	private List<String> scanFiles(Map<String, File> filesToScan, Map<String, ScanIndexEntry> scanIndex)
+			throws IOException {
+		long rescanBefore = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(rescanAfterDays);
+
+		Set<String> cleanHashes = new HashSet<>();
+		scanIndex.values().forEach(entry -> {
+			if (entry.getScannedAt() >= rescanBefore) {
+				cleanHashes.add(entry.getHash());
+			}
+		});
+
+		List<String> changedPaths = new ArrayList<>();
+		filesToScan.forEach((path, file) -> {
+			ScanIndexEntry entry = scanIndex.get(path);
+			if (entry == null || entry.getSize() != file.length() || entry.getLastModified() != file.lastModified()
+					|| entry.getScannedAt() < rescanBefore) {
+				changedPaths.add(path);
+			}
+		});
+
+		// content of the changed files, a file touched but not changed is not scanned again
+		List<Callable<ScanIndexEntry>> hashTasks = new ArrayList<>();
+		changedPaths.forEach(path -> hashTasks.add(() -> hashFile(filesToScan.get(path))));
+		List<ScanIndexEntry> hashes = invokeAll(hashTasks);
+
+		Map<String, ScanIndexEntry> changedEntries = new HashMap<>();
+		Map<String, List<String>> pathsToScanByHash = new LinkedHashMap<>();
+		for (int index = 0; index < changedPaths.size(); index++) {
+			String path = changedPaths.get(index);
+			ScanIndexEntry entry = hashes.get(index);
+			if (entry == null) {
+				scanIndex.remove(path);
+			} else if (cleanHashes.contains(entry.getHash())) {
+				scanIndex.put(path, entry);
+			} else {
+				changedEntries.put(path, entry);
+				pathsToScanByHash.computeIfAbsent(entry.getHash(), hash -> new ArrayList<>()).add(path);
+			}
+		}
+
+		// one file for each content
+		List<String> hashesToScan = new ArrayList<>(pathsToScanByHash.keySet());
+		List<Callable<Boolean>> scanTasks = new ArrayList<>();
+		hashesToScan.forEach(hash -> scanTasks.add(
+				() -> virusScanner.scanDocument(filesToScan.get(pathsToScanByHash.get(hash).get(0)))));
+		List<Boolean> scanResults = invokeAll(scanTasks);
+
+		List<String> infectedFiles = new ArrayList<>();
+		long scannedAt = System.currentTimeMillis();
+		for (int index = 0; index < hashesToScan.size(); index++) {
+			List<String> paths = pathsToScanByHash.get(hashesToScan.get(index));
+			if (Boolean.TRUE.equals(scanResults.get(index))) {
+				for (String path : paths) {
+					ScanIndexEntry entry = changedEntries.get(path);
+					entry.setScannedAt(scannedAt);
+					scanIndex.put(path, entry);
+				}
+			} else {
+				paths.forEach(path -> {
+					scanIndex.remove(path);
+					infectedFiles.add(filesToScan.get(path).getName());
+				});
+			}
+		}
+
+		LOGGER.info("REGISTRATION - PACKET_SCAN - REGISTRATION_PACKET_VIRUS_SCAN", APPLICATION_NAME, APPLICATION_ID,
+				"Files found : " + filesToScan.size() + ", changed : " + changedPaths.size() + ", scanned : "
+						+ hashesToScan.size() + ", infected : " + infectedFiles.size());
+		return infectedFiles;
+	}
+
+	/**
+	 * @return the size, last modified time and content hash of the file,
+	 *         <code>null</code> if the file was removed
+	 */
+	private ScanIndexEntry hashFile(File file) throws IOException {
+		ScanIndexEntry entry = new ScanIndexEntry();
+		entry.setSize(file.length());
+		entry.setLastModified(file.lastModified());
+		try (InputStream inputStream = new FileInputStream(file)) {
+			MessageDigest messageDigest = MessageDigest.getInstance(HMACUtils2.HASH_ALGORITHM_NAME);
+			byte[] buffer = new byte[64 * 1024];
+			int read;
+			while ((read = inputStream.read(buffer)) != -1) {
+				messageDigest.update(buffer, 0, read);
+			}
+			entry.setHash(HMACUtils2.encodeBytesToHex(messageDigest.digest()));
+		} catch (IOException ioException) {
+			if (!file.isFile()) {
+				// logs rolled over while scanning
+				return null;
+			}
+			throw ioException;
+		} catch (NoSuchAlgorithmException noSuchAlgorithmException) {
+			throw new IOException(noSuchAlgorithmException);
+		}
+		return entry;
+	}
+
+	/**
+	 * Runs the tasks on the scan threads.
+	 *
+	 * @return the results, in the order of the tasks
+	 */
+	private <T> List<T> invokeAll(List<Callable<T>> tasks) throws IOException {
+		List<T> results = new ArrayList<>();
+		if (tasks.isEmpty()) {
+			return results;
+		}
+		try {
+			for (Future<T> future : getScanExecutor().invokeAll(tasks)) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException interruptedException) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Virus scan interrupted");
+		} catch (ExecutionException executionException) {
+			Throwable cause = executionException.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+		return results;
+	}
+
+	private synchronized ExecutorService getScanExecutor() {
+		if (scanExecutor == null) {
+			AtomicInteger threadCount = new AtomicInteger();
+			scanExecutor = Executors.newFixedThreadPool(Math.max(1, scanThreads), runnable -> {
+				Thread thread = new Thread(runnable, "virus-scan-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return scanExecutor;
+	}
+
+	@PreDestroy
+	public synchronized void shutdown() {
+		if (scanExecutor != null) {
+			scanExecutor.shutdownNow();
+			scanExecutor = null;
+		}
+	}
+
+	private File getIndexFile() {
+		return FileUtils.getFile(indexFile);
+	}
+
+	private Map<String, ScanIndexEntry> readScanIndex() {
+		File file = getIndexFile();
+		if (file.isFile()) {
+			try {
+				return new ConcurrentHashMap<>(OBJECT_MAPPER.readValue(file,
+						new TypeReference<HashMap<String, ScanIndexEntry>>() {
+						}));
+			} catch (IOException ioException) {
+				LOGGER.error("REGISTRATION - PACKET_SCAN - REGISTRATION_PACKET_VIRUS_SCAN", APPLICATION_NAME,
+						APPLICATION_ID, "Scan index could not be read, scanning all the files : "
+								+ ioException.getMessage());
+			}
+		}
+		return new ConcurrentHashMap<>();
+	}
+
+	private void writeScanIndex(Map<String, ScanIndexEntry> scanIndex) {
+		File file = getIndexFile();
+		try {
+			File directory = file.getAbsoluteFile().getParentFile();
+			if (directory != null && !directory.exists()) {
+				directory.mkdirs();
+			}
+			File tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+			OBJECT_MAPPER.writeValue(tempFile, scanIndex);
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException | RuntimeException exception) {
+			LOGGER.error("REGISTRATION - PACKET_SCAN - REGISTRATION_PACKET_VIRUS_SCAN", APPLICATION_NAME,
+					APPLICATION_ID, "Scan index could not be saved : " + exception.getMessage());
+		}
+	}
+
+	/**
+	 * This method will get the folder path and add the files which are present
+	 * inside the folder, each file only once
+	 *
 	 * @param folderPath
 	 * @param filesList
-	 * @return
+	 *            the files by canonical path
 	 */
-	private List<File> getFilesFromFolders(String folderPath, List<File> filesList) {
+	private void getFilesFromFolders(String folderPath, Map<String, File> filesList) throws IOException {
 		File directory = FileUtils.getFile(folderPath);
 
 		// Get all files from a directory.
@@ -124,12 +382,10 @@ public class RegistrationPacketVirusScanServiceImpl extends BaseService implemen
 		if (filesToScan != null)
 			for (File fileToScan : filesToScan) {
 				if (fileToScan.isFile()) {
-					filesList.add(fileToScan);
+					filesList.putIfAbsent(fileToScan.getCanonicalPath(), fileToScan);
 				} else if (fileToScan.isDirectory()) {
 					getFilesFromFolders(fileToScan.getAbsolutePath(), filesList);
 				}
 			}
-		return filesList;
-
 	}
 }
@@ -31,6 +31,8 @@ import io.mosip.registration.constants.Components;
 import io.mosip.registration.constants.RegistrationClientStatusCode;
 import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.context.ApplicationContext;
+import io.mosip.registration.context.SessionContext;
+import io.mosip.registration.context.StationContext;
 import io.mosip.registration.dao.GlobalParamDAO;
 import io.mosip.registration.dao.PreRegistrationDataSyncDAO;
 import io.mosip.registration.dao.RegistrationDAO;
@@ -229,6 +231,11 @@ public class CenterMachineReMapServiceImpl implements CenterMachineReMapService
 		/* disable the remap flag after completing the remap process */
 		globalParamService.update(RegistrationConstants.MACHINE_CENTER_REMAP_FLAG, RegistrationConstants.FALSE);
 
+		StationContext stationContext = SessionContext.stationContext();
+		if (stationContext != null) {
+			stationContext.invalidateAll();
+		}
+
 		LOGGER.info("REGISTRATION CENTER MACHINE REMAP : ", APPLICATION_NAME, APPLICATION_ID,
 				"cleanUpCenterSpecificData remap successfully completed");
 	}
@@ -4,36 +4,26 @@ import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
 
 import java.security.NoSuchAlgorithmException;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 import io.mosip.registration.constants.LoginMode;
 import io.mosip.registration.util.common.OTPManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import io.mosip.kernel.biometrics.constant.BiometricFunction;
 import io.mosip.kernel.biometrics.constant.BiometricType;
-import io.mosip.kernel.biosdk.provider.factory.BioAPIFactory;
-import io.mosip.kernel.biosdk.provider.spi.iBioProviderApi;
-import io.mosip.kernel.core.bioapi.exception.BiometricException;
-import io.mosip.kernel.core.cbeffutil.entity.BIR;
-import io.mosip.kernel.core.cbeffutil.jaxbclasses.ProcessedLevelType;
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.CryptoUtil;
 import io.mosip.kernel.core.util.HMACUtils2;
 import io.mosip.registration.config.AppConfig;
 import io.mosip.registration.constants.RegistrationConstants;
-import io.mosip.registration.dao.UserDetailDAO;
 import io.mosip.registration.dto.AuthTokenDTO;
 import io.mosip.registration.dto.AuthenticationValidatorDTO;
 import io.mosip.registration.dto.UserDTO;
 import io.mosip.registration.dto.packetmanager.BiometricsDto;
-import io.mosip.registration.entity.UserBiometric;
 import io.mosip.registration.exception.RegBaseCheckedException;
-import io.mosip.registration.service.bio.BioService;
+import io.mosip.registration.service.bio.OperatorGalleryService;
 import io.mosip.registration.service.login.LoginService;
 import io.mosip.registration.service.security.AuthenticationService;
 import io.mosip.registration.util.healthcheck.RegistrationAppHealthCheckUtil;
@@ -59,13 +49,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 	private OTPManager otpManager;
 
 	@Autowired
-	private BioAPIFactory bioAPIFactory;
-
-	@Autowired
-	private UserDetailDAO userDetailDAO;
-
-	@Autowired
-	private BioService bioService;
+	private OperatorGalleryService operatorGalleryService;
 
 	@Autowired
 	private AuthTokenUtilService authTokenUtilService;
@@ -82,30 +66,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 		LOGGER.info("OPERATOR_AUTHENTICATION", APPLICATION_NAME, APPLICATION_ID,
 				modality + " >> authValidator invoked.");
 		try {
-			BiometricType biometricType = BiometricType.fromValue(modality);
-			List<BIR> record = new ArrayList<>();
-			List<UserBiometric> userBiometrics = userDetailDAO.getUserSpecificBioDetails(userId, biometricType.value());
-			if (userBiometrics.isEmpty())
-				return false;
-			userBiometrics.forEach(userBiometric -> {
-//				record.add(buildBir(userBiometric.getBioIsoImage(), biometricType));
-
-				record.add(bioService.buildBir(userBiometric.getUserBiometricId().getBioAttributeCode(),
-						userBiometric.getQualityScore(), userBiometric.getBioIsoImage(), ProcessedLevelType.PROCESSED));
-			});
-
-			List<BIR> sample = new ArrayList<>(biometrics.size());
-			biometrics.forEach(biometricDto -> {
-				sample.add(bioService.buildBir(biometricDto));
-			});
-
-			iBioProviderApi bioProvider = bioAPIFactory.getBioProvider(biometricType, BiometricFunction.MATCH);
-			if (Objects.nonNull(bioProvider)) {
-				LOGGER.info("OPERATOR_AUTHENTICATION", APPLICATION_NAME, APPLICATION_ID,
-						modality + " >> Bioprovider instance found : " + bioProvider);
-				return bioProvider.verify(sample, record, biometricType, null);
-			}
-		} catch (BiometricException | RuntimeException e) {
+			return operatorGalleryService.verify(userId, BiometricType.fromValue(modality), biometrics);
+		} catch (RuntimeException e) {
 			LOGGER.error("REGISTRATION - OPERATOR_AUTHENTICATION", APPLICATION_NAME, APPLICATION_ID,
 					ExceptionUtils.getStackTrace(e));
 		}
@@ -36,6 +36,8 @@ import io.mosip.kernel.core.util.StringUtils;
 import io.mosip.registration.config.AppConfig;
 import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.context.ApplicationContext;
+import io.mosip.registration.context.SessionContext;
+import io.mosip.registration.context.StationContext;
 import io.mosip.registration.dao.DocumentCategoryDAO;
 import io.mosip.registration.dao.DynamicFieldDAO;
 import io.mosip.registration.dao.IdentitySchemaDao;
@@ -607,6 +609,7 @@ public class MasterSyncServiceImpl extends BaseService implements MasterSyncServ
 			if(RegistrationConstants.MACHINE_REMAP_CODE.equalsIgnoreCase(errorCode)) {
 				//Machine is remapped, exit from sync and mark the remap process to start
 				globalParamService.update(RegistrationConstants.MACHINE_CENTER_REMAP_FLAG, RegistrationConstants.TRUE);
+				SessionContext.invalidateStationContext(StationContext.MACHINE_REMAPPED);
 				return responseDTO;
 			}
 
@@ -638,6 +641,10 @@ public class MasterSyncServiceImpl extends BaseService implements MasterSyncServ
 
 		String response = masterSyncDao.saveSyncData(syncDataResponseDto);
 
+		// the machine, center and their status may have changed
+		SessionContext.invalidateStationContext(StationContext.STATION_ID, StationContext.CENTER_ID,
+				StationContext.CENTER_ACTIVE);
+
 		if (response.equals(RegistrationConstants.SUCCESS)) {
 			setSuccessResponse(responseDTO, RegistrationConstants.MASTER_SYNC_SUCCESS, null);
 			SyncTransaction syncTransaction = syncManager.createSyncTransaction(
@@ -13,6 +13,8 @@ import io.mosip.kernel.keymanagerservice.dto.UploadCertificateRequestDto;
 import io.mosip.kernel.keymanagerservice.service.KeymanagerService;
 import io.mosip.registration.config.AppConfig;
 import io.mosip.registration.constants.RegistrationConstants;
+import io.mosip.registration.context.SessionContext;
+import io.mosip.registration.context.StationContext;
 import io.mosip.registration.dto.ResponseDTO;
 import io.mosip.registration.exception.RegBaseCheckedException;
 import io.mosip.registration.exception.RegistrationExceptionConstants;
@@ -85,6 +87,7 @@ public class PolicySyncServiceImpl extends BaseService implements PolicySyncServ
 			uploadCertRequestDto.setCertificateData(certificateData);
 			uploadCertRequestDto.setReferenceId(centerMachineId);
 			keymanagerService.uploadOtherDomainCertificate(uploadCertRequestDto);
+			SessionContext.invalidateStationContext(StationContext.POLICY_KEY_VALID);
 			LOGGER.debug("Policy Sync saved in local DB successfully");
 			return setSuccessResponse(responseDTO, RegistrationConstants.POLICY_SYNC_SUCCESS_MESSAGE, null);
 
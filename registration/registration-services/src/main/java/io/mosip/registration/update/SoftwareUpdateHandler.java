@@ -10,17 +10,32 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.file.FileSystemException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.Timestamp;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
+import java.util.stream.Stream;
 
+import javax.annotation.PreDestroy;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -45,12 +60,18 @@ import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.dto.ResponseDTO;
 import io.mosip.registration.service.BaseService;
 import io.mosip.registration.service.config.GlobalParamService;
+import io.mosip.registration.util.restclient.RestClientUtil;
 
 /**
  * This class will update the application based on comapring the versions of the
  * jars from the Manifest. The comparison will be done by comparing the Local
  * Manifest and the meta-inf.xml file. If there is any updation available in the
  * jar then the new jar gets downloaded and the old gets archived.
+ * <p>
+ * The jars are downloaded on a bounded pool of threads into <code>.part</code>
+ * files, an interrupted download resumes from the bytes already downloaded.
+ * The archive hard links the jars instead of copying them.
+ * </p>
  * 
  * @author YASWANTH S
  *
@@ -74,6 +95,9 @@ public class SoftwareUpdateHandler extends BaseService {
 	private static final String versionTag = "version";
 	private static final String MOSIP_SERVICES = "mosip-services.jar";
 	private static final String MOSIP_CLIENT = "mosip-client.jar";
+	private static final String PART_EXTENSION = ".part";
+	private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+	private static final int BUFFER_SIZE = 64 * 1024;
 
 	private static Map<String, String> CHECKSUM_MAP;
 	private String currentVersion;
@@ -91,6 +115,11 @@ public class SoftwareUpdateHandler extends BaseService {
 	@Value("${mosip.reg.xml.file.url}")
 	private String serverMosipXmlFileUrl;
 
+	@Value("${mosip.reg.update.download.threads:4}")
+	private int downloadThreads;
+
+	private ExecutorService downloadExecutor;
+
 	@Autowired
 	private JdbcTemplate jdbcTemplate;
 
@@ -293,10 +322,10 @@ public class SoftwareUpdateHandler extends BaseService {
 		} catch (RuntimeException | IOException | ParserConfigurationException | SAXException exception) {
 			LOGGER.error(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID,
 					exception.getMessage() + ExceptionUtils.getStackTrace(exception));
-			// Rollback setup
-			File backUpFolder = backUp.toFile();
-
-			rollBackSetup(backUpFolder);
+			// Rollback setup, the .part files of the jars are kept to resume the download
+			if (backUp != null) {
+				rollBackSetup(backUp.toFile());
+			}
 
 			throw exception;
 		}
@@ -304,7 +333,7 @@ public class SoftwareUpdateHandler extends BaseService {
 				"Updating latest version started");
 	}
 
-	private Path backUpSetup() throws io.mosip.kernel.core.exception.IOException {
+	private Path backUpSetup() throws io.mosip.kernel.core.exception.IOException, IOException {
 		LOGGER.info(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID,
 				"Backup of current version started");
 		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
@@ -323,9 +352,10 @@ public class SoftwareUpdateHandler extends BaseService {
 		// manifest backup file
 		File manifest = new File(backUpFolder.getAbsolutePath() + SLASH + manifestFile);
 
-		FileUtils.copyDirectory(new File(binFolder), bin);
-		FileUtils.copyDirectory(new File(libFolder), lib);
+		linkDirectory(new File(binFolder), bin);
+		linkDirectory(new File(libFolder), lib);
 
+		// the manifest is written in place by the update, so it is copied
 		FileUtils.copyFile(new File(manifestFile), manifest);
 
 		for (File backUpFile : new File(backUpPath).listFiles()) {
@@ -340,43 +370,182 @@ public class SoftwareUpdateHandler extends BaseService {
 
 	}
 
-	private void checkJars(String version, List<String> checkableJars)
-			throws IOException, io.mosip.kernel.core.exception.IOException {
+	private void checkJars(String version, List<String> checkableJars) throws IOException {
+		Map<String, Path> jarPaths = new LinkedHashMap<>();
+		for (String jarFile : checkableJars) {
+			String folder = jarFile.contains(mosip) ? binFolder : libFolder;
+			jarPaths.put(jarFile, new File(folder + jarFile).toPath());
+		}
+		checkJars(version, jarPaths, (currentVersion.equals(version)) ? localManifest : serverManifest);
+	}
+
+	/**
+	 * Checks the jars on the download threads. A jar which is missing or whose
+	 * checksum differs from the manifest is downloaded.
+	 */
+	private void checkJars(String version, Map<String, Path> jarPaths, Manifest manifest) throws IOException {
 
 		LOGGER.info(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID, "Checking of jars started");
-		for (String jarFile : checkableJars) {
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (Entry<String, Path> jar : jarPaths.entrySet()) {
+			String checkSum = manifest.getEntries().containsKey(jar.getKey()) ? getCheckSum(jar.getKey(), manifest)
+					: null;
+			tasks.add(() -> {
+				File jarInFolder = jar.getValue().toFile();
+				if (!jarInFolder.exists() || !isCheckSumValid(jarInFolder, checkSum)) {
+					downloadJar(version, jar.getKey(), jar.getValue(), checkSum);
+				}
+				return null;
+			});
+		}
+		invokeAll(tasks);
 
-			String folder = jarFile.contains(mosip) ? binFolder : libFolder;
+		LOGGER.info(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID, "Checking of jars completed");
+	}
 
-			File jarInFolder = new File(folder + jarFile);
+	/**
+	 * Downloads the jar into a <code>.part</code> file next to it. When the file
+	 * exists from an interrupted download, only the remaining bytes are requested
+	 * with an HTTP range. The checksum is computed while downloading and the jar
+	 * is replaced by the file only when the checksum matches the manifest.
+	 */
+	private void downloadJar(String version, String jarName, Path jarPath, String checkSum) throws IOException {
+		Path partPath = jarPath.resolveSibling(jarPath.getFileName() + PART_EXTENSION);
+		long offset = Files.exists(partPath) ? Files.size(partPath) : 0;
 
-			if (!jarInFolder.exists()) {
+		LOGGER.info(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID,
+				"Downloading jar : " + jarName + " started from byte " + offset);
 
-				LOGGER.info(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID,
-						"Downloading jar : " + jarFile + " started");
-				// Download Jar
-				Files.copy(getInputStreamOfJar(version, jarFile), jarInFolder.toPath());
+		MessageDigest messageDigest = getMessageDigest();
+		URLConnection connection = openConnection(
+				getURL(serverRegClientURL) + version + SLASH + libFolder + jarName);
+		if (offset > 0) {
+			connection.setRequestProperty("Range", "bytes=" + offset + "-");
+		}
+		int responseCode = connection instanceof HttpURLConnection
+				? ((HttpURLConnection) connection).getResponseCode()
+				: HttpURLConnection.HTTP_OK;
 
-			} else if ((!isCheckSumValid(jarInFolder,
-					(currentVersion.equals(version)) ? localManifest : serverManifest))) {
+		if (responseCode == HttpURLConnection.HTTP_PARTIAL || responseCode == HTTP_RANGE_NOT_SATISFIABLE) {
+			// bytes of the interrupted download
+			digest(partPath, messageDigest);
+		}
+		if (responseCode == HttpURLConnection.HTTP_OK || responseCode == HttpURLConnection.HTTP_PARTIAL) {
+			if (!hasSpace(connection.getContentLengthLong())) {
+				throw new IOException("No Disk Space");
+			}
+			// a server ignoring the range sends the whole jar again
+			try (InputStream inputStream = connection.getInputStream();
+					OutputStream outputStream = new FileOutputStream(partPath.toFile(),
+							responseCode == HttpURLConnection.HTTP_PARTIAL)) {
+				byte[] buffer = new byte[BUFFER_SIZE];
+				int read;
+				while ((read = inputStream.read(buffer)) != -1) {
+					outputStream.write(buffer, 0, read);
+					messageDigest.update(buffer, 0, read);
+				}
+			}
+		} else if (responseCode != HTTP_RANGE_NOT_SATISFIABLE) {
+			throw new IOException("Downloading jar : " + jarName + " failed with status " + responseCode);
+		}
 
-				FileUtils.forceDelete(jarInFolder);
+		if (checkSum != null && !checkSum.equalsIgnoreCase(HMACUtils2.encodeBytesToHex(messageDigest.digest()))) {
+			Files.deleteIfExists(partPath);
+			throw new IOException("Checksum of the downloaded jar : " + jarName + " does not match the manifest");
+		}
+		Files.move(partPath, jarPath, StandardCopyOption.REPLACE_EXISTING);
 
-				LOGGER.info(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID,
-						"Downloading jar : " + jarFile + " started");
+		LOGGER.info(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID,
+				"Downloading jar : " + jarName + " completed");
+	}
 
-				// Download Jar
-				Files.copy(getInputStreamOfJar(version, jarFile), jarInFolder.toPath());
+	/**
+	 * Runs the tasks on the download threads.
+	 */
+	private void invokeAll(List<Callable<Void>> tasks) throws IOException {
+		if (tasks.isEmpty()) {
+			return;
+		}
+		try {
+			for (Future<Void> future : getDownloadExecutor().invokeAll(tasks)) {
+				future.get();
+			}
+		} catch (InterruptedException interruptedException) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Software update interrupted");
+		} catch (ExecutionException executionException) {
+			Throwable cause = executionException.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
 			}
+			throw new IOException(cause);
+		}
+	}
 
+	private synchronized ExecutorService getDownloadExecutor() {
+		if (downloadExecutor == null) {
+			AtomicInteger threadCount = new AtomicInteger();
+			downloadExecutor = Executors.newFixedThreadPool(Math.max(1, downloadThreads), runnable -> {
+				Thread thread = new Thread(runnable, "software-update-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
 		}
+		return downloadExecutor;
+	}
 
-		LOGGER.info(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID, "Checking of jars completed");
+	@PreDestroy
+	public synchronized void shutdown() {
+		if (downloadExecutor != null) {
+			downloadExecutor.shutdownNow();
+			downloadExecutor = null;
+		}
 	}
 
-	private InputStream getInputStreamOfJar(String version, String jarName) throws IOException {
-		return getInputStreamOf(getURL(serverRegClientURL) + version + SLASH + libFolder + jarName);
+	/**
+	 * Hard links the files of the folder into the target folder, copying them
+	 * only when the file system has no hard links. The update never writes a jar
+	 * in place, it moves the downloaded file over it, so a linked jar keeps the
+	 * old content.
+	 */
+	private void linkDirectory(File folder, File targetFolder) throws IOException {
+		Path folderPath = folder.toPath();
+		if (!Files.isDirectory(folderPath)) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(folderPath)) {
+			Iterator<Path> iterator = paths.iterator();
+			while (iterator.hasNext()) {
+				Path path = iterator.next();
+				Path targetPath = targetFolder.toPath().resolve(folderPath.relativize(path).toString());
+				if (Files.isDirectory(path)) {
+					Files.createDirectories(targetPath);
+				} else if (!path.getFileName().toString().endsWith(PART_EXTENSION)) {
+					// .part files are appended in place
+					linkFile(path, targetPath);
+				}
+			}
+		}
+	}
 
+	private void linkFile(Path path, Path targetPath) throws IOException {
+		if (Files.exists(targetPath)) {
+			if (Files.isSameFile(path, targetPath)) {
+				return;
+			}
+			Files.delete(targetPath);
+		}
+		try {
+			Files.createLink(targetPath, path);
+		} catch (UnsupportedOperationException | FileSystemException exception) {
+			Files.copy(path, targetPath, StandardCopyOption.COPY_ATTRIBUTES);
+		}
 	}
 
 	private void deleteJars(List<String> deletableJars) throws io.mosip.kernel.core.exception.IOException {
@@ -447,21 +616,20 @@ public class SoftwareUpdateHandler extends BaseService {
 		this.latestVersion = latestVersion;
 	}
 
-	private boolean isCheckSumValid(File jarFile, Manifest manifest) {
+	private boolean isCheckSumValid(File jarFile, String manifestCheckSum) {
 		LOGGER.info(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID,
 				"Checking of checksum started for jar :" + jarFile.getName());
 		String checkSum;
 		try {
-			checkSum = HMACUtils2.digestAsPlainText(Files.readAllBytes(jarFile.toPath()));
-
-			// Get Check sum
-			String manifestCheckSum = getCheckSum(jarFile.getName(), manifest);
+			MessageDigest messageDigest = getMessageDigest();
+			digest(jarFile.toPath(), messageDigest);
+			checkSum = HMACUtils2.encodeBytesToHex(messageDigest.digest());
 
 			LOGGER.info(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID,
 					"Checking of checksum completed for jar :" + jarFile.getName());
-			return checkSum.equals(manifestCheckSum);
+			return checkSum.equalsIgnoreCase(manifestCheckSum);
 
-		} catch (IOException | NoSuchAlgorithmException ioException) {
+		} catch (IOException ioException) {
 			LOGGER.error(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID,
 					ioException.getMessage() + ExceptionUtils.getStackTrace(ioException));
 			return false;
@@ -469,22 +637,35 @@ public class SoftwareUpdateHandler extends BaseService {
 
 	}
 
-	private boolean hasSpace(int bytes) {
+	private static MessageDigest getMessageDigest() throws IOException {
+		try {
+			return MessageDigest.getInstance(HMACUtils2.HASH_ALGORITHM_NAME);
+		} catch (NoSuchAlgorithmException noSuchAlgorithmException) {
+			throw new IOException(noSuchAlgorithmException);
+		}
+	}
+
+	private static void digest(Path path, MessageDigest messageDigest) throws IOException {
+		try (InputStream inputStream = Files.newInputStream(path)) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int read;
+			while ((read = inputStream.read(buffer)) != -1) {
+				messageDigest.update(buffer, 0, read);
+			}
+		}
+	}
+
+	private boolean hasSpace(long bytes) {
 
 		LOGGER.info(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID, "Checking of space in machine");
 		return bytes < new File("/").getFreeSpace();
 	}
 
 	private InputStream getInputStreamOf(String url) throws IOException {
-		URLConnection connection = new URL(url).openConnection();
-
-		connection.setConnectTimeout(
-				Integer.valueOf(getGlobalConfigValueOf(RegistrationConstants.HTTP_API_WRITE_TIMEOUT)));
-
-		connection.setReadTimeout(Integer.valueOf(getGlobalConfigValueOf(RegistrationConstants.HTTP_API_READ_TIMEOUT)));
+		URLConnection connection = openConnection(url);
 
 		// Space Check
-		if (hasSpace(connection.getContentLength())) {
+		if (hasSpace(connection.getContentLengthLong())) {
 			return connection.getInputStream();
 		} else {
 			throw new IOException("No Disk Space");
@@ -492,6 +673,24 @@ public class SoftwareUpdateHandler extends BaseService {
 
 	}
 
+	private URLConnection openConnection(String url) throws IOException {
+		URLConnection connection = new URL(url).openConnection();
+		if (connection instanceof HttpURLConnection) {
+			try {
+				RestClientUtil.configureSsl((HttpURLConnection) connection);
+			} catch (GeneralSecurityException generalSecurityException) {
+				throw new IOException("Unable to configure SSL for " + url, generalSecurityException);
+			}
+		}
+
+		connection.setConnectTimeout(
+				Integer.valueOf(getGlobalConfigValueOf(RegistrationConstants.HTTP_API_WRITE_TIMEOUT)));
+
+		connection.setReadTimeout(Integer.valueOf(getGlobalConfigValueOf(RegistrationConstants.HTTP_API_READ_TIMEOUT)));
+
+		return connection;
+	}
+
 	public void setLatestVersionReleaseTimestamp(String latestVersionReleaseTimestamp) {
 		this.latestVersionReleaseTimestamp = latestVersionReleaseTimestamp;
 	}
@@ -660,7 +859,7 @@ public class SoftwareUpdateHandler extends BaseService {
 
 	}
 
-	private void rollBackSetup(File backUpFolder) throws io.mosip.kernel.core.exception.IOException {
+	private void rollBackSetup(File backUpFolder) throws io.mosip.kernel.core.exception.IOException, IOException {
 		LOGGER.info(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID,
 				"Replacing Backup of current version started");
 		// TODO Working in Ecllipse but not in zip
@@ -676,8 +875,9 @@ public class SoftwareUpdateHandler extends BaseService {
 		 * FileUtils.getFile(FilenameUtils.getName(manifestFile)));
 		 */
 
-		FileUtils.copyDirectory(new File(backUpFolder.getAbsolutePath() + SLASH + binFolder), new File(binFolder));
-		FileUtils.copyDirectory(new File(backUpFolder.getAbsolutePath() + SLASH + libFolder), new File(libFolder));
+		// the backup is linked to the jars left unchanged, copying over them would truncate the backup
+		linkDirectory(new File(backUpFolder.getAbsolutePath() + SLASH + binFolder), new File(binFolder));
+		linkDirectory(new File(backUpFolder.getAbsolutePath() + SLASH + libFolder), new File(libFolder));
 
 		FileUtils.copyFile(new File(backUpFolder.getAbsolutePath() + SLASH + manifestFile), new File(manifestFile));
 		LOGGER.info(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID,
@@ -706,6 +906,11 @@ public class SoftwareUpdateHandler extends BaseService {
 						LOGGER.error(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID,
 								exception.getMessage() + ExceptionUtils.getStackTrace(exception));
 
+						setErrorResponse(responseDTO, RegistrationConstants.BACKUP_PREVIOUS_FAILURE, null);
+					} catch (IOException exception) {
+						LOGGER.error(LoggerConstants.LOG_REG_UPDATE, APPLICATION_NAME, APPLICATION_ID,
+								exception.getMessage() + ExceptionUtils.getStackTrace(exception));
+
 						setErrorResponse(responseDTO, RegistrationConstants.BACKUP_PREVIOUS_FAILURE, null);
 					}
 					break;
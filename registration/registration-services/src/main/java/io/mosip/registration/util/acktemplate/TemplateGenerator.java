@@ -10,17 +10,22 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -28,8 +33,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.ResourceBundle;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import javax.imageio.ImageIO;
@@ -37,6 +44,12 @@ import javax.imageio.ImageIO;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.binary.StringUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.velocity.Template;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.RuntimeInstance;
+import org.apache.velocity.runtime.log.NullLogChute;
+import org.apache.velocity.runtime.parser.ParseException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 
@@ -49,6 +62,7 @@ import io.mosip.kernel.core.qrcodegenerator.spi.QrCodeGenerator;
 import io.mosip.kernel.core.templatemanager.spi.TemplateManager;
 import io.mosip.kernel.core.templatemanager.spi.TemplateManagerBuilder;
 import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.kernel.core.util.HMACUtils2;
 import io.mosip.kernel.qrcode.generator.zxing.constant.QrVersion;
 import io.mosip.registration.config.AppConfig;
 import io.mosip.registration.constants.RegistrationClientStatusCode;
@@ -59,6 +73,7 @@ import io.mosip.registration.dto.RegistrationDTO;
 import io.mosip.registration.dto.ResponseDTO;
 import io.mosip.registration.dto.UiSchemaDTO;
 import io.mosip.registration.dto.packetmanager.BiometricsDto;
+import io.mosip.registration.dto.packetmanager.DocumentDto;
 import io.mosip.registration.entity.SyncControl;
 import io.mosip.registration.entity.SyncJobDef;
 import io.mosip.registration.entity.UserDetail;
@@ -77,6 +92,13 @@ import io.mosip.registration.update.SoftwareUpdateHandler;
 /**
  * Generates Velocity Template for the creation of acknowledgement
  *
+ * <p>
+ * The acknowledgement and preview templates are compiled once for each
+ * template text and language, and the icons are encoded once. The applicant
+ * demographic and document sections, and the QR code, are built for the
+ * preview and reused by the acknowledgement unless the registration changed.
+ * </p>
+ *
  * @author Himaja Dhanyamraju
  *
  */
@@ -122,6 +144,19 @@ public class TemplateGenerator extends BaseService {
 
 	private String guidelines;
 
+	/** Compiled acknowledgement templates, by language and hash of the template text */
+	private final Map<String, Template> compiledTemplates = new ConcurrentHashMap<>();
+
+	/** Base64 encoded icons, by resource path */
+	private final Map<String, String> encodedImages = new ConcurrentHashMap<>();
+
+	private RuntimeInstance velocityRuntime;
+
+	/** QR code of the last registration, by the encoded text */
+	private volatile SimpleImmutableEntry<String, String> lastQRCode;
+
+	private volatile ApplicantSections lastApplicantSections;
+
 	public String getGuidelines() {
 		return guidelines;
 	}
@@ -138,6 +173,16 @@ public class TemplateGenerator extends BaseService {
 		this.consentText = consentText;
 	}
 
+	/**
+	 * Merges the acknowledgement or preview template with the registration.
+	 *
+	 * @param templateText           the Velocity template, compiled on first use
+	 * @param registration           the registration
+	 * @param templateManagerBuilder not used, the templates are compiled and kept
+	 *                               by this class
+	 * @param templateType           the acknowledgement or preview template type
+	 * @return the merged template in the response map
+	 */
 	public ResponseDTO generateTemplate(String templateText, RegistrationDTO registration, TemplateManagerBuilder
 			templateManagerBuilder, String templateType) throws RegBaseCheckedException {
 		ResponseDTO response = new ResponseDTO();
@@ -149,45 +194,34 @@ public class TemplateGenerator extends BaseService {
 			Map<String, Object> templateValues = new WeakHashMap<>();
 			boolean isPrevTemplate = templateType.equals(RegistrationConstants.ACKNOWLEDGEMENT_TEMPLATE) ? false : true;
 			ResourceBundle applicationLanguageProperties = ApplicationContext.applicationLanguageBundle();
-			InputStream is = new ByteArrayInputStream(templateText.getBytes(StandardCharsets.UTF_8));
 			List<UiSchemaDTO> schemaFields = getSchemaFields(registration.getIdSchemaVersion());
 
 			//Basic values
 			setBasicDetails(templateValues, registration, isPrevTemplate, applicationLanguageProperties, response);
 
-			Map<String, Map<String, Object>> demographicsData = new HashMap<>();
-			Map<String, Map<String, Object>> documentsData = new HashMap<>();
+			//Same for the preview and the acknowledgement
+			ApplicantSections applicantSections = getApplicantSections(registration, schemaFields);
+			if (applicantSections.exceptionImage != null) {
+				templateValues.put(RegistrationConstants.TEMPLATE_EXCEPTION_IMAGE_SOURCE, applicantSections.exceptionImage);
+			}
+
 			Map<String, Map<String, Object>> biometricsData = new HashMap<>();
 
 			for (UiSchemaDTO field : schemaFields) {
-				switch (field.getType()) {
-					case "documentType":
-						Map<String, Object> doc_data = getDocumentData(registration, field, templateValues);
-						if(doc_data != null) { documentsData.put(field.getId(), doc_data); }
-						break;
-
-					case "biometricsType":
-						Map<String, Object> bio_data = getBiometericData(registration, field, isPrevTemplate, templateValues,
-								applicationLanguageProperties);
-						if(bio_data != null) { biometricsData.put(field.getId(), bio_data); }
-						break;
-
-					default:
-						Map<String, Object> demo_data = getDemographicData(registration, field);
-						if(demo_data != null) { demographicsData.put(field.getId(), demo_data); }
-						break;
+				if ("biometricsType".equals(field.getType())) {
+					Map<String, Object> bio_data = getBiometericData(registration, field, isPrevTemplate, templateValues,
+							applicationLanguageProperties);
+					if(bio_data != null) { biometricsData.put(field.getId(), bio_data); }
 				}
 			}
-			templateValues.put("demographics", demographicsData);
-			templateValues.put("documents", documentsData);
+			templateValues.put("demographics", applicantSections.demographicsData);
+			templateValues.put("documents", applicantSections.documentsData);
 			templateValues.put("biometrics", biometricsData);
 
 			LOGGER.debug(LOG_TEMPLATE_GENERATOR, APPLICATION_NAME, APPLICATION_ID,
-					"merge method of TemplateManager had been called for preparing Acknowledgement Template.");
+					"merge method of compiled template had been called for preparing Acknowledgement Template.");
 			Writer writer = new StringWriter();
-			TemplateManager templateManager = templateManagerBuilder.build();
-			InputStream inputStream = templateManager.merge(is, templateValues);
-			IOUtils.copy(inputStream, writer, StandardCharsets.UTF_8);
+			getCompiledTemplate(templateText).merge(new VelocityContext(templateValues), writer);
 			LOGGER.debug(LOG_TEMPLATE_GENERATOR, APPLICATION_NAME, APPLICATION_ID,
 					"generateTemplate method has been ended for preparing Acknowledgement Template.");
 
@@ -195,14 +229,122 @@ public class TemplateGenerator extends BaseService {
 			responseMap.put(RegistrationConstants.TEMPLATE_NAME, writer);
 			setSuccessResponse(response, RegistrationConstants.SUCCESS, responseMap);
 
-		} catch (RuntimeException | IOException runtimeException) {
+		} catch (RuntimeException | ParseException | NoSuchAlgorithmException exception) {
 			setErrorResponse(response, RegistrationConstants.TEMPLATE_GENERATOR_ACK_RECEIPT_EXCEPTION, null);
 			LOGGER.error(LOG_TEMPLATE_GENERATOR, APPLICATION_NAME, APPLICATION_ID,
-					runtimeException.getMessage() + ExceptionUtils.getStackTrace(runtimeException));
+					exception.getMessage() + ExceptionUtils.getStackTrace(exception));
 		}
 		return response;
 	}
 
+	/**
+	 * @return the template compiled for the application language
+	 */
+	private Template getCompiledTemplate(String templateText) throws ParseException, NoSuchAlgorithmException {
+		String templateName = ApplicationContext.applicationLanguage() + "-"
+				+ HMACUtils2.digestAsPlainText(templateText.getBytes(StandardCharsets.UTF_8));
+		Template template = compiledTemplates.get(templateName);
+		if (template == null) {
+			LOGGER.info(LOG_TEMPLATE_GENERATOR, APPLICATION_NAME, APPLICATION_ID,
+					"Compiling acknowledgement template " + templateName);
+			RuntimeInstance runtime = getVelocityRuntime();
+			template = new Template();
+			template.setRuntimeServices(runtime);
+			template.setName(templateName);
+			template.setData(runtime.parse(new StringReader(templateText), templateName));
+			template.initDocument();
+			compiledTemplates.put(templateName, template);
+		}
+		return template;
+	}
+
+	private synchronized RuntimeInstance getVelocityRuntime() {
+		if (velocityRuntime == null) {
+			Properties properties = new Properties();
+			properties.put(RuntimeConstants.INPUT_ENCODING, StandardCharsets.UTF_8.name());
+			properties.put(RuntimeConstants.OUTPUT_ENCODING, StandardCharsets.UTF_8.name());
+			properties.put(RuntimeConstants.RUNTIME_LOG_LOGSYSTEM_CLASS, NullLogChute.class.getName());
+			RuntimeInstance runtime = new RuntimeInstance();
+			runtime.init(properties);
+			velocityRuntime = runtime;
+		}
+		return velocityRuntime;
+	}
+
+	/**
+	 * Builds the demographic and document sections, or returns the ones built
+	 * for the same registration details by the previous call.
+	 */
+	private ApplicantSections getApplicantSections(RegistrationDTO registration, List<UiSchemaDTO> schemaFields) {
+		List<Object> key = getApplicantSectionsKey(registration);
+		ApplicantSections applicantSections = lastApplicantSections;
+		if (applicantSections != null && applicantSections.key.equals(key)) {
+			return applicantSections;
+		}
+
+		Map<String, Object> sectionValues = new HashMap<>();
+		Map<String, Map<String, Object>> demographicsData = new HashMap<>();
+		Map<String, Map<String, Object>> documentsData = new HashMap<>();
+		for (UiSchemaDTO field : schemaFields) {
+			switch (field.getType()) {
+				case "documentType":
+					Map<String, Object> doc_data = getDocumentData(registration, field, sectionValues);
+					if(doc_data != null) { documentsData.put(field.getId(), doc_data); }
+					break;
+
+				case "biometricsType":
+					break;
+
+				default:
+					Map<String, Object> demo_data = getDemographicData(registration, field);
+					if(demo_data != null) { demographicsData.put(field.getId(), demo_data); }
+					break;
+			}
+		}
+
+		applicantSections = new ApplicantSections(key, Collections.unmodifiableMap(demographicsData),
+				Collections.unmodifiableMap(documentsData),
+				(String) sectionValues.get(RegistrationConstants.TEMPLATE_EXCEPTION_IMAGE_SOURCE));
+		lastApplicantSections = applicantSections;
+		return applicantSections;
+	}
+
+	/**
+	 * @return the values the applicant sections are built from
+	 */
+	private List<Object> getApplicantSectionsKey(RegistrationDTO registration) {
+		Map<String, List<Object>> documents = new HashMap<>();
+		for (Entry<String, DocumentDto> document : registration.getDocuments().entrySet()) {
+			DocumentDto documentDto = document.getValue();
+			documents.put(document.getKey(), documentDto == null ? null
+					: Arrays.asList(documentDto.getType(), documentDto.getCategory(), documentDto.getValue(),
+							documentDto.getFormat(), documentDto.getRefNumber(),
+							documentDto.getDocument() == null ? null : ByteBuffer.wrap(documentDto.getDocument())));
+		}
+		return Arrays.asList(registration.getIdSchemaVersion(), ApplicationContext.applicationLanguage(),
+				ApplicationContext.localLanguage(), new HashMap<>(registration.getDemographics()), documents);
+	}
+
+	/**
+	 * Demographic and document sections of the template, which do not differ
+	 * between the preview and the acknowledgement
+	 */
+	private static final class ApplicantSections {
+
+		private final List<Object> key;
+		private final Map<String, Map<String, Object>> demographicsData;
+		private final Map<String, Map<String, Object>> documentsData;
+		private final String exceptionImage;
+
+		private ApplicantSections(List<Object> key, Map<String, Map<String, Object>> demographicsData,
+				Map<String, Map<String, Object>> documentsData, String exceptionImage) {
+			this.key = key;
+			this.demographicsData = demographicsData;
+			this.documentsData = documentsData;
+			this.exceptionImage = exceptionImage;
+		}
+	}
+
 	private Map<String, Object> getBiometericData(RegistrationDTO registration, UiSchemaDTO field, boolean isPrevTemplate,
 												  Map<String, Object> templateValues, ResourceBundle applicationLanguageProperties)
 			throws RegBaseCheckedException {
@@ -483,9 +625,16 @@ public class TemplateGenerator extends BaseService {
 	}
 
 	private String getEncodedImage(String imagePath, String encoding) throws RegBaseCheckedException {
+		String cacheKey = encoding + imagePath;
+		String encodedImage = encodedImages.get(cacheKey);
+		if (encodedImage != null) {
+			return encodedImage;
+		}
 		try {
 			byte[] bytes = IOUtils.toByteArray(this.getClass().getResourceAsStream(imagePath));
-			return encoding + StringUtils.newStringUtf8(Base64.encodeBase64(bytes, false));
+			encodedImage = encoding + StringUtils.newStringUtf8(Base64.encodeBase64(bytes, false));
+			encodedImages.put(cacheKey, encodedImage);
+			return encodedImage;
 		} catch (IOException ioException) {
 			LOGGER.error(LOG_TEMPLATE_GENERATOR, APPLICATION_NAME, APPLICATION_ID,
 					ioException.getMessage() + ExceptionUtils.getStackTrace(ioException));
@@ -499,10 +648,15 @@ public class TemplateGenerator extends BaseService {
 			StringBuilder qrCodeString = new StringBuilder();
 			qrCodeString.append(applicationLanguageProperties.getString("registrationid")).append(" : ").append("\n")
 					.append(registration.getRegistrationId());
-			byte[] qrCodeInBytes = qrCodeGenerator.generateQrCode(qrCodeString.toString(), QrVersion.V4);
-			String qrCodeImageEncodedBytes = StringUtils.newStringUtf8(Base64.encodeBase64(qrCodeInBytes, false));
-			templateValues.put(RegistrationConstants.TEMPLATE_QRCODE_SOURCE,
-					RegistrationConstants.TEMPLATE_PNG_IMAGE_ENCODING + qrCodeImageEncodedBytes);
+			SimpleImmutableEntry<String, String> qrCode = lastQRCode;
+			if (qrCode == null || !qrCode.getKey().equals(qrCodeString.toString())) {
+				byte[] qrCodeInBytes = qrCodeGenerator.generateQrCode(qrCodeString.toString(), QrVersion.V4);
+				String qrCodeImageEncodedBytes = StringUtils.newStringUtf8(Base64.encodeBase64(qrCodeInBytes, false));
+				qrCode = new SimpleImmutableEntry<>(qrCodeString.toString(),
+						RegistrationConstants.TEMPLATE_PNG_IMAGE_ENCODING + qrCodeImageEncodedBytes);
+				lastQRCode = qrCode;
+			}
+			templateValues.put(RegistrationConstants.TEMPLATE_QRCODE_SOURCE, qrCode.getValue());
 		} catch (QrcodeGenerationException | IOException exception) {
 			LOGGER.error(LOG_TEMPLATE_GENERATOR, APPLICATION_NAME, APPLICATION_ID, ExceptionUtils.getStackTrace(exception));
 			throw  new RegBaseCheckedException(RegistrationConstants.TEMPLATE_GENERATOR_ACK_RECEIPT_EXCEPTION, exception.getMessage());
@@ -596,6 +750,14 @@ public class TemplateGenerator extends BaseService {
 	}
 
 	private String getImage(String imagePath) {
+		if (imagePath == null) {
+			return RegistrationConstants.EMPTY;
+		}
+		// also kept when missing, the resources do not change while running
+		return encodedImages.computeIfAbsent(imagePath, this::readImage);
+	}
+
+	private String readImage(String imagePath) {
 		try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();) {
 			if(imagePath != null) {
 				LOGGER.info(LOG_TEMPLATE_GENERATOR, APPLICATION_NAME, APPLICATION_ID, "setting image >> " + imagePath);
@@ -3,33 +3,27 @@ package io.mosip.registration.util.advice;
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.*;
-
-import io.mosip.commons.packet.constants.CryptomanagerConstant;
-import io.mosip.kernel.core.exception.BaseCheckedException;
-import io.mosip.kernel.core.exception.BaseUncheckedException;
-import io.mosip.kernel.core.keymanager.exception.KeystoreProcessingException;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
 import io.mosip.kernel.core.util.CryptoUtil;
-import io.mosip.kernel.core.util.DateUtils;
 import io.mosip.kernel.keymanagerservice.dto.KeyPairGenerateResponseDto;
-import io.mosip.kernel.keymanagerservice.exception.KeymanagerServiceException;
-import io.mosip.kernel.keymanagerservice.exception.NoUniqueAliasException;
 import io.mosip.kernel.signature.dto.JWTSignatureVerifyRequestDto;
 import io.mosip.kernel.signature.dto.JWTSignatureVerifyResponseDto;
-import io.mosip.kernel.signature.dto.TimestampRequestDto;
 import io.mosip.kernel.signature.service.SignatureService;
-import io.mosip.registration.service.sync.PublicKeySync;
 import io.mosip.registration.service.sync.impl.PublicKeySyncImpl;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
@@ -37,10 +31,7 @@ import org.springframework.stereotype.Component;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.mosip.commons.packet.spi.IPacketCryptoService;
-import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.logger.spi.Logger;
-import io.mosip.kernel.keymanagerservice.dto.UploadCertificateRequestDto;
 import io.mosip.kernel.keymanagerservice.service.KeymanagerService;
 import io.mosip.registration.config.AppConfig;
 import io.mosip.registration.constants.LoggerConstants;
@@ -54,6 +45,13 @@ import org.springframework.web.util.UriComponentsBuilder;
  * All the responses of the rest call services which are invoking from the
  * reg-client will get signed from this class.
  * 
+ * <p>
+ * The signature is verified against the response body as received from the
+ * server. The certificate to verify with is kept in memory for
+ * <code>mosip.registration.response-signature.certificate-cache-millis</code>,
+ * so concurrent sync calls do not wait on each other or on the key store.
+ * </p>
+ * 
  * @author Sreekar Chukka
  * @since 1.0.0
  *
@@ -65,6 +63,8 @@ public class ResponseSignatureAdvice {
 	/** The Constant LOGGER. */
 	private static final Logger LOGGER = AppConfig.getLogger(ResponseSignatureAdvice.class);
 
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
 	private static final String CERTIFICATE_API_PATH = "/v1/syncdata/getCertificate";
 	private static final List<String> IGNORE_ERROR_CODES = new ArrayList<String>();
 
@@ -79,6 +79,9 @@ public class ResponseSignatureAdvice {
 	@Value("${mosip.sign.refid:SIGN}")
 	private String signRefId;
 
+	@Value("${mosip.registration.response-signature.certificate-cache-millis:3600000}")
+	private long certificateCacheMillis;
+
 	@Autowired
     private SignatureService signatureService;
 	
@@ -88,6 +91,12 @@ public class ResponseSignatureAdvice {
 	@Autowired
 	private PublicKeySyncImpl publicKeySync;
 
+	/** Certificates by application and reference id. */
+	private final Map<String, CachedCertificate> certificates = new ConcurrentHashMap<>();
+
+	/** Verification latency by service path. */
+	private final Map<String, VerificationStats> verificationStats = new ConcurrentHashMap<>();
+
 	/**
 	 * <p>
 	 * It is an after returning method in which for each and everytime after
@@ -114,7 +123,7 @@ public class ResponseSignatureAdvice {
 	 */
 	@SuppressWarnings("unchecked")
 	@AfterReturning(pointcut = "execution(* io.mosip.registration.util.restclient.RestClientUtil.invoke(..))", returning = "result")
-	public synchronized Map<String, Object> responseSignatureValidation(JoinPoint joinPoint, Object result)
+	public Map<String, Object> responseSignatureValidation(JoinPoint joinPoint, Object result)
 			throws RegBaseCheckedException {
 
 		LOGGER.info(LoggerConstants.RESPONSE_SIGNATURE_VALIDATION, APPLICATION_ID, APPLICATION_NAME,
@@ -140,12 +149,25 @@ public class ResponseSignatureAdvice {
 
 				responseHeader = (HttpHeaders) restClientResponse.get(RegistrationConstants.REST_RESPONSE_HEADERS);
 
-				if (isResponseSignatureValid(responseHeader.get(RegistrationConstants.RESPONSE_SIGNATURE).get(0),
-						new ObjectMapper().writeValueAsString(responseBodyMap)) ) {
-					LOGGER.info("Response signature is valid... {}", requestDto.getUri());
+				// a response read without its raw body is verified against its serialization
+				byte[] actualData = (byte[]) restClientResponse.remove(RegistrationConstants.REST_RESPONSE_RAW_BODY);
+				if (actualData == null) {
+					actualData = OBJECT_MAPPER.writeValueAsBytes(responseBodyMap);
+				}
+
+				long startTime = System.nanoTime();
+				boolean isSignatureValid = isResponseSignatureValid(
+						responseHeader.get(RegistrationConstants.RESPONSE_SIGNATURE).get(0), actualData);
+				long latency = recordLatency(requestDto, startTime, isSignatureValid);
+
+				if (isSignatureValid) {
+					LOGGER.info(LoggerConstants.RESPONSE_SIGNATURE_VALIDATION, APPLICATION_ID, APPLICATION_NAME,
+							"Response signature is valid for " + requestDto.getUri().getPath() + " in " + latency
+									+ " ms");
 					return restClientResponse;
 				} else {
-					LOGGER.info("Response signature is Invalid... {}", requestDto.getUri());
+					LOGGER.info(LoggerConstants.RESPONSE_SIGNATURE_VALIDATION, APPLICATION_ID, APPLICATION_NAME,
+							"Response signature is invalid for " + requestDto.getUri().getPath());
 					restClientResponse.put(RegistrationConstants.REST_RESPONSE_BODY, new LinkedHashMap<>());
 					restClientResponse.put(RegistrationConstants.REST_RESPONSE_HEADERS, new LinkedHashMap<>());
 				}
@@ -162,20 +184,68 @@ public class ResponseSignatureAdvice {
 
 	}
 
-	private boolean isResponseSignatureValid(String signature, String actualData) {
-		KeyPairGenerateResponseDto certificateDto = keymanagerService
-				.getCertificate(RegistrationConstants.RESPONSE_SIGNATURE_PUBLIC_KEY_APP_ID,
-						Optional.of(RegistrationConstants.RESPONSE_SIGNATURE_PUBLIC_KEY_REF_ID));
+	/**
+	 * Gives the verification latency of the signed responses by service path.
+	 * 
+	 * @return the verification statistics, not modifiable
+	 */
+	public Map<String, VerificationStats> getVerificationStats() {
+		return Collections.unmodifiableMap(verificationStats);
+	}
+
+	/**
+	 * Drops the cached certificates, the next signed response reads them from the
+	 * key store again.
+	 */
+	public void invalidateCertificates() {
+		certificates.clear();
+	}
 
+	private boolean isResponseSignatureValid(String signature, byte[] actualData) {
 		JWTSignatureVerifyRequestDto jwtSignatureVerifyRequestDto = new JWTSignatureVerifyRequestDto();
 		jwtSignatureVerifyRequestDto.setJwtSignatureData(signature);
-		System.out.println("actualData: "+actualData.length());
-		LOGGER.info("actualData: ... {}", actualData.length());
-		jwtSignatureVerifyRequestDto.setActualData(CryptoUtil.encodeBase64(actualData.getBytes(StandardCharsets.UTF_8)));
-		jwtSignatureVerifyRequestDto.setCertificateData(certificateDto.getCertificate());
+		jwtSignatureVerifyRequestDto.setActualData(CryptoUtil.encodeBase64(actualData));
+
+		CachedCertificate certificate = getCertificate(RegistrationConstants.RESPONSE_SIGNATURE_PUBLIC_KEY_APP_ID,
+				RegistrationConstants.RESPONSE_SIGNATURE_PUBLIC_KEY_REF_ID);
+		jwtSignatureVerifyRequestDto.setCertificateData(certificate.certificate);
+		JWTSignatureVerifyResponseDto verifyResponseDto = signatureService.jwtVerify(jwtSignatureVerifyRequestDto);
+		if (verifyResponseDto.isSignatureValid() || !certificate.cached) {
+			return verifyResponseDto.isSignatureValid();
+		}
 
-		JWTSignatureVerifyResponseDto verifyResponseDto =  signatureService.jwtVerify(jwtSignatureVerifyRequestDto);
-		return verifyResponseDto.isSignatureValid();
+		// the sign key may have been rotated since the certificate was cached
+		certificates.remove(certificate.key);
+		certificate = getCertificate(RegistrationConstants.RESPONSE_SIGNATURE_PUBLIC_KEY_APP_ID,
+				RegistrationConstants.RESPONSE_SIGNATURE_PUBLIC_KEY_REF_ID);
+		jwtSignatureVerifyRequestDto.setCertificateData(certificate.certificate);
+		return signatureService.jwtVerify(jwtSignatureVerifyRequestDto).isSignatureValid();
+	}
+
+	private CachedCertificate getCertificate(String applicationId, String referenceId) {
+		String key = applicationId + ":" + referenceId;
+		long now = System.currentTimeMillis();
+		CachedCertificate certificate = certificates.get(key);
+		if (certificate != null && certificate.expiryTime > now) {
+			return certificate;
+		}
+
+		KeyPairGenerateResponseDto certificateDto = keymanagerService.getCertificate(applicationId,
+				Optional.of(referenceId));
+		long expiryTime = now + certificateCacheMillis;
+		if (certificateDto.getExpiryAt() != null) {
+			expiryTime = Math.min(expiryTime, certificateDto.getExpiryAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+		}
+		certificate = new CachedCertificate(key, certificateDto.getCertificate(), expiryTime);
+		certificates.put(key, certificate);
+		return new CachedCertificate(key, certificate.certificate, expiryTime, false);
+	}
+
+	private long recordLatency(RequestHTTPDTO requestDto, long startTime, boolean isSignatureValid) {
+		long latency = (System.nanoTime() - startTime) / 1000000;
+		String service = requestDto.getUri() == null ? "" : requestDto.getUri().getPath();
+		verificationStats.computeIfAbsent(service, key -> new VerificationStats()).record(latency, isSignatureValid);
+		return latency;
 	}
 
 	/**
@@ -198,6 +268,81 @@ public class ResponseSignatureAdvice {
 			}
 
 			publicKeySync.saveSignPublicKey(resp.get(RegistrationConstants.CERTIFICATE).toString());
+			invalidateCertificates();
+		}
+	}
+
+	/** A certificate read from the key store. */
+	private static final class CachedCertificate {
+
+		private final String key;
+
+		private final String certificate;
+
+		private final long expiryTime;
+
+		/** <code>false</code> if just read from the key store. */
+		private final boolean cached;
+
+		private CachedCertificate(String key, String certificate, long expiryTime) {
+			this(key, certificate, expiryTime, true);
+		}
+
+		private CachedCertificate(String key, String certificate, long expiryTime, boolean cached) {
+			this.key = key;
+			this.certificate = certificate;
+			this.expiryTime = expiryTime;
+			this.cached = cached;
+		}
+	}
+
+	/**
+	 * Latency of the response signature verification of one service.
+	 */
+	public static final class VerificationStats {
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder invalidCount = new LongAdder();
+
+		private final LongAdder totalMillis = new LongAdder();
+
+		private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0);
+
+		private void record(long millis, boolean isSignatureValid) {
+			count.increment();
+			totalMillis.add(millis);
+			maxMillis.accumulate(millis);
+			if (!isSignatureValid) {
+				invalidCount.increment();
+			}
+		}
+
+		public long getCount() {
+			return count.sum();
+		}
+
+		public long getInvalidCount() {
+			return invalidCount.sum();
+		}
+
+		public long getTotalMillis() {
+			return totalMillis.sum();
+		}
+
+		public long getMaxMillis() {
+			return maxMillis.get();
+		}
+
+		public double getAverageMillis() {
+			long verifications = count.sum();
+			return verifications == 0 ? 0 : (double) totalMillis.sum() / verifications;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("count=%d, invalid=%d, avg=%.1f ms, max=%d ms", getCount(), getInvalidCount(),
+					getAverageMillis(), getMaxMillis());
 		}
 	}
 
@@ -79,6 +79,7 @@ public class RestClientAuthAdvice {
 	 */
 	@Around("execution(* io.mosip.registration.util.restclient.RestClientUtil.invoke(..))")
 	public Object addAuthZToken(ProceedingJoinPoint joinPoint) throws RegBaseCheckedException {
+		String authZToken = null;
 		try {
 			LOGGER.info(LoggerConstants.AUTHZ_ADVICE, APPLICATION_ID, APPLICATION_NAME,
 					"Adding authZ token to web service request header if required");
@@ -90,16 +91,17 @@ public class RestClientAuthAdvice {
 			}
 
 			if (requestHTTPDTO.isAuthRequired()) {
-				String authZToken = getAuthZToken(requestHTTPDTO);
+				authZToken = getAuthZToken(requestHTTPDTO);
 				setAuthHeaders(requestHTTPDTO.getHttpHeaders(), requestHTTPDTO.getAuthZHeader(), authZToken);
 			}
 
 			requestHTTPDTO.setHttpEntity(new HttpEntity<>(requestHTTPDTO.getRequestBody(), requestHTTPDTO.getHttpHeaders()));
 			Object response = joinPoint.proceed(joinPoint.getArgs());
 
-			if (handleInvalidTokenFromResponse(response, joinPoint)) {
+			if (handleInvalidTokenFromResponse(response)) {
 				LOGGER.info(LoggerConstants.AUTHZ_ADVICE, APPLICATION_ID, APPLICATION_NAME,
 						"Found invalid token error, retrying with new token");
+				setNewAuthZToken(requestHTTPDTO, authZToken);
 				return joinPoint.proceed(joinPoint.getArgs());
 			}
 
@@ -113,7 +115,7 @@ public class RestClientAuthAdvice {
 					|| 401 == httpClientErrorException.getRawStatusCode()) {
 				try {
 					RequestHTTPDTO requestHTTPDTO = (RequestHTTPDTO) joinPoint.getArgs()[0];
-					getAuthZToken(requestHTTPDTO);
+					setNewAuthZToken(requestHTTPDTO, authZToken);
 					return joinPoint.proceed(joinPoint.getArgs());
 				} catch (RegBaseCheckedException regBaseCheckedException) {
 					throw regBaseCheckedException;
@@ -179,6 +181,29 @@ public class RestClientAuthAdvice {
 		return authZToken.getCookie();
 	}
 
+	/**
+	 * Replaces the token the server rejected in the request with a new one. The
+	 * new token is fetched once for all the calls rejected together.
+	 *
+	 * @param requestHTTPDTO
+	 *            the rejected request
+	 * @param rejectedAuthZToken
+	 *            the token sent with the request
+	 * @throws RegBaseCheckedException
+	 *             if no new token could be fetched
+	 */
+	private void setNewAuthZToken(RequestHTTPDTO requestHTTPDTO, String rejectedAuthZToken)
+			throws RegBaseCheckedException {
+		String authZToken = authTokenUtilService
+				.fetchNewAuthToken(requestHTTPDTO.getTriggerPoint(), rejectedAuthZToken).getCookie();
+		if (requestHTTPDTO.isAuthRequired() && requestHTTPDTO.getHttpHeaders() != null) {
+			requestHTTPDTO.getHttpHeaders().remove(RegistrationConstants.COOKIE);
+			setAuthHeaders(requestHTTPDTO.getHttpHeaders(), requestHTTPDTO.getAuthZHeader(), authZToken);
+			requestHTTPDTO.setHttpEntity(
+					new HttpEntity<>(requestHTTPDTO.getRequestBody(), requestHTTPDTO.getHttpHeaders()));
+		}
+	}
+
 	/*private String getAuthZToken(RequestHTTPDTO requestHTTPDTO, boolean haveToAuthZByClientId)
 			throws RegBaseCheckedException {
 		LOGGER.info(LoggerConstants.AUTHZ_ADVICE, APPLICATION_ID, APPLICATION_NAME, "Getting authZ token");
@@ -282,18 +307,13 @@ public class RestClientAuthAdvice {
 				"Completed adding request signature to request header completed");
 	}
 
-	private boolean handleInvalidTokenFromResponse(Object response, ProceedingJoinPoint joinPoint)
-			throws RegBaseCheckedException {
+	private boolean handleInvalidTokenFromResponse(Object response) {
 		LOGGER.info(LoggerConstants.AUTHZ_ADVICE, APPLICATION_ID, APPLICATION_NAME,
 				"Entering into the invalid token check");
 		if (response != null && (StringUtils.containsIgnoreCase(response.toString(), TOKEN_EXPIRED) || 
 				StringUtils.containsIgnoreCase(response.toString(), INVALID_TOKEN_STRING))) {
 			LOGGER.info(LoggerConstants.AUTHZ_ADVICE, APPLICATION_ID, APPLICATION_NAME,
 					"Old Token got expired for the token  " +  response);
-			RequestHTTPDTO requestHTTPDTO = (RequestHTTPDTO) joinPoint.getArgs()[0];
-			LOGGER.info(LoggerConstants.AUTHZ_ADVICE, APPLICATION_ID, APPLICATION_NAME,
-					"Creating the new token ");
-			getAuthZToken(requestHTTPDTO);
 			return true;
 		}
 		LOGGER.info(LoggerConstants.AUTHZ_ADVICE, APPLICATION_ID, APPLICATION_NAME,
@@ -0,0 +1,231 @@
+package io.mosip.registration.util.healthcheck;
+
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.registration.config.AppConfig;
+import io.mosip.registration.config.DaoConfig;
+
+/**
+ * Keeps the connectivity to the server up to date by probing the health check
+ * url on a background thread, so that
+ * {@link RegistrationAppHealthCheckUtil#isNetworkAvailable()} only reads the
+ * last known state.
+ *
+ * <p>
+ * The health check is probed every
+ * <code>mosip.registration.connectivity.probe-interval-millis</code>, more
+ * often while offline, and right away when a REST call failed to reach the
+ * server.
+ * </p>
+ *
+ * @since 1.1.5
+ */
+@Component
+public class ConnectivityMonitor {
+
+	private static final Logger LOGGER = AppConfig.getLogger(ConnectivityMonitor.class);
+
+	private static final String LOG_CONNECTIVITY = "REGISTRATION - CONNECTIVITY_MONITOR";
+
+	/**
+	 * Connectivity to the server.
+	 */
+	public enum State {
+		/** The health check answered in time. */
+		ONLINE,
+		/** The health check answered, but slower than the degraded threshold. */
+		DEGRADED,
+		/** The health check could not be reached or did not answer OK. */
+		OFFLINE
+	}
+
+	@Value("${mosip.registration.connectivity.probe-interval-millis:30000}")
+	private long probeInterval;
+
+	@Value("${mosip.registration.connectivity.offline-probe-interval-millis:10000}")
+	private long offlineProbeInterval;
+
+	@Value("${mosip.registration.connectivity.probe-timeout-millis:5000}")
+	private int probeTimeout;
+
+	@Value("${mosip.registration.connectivity.degraded-threshold-millis:2000}")
+	private long degradedThreshold;
+
+	private String healthCheckUrl;
+
+	private volatile State state = State.OFFLINE;
+
+	private volatile long lastProbeTime;
+
+	private volatile long lastChangeTime;
+
+	private volatile long lastLatency;
+
+	private final CountDownLatch firstProbe = new CountDownLatch(1);
+
+	private ScheduledExecutorService probeExecutor;
+
+	private ScheduledFuture<?> nextProbe;
+
+	@PostConstruct
+	public void start() {
+		try (InputStream keyStream = DaoConfig.class.getClassLoader().getResourceAsStream("spring.properties")) {
+			Properties keys = new Properties();
+			keys.load(keyStream);
+			healthCheckUrl = RegistrationAppHealthCheckUtil
+					.prepareURLByHostName(keys.getProperty("mosip.reg.healthcheck.url"));
+		} catch (IOException | RuntimeException exception) {
+			LOGGER.error(LOG_CONNECTIVITY, APPLICATION_NAME, APPLICATION_ID,
+					"Health check url not found : " + ExceptionUtils.getStackTrace(exception));
+		}
+		start(healthCheckUrl);
+	}
+
+	/**
+	 * Starts probing the given health check url.
+	 *
+	 * @param healthCheckUrl
+	 *            the health check url
+	 */
+	public synchronized void start(String healthCheckUrl) {
+		this.healthCheckUrl = healthCheckUrl;
+		if (probeExecutor == null) {
+			probeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "connectivity-monitor");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		scheduleProbe(0);
+		RegistrationAppHealthCheckUtil.setConnectivityMonitor(this);
+	}
+
+	@PreDestroy
+	public synchronized void stop() {
+		RegistrationAppHealthCheckUtil.setConnectivityMonitor(null);
+		if (probeExecutor != null) {
+			probeExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Checks if the server can be reached, without waiting on the network except
+	 * until the first probe after start is done.
+	 *
+	 * @return <code>true</code> if the state is {@link State#ONLINE} or
+	 *         {@link State#DEGRADED}
+	 */
+	public boolean isNetworkAvailable() {
+		if (firstProbe.getCount() > 0) {
+			try {
+				firstProbe.await(probeTimeout * 2L, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		return state != State.OFFLINE;
+	}
+
+	/**
+	 * Probes the health check right away, called when a REST call failed to reach
+	 * the server.
+	 */
+	public synchronized void probeNow() {
+		if (probeExecutor == null || probeExecutor.isShutdown()) {
+			return;
+		}
+		// a probe already due now is not scheduled again for each failed call
+		if (nextProbe != null && nextProbe.getDelay(TimeUnit.MILLISECONDS) <= 0) {
+			return;
+		}
+		scheduleProbe(0);
+	}
+
+	public State getState() {
+		return state;
+	}
+
+	/**
+	 * @return time of the last probe in milliseconds since the epoch, 0 before the
+	 *         first probe
+	 */
+	public long getLastProbeTime() {
+		return lastProbeTime;
+	}
+
+	/**
+	 * @return time of the last change of the state in milliseconds since the epoch
+	 */
+	public long getLastChangeTime() {
+		return lastChangeTime;
+	}
+
+	/**
+	 * @return duration of the last probe in milliseconds
+	 */
+	public long getLastLatency() {
+		return lastLatency;
+	}
+
+	private synchronized void scheduleProbe(long delay) {
+		if (nextProbe != null) {
+			nextProbe.cancel(false);
+		}
+		nextProbe = probeExecutor.schedule(this::probe, delay, TimeUnit.MILLISECONDS);
+	}
+
+	private void probe() {
+		long startTime = System.currentTimeMillis();
+		State probedState;
+		try {
+			int responseCode = RegistrationAppHealthCheckUtil.getResponseCode(healthCheckUrl, probeTimeout);
+			lastLatency = System.currentTimeMillis() - startTime;
+			if (responseCode != HttpURLConnection.HTTP_OK) {
+				probedState = State.OFFLINE;
+			} else {
+				probedState = lastLatency > degradedThreshold ? State.DEGRADED : State.ONLINE;
+			}
+		} catch (Exception exception) {
+			lastLatency = System.currentTimeMillis() - startTime;
+			probedState = State.OFFLINE;
+			if (state != State.OFFLINE) {
+				LOGGER.error(LOG_CONNECTIVITY, APPLICATION_NAME, APPLICATION_ID,
+						"Health check failed : " + exception.getMessage());
+			}
+		}
+
+		lastProbeTime = System.currentTimeMillis();
+		if (probedState != state || lastChangeTime == 0) {
+			LOGGER.info(LOG_CONNECTIVITY, APPLICATION_NAME, APPLICATION_ID,
+					"Connectivity changed from " + state + " to " + probedState + " in " + lastLatency + " ms");
+			state = probedState;
+			lastChangeTime = lastProbeTime;
+		}
+		firstProbe.countDown();
+
+		synchronized (this) {
+			if (!probeExecutor.isShutdown()) {
+				scheduleProbe(state == State.OFFLINE ? offlineProbeInterval : probeInterval);
+			}
+		}
+	}
+}
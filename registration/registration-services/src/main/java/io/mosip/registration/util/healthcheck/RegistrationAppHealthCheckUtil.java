@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.security.GeneralSecurityException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
@@ -50,6 +51,9 @@ public class RegistrationAppHealthCheckUtil {
 	
 	public static String mosipHostNamePlaceHolder = "${mosip.hostname}";
 
+	/** Background connectivity state, once the application context started it. */
+	private static volatile ConnectivityMonitor connectivityMonitor;
+
 	static {
 		systemInfo = new SystemInfo();
 		operatingSystem = systemInfo.getOperatingSystem();
@@ -66,16 +70,22 @@ public class RegistrationAppHealthCheckUtil {
 	 * This method checks the Internet connectivity across the application.
 	 * 
 	 * <p>
-	 * Creates a {@link HttpURLConnection} and opens a communications link to the
-	 * resource referenced by this URL. If the connection is established
-	 * successfully, this method will return true which indicates Internet Access
-	 * available, otherwise, it will return false, indicating Internet Access not
-	 * available.
+	 * Returns the state last probed by the {@link ConnectivityMonitor}. Until the
+	 * monitor is started, creates a {@link HttpURLConnection} and opens a
+	 * communications link to the resource referenced by this URL. If the
+	 * connection is established successfully, this method will return true which
+	 * indicates Internet Access available, otherwise, it will return false,
+	 * indicating Internet Access not available.
 	 * </p>
 	 *
 	 * @return true, if is network available and false, if it is not available.
 	 */
 	public static boolean isNetworkAvailable() {
+		ConnectivityMonitor monitor = connectivityMonitor;
+		if (monitor != null) {
+			return monitor.isNetworkAvailable();
+		}
+
 		LOGGER.info("REGISTRATION - REGISTRATION APP HEALTHCHECK UTIL - ISNETWORKAVAILABLE", APPLICATION_NAME,
 				APPLICATION_ID, "Registration Network Checker had been called.");
 
@@ -116,7 +126,6 @@ public class RegistrationAppHealthCheckUtil {
 			// serviceUrl = serviceUrl != null && System.getenv("mosip.hostname") != null
 			// ? serviceUrl.replace("${mosip.hostname}", System.getenv("mosip.hostname"))
 			// : serviceUrl;
-			RestClientUtil.turnOffSslChecking();
 			// acceptAnySSLCerticficate();
 			// System.setProperty("java.net.useSystemProxies", "true");
 			URL url = new URL(serviceUrl);
@@ -124,6 +133,7 @@ public class RegistrationAppHealthCheckUtil {
 			// URI(url.toString()));
 			// Proxy proxy = proxyList.get(0);
 			HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+			RestClientUtil.configureSsl(connection);
 			connection.setConnectTimeout(10000);
 			connection.connect();
 
@@ -142,6 +152,49 @@ public class RegistrationAppHealthCheckUtil {
 		return isNWAvailable;
 	}
 
+	/**
+	 * Requests the health check to be probed again, called when the server could
+	 * not be reached.
+	 */
+	public static void reportConnectionFailure() {
+		ConnectivityMonitor monitor = connectivityMonitor;
+		if (monitor != null) {
+			monitor.probeNow();
+		}
+	}
+
+	static void setConnectivityMonitor(ConnectivityMonitor monitor) {
+		connectivityMonitor = monitor;
+	}
+
+	/**
+	 * Gets the response code of the service url, waiting at most the timeout for
+	 * the connection and for the response.
+	 *
+	 * @param serviceUrl
+	 *            the service url
+	 * @param timeout
+	 *            the connect and read timeout in milliseconds
+	 * @return the HTTP response code
+	 * @throws IOException
+	 *             if the service could not be reached
+	 * @throws GeneralSecurityException
+	 *             if the SSL configuration of the server calls could not be applied
+	 */
+	static int getResponseCode(String serviceUrl, int timeout) throws IOException, GeneralSecurityException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(prepareURLByHostName(serviceUrl))
+				.openConnection();
+		try {
+			RestClientUtil.configureSsl(connection);
+			connection.setConnectTimeout(timeout);
+			connection.setReadTimeout(timeout);
+			connection.connect();
+			return connection.getResponseCode();
+		} finally {
+			connection.disconnect();
+		}
+	}
+
 	public static String getHostName() {
 		String hostname = System.getProperty(RegistrationConstants.MOSIP_HOSTNAME);
 		if(hostname == null || hostname.isEmpty()) {
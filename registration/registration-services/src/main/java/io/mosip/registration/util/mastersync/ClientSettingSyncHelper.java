@@ -8,8 +8,15 @@ import static io.mosip.registration.constants.RegistrationConstants.*;
 import java.io.IOException;
 import java.io.SyncFailedException;
 import java.util.*;
+import java.util.Map.Entry;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
 
 import io.mosip.kernel.clientcrypto.service.impl.ClientCryptoFacade;
 import io.mosip.kernel.core.util.CryptoUtil;
@@ -19,9 +26,9 @@ import io.mosip.registration.dto.response.SchemaDto;
 import io.mosip.registration.exception.RegBaseCheckedException;
 import io.mosip.registration.util.healthcheck.RegistrationAppHealthCheckUtil;
 import io.mosip.registration.util.restclient.ServiceDelegateUtil;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.repository.CrudRepository;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
@@ -88,6 +95,20 @@ public class ClientSettingSyncHelper {
 	
 	private static final String ENTITY_PACKAGE_NAME = "io.mosip.registration.entity.";	
 	private static final String FIELD_TYPE_DYNAMIC = "dynamic";
+	private static final String DYNAMIC_FIELD_ENTITY_NAME = "DynamicField";
+
+	/** Number of entity groups decrypted and parsed in parallel. */
+	@Value("${mosip.registration.mastersync.parallelism:4}")
+	private int syncParallelism;
+
+	private ThreadPoolExecutor syncExecutor;
+
+	/** Writes the entities with JDBC batches instead of the repositories. */
+	@Value("${mosip.registration.mastersync.bulk-write.enabled:false}")
+	private boolean bulkWriteEnabled;
+
+	@Autowired
+	private MasterDataBulkWriter masterDataBulkWriter;
 		
 	/** Object for Sync Biometric Attribute Repository. */
 	@Autowired
@@ -290,14 +311,22 @@ public class ClientSettingSyncHelper {
 	/**
 	 * Save the SyncDataResponseDto 
 	 * 
+	 * The independent entity groups are decrypted and parsed in parallel on a
+	 * bounded executor, and each group is saved as soon as it is built. The saving
+	 * stays on the calling thread, so every group joins the caller's transaction
+	 * and a failure in any group rolls back the complete sync. Within a group the
+	 * entities are saved in the order they are listed, which keeps the foreign key
+	 * order. The entities are written with {@link MasterDataBulkWriter} when the
+	 * bulk write is enabled, with the repositories otherwise.
+	 *
 	 * @param syncDataResponseDto
 	 * @return
 	 */
-	@SuppressWarnings("unchecked")
 	public String saveClientSettings(SyncDataResponseDto syncDataResponseDto) throws RegBaseUncheckedException {
 		long start = System.currentTimeMillis();
+		List<CompletableFuture<EntityGroup>> futures = new ArrayList<>();
+		CompletableFuture<SchemaDto> schemaFuture = null;
 		try {
-			List<CompletableFuture> futures = new ArrayList<CompletableFuture>();
 			futures.add(handleDeviceSync(syncDataResponseDto));
 			futures.add(handleMachineSync(syncDataResponseDto));
 			futures.add(handleRegistrationCenterSync(syncDataResponseDto));
@@ -308,26 +337,137 @@ public class ClientSettingSyncHelper {
 			futures.add(handleMisellaneousSync1(syncDataResponseDto));
 			futures.add(handleMisellaneousSync2(syncDataResponseDto));
 			futures.add(handleDynamicFieldSync(syncDataResponseDto));
-			futures.add(syncSchema("System"));
-
-			CompletableFuture array [] = new CompletableFuture[futures.size()];
-			CompletableFuture<Void> future = CompletableFuture.allOf(futures.toArray(array));
-
-			try {
-				future.join();
-			} catch (CompletionException e) {
-				throw e.getCause();
+			schemaFuture = CompletableFuture.supplyAsync(() -> {
+				try {
+					return fetchSchema(RegistrationConstants.JOB_TRIGGER_POINT_SYSTEM);
+				} catch (SyncFailedException exception) {
+					throw new CompletionException(exception);
+				}
+			}, getSyncExecutor());
+
+			List<CompletableFuture<EntityGroup>> pending = new ArrayList<>(futures);
+			while (!pending.isEmpty()) {
+				CompletableFuture.anyOf(pending.toArray(new CompletableFuture[pending.size()])).join();
+				Iterator<CompletableFuture<EntityGroup>> iterator = pending.iterator();
+				while (iterator.hasNext()) {
+					CompletableFuture<EntityGroup> future = iterator.next();
+					if (future.isDone()) {
+						iterator.remove();
+						saveEntityGroup(future.join());
+					}
+				}
 			}
 
+			long schemaStart = System.currentTimeMillis();
+			identitySchemaDao.createIdentitySchema(schemaFuture.join());
+			LOGGER.info(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID,
+					"ID Schema saved in (ms) : " + (System.currentTimeMillis() - schemaStart));
+
 			LOGGER.info(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID,
 					"Complete master sync completed in (ms) : " + (System.currentTimeMillis() - start));
 			return RegistrationConstants.SUCCESS;
-		} catch (Throwable e) {	
+		} catch (Throwable e) {
+			futures.forEach(future -> future.cancel(true));
+			if (schemaFuture != null) {
+				schemaFuture.cancel(true);
+			}
+			Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
 			throw new RegBaseUncheckedException(RegistrationConstants.MASTER_SYNC_EXCEPTION + RegistrationConstants.FAILURE,
-					e.getMessage());
+					cause.getMessage());
 		}
 	}
-	
+
+	/**
+	 * Decrypts and parses the entities of the group on the sync executor.
+	 * 
+	 * @param groupName
+	 *            name of the entity group, used in the logs and error messages
+	 * @param syncDataResponseDto
+	 * @param repositories
+	 *            repository of each entity in the group, in the order the entities
+	 *            are to be saved
+	 * @return the built entity group
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private CompletableFuture<EntityGroup> buildEntityGroup(String groupName,
+			SyncDataResponseDto syncDataResponseDto, Map<String, CrudRepository> repositories) {
+		return CompletableFuture.supplyAsync(() -> {
+			long start = System.currentTimeMillis();
+			EntityGroup entityGroup = new EntityGroup(groupName, repositories);
+			try {
+				for (String entityName : repositories.keySet()) {
+					entityGroup.entities.put(entityName,
+							DYNAMIC_FIELD_ENTITY_NAME.equals(entityName) ? buildDynamicFields(syncDataResponseDto)
+									: buildEntities(getSyncDataBaseDto(syncDataResponseDto, entityName)));
+				}
+			} catch (Exception e) {
+				LOGGER.error(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID, e.getMessage());
+				throw new CompletionException(
+						new SyncFailedException(groupName + " data sync failed due to " + e.getMessage()));
+			}
+			entityGroup.buildTime = System.currentTimeMillis() - start;
+			return entityGroup;
+		}, getSyncExecutor());
+	}
+
+	/**
+	 * Saves the entities of the group in the order of its repositories.
+	 * 
+	 * @param entityGroup
+	 * @throws SyncFailedException
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void saveEntityGroup(EntityGroup entityGroup) throws SyncFailedException {
+		long start = System.currentTimeMillis();
+		int count = 0;
+		try {
+			for (Entry<String, CrudRepository> entry : entityGroup.repositories.entrySet()) {
+				List<Object> entities = entityGroup.entities.get(entry.getKey());
+				if (entities.isEmpty()) {
+					continue;
+				}
+				if (bulkWriteEnabled) {
+					masterDataBulkWriter.saveAll(entities.get(0).getClass(), entities);
+				} else {
+					entry.getValue().saveAll(entities);
+				}
+				count += entities.size();
+			}
+		} catch (RuntimeException e) {
+			LOGGER.error(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID, e.getMessage());
+			throw new SyncFailedException(entityGroup.name + " data sync failed due to " + e.getMessage());
+		}
+		LOGGER.info(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID,
+				String.format("%s data : %d entities built in %d ms, saved in %d ms", entityGroup.name, count,
+						entityGroup.buildTime, System.currentTimeMillis() - start));
+	}
+
+	/**
+	 * The queue holds one pending group per worker, further groups are built on
+	 * the submitting thread until a worker is free.
+	 */
+	private synchronized ThreadPoolExecutor getSyncExecutor() {
+		if (syncExecutor == null) {
+			int parallelism = Math.max(syncParallelism, 1);
+			syncExecutor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<>(parallelism), (runnable, executor) -> {
+						if (executor.isShutdown()) {
+							throw new RejectedExecutionException("Master sync executor is shut down");
+						}
+						runnable.run();
+					});
+			syncExecutor.allowCoreThreadTimeOut(true);
+		}
+		return syncExecutor;
+	}
+
+	@PreDestroy
+	public void destroy() {
+		if (syncExecutor != null) {
+			syncExecutor.shutdownNow();
+		}
+	}
+
 	/**
 	 * creating meta data for building the entities from SyncDataBaseDto
 	 * 
@@ -345,14 +485,7 @@ public class ClientSettingSyncHelper {
 					syncDataBaseDto.getEntityName());
 
 			byte[] data = clientCryptoFacade.decrypt(CryptoUtil.decodeBase64(syncDataBaseDto.getData()));
-			JSONArray jsonArray = new JSONArray(new String(data));
-
-			for(int i =0; i < jsonArray.length(); i++) {
-				JSONObject jsonObject = new JSONObject(jsonArray.getString(i));
-				Object entity = MetaDataUtils.setCreateJSONObjectToMetaData(jsonObject, getEntityClass(syncDataBaseDto.getEntityName()));
-				entities.add(entity);
-			}
-
+			entities.addAll(MetaDataUtils.setCreateJSONArrayToMetaData(data, getEntityClass(syncDataBaseDto.getEntityName())));
 			return entities;
 		} catch (Throwable e) {
 			LOGGER.error(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID, ExceptionUtils.getStackTrace(e));
@@ -381,221 +514,170 @@ public class ClientSettingSyncHelper {
 	}
 	
 	/**
-	 * save the entities data in respective repository
+	 * builds the entities data to be saved in respective repository
 	 * @param syncDataResponseDto
-	 * @throws Exception 
 	 */
-	@Async
-	private CompletableFuture<Boolean> handleDeviceSync(SyncDataResponseDto syncDataResponseDto) throws Exception {
-		try {		
-			deviceTypeRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "DeviceType")));
-			deviceSpecificationRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto,"DeviceSpecification")));
-			deviceMasterRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto,"Device")));
-			foundationalTrustProviderRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "FoundationalTrustProvider")));
-		} catch (Exception e) {
-			throw new SyncFailedException(e.getMessage()+"Saving the entities into machine sync is failed ");
-		}
-		return CompletableFuture.completedFuture(true);
+	@SuppressWarnings("rawtypes")
+	private CompletableFuture<EntityGroup> handleDeviceSync(SyncDataResponseDto syncDataResponseDto) {
+		Map<String, CrudRepository> repositories = new LinkedHashMap<>();
+		repositories.put("DeviceType", deviceTypeRepository);
+		repositories.put("DeviceSpecification", deviceSpecificationRepository);
+		repositories.put("Device", deviceMasterRepository);
+		repositories.put("FoundationalTrustProvider", foundationalTrustProviderRepository);
+		return buildEntityGroup("Device", syncDataResponseDto, repositories);
 	}
-	
+
 	/**
-	 * save the entities data in respective repository
+	 * builds the entities data to be saved in respective repository
 	 * @param syncDataResponseDto
-	 * @throws SyncFailedException
 	 */
-	@Async
-	private CompletableFuture handleMachineSync(SyncDataResponseDto syncDataResponseDto) throws SyncFailedException {
-		try {
-			machineTypeRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "MachineType")));
-			machineSpecificationRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "MachineSpecification")));
-			machineRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "Machine")));
-		}  catch (Exception e) {
-			LOGGER.error(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID, e.getMessage());
-			throw new SyncFailedException("Machine data sync failed due to " +  e.getMessage());
-		}
-		return CompletableFuture.completedFuture(true);
+	@SuppressWarnings("rawtypes")
+	private CompletableFuture<EntityGroup> handleMachineSync(SyncDataResponseDto syncDataResponseDto) {
+		Map<String, CrudRepository> repositories = new LinkedHashMap<>();
+		repositories.put("MachineType", machineTypeRepository);
+		repositories.put("MachineSpecification", machineSpecificationRepository);
+		repositories.put("Machine", machineRepository);
+		return buildEntityGroup("Machine", syncDataResponseDto, repositories);
 	}
-	
+
 	/**
-	 * save the entities data in respective repository
+	 * builds the entities data to be saved in respective repository
 	 * @param syncDataResponseDto
-	 * @throws SyncFailedException
 	 */
-	@Async
-	private CompletableFuture handleRegistrationCenterSync(SyncDataResponseDto syncDataResponseDto) throws SyncFailedException  {
-		try {
-			registrationCenterTypeRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "RegistrationCenterType")));
-			registrationCenterRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "RegistrationCenter")));			
-			registrationCenterDeviceRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "RegistrationCenterDevice")));
-			centerMachineRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "RegistrationCenterMachine")));
-			registrationCenterMachineDeviceRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "RegistrationCenterMachineDevice")));
-			registrationCenterUserRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "RegistrationCenterUser")));
-		} catch (Exception e ) {
-			LOGGER.error(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID, e.getMessage());
-			throw new SyncFailedException("RegistrationCenter data sync failed due to " +  e.getMessage());
-		}
-		return CompletableFuture.completedFuture(true);
+	@SuppressWarnings("rawtypes")
+	private CompletableFuture<EntityGroup> handleRegistrationCenterSync(SyncDataResponseDto syncDataResponseDto) {
+		Map<String, CrudRepository> repositories = new LinkedHashMap<>();
+		repositories.put("RegistrationCenterType", registrationCenterTypeRepository);
+		repositories.put("RegistrationCenter", registrationCenterRepository);
+		repositories.put("RegistrationCenterDevice", registrationCenterDeviceRepository);
+		repositories.put("RegistrationCenterMachine", centerMachineRepository);
+		repositories.put("RegistrationCenterMachineDevice", registrationCenterMachineDeviceRepository);
+		repositories.put("RegistrationCenterUser", registrationCenterUserRepository);
+		return buildEntityGroup("RegistrationCenter", syncDataResponseDto, repositories);
 	}
-	
+
 	/**
-	 * save the entities data in respective repository
+	 * builds the entities data to be saved in respective repository
 	 * @param syncDataResponseDto
-	 * @throws SyncFailedException
 	 */
-	@Async
-	private CompletableFuture handleAppDetailSync(SyncDataResponseDto syncDataResponseDto) throws SyncFailedException {
-		try {
-			appDetailRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "AppDetail")));
-			appRolePriorityRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "AppRolePriority")));
-			appAuthenticationRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "AppAuthenticationMethod")));
-		} catch (Exception e) {
-			LOGGER.error(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID, e.getMessage());
-			throw new SyncFailedException("AppDetail data sync failed due to " +  e.getMessage());
-		}
-		return CompletableFuture.completedFuture(true);
+	@SuppressWarnings("rawtypes")
+	private CompletableFuture<EntityGroup> handleAppDetailSync(SyncDataResponseDto syncDataResponseDto) {
+		Map<String, CrudRepository> repositories = new LinkedHashMap<>();
+		repositories.put("AppDetail", appDetailRepository);
+		repositories.put("AppRolePriority", appRolePriorityRepository);
+		repositories.put("AppAuthenticationMethod", appAuthenticationRepository);
+		return buildEntityGroup("AppDetail", syncDataResponseDto, repositories);
 	}
-	
+
 	/**
-	 * save the entities data in respective repository
+	 * builds the entities data to be saved in respective repository
 	 * @param syncDataResponseDto
-	 * @throws SyncFailedException
 	 */
-	@Async
-	private CompletableFuture handleTemplateSync(SyncDataResponseDto syncDataResponseDto) throws SyncFailedException{
-		try {
-			templateFileFormatRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "TemplateFileFormat")));
-			templateTypeRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "TemplateType")));
-			templateRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "Template")));
-		} catch (Exception e) {
-			LOGGER.error(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID, e.getMessage());
-			throw new SyncFailedException("Template data sync failed due to " +  e.getMessage());
-		}
-		return CompletableFuture.completedFuture(true);
+	@SuppressWarnings("rawtypes")
+	private CompletableFuture<EntityGroup> handleTemplateSync(SyncDataResponseDto syncDataResponseDto) {
+		Map<String, CrudRepository> repositories = new LinkedHashMap<>();
+		repositories.put("TemplateFileFormat", templateFileFormatRepository);
+		repositories.put("TemplateType", templateTypeRepository);
+		repositories.put("Template", templateRepository);
+		return buildEntityGroup("Template", syncDataResponseDto, repositories);
 	}
-	
+
 	/**
-	 * save the entities data in respective repository
+	 * builds the entities data to be saved in respective repository
 	 * @param syncDataResponseDto
-	 * @throws SyncFailedException
 	 */
-	@Async
-	private CompletableFuture handleDocumentSync(SyncDataResponseDto syncDataResponseDto) throws SyncFailedException  {
-		try {
-			documentTypeRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "DocumentType")));
-			documentCategoryRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "DocumentCategory")));
-			applicantValidDocumentRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "ApplicantValidDocument")));
-			validDocumentRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "ValidDocument")));
-		} catch (Exception e) {
-			LOGGER.error(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID, e.getMessage());
-			throw new SyncFailedException("Document data sync failed due to " +  e.getMessage());
-		}
-		return CompletableFuture.completedFuture(true);
+	@SuppressWarnings("rawtypes")
+	private CompletableFuture<EntityGroup> handleDocumentSync(SyncDataResponseDto syncDataResponseDto) {
+		Map<String, CrudRepository> repositories = new LinkedHashMap<>();
+		repositories.put("DocumentType", documentTypeRepository);
+		repositories.put("DocumentCategory", documentCategoryRepository);
+		repositories.put("ApplicantValidDocument", applicantValidDocumentRepository);
+		repositories.put("ValidDocument", validDocumentRepository);
+		return buildEntityGroup("Document", syncDataResponseDto, repositories);
 	}
-	
+
 	/**
-	 * save the entities data in respective repository
+	 * builds the entities data to be saved in respective repository
 	 * @param syncDataResponseDto
-	 * @throws SyncFailedException
 	 */
-	@Async
-	private CompletableFuture handleIdSchemaPossibleValuesSync(SyncDataResponseDto syncDataResponseDto) throws SyncFailedException  {
-		try {
-			biometricTypeRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "BiometricType")));
-			biometricAttributeRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "BiometricAttribute")));
-			genderRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "Gender")));
-			idTypeRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "IdType")));
-			locationRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "Location")));
-			titleRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "Title")));
-			individualTypeRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "IndividualType")));
-		} catch (Exception e) {
-			LOGGER.error(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID, e.getMessage());
-			throw new SyncFailedException("IdSchema data sync failed due to " +  e.getMessage());
-		}
-		return CompletableFuture.completedFuture(true);
+	@SuppressWarnings("rawtypes")
+	private CompletableFuture<EntityGroup> handleIdSchemaPossibleValuesSync(SyncDataResponseDto syncDataResponseDto) {
+		Map<String, CrudRepository> repositories = new LinkedHashMap<>();
+		repositories.put("BiometricType", biometricTypeRepository);
+		repositories.put("BiometricAttribute", biometricAttributeRepository);
+		repositories.put("Gender", genderRepository);
+		repositories.put("IdType", idTypeRepository);
+		repositories.put("Location", locationRepository);
+		repositories.put("Title", titleRepository);
+		repositories.put("IndividualType", individualTypeRepository);
+		return buildEntityGroup("IdSchema", syncDataResponseDto, repositories);
 	}
-	
+
 	/**
-	 * save the entities data in respective repository
+	 * builds the entities data to be saved in respective repository
 	 * @param syncDataResponseDto
-	 * @throws SyncFailedException
 	 */
-	@Async
-	private CompletableFuture handleMisellaneousSync1(SyncDataResponseDto syncDataResponseDto) throws SyncFailedException  {
-		try {
-			blacklistedWordsRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "BlacklistedWords")));
-			processListRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "ProcessList")));
-			screenDetailRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "ScreenDetail")));
-			screenAuthorizationRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "ScreenAuthorization")));
-		} catch (Exception e) {
-			LOGGER.error(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID, e.getMessage());
-			throw new SyncFailedException("Miscellaneous data sync failed due to " +  e.getMessage());
-		}
-		return CompletableFuture.completedFuture(true);
+	@SuppressWarnings("rawtypes")
+	private CompletableFuture<EntityGroup> handleMisellaneousSync1(SyncDataResponseDto syncDataResponseDto) {
+		Map<String, CrudRepository> repositories = new LinkedHashMap<>();
+		repositories.put("BlacklistedWords", blacklistedWordsRepository);
+		repositories.put("ProcessList", processListRepository);
+		repositories.put("ScreenDetail", screenDetailRepository);
+		repositories.put("ScreenAuthorization", screenAuthorizationRepository);
+		return buildEntityGroup("Miscellaneous1", syncDataResponseDto, repositories);
 	}
 
 	/**
-	 * save the entities data in respective repository
+	 * builds the entities data to be saved in respective repository
 	 * @param syncDataResponseDto
-	 * @throws SyncFailedException
 	 */
-	@Async
-	private CompletableFuture handleMisellaneousSync2(SyncDataResponseDto syncDataResponseDto) throws SyncFailedException  {
-		try {
-			languageRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "Language")));
-			reasonCategoryRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "ReasonCategory")));
-			reasonListRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "ReasonList")));
-			syncJobDefRepository.saveAll(buildEntities(getSyncDataBaseDto(syncDataResponseDto, "SyncJobDef")));
-		} catch (Exception e) {
-			LOGGER.error(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID, e.getMessage());
-			throw new SyncFailedException("Miscellaneous data sync failed due to " +  e.getMessage());
-		}
-		return CompletableFuture.completedFuture(true);
+	@SuppressWarnings("rawtypes")
+	private CompletableFuture<EntityGroup> handleMisellaneousSync2(SyncDataResponseDto syncDataResponseDto) {
+		Map<String, CrudRepository> repositories = new LinkedHashMap<>();
+		repositories.put("Language", languageRepository);
+		repositories.put("ReasonCategory", reasonCategoryRepository);
+		repositories.put("ReasonList", reasonListRepository);
+		repositories.put("SyncJobDef", syncJobDefRepository);
+		return buildEntityGroup("Miscellaneous2", syncDataResponseDto, repositories);
 	}
-	
+
 	/**
-	 * save dynamic fields with value json
+	 * builds dynamic fields with value json
 	 * @param syncDataResponseDto
 	 */
-	@Async
-	private CompletableFuture handleDynamicFieldSync(SyncDataResponseDto syncDataResponseDto) throws SyncFailedException {
-		try {
-			Iterator<SyncDataBaseDto> iterator = syncDataResponseDto.getDataToSync().stream()
-					.filter(obj -> FIELD_TYPE_DYNAMIC.equalsIgnoreCase(obj.getEntityType()))
-					.iterator();
+	@SuppressWarnings("rawtypes")
+	private CompletableFuture<EntityGroup> handleDynamicFieldSync(SyncDataResponseDto syncDataResponseDto) {
+		Map<String, CrudRepository> repositories = new LinkedHashMap<>();
+		repositories.put(DYNAMIC_FIELD_ENTITY_NAME, dynamicFieldRepository);
+		return buildEntityGroup("DynamicField", syncDataResponseDto, repositories);
+	}
+
+	private List<Object> buildDynamicFields(SyncDataResponseDto syncDataResponseDto) throws IOException {
+		Iterator<SyncDataBaseDto> iterator = syncDataResponseDto.getDataToSync().stream()
+				.filter(obj -> FIELD_TYPE_DYNAMIC.equalsIgnoreCase(obj.getEntityType()))
+				.iterator();
+		
+		List<Object> fields = new ArrayList<Object>();
+		while(iterator.hasNext()) {
+			SyncDataBaseDto syncDataBaseDto = iterator.next();
 			
-			List<DynamicField> fields = new ArrayList<DynamicField>();
-			while(iterator.hasNext()) {
-				SyncDataBaseDto syncDataBaseDto = iterator.next();
-				
-				if(syncDataBaseDto != null && syncDataBaseDto.getData() != null && !syncDataBaseDto.getData().isEmpty()) {
-					byte[] data = clientCryptoFacade.decrypt(CryptoUtil.decodeBase64(syncDataBaseDto.getData()));
-					JSONArray jsonArray = new JSONArray(new String(data));
-
-					for(int i=0; i< jsonArray.length(); i++) {
-						DynamicFieldDto dynamicFieldDto = MapperUtils.convertJSONStringToDto(jsonArray.getString(i),
-								new TypeReference<DynamicFieldDto>() {});
-						DynamicField dynamicField = new DynamicField();
-						dynamicField.setId(dynamicFieldDto.getId());
-						dynamicField.setDataType(dynamicFieldDto.getDataType());
-						dynamicField.setName(dynamicFieldDto.getName());
-						dynamicField.setLangCode(dynamicFieldDto.getLangCode());
-						dynamicField.setValueJson(dynamicFieldDto.getFieldVal() == null ?
-								"[]" : MapperUtils.convertObjectToJsonString(dynamicFieldDto.getFieldVal()));
-						dynamicField.setActive(dynamicFieldDto.isActive());
-						fields.add(dynamicField);
-					}
+			if(syncDataBaseDto != null && syncDataBaseDto.getData() != null && !syncDataBaseDto.getData().isEmpty()) {
+				byte[] data = clientCryptoFacade.decrypt(CryptoUtil.decodeBase64(syncDataBaseDto.getData()));
+
+				for (DynamicFieldDto dynamicFieldDto : MapperUtils.convertJSONArrayToDtos(data, DynamicFieldDto.class)) {
+					DynamicField dynamicField = new DynamicField();
+					dynamicField.setId(dynamicFieldDto.getId());
+					dynamicField.setDataType(dynamicFieldDto.getDataType());
+					dynamicField.setName(dynamicFieldDto.getName());
+					dynamicField.setLangCode(dynamicFieldDto.getLangCode());
+					dynamicField.setValueJson(dynamicFieldDto.getFieldVal() == null ?
+							"[]" : MapperUtils.convertObjectToJsonString(dynamicFieldDto.getFieldVal()));
+					dynamicField.setActive(dynamicFieldDto.isActive());
+					fields.add(dynamicField);
 				}
 			}
-			
-			if (!fields.isEmpty()) {
-				dynamicFieldRepository.saveAll(fields);
-			}
-				
-		} catch(IOException e) {
-			LOGGER.error(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID, e.getMessage());
-			throw new SyncFailedException("Dynamic field sync failed due to " +  e.getMessage());
 		}
-		return CompletableFuture.completedFuture(true);
+		return fields;
 	}
 
 	private void checkForDuplicates(List<DynamicField> fields, List<DynamicField> existingFields) {
@@ -610,6 +692,17 @@ public class ClientSettingSyncHelper {
 
 	@Async
 	public CompletableFuture syncSchema(String triggerPoint) throws RegBaseCheckedException, SyncFailedException {
+		SchemaDto schemaDto = fetchSchema(triggerPoint);
+		try {
+			identitySchemaDao.createIdentitySchema(schemaDto);
+		} catch (Exception e) {
+			LOGGER.error(LOG_REG_SCHEMA_SYNC, APPLICATION_NAME, APPLICATION_ID, ExceptionUtils.getStackTrace(e));
+			throw new SyncFailedException("Schema sync failed due to " +  e.getMessage());
+		}
+		return CompletableFuture.completedFuture(true);
+	}
+
+	private SchemaDto fetchSchema(String triggerPoint) throws SyncFailedException {
 		LOGGER.info(LOG_REG_SCHEMA_SYNC, APPLICATION_NAME, APPLICATION_ID, "ID Schema sync started .....");
 
 		if (RegistrationAppHealthCheckUtil.isNetworkAvailable()) {
@@ -624,10 +717,7 @@ public class ClientSettingSyncHelper {
 
 					String jsonString = MapperUtils
 							.convertObjectToJsonString(syncResponse.get(RegistrationConstants.RESPONSE));
-					SchemaDto schemaDto = MapperUtils.convertJSONStringToDto(jsonString,
-							new TypeReference<SchemaDto>() {});
-
-					identitySchemaDao.createIdentitySchema(schemaDto);
+					return MapperUtils.convertJSONStringToDto(jsonString, new TypeReference<SchemaDto>() {});
 				} else {
 					throw new SyncFailedException("Schema sync failed");
 				}
@@ -638,7 +728,26 @@ public class ClientSettingSyncHelper {
 			}
 		} else
 			throw new SyncFailedException(RegistrationConstants.NO_INTERNET);
+	}
 
-		return CompletableFuture.completedFuture(true);
+	/**
+	 * The entities of a group, built off the calling thread and waiting to be
+	 * saved.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static final class EntityGroup {
+
+		private final String name;
+
+		private final Map<String, CrudRepository> repositories;
+
+		private final Map<String, List<Object>> entities = new HashMap<>();
+
+		private long buildTime;
+
+		private EntityGroup(String name, Map<String, CrudRepository> repositories) {
+			this.name = name;
+			this.repositories = repositories;
+		}
 	}
 }
@@ -0,0 +1,358 @@
+package io.mosip.registration.util.mastersync;
+
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
+import static io.mosip.registration.constants.RegistrationConstants.MAPPER_UTILL;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.persistence.EmbeddedId;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.registration.config.AppConfig;
+import io.mosip.registration.entity.RegistrationCommonFields;
+import io.mosip.registration.exception.RegBaseUncheckedException;
+
+/**
+ * Maps the JSON rows of master sync data to an entity class.
+ *
+ * The constructor, the field setters (as method handles) and the value
+ * converter of every field are resolved once per entity class and reused for
+ * every row. Rows are read with a streaming parser, without building
+ * intermediate JSON objects.
+ *
+ * The mapping rules are the same as the reflective mapping it replaces: the
+ * fields of {@link RegistrationCommonFields} and the declared fields of the
+ * entity are mapped by name, {@link EmbeddedId} fields are mapped from the same
+ * row, and missing or null values are left unset.
+ *
+ * @param <D> the entity type
+ * @since 1.1.5
+ */
+public final class EntityMapper<D> {
+
+	private static final Logger LOGGER = AppConfig.getLogger(EntityMapper.class);
+
+	private static final Map<Class<?>, EntityMapper<?>> MAPPERS = new ConcurrentHashMap<>();
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+	/** yyyy-MM-dd'T'HH:mm:ss.SSS'Z', read in the local time zone like the earlier SimpleDateFormat */
+	private static final DateTimeFormatter TIMESTAMP_FORMAT = new DateTimeFormatterBuilder()
+			.appendPattern("yyyy-MM-dd'T'HH:mm:ss").optionalStart()
+			.appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true).optionalEnd().appendLiteral('Z').toFormatter();
+
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final Class<D> entityClass;
+
+	/** Constructors of the embedded ids, index 0 being the entity itself */
+	private final List<MethodHandle> targetConstructors = new ArrayList<>();
+
+	/** Setters of the embedded ids on the entity, index 0 unused */
+	private final List<MethodHandle> targetSetters = new ArrayList<>();
+
+	/** Setters by JSON field name */
+	private final Map<String, List<FieldSetter>> fieldSetters = new HashMap<>();
+
+	/**
+	 * Gives the mapper of the entity class, building it on first use.
+	 *
+	 * @param entityClass the entity class
+	 * @return the mapper
+	 */
+	@SuppressWarnings("unchecked")
+	public static <D> EntityMapper<D> of(Class<D> entityClass) {
+		return (EntityMapper<D>) MAPPERS.computeIfAbsent(entityClass, EntityMapper::new);
+	}
+
+	private EntityMapper(Class<D> entityClass) {
+		this.entityClass = entityClass;
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			targetConstructors.add(getConstructor(lookup, entityClass));
+			targetSetters.add(null);
+
+			if (entityClass.getSuperclass() == RegistrationCommonFields.class) {
+				addFieldSetters(lookup, entityClass.getSuperclass().getDeclaredFields(), 0);
+			}
+			for (Field field : entityClass.getDeclaredFields()) {
+				if (MapperUtils.isIgnoreField(field)) {
+					continue;
+				}
+				if (field.isAnnotationPresent(EmbeddedId.class)) {
+					int target = targetConstructors.size();
+					targetConstructors.add(getConstructor(lookup, field.getType()));
+					targetSetters.add(getSetter(lookup, field));
+					addFieldSetters(lookup, field.getType().getDeclaredFields(), target);
+				} else {
+					addFieldSetters(lookup, new Field[] { field }, 0);
+				}
+			}
+		} catch (ReflectiveOperationException exception) {
+			LOGGER.error(MAPPER_UTILL, APPLICATION_NAME, APPLICATION_ID,
+					"Failed to build mapper for " + entityClass.getName());
+			throw new RegBaseUncheckedException(MAPPER_UTILL,
+					exception.getMessage() + ExceptionUtils.getStackTrace(exception));
+		}
+	}
+
+	/**
+	 * Maps a JSON array of rows. Each row is either a JSON object or a string
+	 * holding a JSON object.
+	 *
+	 * @param data the JSON array
+	 * @return the entities, in the order of the rows
+	 * @throws IOException if the data is not a valid JSON array of rows
+	 */
+	public List<D> mapAll(byte[] data) throws IOException {
+		List<D> entities = new ArrayList<>();
+		try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(data)) {
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new IOException("Expected a JSON array of " + entityClass.getSimpleName() + " rows");
+			}
+			JsonToken token;
+			while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+				if (token == JsonToken.VALUE_STRING) {
+					entities.add(map(parser.getText()));
+				} else {
+					entities.add(map(parser));
+				}
+			}
+		}
+		return entities;
+	}
+
+	/**
+	 * Maps a row.
+	 *
+	 * @param json the JSON object
+	 * @return the entity
+	 * @throws IOException if the row is not a valid JSON object
+	 */
+	public D map(String json) throws IOException {
+		try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(json)) {
+			parser.nextToken();
+			return map(parser);
+		}
+	}
+
+	/**
+	 * Maps the row the parser is positioned on, leaving the parser on the end of
+	 * the row.
+	 *
+	 * @param parser the parser, positioned on the start of a JSON object
+	 * @return the entity
+	 * @throws IOException if the row is not a valid JSON object
+	 */
+	@SuppressWarnings("unchecked")
+	public D map(JsonParser parser) throws IOException {
+		if (parser.currentToken() != JsonToken.START_OBJECT) {
+			throw new IOException("Expected a " + entityClass.getSimpleName() + " row but found "
+					+ parser.currentToken());
+		}
+		Object[] targets = newTargets();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			List<FieldSetter> setters = fieldSetters.get(parser.getCurrentName());
+			JsonToken token = parser.nextToken();
+			if (setters == null || token == JsonToken.VALUE_NULL) {
+				parser.skipChildren();
+				continue;
+			}
+			if (token.isStructStart()) {
+				TreeNode tree = parser.readValueAsTree();
+				for (FieldSetter setter : setters) {
+					try (JsonParser treeParser = OBJECT_MAPPER.treeAsTokens(tree)) {
+						treeParser.nextToken();
+						setter.set(targets, treeParser);
+					}
+				}
+			} else {
+				for (FieldSetter setter : setters) {
+					setter.set(targets, parser);
+				}
+			}
+		}
+		return (D) targets[0];
+	}
+
+	private Object[] newTargets() {
+		Object[] targets = new Object[targetConstructors.size()];
+		try {
+			for (int i = 0; i < targets.length; i++) {
+				targets[i] = (Object) targetConstructors.get(i).invokeExact();
+				if (i > 0) {
+					targetSetters.get(i).invokeExact(targets[0], targets[i]);
+				}
+			}
+		} catch (Throwable throwable) {
+			throw new RegBaseUncheckedException(MAPPER_UTILL, "Failed to create " + entityClass.getName() + " : "
+					+ throwable.getMessage() + ExceptionUtils.getStackTrace(throwable));
+		}
+		return targets;
+	}
+
+	private void addFieldSetters(MethodHandles.Lookup lookup, Field[] fields, int target)
+			throws IllegalAccessException {
+		for (Field field : fields) {
+			if (MapperUtils.isIgnoreField(field)) {
+				continue;
+			}
+			fieldSetters.computeIfAbsent(field.getName(), name -> new ArrayList<>(1))
+					.add(new FieldSetter(field.getName(), target, getSetter(lookup, field), getConverter(field.getType())));
+		}
+	}
+
+	private static MethodHandle getConstructor(MethodHandles.Lookup lookup, Class<?> type)
+			throws ReflectiveOperationException {
+		Constructor<?> constructor = type.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		return lookup.unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+	}
+
+	private static MethodHandle getSetter(MethodHandles.Lookup lookup, Field field) throws IllegalAccessException {
+		field.setAccessible(true);
+		return lookup.unreflectSetter(field).asType(SETTER_TYPE);
+	}
+
+	private static ValueConverter getConverter(Class<?> type) {
+		switch (type.getName()) {
+		case "java.lang.Boolean":
+		case "boolean":
+			return parser -> parser.currentToken().isBoolean() ? parser.getBooleanValue()
+					: Boolean.valueOf(parser.getText());
+		case "java.lang.String":
+			return parser -> parser.currentToken().isScalarValue() ? parser.getText()
+					: OBJECT_MAPPER.readTree(parser).toString();
+		case "java.lang.Integer":
+		case "int":
+			return JsonParser::getValueAsInt;
+		case "java.lang.Long":
+		case "long":
+			return JsonParser::getValueAsLong;
+		case "java.lang.Short":
+		case "short":
+			return parser -> (short) parser.getValueAsInt();
+		case "java.lang.Double":
+		case "double":
+			return JsonParser::getValueAsDouble;
+		case "java.lang.Float":
+		case "float":
+			return parser -> (float) parser.getValueAsDouble();
+		case "java.math.BigDecimal":
+			return parser -> parser.currentToken().isNumeric() ? parser.getDecimalValue()
+					: new BigDecimal(parser.getText());
+		case "java.sql.Time":
+			return parser -> Time.valueOf(parser.getText());
+		case "[B":
+			return parser -> parser.getText().getBytes();
+		case "java.sql.Timestamp":
+			return parser -> getTimestampValue(parser.getText());
+		case "java.time.LocalDateTime":
+			return parser -> getLocalDateTimeValue(parser.getText());
+		case "java.time.LocalDate":
+			return parser -> getLocalDateValue(parser.getText());
+		default:
+			return parser -> OBJECT_MAPPER.readValue(parser, type);
+		}
+	}
+
+	private static Timestamp getTimestampValue(String value) {
+		try {
+			return Timestamp.valueOf(LocalDateTime.parse(value, TIMESTAMP_FORMAT));
+		} catch (DateTimeParseException ex) {
+			LOGGER.error(MAPPER_UTILL, APPLICATION_NAME, APPLICATION_ID,
+					"Failed to parse timestamp, invalid format >> " + value);
+		}
+		return null;
+	}
+
+	private static LocalDateTime getLocalDateTimeValue(String value) {
+		try {
+			return LocalDateTime.ofInstant(Instant.parse(value), ZoneOffset.UTC);
+		} catch (DateTimeParseException ex) {
+			LOGGER.error(MAPPER_UTILL, APPLICATION_NAME, APPLICATION_ID,
+					"Failed to parse LocalDateTime, invalid format >> " + value);
+		}
+		return null;
+	}
+
+	private static LocalDate getLocalDateValue(String value) {
+		try {
+			return LocalDate.parse(value);
+		} catch (DateTimeParseException ex) {
+			LOGGER.error(MAPPER_UTILL, APPLICATION_NAME, APPLICATION_ID,
+					"Failed to parse LocalDate, invalid format >> " + value);
+		}
+		return null;
+	}
+
+	@FunctionalInterface
+	private interface ValueConverter {
+
+		Object convert(JsonParser parser) throws IOException;
+	}
+
+	private static final class FieldSetter {
+
+		private final String name;
+
+		private final int target;
+
+		private final MethodHandle setter;
+
+		private final ValueConverter converter;
+
+		private FieldSetter(String name, int target, MethodHandle setter, ValueConverter converter) {
+			this.name = name;
+			this.target = target;
+			this.setter = setter;
+			this.converter = converter;
+		}
+
+		private void set(Object[] targets, JsonParser parser) throws IOException {
+			Object value = converter.convert(parser);
+			if (value == null) {
+				return;
+			}
+			try {
+				setter.invokeExact(targets[target], value);
+			} catch (IOException | RuntimeException exception) {
+				throw exception;
+			} catch (Throwable throwable) {
+				throw new RegBaseUncheckedException(MAPPER_UTILL, "Failed to set " + name + " : "
+						+ throwable.getMessage() + ExceptionUtils.getStackTrace(throwable));
+			}
+		}
+	}
+}
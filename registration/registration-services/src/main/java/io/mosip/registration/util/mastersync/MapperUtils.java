@@ -8,11 +8,7 @@ import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.sql.Timestamp;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -23,17 +19,12 @@ import javax.persistence.Entity;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 
-import java.time.Instant;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZoneOffset;
-
-import org.json.JSONException;
 import org.json.JSONObject;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -66,8 +57,6 @@ public class MapperUtils {
 	
 	private static final String FIELD_MISSING_ERROR_MESSAGE = "Field %s not found in data";
 	
-	private static final String DATE_TIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'";	
-	private static final SimpleDateFormat SIMPLE_DATE_FORMAT = new SimpleDateFormat(DATE_TIME_FORMAT);
 	
 	private MapperUtils() {
 		super();
@@ -281,7 +270,7 @@ public class MapperUtils {
 	
 	
 	
-	private static boolean isIgnoreField(Field dfield) {
+	static boolean isIgnoreField(Field dfield) {
 		return (Modifier.isStatic(dfield.getModifiers()) 
 				|| Modifier.isFinal(dfield.getModifiers()) 
 				|| dfield.isAnnotationPresent(ManyToMany.class)
@@ -485,149 +474,69 @@ public class MapperUtils {
 	}
 	
 	/**
-	 * Map values from {@link BaseEntity} class source object to destination or vice
-	 * versa.
+	 * Map values from json object to a new instance of the entity class, using the
+	 * precompiled {@link EntityMapper} of the entity class.
 	 * 
 	 * @param jsonObject      which value is going to be mapped
-	 * @param destination where values is going to be mapped
-	 * @throws ParseException 
-	 * @throws JSONException 
-	 * @throws SecurityException 
-	 * @throws IllegalArgumentException 
+	 * @param entityClass where values is going to be mapped
 	 */
-	public static <D> D mapJSONObjectToEntity(final JSONObject jsonObject, Class<?> entityClass) throws IllegalAccessException, InstantiationException, ParseException, IllegalArgumentException, SecurityException, JSONException {
+	public static <D> D mapJSONObjectToEntity(final JSONObject jsonObject, Class<?> entityClass) {
 		Objects.requireNonNull(jsonObject, SOURCE_NULL_MESSAGE);
 		Objects.requireNonNull(entityClass, "destination class should not be null");
-		Object destination = null;
 		try {
-			destination = entityClass.newInstance();
-		} catch (InstantiationException | IllegalAccessException exOperationException) {
+			return (D) EntityMapper.of(entityClass).map(jsonObject.toString());
+		} catch (IOException ioException) {
 			LOGGER.error(MAPPER_UTILL, APPLICATION_NAME, APPLICATION_ID, "Exception in mapping vlaues from source : "
 					+ jsonObject.getClass().getName() + " to destination : " + entityClass.getName());
 			throw new RegBaseUncheckedException(MAPPER_UTILL,
-					exOperationException.getMessage() + ExceptionUtils.getStackTrace(exOperationException));
+					ioException.getMessage() + ExceptionUtils.getStackTrace(ioException));
 		}
-		Objects.requireNonNull(destination, DESTINATION_NULL_MESSAGE);
-		setBaseFieldValueFromJsonObject(jsonObject, destination);// map super class values
-		mapJsonToEntity(jsonObject, destination, destination.getClass().getDeclaredFields());
-		return (D) destination;
 	}
-	
-	
+
 	/**
-	 * Take value from source field and insert value into destination field.
+	 * Map each row of the json array to a new instance of the entity class, using
+	 * the precompiled {@link EntityMapper} of the entity class. The rows are
+	 * streamed from the data without building json objects.
 	 * 
-	 * @param jsonObject      which value is going to be mapped
-	 * @param destination where values is going to be mapped
-	 * @param fields         destination fields
-	 * @throws IllegalAccessException if provided fields are not accessible
-	 * @throws JSONException 
-	 * @throws IllegalArgumentException 
+	 * @param data        json array of rows
+	 * @param entityClass where values is going to be mapped
+	 * @return the entities
+	 * @throws IOException if the data is not a json array of rows
 	 */
-	private static <D> void mapJsonToEntity(JSONObject jsonObject, D destination, Field[] fields)
-			throws InstantiationException, IllegalAccessException, ParseException, IllegalArgumentException, JSONException {
-
-		for (Field dfield : fields) {
-			if (isIgnoreField(dfield)) {
-				continue;
-			}
-			if (dfield.isAnnotationPresent(EmbeddedId.class)) {
-				Object id = dfield.getType().newInstance();
-				mapJsonToEntity(jsonObject, id, id.getClass().getDeclaredFields());
-				dfield.setAccessible(true);
-				dfield.set(destination, id);
-				dfield.setAccessible(false);
-				continue;
-			}
-			
-			//avoids failure of complete sync on missing of non-mandatory field
-			if(!jsonObject.has(dfield.getName()) || jsonObject.get(dfield.getName()) == JSONObject.NULL) {
-				//throw new RegBaseUncheckedException(MAPPER_UTILL, String.format(FIELD_MISSING_ERROR_MESSAGE, dfield.getName()));
-				//LOGGER.warn(MAPPER_UTILL, APPLICATION_NAME, APPLICATION_ID, String.format(FIELD_MISSING_ERROR_MESSAGE, dfield.getName()));
-				continue;
-			}
-			
-			dfield.setAccessible(true);			
-			
-			switch (dfield.getType().getName()) {
-			case "java.lang.Boolean":	
-				dfield.set(destination, jsonObject.get(dfield.getName()));
-				break;
-			case "boolean":
-				dfield.set(destination,  jsonObject.get(dfield.getName()));
-				break;
-			case "java.sql.Time":
-				dfield.set(destination, java.sql.Time.valueOf(jsonObject.getString(dfield.getName())));
-				break;
-			case "[B" :
-				dfield.set(destination, jsonObject.getString(dfield.getName()).getBytes());
-				break;
-			case "java.sql.Timestamp" :
-				dfield.set(destination, getTimestampValue(jsonObject.getString(dfield.getName())));
-				break;
-			case "java.time.LocalDateTime":
-				dfield.set(destination, getLocalDateTimeValue(jsonObject.getString(dfield.getName())));
-				break;
-			case "java.time.LocalDate":
-				dfield.set(destination, getLocalDateValue(jsonObject.getString(dfield.getName())));
-				break;
-			default:
-				dfield.set(destination, jsonObject.get(dfield.getName()));
-				break;
-			}			
-		}
-	}
-	
-	private static Timestamp getTimestampValue(String value) {
-		Timestamp timestamp = null;
-		try {
-			timestamp = new Timestamp(SIMPLE_DATE_FORMAT.parse(value).getTime());
-			return timestamp;
-		} catch(ParseException ex) {
-			LOGGER.error(MAPPER_UTILL, APPLICATION_NAME, APPLICATION_ID, "Failed to parse timestamp, invalid format >> " + value);
-		}
-		return timestamp;
+	public static <D> List<D> mapJSONArrayToEntities(final byte[] data, Class<D> entityClass) throws IOException {
+		Objects.requireNonNull(data, SOURCE_NULL_MESSAGE);
+		Objects.requireNonNull(entityClass, "destination class should not be null");
+		return EntityMapper.of(entityClass).mapAll(data);
 	}
 	
-	private static LocalDateTime getLocalDateTimeValue(String value) {
-		LocalDateTime timestamp = null;
-		try {
-			Instant instant = Instant.parse(value);
-			timestamp = LocalDateTime.ofInstant(instant, ZoneId.of(ZoneOffset.UTC.getId()));
-			return timestamp;
-		} catch(DateTimeParseException ex) {
-			LOGGER.error(MAPPER_UTILL, APPLICATION_NAME, APPLICATION_ID, "Failed to parse LocalDateTime, invalid format >> " + value);
-		}
-		return timestamp;
+	public static <T> T convertJSONStringToDto(final String jsonString, TypeReference<T> typeReference) throws IOException {
+		return mapper.readValue(jsonString, typeReference);
 	}
 	
-	private static LocalDate getLocalDateValue(String value) {
-		LocalDate timestamp = null;
-		try {
-			timestamp = LocalDate.parse(value);
-			return timestamp;
-		} catch(DateTimeParseException ex) {
-			LOGGER.error(MAPPER_UTILL, APPLICATION_NAME, APPLICATION_ID, "Failed to parse LocalDate, invalid format >> " + value);
+	/**
+	 * Reads each row of the json array as the given type. Each row is either a
+	 * json object or a string holding a json object.
+	 * 
+	 * @param data json array of rows
+	 * @param type type of the rows
+	 * @return the rows
+	 * @throws IOException if the data is not a json array of rows
+	 */
+	public static <T> List<T> convertJSONArrayToDtos(final byte[] data, Class<T> type) throws IOException {
+		List<T> dtos = new ArrayList<>();
+		try (JsonParser parser = mapper.getFactory().createParser(data)) {
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new IOException("Expected a json array of " + type.getSimpleName());
+			}
+			JsonToken token;
+			while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+				dtos.add(token == JsonToken.VALUE_STRING ? mapper.readValue(parser.getText(), type)
+						: mapper.readValue(parser, type));
+			}
 		}
-		return timestamp;
+		return dtos;
 	}
-	
-	
-	private static <D> void setBaseFieldValueFromJsonObject(JSONObject source, D destination) throws InstantiationException, IllegalAccessException, ParseException, IllegalArgumentException, JSONException {
 
-		String destinationSupername = destination.getClass().getSuperclass().getName();// super class of destination object
-		String baseEntityClassName = RegistrationCommonFields.class.getName();// base entity fully qualified name
-		// if destination is an entity
-		if (destinationSupername.equals(baseEntityClassName)) {
-			Field[] destinationFields = destination.getClass().getSuperclass().getDeclaredFields();
-			mapJsonToEntity(source, destination, destinationFields);
-		}
-	}
-	
-	public static <T> T convertJSONStringToDto(final String jsonString, TypeReference<T> typeReference) throws IOException {
-		return mapper.readValue(jsonString, typeReference);
-	}
-	
 	public static String convertObjectToJsonString(final Object object) throws IOException {
 		return mapper.writeValueAsString(object);
 	}
@@ -0,0 +1,218 @@
+package io.mosip.registration.util.mastersync;
+
+import static io.mosip.registration.constants.LoggerConstants.LOG_REG_MASTER_SYNC;
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
+import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.registration.config.AppConfig;
+
+/**
+ * Writes synced master data straight to the tables with JDBC batches instead
+ * of a JPA merge per entity.
+ *
+ * <p>
+ * The table, key and column mapping of each entity class is read once from
+ * the Hibernate mapping, and the values are bound with the mapped Hibernate
+ * types, so the rows are the same as the ones JPA would write. An empty table
+ * is filled with plain inserts. Otherwise every row is upserted with a Derby
+ * MERGE on the primary key, which inserts the new rows and updates the changed
+ * ones without reading them first.
+ * </p>
+ *
+ * <p>
+ * The rows are written on the connection of the current transaction, so this
+ * must be called within the transaction of the sync.
+ * </p>
+ */
+@Component
+public class MasterDataBulkWriter {
+
+	private static final Logger LOGGER = AppConfig.getLogger(MasterDataBulkWriter.class);
+
+	private static final String DUPLICATE_KEY_SQL_STATE = "23505";
+
+	/** Number of rows sent to the database in one JDBC batch. */
+	@Value("${mosip.registration.mastersync.batch-size:500}")
+	private int batchSize;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private final Map<Class<?>, TableMapping> tableMappings = new ConcurrentHashMap<>();
+
+	/**
+	 * Inserts or updates the entities in the table of the entity class.
+	 *
+	 * @param entityClass
+	 *            the mapped entity class
+	 * @param entities
+	 *            the entities to write, all of the entity class
+	 * @return the number of rows written
+	 */
+	public int saveAll(Class<?> entityClass, List<?> entities) {
+		if (entities.isEmpty()) {
+			return 0;
+		}
+		SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+		session.flush();
+		TableMapping tableMapping = tableMappings.computeIfAbsent(entityClass,
+				mappedClass -> new TableMapping(session.getFactory(), mappedClass));
+		return session.doReturningWork(connection -> write(connection, session, tableMapping, entities));
+	}
+
+	private int write(Connection connection, SessionImplementor session, TableMapping tableMapping,
+			List<?> entities) throws SQLException {
+		long start = System.currentTimeMillis();
+		boolean upsert = !isEmpty(connection, tableMapping);
+		int written = 0;
+		while (written < entities.size()) {
+			List<?> batch = entities.subList(written, Math.min(written + Math.max(batchSize, 1), entities.size()));
+			try {
+				executeBatch(connection, session, tableMapping, batch, upsert);
+			} catch (BatchUpdateException exception) {
+				if (upsert || !DUPLICATE_KEY_SQL_STATE.equals(exception.getSQLState())) {
+					throw exception;
+				}
+				// duplicate rows in the payload, the rest of the rows are upserted
+				upsert = true;
+				executeBatch(connection, session, tableMapping, batch, upsert);
+			}
+			written += batch.size();
+		}
+		LOGGER.info(LOG_REG_MASTER_SYNC, APPLICATION_NAME, APPLICATION_ID, String.format("%s : %d rows %s in %d ms",
+				tableMapping.tableName, written, upsert ? "merged" : "inserted", System.currentTimeMillis() - start));
+		return written;
+	}
+
+	private boolean isEmpty(Connection connection, TableMapping tableMapping) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(tableMapping.probeSql);
+				ResultSet resultSet = statement.executeQuery()) {
+			return !resultSet.next();
+		}
+	}
+
+	private void executeBatch(Connection connection, SessionImplementor session, TableMapping tableMapping,
+			List<?> batch, boolean upsert) throws SQLException {
+		try (PreparedStatement statement = connection
+				.prepareStatement(upsert ? tableMapping.mergeSql : tableMapping.insertSql)) {
+			for (Object entity : batch) {
+				Object id = tableMapping.getIdentifier(entity, session);
+				Object[] values = tableMapping.persister.getPropertyValues(entity);
+				int index = 1;
+				if (upsert) {
+					index = tableMapping.bindIdentifier(statement, id, index, session);
+					if (!tableMapping.columns.isEmpty()) {
+						index = tableMapping.bindProperties(statement, values, index, session);
+					}
+				}
+				index = tableMapping.bindIdentifier(statement, id, index, session);
+				tableMapping.bindProperties(statement, values, index, session);
+				statement.addBatch();
+			}
+			statement.executeBatch();
+		}
+	}
+
+	/**
+	 * The statements of an entity class and the Hibernate types to bind their
+	 * parameters with.
+	 */
+	private static final class TableMapping {
+
+		private final AbstractEntityPersister persister;
+
+		private final String tableName;
+
+		private final Type identifierType;
+
+		/** An {@code @IdClass} key is held by the entity itself. */
+		private final boolean virtualIdentifier;
+
+		private final List<Integer> properties = new ArrayList<>();
+
+		private final List<String> columns = new ArrayList<>();
+
+		private final String probeSql;
+
+		private final String insertSql;
+
+		private final String mergeSql;
+
+		private TableMapping(SessionFactoryImplementor sessionFactory, Class<?> entityClass) {
+			persister = (AbstractEntityPersister) sessionFactory.getMetamodel().entityPersister(entityClass);
+			tableName = persister.getTableName();
+			identifierType = persister.getIdentifierType();
+			virtualIdentifier = identifierType.isComponentType() && ((CompositeType) identifierType).isEmbedded();
+
+			Type[] propertyTypes = persister.getPropertyTypes();
+			boolean[] insertable = persister.getPropertyInsertability();
+			for (int i = 0; i < propertyTypes.length; i++) {
+				String[] propertyColumns = persister.getPropertyColumnNames(i);
+				if (insertable[i] && !propertyTypes[i].isCollectionType() && propertyColumns.length > 0) {
+					properties.add(i);
+					columns.addAll(Arrays.asList(propertyColumns));
+				}
+			}
+
+			List<String> identifierColumns = Arrays.asList(persister.getIdentifierColumnNames());
+			List<String> allColumns = new ArrayList<>(identifierColumns);
+			allColumns.addAll(columns);
+			String parameters = allColumns.stream().map(column -> "?").collect(Collectors.joining(", "));
+
+			probeSql = "SELECT 1 FROM " + tableName + " FETCH FIRST ROW ONLY";
+			insertSql = "INSERT INTO " + tableName + " (" + String.join(", ", allColumns) + ") VALUES (" + parameters
+					+ ")";
+			mergeSql = "MERGE INTO " + tableName + " t USING SYSIBM.SYSDUMMY1 ON "
+					+ identifierColumns.stream().map(column -> "t." + column + " = ?").collect(Collectors.joining(" AND "))
+					+ (columns.isEmpty() ? ""
+							: " WHEN MATCHED THEN UPDATE SET "
+									+ columns.stream().map(column -> column + " = ?").collect(Collectors.joining(", ")))
+					+ " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", allColumns) + ") VALUES (" + parameters
+					+ ")";
+		}
+
+		private Object getIdentifier(Object entity, SessionImplementor session) {
+			return virtualIdentifier ? entity : persister.getIdentifier(entity, session);
+		}
+
+		private int bindIdentifier(PreparedStatement statement, Object id, int index, SessionImplementor session)
+				throws SQLException {
+			identifierType.nullSafeSet(statement, id, index, session);
+			return index + identifierType.getColumnSpan(session.getFactory());
+		}
+
+		private int bindProperties(PreparedStatement statement, Object[] values, int index,
+				SessionImplementor session) throws SQLException {
+			Type[] propertyTypes = persister.getPropertyTypes();
+			for (int property : properties) {
+				propertyTypes[property].nullSafeSet(statement, values[property], index, session);
+				index += propertyTypes[property].getColumnSpan(session.getFactory());
+			}
+			return index;
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package io.mosip.registration.util.mastersync;
 
+import java.io.IOException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -185,4 +186,29 @@ public class MetaDataUtils {
 		return entity;
 	}
 
+	/**
+	 * This method takes <code>source</code> json array of rows and a class which
+	 * must extends {@link RegistrationCommonFields}, maps every row to a new
+	 * <code>entityClass</code> object and sets its create meta data. The rows are
+	 * streamed from the data using the precompiled {@link EntityMapper} of the
+	 * class.
+	 * 
+	 * @param <D>         is a type parameter
+	 * @param data        is the source json array
+	 * @param entityClass is the destination class
+	 * @return the entities, which extends {@link RegistrationCommonFields}
+	 * @throws IOException if the data is not a json array of rows
+	 */
+	@SuppressWarnings("unchecked")
+	public static <D extends RegistrationCommonFields> List<D> setCreateJSONArrayToMetaData(final byte[] data,
+			Class<?> entityClass) throws IOException {
+		String contextUser = SessionContext.isSessionContextAvailable() ? SessionContext.userContext().getUserId()
+				: RegistrationConstants.JOB_TRIGGER_POINT_SYSTEM;
+		List<D> entities = (List<D>) MapperUtils.mapJSONArrayToEntities(data, entityClass);
+		for (D entity : entities) {
+			setCreatedDateTime(contextUser, entity);
+		}
+		return entities;
+	}
+
 }
\ No newline at end of file
@@ -20,11 +20,11 @@ import io.mosip.registration.exception.RegistrationExceptionConstants;
 import io.mosip.registration.repositories.UserTokenRepository;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -32,12 +32,33 @@ import java.net.URI;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
 
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
 
 
 /**
+ * Gives the auth token for the REST calls.
+ *
+ * <p>
+ * The tokens are kept in memory by operator, and by machine for the calls
+ * outside of a session, so a REST call does not read the token from the
+ * database. A token is refreshed in the background
+ * <code>mosip.registration.auth.token.refresh-before-seconds</code> before it
+ * expires, and only one refresh runs at a time for each operator or the
+ * machine. The tokens are written to the database in the background to be
+ * available after a restart.
+ * </p>
+ *
  * @author Anusha Sunkada
  * @since 1.1.3
  */
@@ -47,6 +68,12 @@ public class AuthTokenUtilService {
     private static final String AUTH_REFRESH_TOKEN_UTIL = "AUTH_REFRESH_TOKEN_UTIL";
     private static final Logger LOGGER = AppConfig.getLogger(AuthTokenUtilService.class);
 
+    /** Key of the token used outside of an operator session. */
+    private static final String MACHINE_TOKEN_KEY = "";
+
+    @Value("${mosip.registration.auth.token.refresh-before-seconds:60}")
+    private long refreshBeforeSeconds;
+
     @Autowired
     private ClientCryptoFacade clientCryptoFacade;
 
@@ -62,7 +89,27 @@ public class AuthTokenUtilService {
     @Autowired
     private UserTokenRepository userTokenRepository;
 
+    /** Tokens by operator id, and by {@link #MACHINE_TOKEN_KEY} for the machine. */
+    private final Map<String, AuthToken> authTokens = new ConcurrentHashMap<>();
+
+    /** Token fetches in progress by token key. */
+    private final Map<String, CompletableFuture<AuthToken>> inFlight = new ConcurrentHashMap<>();
+
+    /** Tokens not yet written to the database by operator id. */
+    private final Map<String, AuthToken> pendingWrites = new ConcurrentHashMap<>();
+
+    private ExecutorService refreshExecutor;
+
+    private ExecutorService writeExecutor;
+
     public boolean hasAnyValidToken() {
+        long now = System.currentTimeMillis()/1000;
+        for (AuthToken authToken : authTokens.values()) {
+            if (authToken.tokenExpiry > now || authToken.rtokenExpiry > now) {
+                return true;
+            }
+        }
+
         UserToken userToken = userTokenRepository.findTopByTokenExpiryGreaterThanAndUserDetailIsActiveTrueOrderByTokenExpiryDesc(System.currentTimeMillis()/1000);
         if(userToken != null) {
             return true;
@@ -80,41 +127,89 @@ public class AuthTokenUtilService {
         LOGGER.info(AUTH_REFRESH_TOKEN_UTIL, APPLICATION_NAME, APPLICATION_ID,
                 "fetchAuthToken invoked for triggerPoint >>>>> " + triggerPoint);
 
-        if(SessionContext.isSessionContextAvailable()) {
-            UserToken userToken = userTokenRepository.findByUsrIdAndUserDetailIsActiveTrue(SessionContext.userId());
-            if(userToken != null && userToken.getTokenExpiry() > (System.currentTimeMillis()/1000)) {
-                AuthTokenDTO authTokenDTO = new AuthTokenDTO();
-                authTokenDTO.setCookie(String.format("Authorization=%s", userToken.getToken()));
-                return authTokenDTO;
-            }
+        String tokenKey = getTokenKey();
+        AuthToken authToken = authTokens.get(tokenKey);
+        if (authToken == null || !authToken.isTokenValid(0)) {
+            authToken = fetchSingleFlight(tokenKey, () -> loadAuthToken(tokenKey, null));
+        } else if (!authToken.isTokenValid(refreshBeforeSeconds)) {
+            refreshInBackground(tokenKey, authToken);
+        }
+        return authToken.toAuthTokenDTO();
+    }
 
-            if(userToken != null && userToken.getRtokenExpiry() > (System.currentTimeMillis()/1000)) {
-                AuthTokenDTO authTokenDTO = new AuthTokenDTO();
-                authTokenDTO.setCookie(String.format("Authorization=%s",
-                        refreshAuthToken(userToken.getUsrId(), userToken.getRefreshToken())));
-                return authTokenDTO;
-            }
+    /**
+     * Fetches a new token after the server rejected the given one. When several
+     * calls are rejected together, the token is fetched only once.
+     *
+     * @param triggerPoint
+     *            the trigger point of the rejected call
+     * @param rejectedCookie
+     *            the cookie the server rejected
+     * @return the new token
+     * @throws RegBaseCheckedException
+     *             if no token could be fetched
+     */
+    public AuthTokenDTO fetchNewAuthToken(String triggerPoint, String rejectedCookie) throws RegBaseCheckedException {
+        LOGGER.info(AUTH_REFRESH_TOKEN_UTIL, APPLICATION_NAME, APPLICATION_ID,
+                "fetchNewAuthToken invoked for triggerPoint >>>>> " + triggerPoint);
+
+        String tokenKey = getTokenKey();
+        return fetchSingleFlight(tokenKey, () -> loadAuthToken(tokenKey, rejectedCookie)).toAuthTokenDTO();
+    }
+
+    /**
+     * Drops the tokens kept in memory, called when the operators were synced.
+     */
+    public void invalidateAuthTokens() {
+        authTokens.clear();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
         }
-        else {
-            UserToken userToken = userTokenRepository.findTopByTokenExpiryGreaterThanAndUserDetailIsActiveTrueOrderByTokenExpiryDesc(System.currentTimeMillis()/1000);
-            if(userToken != null) {
-                AuthTokenDTO authTokenDTO = new AuthTokenDTO();
-                authTokenDTO.setCookie(String.format("Authorization=%s", userToken.getToken()));
-                return authTokenDTO;
+        if (writeExecutor != null) {
+            // the pending tokens are still written
+            writeExecutor.shutdown();
+            try {
+                writeExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
             }
+        }
+    }
+
+    private String getTokenKey() {
+        return SessionContext.isSessionContextAvailable() ? SessionContext.userId() : MACHINE_TOKEN_KEY;
+    }
 
-            userToken = userTokenRepository.findTopByRtokenExpiryGreaterThanAndUserDetailIsActiveTrueOrderByRtokenExpiryDesc(System.currentTimeMillis()/1000);
-            if(userToken != null) {
-                AuthTokenDTO authTokenDTO = new AuthTokenDTO();
-                authTokenDTO.setCookie(String.format("Authorization=%s",
-                        refreshAuthToken(userToken.getUsrId(), userToken.getRefreshToken())));
-                return authTokenDTO;
+    /**
+     * Gives a valid token from memory, the database, the refresh token or the
+     * password of the operator, in this order.
+     */
+    private AuthToken loadAuthToken(String tokenKey, String rejectedCookie) throws RegBaseCheckedException {
+        // fetched by a concurrent call
+        AuthToken authToken = authTokens.get(tokenKey);
+        if (authToken != null && authToken.isTokenValid(0) && !authToken.toCookie().equals(rejectedCookie)) {
+            return authToken;
+        }
+
+        if (authToken == null) {
+            authToken = readAuthToken(tokenKey);
+            if (authToken != null && authToken.isTokenValid(0) && !authToken.toCookie().equals(rejectedCookie)) {
+                authTokens.put(tokenKey, authToken);
+                return authToken;
             }
         }
 
+        if (authToken != null && authToken.isRefreshTokenValid()) {
+            return refreshAuthToken(authToken.usrId, authToken.refreshToken);
+        }
+
         LoginUserDTO loginUserDTO = (LoginUserDTO) ApplicationContext.map().get(RegistrationConstants.USER_DTO);
         if(loginUserDTO != null && loginUserDTO.getPassword() != null) {
-            return getAuthTokenAndRefreshToken(LoginMode.PASSWORD);
+            return requestAuthToken(LoginMode.PASSWORD, loginUserDTO);
         }
 
         throw new RegBaseCheckedException(
@@ -122,9 +217,132 @@ public class AuthTokenUtilService {
                 RegistrationExceptionConstants.AUTH_TOKEN_COOKIE_NOT_FOUND.getErrorMessage());
     }
 
+    private AuthToken readAuthToken(String tokenKey) {
+        long now = System.currentTimeMillis()/1000;
+        UserToken userToken;
+        if (MACHINE_TOKEN_KEY.equals(tokenKey)) {
+            userToken = userTokenRepository.findTopByTokenExpiryGreaterThanAndUserDetailIsActiveTrueOrderByTokenExpiryDesc(now);
+            if (userToken == null) {
+                userToken = userTokenRepository.findTopByRtokenExpiryGreaterThanAndUserDetailIsActiveTrueOrderByRtokenExpiryDesc(now);
+            }
+        } else {
+            userToken = userTokenRepository.findByUsrIdAndUserDetailIsActiveTrue(tokenKey);
+        }
+        return userToken == null ? null : new AuthToken(userToken.getUsrId(), userToken.getToken(),
+                userToken.getRefreshToken(), userToken.getTokenExpiry(), userToken.getRtokenExpiry());
+    }
+
+    /**
+     * Runs the fetch of the token unless one is already running for the same key,
+     * in which case its result is awaited.
+     */
+    private AuthToken fetchSingleFlight(String tokenKey, Callable<AuthToken> fetch) throws RegBaseCheckedException {
+        CompletableFuture<AuthToken> future = new CompletableFuture<>();
+        CompletableFuture<AuthToken> running = inFlight.putIfAbsent(tokenKey, future);
+        if (running != null) {
+            try {
+                return running.get();
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException executionException) {
+                if (executionException.getCause() instanceof RegBaseCheckedException) {
+                    throw (RegBaseCheckedException) executionException.getCause();
+                }
+            }
+            throw new RegBaseCheckedException(
+                    RegistrationExceptionConstants.AUTH_TOKEN_COOKIE_NOT_FOUND.getErrorCode(),
+                    RegistrationExceptionConstants.AUTH_TOKEN_COOKIE_NOT_FOUND.getErrorMessage());
+        }
 
+        try {
+            AuthToken authToken = fetch.call();
+            future.complete(authToken);
+            return authToken;
+        } catch (RegBaseCheckedException regBaseCheckedException) {
+            future.completeExceptionally(regBaseCheckedException);
+            throw regBaseCheckedException;
+        } catch (Exception exception) {
+            future.completeExceptionally(exception);
+            throw new RegBaseCheckedException(
+                    RegistrationExceptionConstants.AUTH_TOKEN_COOKIE_NOT_FOUND.getErrorCode(),
+                    RegistrationExceptionConstants.AUTH_TOKEN_COOKIE_NOT_FOUND.getErrorMessage(), exception);
+        } finally {
+            inFlight.remove(tokenKey, future);
+        }
+    }
 
-    private String refreshAuthToken(String userId, String refreshToken) throws RegBaseCheckedException {
+    private void refreshInBackground(String tokenKey, AuthToken authToken) {
+        if (!authToken.isRefreshTokenValid() || inFlight.containsKey(tokenKey)) {
+            return;
+        }
+        getRefreshExecutor().execute(() -> {
+            try {
+                fetchSingleFlight(tokenKey, () -> {
+                    AuthToken current = authTokens.get(tokenKey);
+                    // already refreshed by an earlier task
+                    if (current != null && current != authToken && current.isTokenValid(refreshBeforeSeconds)) {
+                        return current;
+                    }
+                    return refreshAuthToken(authToken.usrId, authToken.refreshToken);
+                });
+            } catch (RegBaseCheckedException regBaseCheckedException) {
+                LOGGER.error(AUTH_REFRESH_TOKEN_UTIL, APPLICATION_NAME, APPLICATION_ID,
+                        "Failed to refresh auth token before expiry : " + regBaseCheckedException.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Keeps the token in memory for the operator, and for the machine if it is
+     * valid longer than the one kept, and writes it to the database in the
+     * background.
+     */
+    private void saveAuthToken(AuthToken authToken) {
+        authTokens.put(authToken.usrId, authToken);
+        authTokens.merge(MACHINE_TOKEN_KEY, authToken,
+                (kept, fetched) -> fetched.tokenExpiry >= kept.tokenExpiry ? fetched : kept);
+
+        // writes of the same operator not yet done are replaced by the latest token
+        if (pendingWrites.put(authToken.usrId, authToken) == null) {
+            getWriteExecutor().execute(() -> {
+                AuthToken pending = pendingWrites.remove(authToken.usrId);
+                if (pending == null) {
+                    return;
+                }
+                try {
+                    userDetailDAO.updateAuthTokens(pending.usrId, pending.token, pending.refreshToken,
+                            pending.tokenExpiry, pending.rtokenExpiry);
+                } catch (RuntimeException runtimeException) {
+                    LOGGER.error(AUTH_REFRESH_TOKEN_UTIL, APPLICATION_NAME, APPLICATION_ID,
+                            "Failed to save auth token : " + ExceptionUtils.getStackTrace(runtimeException));
+                }
+            });
+        }
+    }
+
+    private synchronized ExecutorService getRefreshExecutor() {
+        if (refreshExecutor == null) {
+            refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "auth-token-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return refreshExecutor;
+    }
+
+    private synchronized ExecutorService getWriteExecutor() {
+        if (writeExecutor == null) {
+            writeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "auth-token-write");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return writeExecutor;
+    }
+
+    private AuthToken refreshAuthToken(String userId, String refreshToken) throws RegBaseCheckedException {
         LOGGER.info(AUTH_REFRESH_TOKEN_UTIL, APPLICATION_NAME, APPLICATION_ID,
                 "refreshAuthToken invoked for userId >>>>> " + userId);
         try {
@@ -137,17 +355,18 @@ public class AuthTokenUtilService {
                     Base64.getUrlEncoder().encodeToString(payload.getBytes()), Base64.getUrlEncoder().encodeToString(signature));
 
             RequestHTTPDTO requestHTTPDTO = getRequestHTTPDTO(data, timestamp);
-            setTimeout(requestHTTPDTO);
+            RequestTimeoutUtil.setTimeout(requestHTTPDTO, environment, "auth_by_password");
             setURI(requestHTTPDTO, new HashMap<>(), getEnvironmentProperty("auth_by_password", RegistrationConstants.SERVICE_URL));
             Map<String, Object> responseMap = restClientUtil.invokeForToken(requestHTTPDTO);
 
             long currentTimeInSeconds = System.currentTimeMillis()/1000;
             JSONObject jsonObject = getAuthTokenResponse(responseMap);
-            userDetailDAO.updateAuthTokens(userId, jsonObject.getString("token"),
+            AuthToken authToken = new AuthToken(userId, jsonObject.getString("token"),
                     jsonObject.getString("refreshToken"),
                     currentTimeInSeconds + jsonObject.getLong("expiryTime"),
                     currentTimeInSeconds + jsonObject.getLong("refreshExpiryTime"));
-            return jsonObject.getString("token");
+            saveAuthToken(authToken);
+            return authToken;
         } catch (Exception exception) {
             LOGGER.error(AUTH_REFRESH_TOKEN_UTIL, APPLICATION_NAME, APPLICATION_ID,
                     ExceptionUtils.getStackTrace(exception));
@@ -164,6 +383,16 @@ public class AuthTokenUtilService {
 
 
     public AuthTokenDTO getAuthTokenAndRefreshToken(LoginMode loginMode, LoginUserDTO loginUserDTO) throws RegBaseCheckedException {
+        AuthTokenDTO authTokenDTO = requestAuthToken(loginMode, loginUserDTO).toAuthTokenDTO();
+        authTokenDTO.setLoginMode(loginMode.getCode());
+
+        ApplicationContext.setAuthTokenDTO(authTokenDTO);
+        if(SessionContext.isSessionContextAvailable())
+            SessionContext.setAuthTokenDTO(authTokenDTO);
+        return authTokenDTO;
+    }
+
+    private AuthToken requestAuthToken(LoginMode loginMode, LoginUserDTO loginUserDTO) throws RegBaseCheckedException {
         LOGGER.info(AUTH_REFRESH_TOKEN_UTIL, APPLICATION_NAME, APPLICATION_ID,
                 "Fetching Auth Token and refresh token based on Login Mode >>> " + loginMode);
         try {
@@ -187,29 +416,22 @@ public class AuthTokenUtilService {
                     Base64.getUrlEncoder().encodeToString(payload.getBytes()), Base64.getUrlEncoder().encodeToString(signature));
 
             RequestHTTPDTO requestHTTPDTO = getRequestHTTPDTO(data, timestamp);
-            setTimeout(requestHTTPDTO);
+            RequestTimeoutUtil.setTimeout(requestHTTPDTO, environment, "auth_by_password");
             setURI(requestHTTPDTO, new HashMap<>(), getEnvironmentProperty("auth_by_password", RegistrationConstants.SERVICE_URL));
             Map<String, Object> responseMap = restClientUtil.invokeForToken(requestHTTPDTO);
 
             long currentTimeInSeconds = System.currentTimeMillis()/1000;
             JSONObject jsonObject = getAuthTokenResponse(responseMap);
-            AuthTokenDTO authTokenDTO = new AuthTokenDTO();
-            authTokenDTO.setCookie(String.format("Authorization=%s", jsonObject.getString("token")));
-            authTokenDTO.setLoginMode(loginMode.getCode());
-
-            ApplicationContext.setAuthTokenDTO(authTokenDTO);
-            if(SessionContext.isSessionContextAvailable())
-                SessionContext.setAuthTokenDTO(authTokenDTO);
 
             if(loginUserDTO.getPassword() != null)
                 userDetailDAO.updateUserPwd(loginUserDTO.getUserId(), loginUserDTO.getPassword());
 
-            userDetailDAO.updateAuthTokens(loginUserDTO.getUserId(), jsonObject.getString("token"),
+            AuthToken authToken = new AuthToken(loginUserDTO.getUserId(), jsonObject.getString("token"),
                     jsonObject.getString("refreshToken"),
                     currentTimeInSeconds + jsonObject.getLong("expiryTime"),
                     currentTimeInSeconds + jsonObject.getLong("refreshExpiryTime"));
-
-            return authTokenDTO;
+            saveAuthToken(authToken);
+            return authToken;
 
         } catch (Exception exception) {
             LOGGER.error(AUTH_REFRESH_TOKEN_UTIL, APPLICATION_NAME, APPLICATION_ID,
@@ -281,13 +503,43 @@ public class AuthTokenUtilService {
                 "Completed preparing URI for web-service >>>>>>> " + uri);
     }
 
-    private void setTimeout(RequestHTTPDTO requestHTTPDTO) {
-        // Timeout in milli second
-        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setReadTimeout(
-                Integer.parseInt((String) ApplicationContext.map().get(RegistrationConstants.HTTP_API_READ_TIMEOUT)));
-        requestFactory.setConnectTimeout(
-                Integer.parseInt((String) ApplicationContext.map().get(RegistrationConstants.HTTP_API_WRITE_TIMEOUT)));
-        requestHTTPDTO.setSimpleClientHttpRequestFactory(requestFactory);
+    /** An auth token with its refresh token, expiries in seconds since the epoch. */
+    private static final class AuthToken {
+
+        private final String usrId;
+
+        private final String token;
+
+        private final String refreshToken;
+
+        private final long tokenExpiry;
+
+        private final long rtokenExpiry;
+
+        private AuthToken(String usrId, String token, String refreshToken, long tokenExpiry, long rtokenExpiry) {
+            this.usrId = usrId;
+            this.token = token;
+            this.refreshToken = refreshToken;
+            this.tokenExpiry = tokenExpiry;
+            this.rtokenExpiry = rtokenExpiry;
+        }
+
+        private boolean isTokenValid(long marginSeconds) {
+            return tokenExpiry > System.currentTimeMillis()/1000 + marginSeconds;
+        }
+
+        private boolean isRefreshTokenValid() {
+            return rtokenExpiry > System.currentTimeMillis()/1000;
+        }
+
+        private String toCookie() {
+            return String.format("Authorization=%s", token);
+        }
+
+        private AuthTokenDTO toAuthTokenDTO() {
+            AuthTokenDTO authTokenDTO = new AuthTokenDTO();
+            authTokenDTO.setCookie(toCookie());
+            return authTokenDTO;
+        }
     }
 }
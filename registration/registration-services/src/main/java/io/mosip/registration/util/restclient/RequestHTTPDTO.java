@@ -5,7 +5,6 @@ import java.net.URI;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 
 /**
  * This class holds the request of http data
@@ -17,7 +16,8 @@ public class RequestHTTPDTO {
 	private HttpEntity<?> httpEntity;
 	private Class<?> clazz;
 	private URI uri;
-	private SimpleClientHttpRequestFactory simpleClientHttpRequestFactory;
+	private int connectTimeout;
+	private int readTimeout;
 	private boolean isPregRegSync;
 	private boolean isAuthRequired;
 	private String authZHeader;
@@ -73,12 +73,32 @@ public class RequestHTTPDTO {
 		this.uri = uri;
 	}
 
-	public SimpleClientHttpRequestFactory getSimpleClientHttpRequestFactory() {
-		return simpleClientHttpRequestFactory;
+	/**
+	 * @return the connect timeout in milliseconds
+	 */
+	public int getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	/**
+	 * @param connectTimeout the connect timeout in milliseconds to set
+	 */
+	public void setConnectTimeout(int connectTimeout) {
+		this.connectTimeout = connectTimeout;
 	}
 
-	public void setSimpleClientHttpRequestFactory(SimpleClientHttpRequestFactory simpleClientHttpRequestFactory) {
-		this.simpleClientHttpRequestFactory = simpleClientHttpRequestFactory;
+	/**
+	 * @return the read timeout in milliseconds
+	 */
+	public int getReadTimeout() {
+		return readTimeout;
+	}
+
+	/**
+	 * @param readTimeout the read timeout in milliseconds to set
+	 */
+	public void setReadTimeout(int readTimeout) {
+		this.readTimeout = readTimeout;
 	}
 
 	public boolean isPregRegSync() {
@@ -0,0 +1,48 @@
+package io.mosip.registration.util.restclient;
+
+import org.springframework.core.env.Environment;
+
+import io.mosip.registration.constants.RegistrationConstants;
+import io.mosip.registration.context.ApplicationContext;
+
+/**
+ * Resolves the connect and read timeouts of a web-service request.
+ *
+ * The timeouts configured for the service
+ * (&lt;service&gt;.service.connecttimeout and
+ * &lt;service&gt;.service.readtimeout) take precedence over the global HTTP API
+ * timeouts.
+ */
+public final class RequestTimeoutUtil {
+
+	private RequestTimeoutUtil() {
+
+	}
+
+	/**
+	 * Sets the connect and read timeouts of the request, in milliseconds.
+	 *
+	 * @param requestHTTPDTO
+	 *            the request
+	 * @param environment
+	 *            the environment holding the service properties
+	 * @param serviceName
+	 *            service to be invoked, null if not known
+	 */
+	public static void setTimeout(RequestHTTPDTO requestHTTPDTO, Environment environment, String serviceName) {
+		requestHTTPDTO.setReadTimeout(getTimeout(environment, serviceName, RegistrationConstants.SERVICE_READ_TIMEOUT,
+				RegistrationConstants.HTTP_API_READ_TIMEOUT));
+		requestHTTPDTO.setConnectTimeout(getTimeout(environment, serviceName,
+				RegistrationConstants.SERVICE_CONNECT_TIMEOUT, RegistrationConstants.HTTP_API_WRITE_TIMEOUT));
+	}
+
+	private static int getTimeout(Environment environment, String serviceName, String serviceComponent,
+			String globalParamName) {
+		String timeout = serviceName == null ? null
+				: environment.getProperty(serviceName.concat(RegistrationConstants.DOT).concat(serviceComponent));
+		if (timeout == null || timeout.trim().isEmpty()) {
+			timeout = (String) ApplicationContext.map().get(globalParamName);
+		}
+		return Integer.parseInt(timeout.trim());
+	}
+}
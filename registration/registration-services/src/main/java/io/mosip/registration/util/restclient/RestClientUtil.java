@@ -3,35 +3,70 @@ package io.mosip.registration.util.restclient;
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_ID;
 import static io.mosip.registration.constants.RegistrationConstants.APPLICATION_NAME;
 
+import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+import javax.annotation.PreDestroy;
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 
+import org.apache.http.Header;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.client.entity.GzipCompressingEntity;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.registration.config.AppConfig;
 import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.exception.RegBaseCheckedException;
+import io.mosip.registration.util.healthcheck.RegistrationAppHealthCheckUtil;
 
 /**
  * This is a general method which gives the response for all httpmethod
  * designators.
+ * 
+ * All the calls share one pooled HTTP client, so the TCP and TLS connections
+ * to the server are kept alive and reused across master sync, pre-registration
+ * sync, packet upload and packet status calls.
  *
  * @author Yaswanth S
  * @since 1.0.0
@@ -44,6 +79,50 @@ public class RestClientUtil {
 	 */
 	private static final Logger LOGGER = AppConfig.getLogger(RestClientUtil.class);
 
+	/**
+	 * Reads the signed responses, configured like the message converter of the
+	 * rest template
+	 */
+	private static final ObjectMapper RESPONSE_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule())
+			.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+	@Value("${mosip.registration.http.pool.max-total:20}")
+	private int maxTotalConnections;
+
+	@Value("${mosip.registration.http.pool.max-per-route:10}")
+	private int maxConnectionsPerRoute;
+
+	@Value("${mosip.registration.http.pool.connection-request-timeout:30000}")
+	private int connectionRequestTimeout;
+
+	@Value("${mosip.registration.http.pool.idle-timeout-seconds:30}")
+	private long idleTimeoutSeconds;
+
+	@Value("${mosip.registration.http.keep-alive-millis:30000}")
+	private long defaultKeepAliveMillis;
+
+	@Value("${mosip.registration.http.request.compression.enabled:false}")
+	private boolean requestCompressionEnabled;
+
+	@Value("${mosip.registration.http.request.compression.min-size:2048}")
+	private long requestCompressionMinSize;
+
+	private PoolingHttpClientConnectionManager connectionManager;
+
+	private CloseableHttpClient httpClient;
+
+	/**
+	 * Rest templates over the shared client, one for each distinct pair of
+	 * connect and read timeouts
+	 */
+	private final Map<String, RestTemplate> restTemplates = new ConcurrentHashMap<>();
+
+	/**
+	 * SSL context of the calls to the server, shared by the pooled client and the
+	 * health check connections
+	 */
+	private static SSLContext sslContext;
+
 	/**
 	 * Actual exchange using rest template.
 	 *
@@ -71,28 +150,37 @@ public class RestClientUtil {
 	}
 
 	private Map<String, Object> invokeURL(RequestHTTPDTO requestHTTPDTO) {
-		RestTemplate restTemplate = new RestTemplate();
 		ResponseEntity<?> responseEntity = null;
 		Map<String, Object> responseMap = null;
-		restTemplate.setRequestFactory(requestHTTPDTO.getSimpleClientHttpRequestFactory());
-		//To-do need to be removed after checking this properly
+		RestTemplate restTemplate = getRestTemplate(requestHTTPDTO.getConnectTimeout(),
+				requestHTTPDTO.getReadTimeout());
+
+		// the signature of a signed response is verified against the bytes as received
+		boolean keepRawBody = Boolean.TRUE.equals(requestHTTPDTO.getIsSignRequired())
+				&& !byte[].class.equals(requestHTTPDTO.getClazz());
+
 		try {
-			if (requestHTTPDTO.getUri().toString().contains("https"))
-				turnOffSslChecking();
-		} catch (KeyManagementException keyManagementException) {
-			LOGGER.error("REGISTRATION - REST_CLIENT_UTIL - INVOKE", APPLICATION_NAME, APPLICATION_ID,
-					keyManagementException.getMessage() + ExceptionUtils.getStackTrace(keyManagementException));
-		} catch (NoSuchAlgorithmException noSuchAlgorithmException) {
-			LOGGER.error("REGISTRATION - REST_CLIENT_UTIL - INVOKE", APPLICATION_NAME, APPLICATION_ID,
-					noSuchAlgorithmException.getMessage() + ExceptionUtils.getStackTrace(noSuchAlgorithmException));
+			responseEntity = restTemplate.exchange(requestHTTPDTO.getUri(), requestHTTPDTO.getHttpMethod(),
+					requestHTTPDTO.getHttpEntity(), keepRawBody ? byte[].class : requestHTTPDTO.getClazz());
+		} catch (ResourceAccessException | HttpServerErrorException exception) {
+			// the cached connectivity state may be out of date
+			RegistrationAppHealthCheckUtil.reportConnectionFailure();
+			throw exception;
 		}
-		
-		responseEntity = restTemplate.exchange(requestHTTPDTO.getUri(), requestHTTPDTO.getHttpMethod(),
-				requestHTTPDTO.getHttpEntity(), requestHTTPDTO.getClazz());
+
+		LOGGER.debug("REGISTRATION - REST_CLIENT_UTIL - INVOKE", APPLICATION_NAME, APPLICATION_ID,
+				"Connection pool after " + requestHTTPDTO.getUri().getHost() + " call : " + getPoolStats());
 		
 		if (responseEntity != null && responseEntity.hasBody()) {
 			responseMap = new LinkedHashMap<>();
-			responseMap.put(RegistrationConstants.REST_RESPONSE_BODY, responseEntity.getBody());
+			if (keepRawBody) {
+				byte[] rawBody = (byte[]) responseEntity.getBody();
+				responseMap.put(RegistrationConstants.REST_RESPONSE_BODY,
+						readBody(rawBody, requestHTTPDTO.getClazz()));
+				responseMap.put(RegistrationConstants.REST_RESPONSE_RAW_BODY, rawBody);
+			} else {
+				responseMap.put(RegistrationConstants.REST_RESPONSE_BODY, responseEntity.getBody());
+			}
 			responseMap.put(RegistrationConstants.REST_RESPONSE_HEADERS, responseEntity.getHeaders());
 		}
 
@@ -128,19 +216,167 @@ public class RestClientUtil {
 		return invokeURL(requestHTTPDTO);
 	}
 
+	private static Object readBody(byte[] rawBody, Class<?> clazz) {
+		if (String.class.equals(clazz)) {
+			return new String(rawBody, StandardCharsets.UTF_8);
+		}
+		try {
+			return RESPONSE_MAPPER.readValue(rawBody, clazz);
+		} catch (IOException ioException) {
+			throw new HttpMessageNotReadableException("Failed to read the response body : " + ioException.getMessage(),
+					ioException);
+		}
+	}
+
+	/**
+	 * Gives the rest template for the given timeouts. All the rest templates share
+	 * the same pooled HTTP client.
+	 *
+	 * @param connectTimeout
+	 *            the connect timeout in milliseconds
+	 * @param readTimeout
+	 *            the read timeout in milliseconds
+	 * @return the rest template
+	 */
+	private RestTemplate getRestTemplate(int connectTimeout, int readTimeout) {
+		return restTemplates.computeIfAbsent(connectTimeout + ":" + readTimeout, key -> {
+			HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(
+					getHttpClient());
+			requestFactory.setConnectTimeout(connectTimeout);
+			requestFactory.setReadTimeout(readTimeout);
+			requestFactory.setConnectionRequestTimeout(connectionRequestTimeout);
+			return new RestTemplate(requestFactory);
+		});
+	}
+
+	/**
+	 * Builds the shared HTTP client on first use. The connections are pooled per
+	 * host, kept alive for the duration advertised by the server (or
+	 * mosip.registration.http.keep-alive-millis when the server does not say),
+	 * and evicted once idle. Responses are always accepted gzip compressed;
+	 * request bodies are compressed only when enabled, as the server has to
+	 * support it.
+	 *
+	 * @return the shared HTTP client
+	 */
+	private synchronized CloseableHttpClient getHttpClient() {
+		if (httpClient == null) {
+			SSLConnectionSocketFactory sslSocketFactory;
+			try {
+				sslSocketFactory = new SSLConnectionSocketFactory(getSslContext());
+			} catch (KeyManagementException | NoSuchAlgorithmException exception) {
+				LOGGER.error("REGISTRATION - REST_CLIENT_UTIL - HTTP_CLIENT", APPLICATION_NAME, APPLICATION_ID,
+						exception.getMessage() + ExceptionUtils.getStackTrace(exception));
+				sslSocketFactory = SSLConnectionSocketFactory.getSocketFactory();
+			}
+			Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+					.register("http", PlainConnectionSocketFactory.getSocketFactory())
+					.register("https", sslSocketFactory).build();
+
+			connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+			connectionManager.setMaxTotal(maxTotalConnections);
+			connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+			ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+				long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+				return keepAlive > 0 ? keepAlive : defaultKeepAliveMillis;
+			};
+
+			httpClient = HttpClients.custom().setConnectionManager(connectionManager)
+					.setKeepAliveStrategy(keepAliveStrategy).evictExpiredConnections()
+					.evictIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS)
+					.addInterceptorFirst(getRequestCompressionInterceptor()).build();
+
+			LOGGER.info("REGISTRATION - REST_CLIENT_UTIL - HTTP_CLIENT", APPLICATION_NAME, APPLICATION_ID,
+					"Shared HTTP client created with max " + maxTotalConnections + " connections, "
+							+ maxConnectionsPerRoute + " per host");
+		}
+		return httpClient;
+	}
+
+	private HttpRequestInterceptor getRequestCompressionInterceptor() {
+		return (request, context) -> {
+			if (!requestCompressionEnabled || !(request instanceof HttpEntityEnclosingRequest)) {
+				return;
+			}
+			HttpEntityEnclosingRequest entityRequest = (HttpEntityEnclosingRequest) request;
+			Header contentType = request.getFirstHeader(HttpHeaders.CONTENT_TYPE);
+			// Multipart bodies carry already zipped packets
+			if (entityRequest.getEntity() != null && entityRequest.getEntity().getContentEncoding() == null
+					&& !request.containsHeader(HttpHeaders.CONTENT_ENCODING)
+					&& entityRequest.getEntity().getContentLength() >= requestCompressionMinSize
+					&& (contentType == null || !contentType.getValue().startsWith("multipart"))) {
+				entityRequest.setEntity(new GzipCompressingEntity(entityRequest.getEntity()));
+			}
+		};
+	}
+
+	/**
+	 * Gives the overall statistics of the shared connection pool.
+	 *
+	 * @return the pool statistics, null if no call has been made yet
+	 */
+	public synchronized PoolStats getPoolStats() {
+		return connectionManager == null ? null : connectionManager.getTotalStats();
+	}
+
+	/**
+	 * Gives the statistics of the shared connection pool for each host.
+	 *
+	 * @return the pool statistics by host
+	 */
+	public synchronized Map<String, PoolStats> getRoutePoolStats() {
+		Map<String, PoolStats> routePoolStats = new LinkedHashMap<>();
+		if (connectionManager != null) {
+			for (HttpRoute route : connectionManager.getRoutes()) {
+				routePoolStats.put(route.getTargetHost().toHostString(), connectionManager.getStats(route));
+			}
+		}
+		return routePoolStats;
+	}
+
+	@PreDestroy
+	public synchronized void destroy() {
+		if (httpClient != null) {
+			try {
+				httpClient.close();
+			} catch (IOException ioException) {
+				LOGGER.error("REGISTRATION - REST_CLIENT_UTIL - HTTP_CLIENT", APPLICATION_NAME, APPLICATION_ID,
+						ioException.getMessage() + ExceptionUtils.getStackTrace(ioException));
+			}
+			httpClient = null;
+			connectionManager = null;
+			restTemplates.clear();
+		}
+	}
+
 	/**
-	 * Turn off ssl checking.
+	 * Applies the SSL configuration of the pooled client to the connection, instead
+	 * of changing the default socket factory of every {@link HttpsURLConnection}
+	 * in the JVM.
 	 *
+	 * @param connection
+	 * 				the connection to the server, not yet connected
 	 * @throws NoSuchAlgorithmException 
 	 * 				the no such algorithm exception
 	 * @throws KeyManagementException 
 	 * 				the key management exception
 	 */
-	public static void turnOffSslChecking() throws NoSuchAlgorithmException, KeyManagementException {
-		// Install the all-trusting trust manager
-		final SSLContext sc = SSLContext.getInstance("SSL");
-		sc.init(null, UNQUESTIONING_TRUST_MANAGER, null);
-		HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
+	public static void configureSsl(HttpURLConnection connection)
+			throws NoSuchAlgorithmException, KeyManagementException {
+		if (connection instanceof HttpsURLConnection) {
+			((HttpsURLConnection) connection).setSSLSocketFactory(getSslContext().getSocketFactory());
+		}
+	}
+
+	private static synchronized SSLContext getSslContext() throws NoSuchAlgorithmException, KeyManagementException {
+		if (sslContext == null) {
+			//To-do need to be removed after checking this properly
+			SSLContext context = SSLContext.getInstance("SSL");
+			context.init(null, UNQUESTIONING_TRUST_MANAGER, null);
+			sslContext = context;
+		}
+		return sslContext;
 	}
 
 	/** The Constant UNQUESTIONING_TRUST_MANAGER. */
@@ -21,7 +21,6 @@ import org.springframework.core.env.Environment;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
@@ -314,7 +313,7 @@ public class ServiceDelegateUtil {
 		} catch (URISyntaxException uriSyntaxException) {
 		}
 		// set timeout
-		setTimeout(requestHTTPDTO);
+		RequestTimeoutUtil.setTimeout(requestHTTPDTO, environment, serviceName);
 		// Headers
 		setHeaders(requestHTTPDTO.getHttpHeaders(), getEnvironmentProperty(serviceName, RegistrationConstants.HEADERS));
 		requestHTTPDTO.setAuthRequired(false);
@@ -484,7 +483,7 @@ public class ServiceDelegateUtil {
 		requestHTTPDTO.setHttpHeaders(new HttpHeaders());
 		requestHTTPDTO.setRequestBody(requestBody);
 		// set timeout
-		setTimeout(requestHTTPDTO);
+		RequestTimeoutUtil.setTimeout(requestHTTPDTO, environment, serviceName);
 		// Headers
 		setHeaders(requestHTTPDTO.getHttpHeaders(), getEnvironmentProperty(serviceName, RegistrationConstants.HEADERS));
 
@@ -492,21 +491,6 @@ public class ServiceDelegateUtil {
 				"Completed preparing RequestHTTPDTO object for web-service");
 	}
 
-	/**
-	 * Method to set the request timeout
-	 * 
-	 * @param requestHTTPDTO
-	 */
-	private void setTimeout(RequestHTTPDTO requestHTTPDTO) {
-		// Timeout in milli second
-		SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-		requestFactory.setReadTimeout(
-				Integer.parseInt((String) ApplicationContext.map().get(RegistrationConstants.HTTP_API_READ_TIMEOUT)));
-		requestFactory.setConnectTimeout(
-				Integer.parseInt((String) ApplicationContext.map().get(RegistrationConstants.HTTP_API_WRITE_TIMEOUT)));
-		requestHTTPDTO.setSimpleClientHttpRequestFactory(requestFactory);
-	}
-
 	private AuthNRequestDTO prepareAuthNRequestDTO(LoginMode loginMode) {
 		LOGGER.info(LoggerConstants.LOG_SERVICE_DELEGATE_AUTH_DTO, APPLICATION_NAME, APPLICATION_ID,
 				"Preparing AuthNRequestDTO Based on Login Mode >>>> " + loginMode);
@@ -579,8 +563,8 @@ public class ServiceDelegateUtil {
 		requestHTTPDTO.setIsSignRequired(false);
 		requestHTTPDTO.setRequestSignRequired(false);
 
-		// set simple client http request
-		setTimeout(requestHTTPDTO);
+		// set timeout
+		RequestTimeoutUtil.setTimeout(requestHTTPDTO, environment, null);
 
 		return requestHTTPDTO;
 	}
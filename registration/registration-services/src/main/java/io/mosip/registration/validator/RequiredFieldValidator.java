@@ -19,7 +19,6 @@ import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.dto.RegistrationDTO;
 import io.mosip.registration.dto.RequiredOnExpr;
 import io.mosip.registration.dto.UiSchemaDTO;
-import io.mosip.registration.dto.response.SchemaDto;
 import io.mosip.registration.exception.RegBaseCheckedException;
 import io.mosip.registration.service.IdentitySchemaService;
 
@@ -33,12 +32,11 @@ public class RequiredFieldValidator {
 	private IdentitySchemaService identitySchemaService;
 	
 	public boolean isRequiredField(String fieldId, RegistrationDTO registrationDTO) throws RegBaseCheckedException {
-		SchemaDto schema = identitySchemaService.getIdentitySchema(registrationDTO.getIdSchemaVersion());
-		Optional<UiSchemaDTO> schemaField = schema.getSchema().stream().filter(field -> field.getId().equals(fieldId)).findFirst();
-		if(!schemaField.isPresent())
+		UiSchemaDTO schemaField = identitySchemaService.getUISchemaField(registrationDTO.getIdSchemaVersion(), fieldId);
+		if(schemaField == null)
 			return false;
 		
-		return isRequiredField(schemaField.get(), registrationDTO);
+		return isRequiredField(schemaField, registrationDTO);
 	}
 	
 	@SuppressWarnings("unchecked")
@@ -65,10 +63,10 @@ public class RequiredFieldValidator {
 	
 	public List<String> isRequiredBiometricField(String subType, RegistrationDTO registrationDTO) throws RegBaseCheckedException {
 		List<String> requiredAttributes = new ArrayList<String>();
-		SchemaDto schema = identitySchemaService.getIdentitySchema(registrationDTO.getIdSchemaVersion());
-		List<UiSchemaDTO> fields = schema.getSchema().stream().filter(field -> field.getType() != null 
-				&& PacketManagerConstants.BIOMETRICS_DATATYPE.equals(field.getType()) 
-				&& field.getSubType() != null && field.getSubType().equals(subType)).collect(Collectors.toList());
+		List<UiSchemaDTO> fields = identitySchemaService
+				.getUISchemaFieldsBySubType(registrationDTO.getIdSchemaVersion(), subType).stream()
+				.filter(field -> PacketManagerConstants.BIOMETRICS_DATATYPE.equals(field.getType())
+						&& field.getSubType().equals(subType)).collect(Collectors.toList());
 		
 		for(UiSchemaDTO schemaField : fields) {
 			if(isRequiredField(schemaField, registrationDTO) && schemaField.getBioAttributes() != null)
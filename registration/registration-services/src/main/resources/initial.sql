@@ -51,7 +51,7 @@ CREATE TABLE "REG"."FOUNDATIONAL_TRUST_PROVIDER" ("ID" VARCHAR(36) NOT NULL, "NA
 
 CREATE TABLE "REG"."INDIVIDUAL_TYPE" ("CODE" VARCHAR(36) NOT NULL, "NAME" VARCHAR(64) NOT NULL, "LANG_CODE" VARCHAR(3) NOT NULL, "IS_ACTIVE" BOOLEAN NOT NULL, "CR_BY" VARCHAR(32) NOT NULL, "CR_DTIMES" TIMESTAMP NOT NULL, "UPD_BY" VARCHAR(32), "UPD_DTIMES" TIMESTAMP, "IS_DELETED" BOOLEAN, "DEL_DTIMES" TIMESTAMP);
 
-CREATE TABLE "REG"."REGISTRATION" ("ID" VARCHAR(39) NOT NULL, "REG_TYPE" VARCHAR(64) NOT NULL, "REF_REG_ID" VARCHAR(39), "PREREG_ID" VARCHAR(64), "STATUS_CODE" VARCHAR(36) NOT NULL, "LANG_CODE" VARCHAR(3) NOT NULL, "STATUS_COMMENT" VARCHAR(256), "STATUS_DTIMES" TIMESTAMP, "ACK_FILENAME" VARCHAR(128), "CLIENT_STATUS_CODE" VARCHAR(36), "SERVER_STATUS_CODE" VARCHAR(36), "CLIENT_STATUS_DTIME" TIMESTAMP, "SERVER_STATUS_DTIME" TIMESTAMP, "CLIENT_STATUS_COMMENT" VARCHAR(256), "SERVER_STATUS_COMMENT" VARCHAR(256), "REG_USR_ID" VARCHAR(36) NOT NULL, "REGCNTR_ID" VARCHAR(10) NOT NULL, "APPROVER_USR_ID" VARCHAR(36) NOT NULL, "APPROVER_ROLE_CODE" VARCHAR(36), "FILE_UPLOAD_STATUS" VARCHAR(64), "UPLOAD_COUNT" SMALLINT, "UPLOAD_DTIMES" TIMESTAMP, "LATEST_REGTRN_ID" VARCHAR(36), "LATEST_TRN_TYPE_CODE" VARCHAR(36), "LATEST_TRN_STATUS_CODE" VARCHAR(36), "LATEST_TRN_LANG_CODE" VARCHAR(3), "LATEST_REGTRN_DTIMES" TIMESTAMP, "IS_ACTIVE" BOOLEAN NOT NULL, "CR_BY" VARCHAR(32) NOT NULL, "CR_DTIMES" TIMESTAMP NOT NULL, "UPD_BY" VARCHAR(32), "UPD_DTIMES" TIMESTAMP, "ADDITIONAL_INFO" BLOB(2147483647));
+CREATE TABLE "REG"."REGISTRATION" ("ID" VARCHAR(39) NOT NULL, "REG_TYPE" VARCHAR(64) NOT NULL, "REF_REG_ID" VARCHAR(39), "PREREG_ID" VARCHAR(64), "STATUS_CODE" VARCHAR(36) NOT NULL, "LANG_CODE" VARCHAR(3) NOT NULL, "STATUS_COMMENT" VARCHAR(256), "STATUS_DTIMES" TIMESTAMP, "ACK_FILENAME" VARCHAR(128), "CLIENT_STATUS_CODE" VARCHAR(36), "SERVER_STATUS_CODE" VARCHAR(36), "CLIENT_STATUS_DTIME" TIMESTAMP, "SERVER_STATUS_DTIME" TIMESTAMP, "CLIENT_STATUS_COMMENT" VARCHAR(256), "SERVER_STATUS_COMMENT" VARCHAR(256), "REG_USR_ID" VARCHAR(36) NOT NULL, "REGCNTR_ID" VARCHAR(10) NOT NULL, "APPROVER_USR_ID" VARCHAR(36) NOT NULL, "APPROVER_ROLE_CODE" VARCHAR(36), "FILE_UPLOAD_STATUS" VARCHAR(64), "UPLOAD_COUNT" SMALLINT, "UPLOAD_DTIMES" TIMESTAMP, "LATEST_REGTRN_ID" VARCHAR(36), "LATEST_TRN_TYPE_CODE" VARCHAR(36), "LATEST_TRN_STATUS_CODE" VARCHAR(36), "LATEST_TRN_LANG_CODE" VARCHAR(3), "LATEST_REGTRN_DTIMES" TIMESTAMP, "IS_ACTIVE" BOOLEAN NOT NULL, "CR_BY" VARCHAR(32) NOT NULL, "CR_DTIMES" TIMESTAMP NOT NULL, "UPD_BY" VARCHAR(32), "UPD_DTIMES" TIMESTAMP, "ADDITIONAL_INFO" BLOB(2147483647), "UPLOAD_OFFSET" BIGINT, "PACKET_HASH" VARCHAR(128));
 
 CREATE TABLE "REG"."DEVICE_SPEC" ("ID" VARCHAR(36) NOT NULL, "NAME" VARCHAR(64) NOT NULL, "BRAND" VARCHAR(32) NOT NULL, "MODEL" VARCHAR(16) NOT NULL, "DTYP_CODE" VARCHAR(36) NOT NULL, "MIN_DRIVER_VER" VARCHAR(16) NOT NULL, "DESCR" VARCHAR(256), "LANG_CODE" VARCHAR(3) NOT NULL, "IS_ACTIVE" BOOLEAN NOT NULL, "CR_BY" VARCHAR(32) NOT NULL, "CR_DTIMES" TIMESTAMP NOT NULL, "UPD_BY" VARCHAR(32), "UPD_DTIMES" TIMESTAMP, "IS_DELETED" BOOLEAN, "DEL_DTIMES" TIMESTAMP);
 
@@ -153,6 +153,8 @@ CREATE TABLE "REG"."USER_TOKEN" ("USR_ID" VARCHAR(36) NOT NULL, "TOKEN" VARCHAR(
 
 CREATE TABLE "REG"."CA_CERT_STORE"("CERT_ID" VARCHAR(36) NOT NULL, "CERT_SUBJECT" VARCHAR(500) NOT NULL, "CERT_ISSUER" VARCHAR(500) NOT NULL, "ISSUER_ID" VARCHAR(36) NOT NULL, "CERT_NOT_BEFORE" TIMESTAMP, "CERT_NOT_AFTER" TIMESTAMP, "CRL_URI" VARCHAR(120), "CERT_DATA" VARCHAR(3000), "CERT_THUMBPRINT" VARCHAR(100), "CERT_SERIAL_NO" VARCHAR(50),    "PARTNER_DOMAIN" VARCHAR(36), "CR_BY" VARCHAR(256) NOT NULL, "CR_DTIMES" TIMESTAMP NOT NULL, "UPD_BY" VARCHAR(256), "UPD_DTIMES" TIMESTAMP, "IS_DELETED" BOOLEAN, "DEL_DTIMES" TIMESTAMP);
 
+CREATE TABLE "REG"."PACKET_OUTBOX" ("REG_ID" VARCHAR(39) NOT NULL, "STAGE" VARCHAR(16) NOT NULL, "ATTEMPTS" SMALLINT, "NEXT_ATTEMPT_DTIMES" TIMESTAMP, "LAST_ERROR" VARCHAR(256), "REG_DATA" BLOB(2147483647), "IS_ACTIVE" BOOLEAN NOT NULL, "CR_BY" VARCHAR(32) NOT NULL, "CR_DTIMES" TIMESTAMP NOT NULL, "UPD_BY" VARCHAR(32), "UPD_DTIMES" TIMESTAMP);
+
 -- ----------------------------------------------
 -- DDL Statements for indexes
 -- ----------------------------------------------
@@ -165,6 +167,20 @@ CREATE UNIQUE INDEX "REG"."UK_APPAUTHM_ID" ON "REG"."APP_AUTHENTICATION_METHOD"
 
 CREATE UNIQUE INDEX "REG"."UK_ROLEPRT_ID" ON "REG"."APP_ROLE_PRIORITY" ("APP_ID", "PROCESS_ID", "PRIORITY");
 
+CREATE INDEX "REG"."IDX_REG_CLSTAT_ID" ON "REG"."REGISTRATION" ("CLIENT_STATUS_CODE", "ID");
+
+CREATE INDEX "REG"."IDX_REG_SRVSTAT_CRDT" ON "REG"."REGISTRATION" ("SERVER_STATUS_CODE", "CR_DTIMES");
+
+CREATE INDEX "REG"."IDX_ALGC_CRDT" ON "REG"."AUDIT_LOG_CONTROL" ("CR_DTIMES");
+
+CREATE INDEX "REG"."IDX_SYNCTRN_JOB_CRDT" ON "REG"."SYNC_TRANSACTION" ("SYNCJOB_ID", "CR_DTIMES");
+
+CREATE INDEX "REG"."IDX_SYNCTRN_CRDT" ON "REG"."SYNC_TRANSACTION" ("CR_DTIMES");
+
+CREATE INDEX "AUDIT"."IDX_AUDLOG_LOGDT" ON "AUDIT"."APP_AUDIT_LOG" ("LOG_DTIMES");
+
+CREATE INDEX "AUDIT"."IDX_AUDLOG_REFID" ON "AUDIT"."APP_AUDIT_LOG" ("REF_ID", "LOG_DTIMES");
+
 -- ----------------------------------------------
 -- DDL Statements for keys
 -- ----------------------------------------------
@@ -310,6 +326,8 @@ ALTER TABLE "REG"."USER_TOKEN" ADD CONSTRAINT "PK_USRTOKEN_USR_ID" PRIMARY KEY (
 
 ALTER TABLE "REG"."CA_CERT_STORE" ADD CONSTRAINT "PK_CACS_ID" PRIMARY KEY ("CERT_ID");
 
+ALTER TABLE "REG"."PACKET_OUTBOX" ADD CONSTRAINT "PK_PKTOBX_REG_ID" PRIMARY KEY ("REG_ID");
+
 -- FOREIGN
 ALTER TABLE "REG"."AUDIT_LOG_CONTROL" ADD CONSTRAINT "FK_ALGC_REG" FOREIGN KEY ("REG_ID") REFERENCES "REG"."REGISTRATION" ("ID") ON DELETE NO ACTION ON UPDATE NO ACTION;
 
@@ -1,3 +1,25 @@
 ALTER TABLE reg.template ALTER COLUMN "FILE_TXT" SET DATA TYPE CLOB;
 
-ALTER TABLE reg.dynamic_field ALTER COLUMN "VALUE_JSON" SET DATA TYPE CLOB;
\ No newline at end of file
+ALTER TABLE reg.dynamic_field ALTER COLUMN "VALUE_JSON" SET DATA TYPE CLOB;
+
+ALTER TABLE "REG"."REGISTRATION" ADD COLUMN "UPLOAD_OFFSET" BIGINT;
+
+ALTER TABLE "REG"."REGISTRATION" ADD COLUMN "PACKET_HASH" VARCHAR(128);
+
+CREATE TABLE "REG"."PACKET_OUTBOX" ("REG_ID" VARCHAR(39) NOT NULL, "STAGE" VARCHAR(16) NOT NULL, "ATTEMPTS" SMALLINT, "NEXT_ATTEMPT_DTIMES" TIMESTAMP, "LAST_ERROR" VARCHAR(256), "REG_DATA" BLOB(2147483647), "IS_ACTIVE" BOOLEAN NOT NULL, "CR_BY" VARCHAR(32) NOT NULL, "CR_DTIMES" TIMESTAMP NOT NULL, "UPD_BY" VARCHAR(32), "UPD_DTIMES" TIMESTAMP);
+
+ALTER TABLE "REG"."PACKET_OUTBOX" ADD CONSTRAINT "PK_PKTOBX_REG_ID" PRIMARY KEY ("REG_ID");
+
+CREATE INDEX "REG"."IDX_REG_CLSTAT_ID" ON "REG"."REGISTRATION" ("CLIENT_STATUS_CODE", "ID");
+
+CREATE INDEX "REG"."IDX_REG_SRVSTAT_CRDT" ON "REG"."REGISTRATION" ("SERVER_STATUS_CODE", "CR_DTIMES");
+
+CREATE INDEX "REG"."IDX_ALGC_CRDT" ON "REG"."AUDIT_LOG_CONTROL" ("CR_DTIMES");
+
+CREATE INDEX "REG"."IDX_SYNCTRN_JOB_CRDT" ON "REG"."SYNC_TRANSACTION" ("SYNCJOB_ID", "CR_DTIMES");
+
+CREATE INDEX "REG"."IDX_SYNCTRN_CRDT" ON "REG"."SYNC_TRANSACTION" ("CR_DTIMES");
+
+CREATE INDEX "AUDIT"."IDX_AUDLOG_LOGDT" ON "AUDIT"."APP_AUDIT_LOG" ("LOG_DTIMES");
+
+CREATE INDEX "AUDIT"."IDX_AUDLOG_REFID" ON "AUDIT"."APP_AUDIT_LOG" ("REF_ID", "LOG_DTIMES");
\ No newline at end of file
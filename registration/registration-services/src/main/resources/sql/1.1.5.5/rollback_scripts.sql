@@ -0,0 +1,19 @@
+ALTER TABLE "REG"."REGISTRATION" DROP COLUMN "UPLOAD_OFFSET";
+
+ALTER TABLE "REG"."REGISTRATION" DROP COLUMN "PACKET_HASH";
+
+DROP TABLE "REG"."PACKET_OUTBOX";
+
+DROP INDEX "REG"."IDX_REG_CLSTAT_ID";
+
+DROP INDEX "REG"."IDX_REG_SRVSTAT_CRDT";
+
+DROP INDEX "REG"."IDX_ALGC_CRDT";
+
+DROP INDEX "REG"."IDX_SYNCTRN_JOB_CRDT";
+
+DROP INDEX "REG"."IDX_SYNCTRN_CRDT";
+
+DROP INDEX "AUDIT"."IDX_AUDLOG_LOGDT";
+
+DROP INDEX "AUDIT"."IDX_AUDLOG_REFID";
\ No newline at end of file
@@ -26,9 +26,11 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import io.mosip.kernel.auditmanager.request.AuditRequestDto;
 import io.mosip.kernel.core.auditmanager.spi.AuditHandler;
+import io.mosip.registration.audit.AuditLogWriter;
 import io.mosip.registration.audit.AuditManagerSerivceImpl;
 import io.mosip.registration.constants.AuditEvent;
 import io.mosip.registration.constants.Components;
@@ -70,6 +72,9 @@ public class AuditFactoryTest {
 	@Mock
 	private GlobalParamService globalParamService;
 
+	@Mock
+	private AuditLogWriter auditLogWriter;
+
 	@Test
 	public void auditTest() throws Exception {
 		PowerMockito.mockStatic(InetAddress.class, SessionContext.class);
@@ -90,6 +95,16 @@ public class AuditFactoryTest {
 		auditFactory.audit(AuditEvent.PACKET_APPROVED, Components.PACKET_CREATOR, "id", "ref");
 	}
 
+	@Test
+	public void auditAsyncTest() {
+		ReflectionTestUtils.setField(auditFactory, "asyncAuditEnabled", true);
+
+		auditFactory.audit(AuditEvent.PACKET_APPROVED, Components.PACKET_CREATOR, "id", "ref");
+
+		Mockito.verify(auditLogWriter).add(Mockito.any(AuditRequestDto.class));
+		Mockito.verify(auditHandler, Mockito.never()).addAudit(Mockito.any(AuditRequestDto.class));
+	}
+
 	@Before
 	public void intiate() {
 		Map<String, Object> map = new HashMap<>();
@@ -0,0 +1,133 @@
+package io.mosip.registration.test.audit;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.auditmanager.builder.AuditRequestBuilder;
+import io.mosip.kernel.auditmanager.entity.Audit;
+import io.mosip.kernel.auditmanager.request.AuditRequestDto;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.registration.audit.AuditLogWriter;
+import io.mosip.registration.constants.AuditEvent;
+import io.mosip.registration.constants.Components;
+import io.mosip.registration.repositories.RegAuditRepository;
+
+/**
+ * Writes audits with {@link AuditLogWriter} into an in-memory Derby database
+ * mapped by Hibernate with the JDBC batching of spring.properties, and counts
+ * the statements prepared for a flush.
+ */
+public class AuditLogWriterBatchTest {
+
+	private static final String URL = "jdbc:derby:memory:auditLogWriter";
+
+	private static final int AUDIT_COUNT = 5;
+
+	private static SessionFactory sessionFactory;
+
+	private AuditLogWriter auditLogWriter;
+
+	@BeforeClass
+	public static void createDatabase() throws IOException {
+		Properties properties = new Properties();
+		try (InputStream inputStream = AuditLogWriterBatchTest.class.getClassLoader()
+				.getResourceAsStream("spring.properties")) {
+			properties.load(inputStream);
+		}
+		sessionFactory = new Configuration().addAnnotatedClass(Audit.class)
+				.setProperty("hibernate.connection.driver_class", "org.apache.derby.jdbc.EmbeddedDriver")
+				.setProperty("hibernate.connection.url", URL + ";create=true")
+				.setProperty("hibernate.dialect", "org.hibernate.dialect.DerbyTenSevenDialect")
+				.setProperty("hibernate.hbm2ddl.auto", "create")
+				.setProperty("hibernate.hbm2ddl.create_namespaces", "true")
+				.setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+				.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE,
+						properties.getProperty(AvailableSettings.STATEMENT_BATCH_SIZE))
+				.setProperty(AvailableSettings.ORDER_INSERTS, properties.getProperty(AvailableSettings.ORDER_INSERTS))
+				.buildSessionFactory();
+	}
+
+	@AfterClass
+	public static void dropDatabase() {
+		sessionFactory.close();
+		try {
+			DriverManager.getConnection(URL + ";drop=true");
+		} catch (SQLException exception) {
+			// Derby always reports a successful drop as an exception
+		}
+	}
+
+	@Before
+	public void setUp() {
+		RegAuditRepository regAuditRepository = Mockito.mock(RegAuditRepository.class);
+		Mockito.when(regAuditRepository.create(Mockito.any(Audit.class))).thenAnswer(invocation -> {
+			EntityManagerFactoryUtils.getTransactionalEntityManager(sessionFactory).persist(invocation.getArgument(0));
+			return invocation.getArgument(0);
+		});
+
+		auditLogWriter = new AuditLogWriter();
+		ReflectionTestUtils.setField(auditLogWriter, "regAuditRepository", regAuditRepository);
+		ReflectionTestUtils.setField(auditLogWriter, "transactionManager", new JpaTransactionManager(sessionFactory));
+		ReflectionTestUtils.setField(auditLogWriter, "queueCapacity", 100);
+		ReflectionTestUtils.setField(auditLogWriter, "flushSize", 100);
+		ReflectionTestUtils.setField(auditLogWriter, "flushInterval", 60000L);
+		auditLogWriter.init();
+		sessionFactory.getStatistics().clear();
+	}
+
+	@After
+	public void tearDown() {
+		auditLogWriter.shutdown();
+	}
+
+	@Test
+	public void batchedInsertTest() {
+		for (int i = 0; i < AUDIT_COUNT; i++) {
+			auditLogWriter.add(auditRequest());
+		}
+		auditLogWriter.flush();
+
+		assertEquals(AUDIT_COUNT, sessionFactory.getStatistics().getEntityInsertCount());
+		assertEquals(1, sessionFactory.getStatistics().getPrepareStatementCount());
+
+		EntityManager entityManager = sessionFactory.createEntityManager();
+		try {
+			assertEquals(Long.valueOf(AUDIT_COUNT),
+					entityManager.createQuery("SELECT COUNT(a) FROM Audit a", Long.class).getSingleResult());
+		} finally {
+			entityManager.close();
+		}
+	}
+
+	private AuditRequestDto auditRequest() {
+		AuditRequestBuilder auditRequestBuilder = new AuditRequestBuilder();
+		auditRequestBuilder.setActionTimeStamp(DateUtils.getUTCCurrentDateTime()).setApplicationId("REG")
+				.setApplicationName("REGISTRATION").setCreatedBy("user").setDescription("description")
+				.setEventId(AuditEvent.PACKET_APPROVED.getId()).setEventName(AuditEvent.PACKET_APPROVED.getName())
+				.setEventType(AuditEvent.PACKET_APPROVED.getType()).setHostIp("127.0.0.1").setHostName("localhost")
+				.setId("id").setIdType("ref").setModuleId(Components.PACKET_CREATOR.getId())
+				.setModuleName(Components.PACKET_CREATOR.getName()).setSessionUserId("user")
+				.setSessionUserName("user");
+		return auditRequestBuilder.build();
+	}
+}
@@ -0,0 +1,154 @@
+package io.mosip.registration.test.audit;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import io.mosip.kernel.auditmanager.builder.AuditRequestBuilder;
+import io.mosip.kernel.auditmanager.entity.Audit;
+import io.mosip.kernel.auditmanager.request.AuditRequestDto;
+import io.mosip.kernel.core.util.DateUtils;
+import io.mosip.registration.audit.AuditLogWriter;
+import io.mosip.registration.constants.AuditEvent;
+import io.mosip.registration.constants.Components;
+import io.mosip.registration.repositories.RegAuditRepository;
+
+public class AuditLogWriterTest {
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@InjectMocks
+	private AuditLogWriter auditLogWriter;
+
+	@Mock
+	private RegAuditRepository regAuditRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Before
+	public void setUp() {
+		ReflectionTestUtils.setField(auditLogWriter, "queueCapacity", 100);
+		ReflectionTestUtils.setField(auditLogWriter, "flushSize", 2);
+		ReflectionTestUtils.setField(auditLogWriter, "flushInterval", 60000L);
+	}
+
+	@After
+	public void tearDown() {
+		auditLogWriter.shutdown();
+	}
+
+	@Test
+	public void flushSizeTest() {
+		auditLogWriter.init();
+		auditLogWriter.add(auditRequest());
+		Mockito.verify(regAuditRepository, Mockito.never()).create(Mockito.any(Audit.class));
+
+		auditLogWriter.add(auditRequest());
+
+		Mockito.verify(regAuditRepository, Mockito.timeout(5000).times(2)).create(Mockito.any(Audit.class));
+		Mockito.verify(transactionManager, Mockito.timeout(5000)).commit(Mockito.any());
+	}
+
+	@Test
+	public void newTransactionTest() {
+		auditLogWriter.init();
+		auditLogWriter.add(auditRequest());
+		auditLogWriter.flush();
+
+		ArgumentCaptor<TransactionDefinition> captor = ArgumentCaptor.forClass(TransactionDefinition.class);
+		Mockito.verify(transactionManager).getTransaction(captor.capture());
+		assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, captor.getValue().getPropagationBehavior());
+	}
+
+	@Test
+	public void auditMappingTest() {
+		auditLogWriter.init();
+		auditLogWriter.add(auditRequest());
+		auditLogWriter.flush();
+
+		ArgumentCaptor<Audit> captor = ArgumentCaptor.forClass(Audit.class);
+		Mockito.verify(regAuditRepository).create(captor.capture());
+		Audit audit = captor.getValue();
+		assertEquals(AuditEvent.PACKET_APPROVED.getId(), audit.getEventId());
+		assertEquals(Components.PACKET_CREATOR.getId(), audit.getModuleId());
+		assertEquals("id", audit.getId());
+		assertEquals("ref", audit.getIdType());
+		assertEquals("description", audit.getDescription());
+		assertEquals("localhost", audit.getHostName());
+	}
+
+	@Test
+	public void queueFullTest() {
+		ReflectionTestUtils.setField(auditLogWriter, "queueCapacity", 1);
+		ReflectionTestUtils.setField(auditLogWriter, "flushSize", 10);
+		auditLogWriter.init();
+
+		auditLogWriter.add(auditRequest());
+		auditLogWriter.add(auditRequest());
+
+		Mockito.verify(regAuditRepository).create(Mockito.any(Audit.class));
+		assertEquals(Long.valueOf(1), auditLogWriter.getMetrics().get("callerFlushes"));
+		assertEquals(Long.valueOf(1), auditLogWriter.getMetrics().get("written"));
+		assertEquals(Long.valueOf(1), auditLogWriter.getMetrics().get("queueSize"));
+		assertEquals(Long.valueOf(1), auditLogWriter.getMetrics().get("maxQueueSize"));
+	}
+
+	@Test
+	public void shutdownDrainTest() {
+		ReflectionTestUtils.setField(auditLogWriter, "flushSize", 10);
+		auditLogWriter.init();
+		auditLogWriter.add(auditRequest());
+		auditLogWriter.add(auditRequest());
+		auditLogWriter.add(auditRequest());
+
+		auditLogWriter.shutdown();
+		assertEquals(Long.valueOf(3), auditLogWriter.getMetrics().get("written"));
+
+		auditLogWriter.add(auditRequest());
+		assertEquals(Long.valueOf(4), auditLogWriter.getMetrics().get("written"));
+	}
+
+	@Test
+	public void batchFailureTest() {
+		ReflectionTestUtils.setField(auditLogWriter, "flushSize", 10);
+		auditLogWriter.init();
+		Mockito.when(regAuditRepository.create(Mockito.any(Audit.class))).thenReturn(null)
+				.thenThrow(new DataIntegrityViolationException("value too long")).thenReturn(null)
+				.thenThrow(new DataIntegrityViolationException("value too long"));
+
+		auditLogWriter.add(auditRequest());
+		auditLogWriter.add(auditRequest());
+		auditLogWriter.flush();
+
+		Mockito.verify(transactionManager, Mockito.times(2)).rollback(Mockito.any());
+		assertEquals(Long.valueOf(1), auditLogWriter.getMetrics().get("written"));
+		assertEquals(Long.valueOf(1), auditLogWriter.getMetrics().get("failed"));
+	}
+
+	private AuditRequestDto auditRequest() {
+		AuditRequestBuilder auditRequestBuilder = new AuditRequestBuilder();
+		auditRequestBuilder.setActionTimeStamp(DateUtils.getUTCCurrentDateTime()).setApplicationId("REG")
+				.setApplicationName("REGISTRATION").setCreatedBy("user").setDescription("description")
+				.setEventId(AuditEvent.PACKET_APPROVED.getId()).setEventName(AuditEvent.PACKET_APPROVED.getName())
+				.setEventType(AuditEvent.PACKET_APPROVED.getType()).setHostIp("127.0.0.1").setHostName("localhost")
+				.setId("id").setIdType("ref").setModuleId(Components.PACKET_CREATOR.getId())
+				.setModuleName(Components.PACKET_CREATOR.getName()).setSessionUserId("user")
+				.setSessionUserName("user");
+		return auditRequestBuilder.build();
+	}
+}
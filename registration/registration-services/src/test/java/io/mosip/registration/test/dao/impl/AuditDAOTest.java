@@ -21,6 +21,7 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
 import io.mosip.kernel.auditmanager.entity.Audit;
+import io.mosip.registration.audit.AuditLogWriter;
 import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.dao.impl.AuditDAOImpl;
 import io.mosip.registration.entity.RegistrationAuditDates;
@@ -35,6 +36,8 @@ public class AuditDAOTest {
 	private AuditDAOImpl auditDAO;
 	@Mock
 	private RegAuditRepository auditRepository;
+	@Mock
+	private AuditLogWriter auditLogWriter;
 	private static List<Audit> audits;
 
 	@BeforeClass
@@ -57,6 +60,7 @@ public class AuditDAOTest {
 				.thenReturn(audits);
 
 		Assert.assertThat(auditDAO.getAudits(null, "1234"), is(audits));
+		Mockito.verify(auditLogWriter).flush();
 	}
 
 	@Test
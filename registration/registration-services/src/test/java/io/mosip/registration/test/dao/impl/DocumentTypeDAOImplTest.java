@@ -4,6 +4,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Rule;
@@ -59,4 +61,16 @@ public class DocumentTypeDAOImplTest {
 		Mockito.when(registrationDocumentTypeRepository.findByIsActiveTrueAndName(Mockito.anyString())).thenReturn(list);
 		assertNotNull(registrationDocumentTypeDAOImpl.getDocTypeByName("docTypeName"));
 	}
+
+	@Test
+	public void getDocTypesByNamesTest() {
+		List<DocumentType> list = new ArrayList<>();
+		list.add(new DocumentType());
+		Mockito.when(registrationDocumentTypeRepository.findByIsActiveTrueAndNameIn(Mockito.anyCollection()))
+				.thenReturn(list);
+		assertEquals(list, registrationDocumentTypeDAOImpl.getDocTypesByNames(Arrays.asList("Passport", "Birth")));
+		assertEquals(0, registrationDocumentTypeDAOImpl.getDocTypesByNames(Collections.emptyList()).size());
+		Mockito.verify(registrationDocumentTypeRepository, Mockito.times(1))
+				.findByIsActiveTrueAndNameIn(Mockito.anyCollection());
+	}
 }
@@ -0,0 +1,136 @@
+package io.mosip.registration.test.dao.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import io.mosip.registration.dao.impl.IdentitySchemaDaoImpl;
+import io.mosip.registration.dto.UiSchemaDTO;
+import io.mosip.registration.dto.response.SchemaDto;
+import io.mosip.registration.entity.IdentitySchema;
+import io.mosip.registration.exception.RegBaseCheckedException;
+import io.mosip.registration.repositories.IdentitySchemaRepository;
+
+public class IdentitySchemaDaoImplTest {
+
+	private static final double ID_VERSION = 99.5;
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@InjectMocks
+	private IdentitySchemaDaoImpl identitySchemaDao;
+
+	@Mock
+	private IdentitySchemaRepository identitySchemaRepository;
+
+	private File schemaFile;
+
+	@Before
+	public void setUp() throws IOException {
+		schemaFile = new File(System.getProperty("user.dir"), String.format("SCHEMA_%s.json", ID_VERSION));
+		createSchema("fullName", "addressLine1", "individualBiometrics");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(schemaFile.toPath());
+	}
+
+	@Test
+	public void readOnceTest() throws Exception {
+		List<UiSchemaDTO> schema = identitySchemaDao.getUISchema(ID_VERSION);
+		Files.write(schemaFile.toPath(), "tampered".getBytes(StandardCharsets.UTF_8));
+
+		assertSame(schema, identitySchemaDao.getUISchema(ID_VERSION));
+		assertEquals(3, identitySchemaDao.getIdentitySchema(ID_VERSION).getSchema().size());
+		assertEquals("{\"id\":\"schema\"}", identitySchemaDao.getIDSchema(ID_VERSION));
+		Mockito.verify(identitySchemaRepository, Mockito.times(1)).findByIdVersion(ID_VERSION);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void immutableTest() throws Exception {
+		identitySchemaDao.getUISchema(ID_VERSION).clear();
+	}
+
+	@Test
+	public void indexTest() throws Exception {
+		assertEquals("addressLine1", identitySchemaDao.getUISchemaField(ID_VERSION, "addressLine1").getId());
+		assertNull(identitySchemaDao.getUISchemaField(ID_VERSION, "unknown"));
+		assertEquals(Arrays.asList("fullName", "addressLine1"),
+				ids(identitySchemaDao.getUISchemaFieldsByGroup(ID_VERSION, "DEMOGRAPHICS")));
+		assertEquals(Arrays.asList("individualBiometrics"),
+				ids(identitySchemaDao.getUISchemaFieldsBySubType(ID_VERSION, "applicant")));
+		assertTrue(identitySchemaDao.getUISchemaFieldsByGroup(ID_VERSION, "unknown").isEmpty());
+	}
+
+	@Test
+	public void syncInvalidatesTest() throws Exception {
+		assertEquals(3, identitySchemaDao.getUISchema(ID_VERSION).size());
+
+		createSchema("fullName");
+
+		assertEquals(Arrays.asList("fullName"), ids(identitySchemaDao.getUISchema(ID_VERSION)));
+		assertNull(identitySchemaDao.getUISchemaField(ID_VERSION, "addressLine1"));
+	}
+
+	@Test(expected = RegBaseCheckedException.class)
+	public void latestEffectiveHashChangedTest() throws Exception {
+		IdentitySchema identitySchema = identitySchemaRepository.findByIdVersion(ID_VERSION);
+		Mockito.when(identitySchemaRepository.findLatestEffectiveIdentitySchema(Mockito.any()))
+				.thenAnswer(invocation -> identitySchemaRepository.findByIdVersion(ID_VERSION));
+		assertEquals(3, identitySchemaDao.getLatestEffectiveUISchema().size());
+
+		// the stored hash no longer matches the file read before
+		identitySchema.setFileHash("0000");
+		identitySchemaDao.getLatestEffectiveUISchema();
+	}
+
+	private void createSchema(String... fieldIds) throws IOException {
+		List<UiSchemaDTO> fields = new ArrayList<>();
+		for (String fieldId : fieldIds) {
+			UiSchemaDTO field = new UiSchemaDTO();
+			field.setId(fieldId);
+			if (fieldId.endsWith("Biometrics")) {
+				field.setType("biometricsType");
+				field.setSubType("applicant");
+			} else {
+				field.setType("string");
+				field.setGroup("Demographics");
+			}
+			fields.add(field);
+		}
+		identitySchemaDao.createIdentitySchema(
+				new SchemaDto("schema", ID_VERSION, fields, "{\"id\":\"schema\"}", LocalDateTime.now().minusDays(1)));
+
+		ArgumentCaptor<IdentitySchema> identitySchema = ArgumentCaptor.forClass(IdentitySchema.class);
+		Mockito.verify(identitySchemaRepository, Mockito.atLeastOnce()).save(identitySchema.capture());
+		Mockito.when(identitySchemaRepository.findByIdVersion(ID_VERSION)).thenReturn(identitySchema.getValue());
+	}
+
+	private static List<String> ids(List<UiSchemaDTO> fields) {
+		return fields.stream().map(UiSchemaDTO::getId).collect(Collectors.toList());
+	}
+}
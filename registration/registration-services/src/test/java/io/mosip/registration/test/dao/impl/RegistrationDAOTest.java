@@ -26,6 +26,7 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.springframework.data.domain.PageRequest;
 
 import io.mosip.registration.constants.RegistrationClientStatusCode;
 import io.mosip.registration.constants.RegistrationTransactionType;
@@ -238,6 +239,17 @@ public class RegistrationDAOTest {
 		registrationDAOImpl.getPacketsToBeSynched(statusCodes);
 	}
 
+	@Test
+	public void getPacketsToBeSynchedPageTest() {
+		List<Registration> registrations = new LinkedList<>();
+		List<String> statusCodes = Arrays.asList("APPROVED", "REJECTED");
+
+		when(registrationRepository.findByClientStatusCodeInAndIdGreaterThanOrderByIdAsc(statusCodes, "12345",
+				PageRequest.of(0, 100))).thenReturn(registrations);
+
+		assertSame(registrations, registrationDAOImpl.getPacketsToBeSynched(statusCodes, "12345", 100));
+	}
+
 	@Test
 	public void testgetRegistrationById() {
 		Registration registration = new Registration();
@@ -122,6 +122,17 @@ public class UserDetailDAOTest {
 
 	}
 
+	@Test
+	public void findAllActiveUsersTest() {
+		List<UserBiometric> bioList = new ArrayList<>();
+		bioList.add(new UserBiometric());
+		Mockito.when(userBiometricRepository.findByUserBiometricIdBioTypeCodeIgnoreCaseAndIsActiveTrue("Finger"))
+				.thenReturn(bioList);
+
+		// the operator gallery matches the bio type ignoring case, as the user specific lookups do
+		assertEquals(bioList, userDetailDAOImpl.findAllActiveUsers("Finger"));
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	public void userDetlsDao() {
@@ -156,6 +156,19 @@ public class MasterSyncJobTest {
 
 	
 	
+	@Test
+	public void executeJobWithoutParentJobTest() throws RegBaseCheckedException {
+		ResponseDTO responseDTO = new ResponseDTO();
+		responseDTO.setSuccessResponseDTO(new SuccessResponseDTO());
+		Mockito.when(masterSyncService.getMasterSync(Mockito.anyString(), Mockito.anyString())).thenReturn(responseDTO);
+
+		// job 1 has a parent job, which a single master sync does not execute
+		masterSyncJob.executeJob("User", "1");
+
+		Mockito.verify(applicationContext, Mockito.never()).getBean(Mockito.anyString());
+		Mockito.verify(masterSyncService).getMasterSync("1", "User");
+	}
+
 	@Test(expected = RegBaseUncheckedException.class)
 	public void executejobNoSuchBeanDefinitionExceptionTest() {
 		ResponseDTO responseDTO=new ResponseDTO();
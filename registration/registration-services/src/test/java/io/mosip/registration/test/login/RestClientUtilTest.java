@@ -1,8 +1,21 @@
 package io.mosip.registration.test.login;
 
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
+
+import org.apache.http.pool.PoolStats;
 
 import org.junit.Assert;
 import org.junit.Ignore;
@@ -14,11 +27,14 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 
+import com.sun.net.httpserver.HttpServer;
+
+import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.dto.OtpGeneratorRequestDTO;
 import io.mosip.registration.dto.OtpGeneratorResponseDTO;
 import io.mosip.registration.exception.RegBaseCheckedException;
@@ -51,7 +67,7 @@ public class RestClientUtilTest {
 
 		requestHTTPDTO.setHttpEntity(httpEntity);
 		requestHTTPDTO.setHttpMethod(HttpMethod.POST);
-		requestHTTPDTO.setSimpleClientHttpRequestFactory(new SimpleClientHttpRequestFactory());
+		requestHTTPDTO.setConnectTimeout(1000);
 		requestHTTPDTO.setUri(uri);
 
 		Assert.assertNull(restClientUtil.invoke(requestHTTPDTO));
@@ -69,7 +85,7 @@ public class RestClientUtilTest {
 		URI uri = new URI("http://localhost:8080/otpmanager/otps");
 		RequestHTTPDTO requestHTTPDTO = new RequestHTTPDTO();
 		requestHTTPDTO.setClazz(OtpGeneratorResponseDTO.class);
-		requestHTTPDTO.setSimpleClientHttpRequestFactory(new SimpleClientHttpRequestFactory());
+		requestHTTPDTO.setConnectTimeout(1000);
 		requestHTTPDTO.setHttpEntity(httpEntity);
 		requestHTTPDTO.setHttpMethod(HttpMethod.POST);
 		requestHTTPDTO.setUri(uri);
@@ -90,7 +106,7 @@ public class RestClientUtilTest {
 		URI uri = new URI("https://localhost:8080/otpmanager/otps");
 		RequestHTTPDTO requestHTTPDTO = new RequestHTTPDTO();
 		requestHTTPDTO.setClazz(OtpGeneratorResponseDTO.class);
-		requestHTTPDTO.setSimpleClientHttpRequestFactory(new SimpleClientHttpRequestFactory());
+		requestHTTPDTO.setConnectTimeout(1000);
 		requestHTTPDTO.setHttpEntity(httpEntity);
 		requestHTTPDTO.setHttpMethod(HttpMethod.POST);
 		requestHTTPDTO.setUri(uri);
@@ -112,7 +128,7 @@ public class RestClientUtilTest {
 		URI uri = new URI("https://localhost:8080/otpmanager/otps");
 		RequestHTTPDTO requestHTTPDTO = new RequestHTTPDTO();
 		requestHTTPDTO.setClazz(OtpGeneratorResponseDTO.class);
-		requestHTTPDTO.setSimpleClientHttpRequestFactory(new SimpleClientHttpRequestFactory());
+		requestHTTPDTO.setConnectTimeout(1000);
 		requestHTTPDTO.setHttpEntity(httpEntity);
 		requestHTTPDTO.setHttpMethod(HttpMethod.POST);
 		requestHTTPDTO.setUri(uri);
@@ -121,4 +137,69 @@ public class RestClientUtilTest {
 
 	}
 
+	@Test
+	public void connectionReuseAndGzipTest() throws Exception {
+		Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+		HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/sync", exchange -> {
+			clientPorts.add(exchange.getRemoteAddress().getPort());
+			byte[] body = "{\"response\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+			boolean gzip = String.valueOf(exchange.getRequestHeaders().getFirst("Accept-Encoding")).contains("gzip");
+			if (gzip) {
+				exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+			}
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, 0);
+			try (OutputStream outputStream = gzip ? new GZIPOutputStream(exchange.getResponseBody())
+					: exchange.getResponseBody()) {
+				outputStream.write(body);
+			}
+		});
+		server.start();
+
+		ReflectionTestUtils.setField(restClientUtil, "maxTotalConnections", 4);
+		ReflectionTestUtils.setField(restClientUtil, "maxConnectionsPerRoute", 2);
+		ReflectionTestUtils.setField(restClientUtil, "connectionRequestTimeout", 1000);
+		ReflectionTestUtils.setField(restClientUtil, "idleTimeoutSeconds", 30L);
+		ReflectionTestUtils.setField(restClientUtil, "defaultKeepAliveMillis", 30000L);
+		try {
+			URI uri = new URI("http://localhost:" + server.getAddress().getPort() + "/sync");
+			for (int i = 0; i < 3; i++) {
+				Map<String, Object> response = restClientUtil.invoke(getRequest(uri));
+				Assert.assertEquals("{\"response\":\"ok\"}", response.get(RegistrationConstants.REST_RESPONSE_BODY));
+			}
+
+			Assert.assertEquals(1, clientPorts.size());
+			PoolStats poolStats = restClientUtil.getPoolStats();
+			Assert.assertEquals(0, poolStats.getLeased());
+			Assert.assertEquals(1, poolStats.getAvailable());
+			Assert.assertEquals(1, restClientUtil.getRoutePoolStats().size());
+		} finally {
+			restClientUtil.destroy();
+			server.stop(0);
+		}
+	}
+
+	@Test
+	public void configureSslTest() throws Exception {
+		SSLSocketFactory defaultSocketFactory = HttpsURLConnection.getDefaultSSLSocketFactory();
+		HttpsURLConnection connection = (HttpsURLConnection) new URL("https://localhost/health").openConnection();
+
+		RestClientUtil.configureSsl(connection);
+
+		Assert.assertNotSame(defaultSocketFactory, connection.getSSLSocketFactory());
+		Assert.assertSame(defaultSocketFactory, HttpsURLConnection.getDefaultSSLSocketFactory());
+	}
+
+	private RequestHTTPDTO getRequest(URI uri) {
+		RequestHTTPDTO requestHTTPDTO = new RequestHTTPDTO();
+		requestHTTPDTO.setClazz(String.class);
+		requestHTTPDTO.setHttpEntity(new HttpEntity<>(null));
+		requestHTTPDTO.setHttpMethod(HttpMethod.GET);
+		requestHTTPDTO.setConnectTimeout(1000);
+		requestHTTPDTO.setReadTimeout(1000);
+		requestHTTPDTO.setUri(uri);
+		return requestHTTPDTO;
+	}
+
 }
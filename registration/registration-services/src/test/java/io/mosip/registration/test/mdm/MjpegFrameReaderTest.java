@@ -0,0 +1,142 @@
+package io.mosip.registration.test.mdm;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import io.mosip.registration.exception.RegBaseCheckedException;
+import io.mosip.registration.mdm.service.impl.MjpegFrameReader;
+import io.mosip.registration.mdm.service.impl.MosipDeviceSpecificationHelper;
+
+public class MjpegFrameReaderTest {
+
+	/**
+	 * Builds a multipart stream as sent by the MDS, alternating the header case.
+	 */
+	public static byte[] buildStream(List<byte[]> frames) throws IOException {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		for (int i = 0; i < frames.size(); i++) {
+			String headers = "--mosipboundary\r\nContent-Type: image/jpeg\r\n"
+					+ (i % 2 == 0 ? "Content-Length: " : "content-length:") + frames.get(i).length + "\r\n\r\n";
+			stream.write(headers.getBytes(StandardCharsets.US_ASCII));
+			stream.write(frames.get(i));
+			stream.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+		}
+		return stream.toByteArray();
+	}
+
+	public static List<byte[]> buildFrames(int count, int maxSize) {
+		Random random = new Random(11);
+		List<byte[]> frames = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			byte[] frame = new byte[100 + random.nextInt(maxSize)];
+			random.nextBytes(frame);
+			frame[0] = (byte) 0xFF;
+			frame[1] = (byte) 0xD8;
+			frames.add(frame);
+		}
+		return frames;
+	}
+
+	@Test
+	public void readFramesTest() throws Exception {
+		List<byte[]> frames = buildFrames(20, 100000);
+		byte[] stream = buildStream(frames);
+
+		// small buffer and reads of a few bytes at a time, so headers and frames are split
+		for (int chunkSize : new int[] { 1, 7, 4096 }) {
+			MjpegFrameReader frameReader = new MjpegFrameReader(chunked(stream, chunkSize), 512);
+			for (byte[] frame : frames) {
+				assertEquals(frame.length, frameReader.nextFrame(Long.MAX_VALUE));
+				assertArrayEquals(frame, frameReader.copyFrame());
+			}
+			assertEquals(-1, frameReader.nextFrame(Long.MAX_VALUE));
+		}
+	}
+
+	@Test
+	public void frameStreamTest() throws Exception {
+		List<byte[]> frames = buildFrames(2, 1000);
+		MjpegFrameReader frameReader = new MjpegFrameReader(new ByteArrayInputStream(buildStream(frames)));
+
+		frameReader.nextFrame(Long.MAX_VALUE);
+		InputStream frameStream = frameReader.getFrameStream();
+		assertArrayEquals(frames.get(0), readAll(frameStream));
+
+		frameReader.nextFrame(Long.MAX_VALUE);
+		assertSame(frameStream, frameReader.getFrameStream());
+		assertArrayEquals(frames.get(1), readAll(frameStream));
+	}
+
+	@Test
+	public void handOverTest() throws Exception {
+		List<byte[]> frames = buildFrames(3, 1000);
+		MjpegFrameReader frameReader = new MjpegFrameReader(new ByteArrayInputStream(buildStream(frames)));
+
+		// the first frame is read by the MDS provider, the rest by the streamer
+		assertArrayEquals(frames.get(0), new MosipDeviceSpecificationHelper().getJPEGByteArray(frameReader,
+				System.currentTimeMillis() + 1000));
+		assertEquals(frames.get(1).length, frameReader.nextFrame(Long.MAX_VALUE));
+		assertEquals(frames.get(2).length, frameReader.nextFrame(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void nextFrameAvailableTest() throws Exception {
+		List<byte[]> frames = buildFrames(3, 1000);
+		byte[] stream = buildStream(frames);
+
+		MjpegFrameReader frameReader = new MjpegFrameReader(new ByteArrayInputStream(stream));
+		frameReader.nextFrame(Long.MAX_VALUE);
+		assertTrue(frameReader.isNextFrameAvailable());
+		frameReader.nextFrame(Long.MAX_VALUE);
+		assertTrue(frameReader.isNextFrameAvailable());
+		frameReader.nextFrame(Long.MAX_VALUE);
+		// only the trailing line break of the last frame is buffered
+		assertFalse(frameReader.isNextFrameAvailable());
+
+		// the headers and a part of the next frame are received
+		frameReader = new MjpegFrameReader(new ByteArrayInputStream(Arrays.copyOf(stream, stream.length - 10)));
+		frameReader.nextFrame(Long.MAX_VALUE);
+		frameReader.nextFrame(Long.MAX_VALUE);
+		assertFalse(frameReader.isNextFrameAvailable());
+	}
+
+	@Test(expected = RegBaseCheckedException.class)
+	public void timeoutTest() throws Exception {
+		byte[] headers = "--mosipboundary\r\nContent-Length: 100\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+		new MjpegFrameReader(new ByteArrayInputStream(headers)).nextFrame(System.currentTimeMillis() - 1);
+	}
+
+	private static InputStream chunked(byte[] bytes, int chunkSize) {
+		return new FilterInputStream(new ByteArrayInputStream(bytes)) {
+			@Override
+			public int read(byte[] buffer, int offset, int length) throws IOException {
+				return super.read(buffer, offset, Math.min(length, chunkSize));
+			}
+		};
+	}
+
+	private static byte[] readAll(InputStream inputStream) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		int read;
+		while ((read = inputStream.read()) >= 0) {
+			outputStream.write(read);
+		}
+		return outputStream.toByteArray();
+	}
+}
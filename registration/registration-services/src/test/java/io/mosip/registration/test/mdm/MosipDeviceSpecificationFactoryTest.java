@@ -0,0 +1,165 @@
+package io.mosip.registration.test.mdm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.mosip.registration.constants.RegistrationConstants;
+import io.mosip.registration.context.ApplicationContext;
+import io.mosip.registration.mdm.dto.MdmBioDevice;
+import io.mosip.registration.mdm.integrator.MosipDeviceSpecificationProvider;
+import io.mosip.registration.mdm.service.impl.MosipDeviceSpecificationFactory;
+import io.mosip.registration.mdm.service.impl.MosipDeviceSpecificationHelper;
+
+/**
+ * Discovers a local MDS among ports that refuse or never answer.
+ */
+public class MosipDeviceSpecificationFactoryTest {
+
+	private static final int PORTS = 100;
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@Mock
+	private MosipDeviceSpecificationProvider deviceSpecificationProvider;
+
+	private MosipDeviceSpecificationFactory deviceSpecificationFactory;
+
+	private MosipDeviceSpecificationHelper deviceSpecificationHelper;
+
+	private HttpServer server;
+
+	private ServerSocket silentSocket;
+
+	private final List<Socket> silentConnections = Collections.synchronizedList(new ArrayList<>());
+
+	@Before
+	public void setUp() throws IOException {
+		ApplicationContext.map().remove(RegistrationConstants.MDM_START_PORT_RANGE);
+		ApplicationContext.map().remove(RegistrationConstants.MDM_END_PORT_RANGE);
+		MosipDeviceSpecificationFactory.getDeviceRegistryInfo().clear();
+
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/info", exchange -> {
+			byte[] response = "[{\"deviceInfo\":\"info\"}]".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, response.length);
+			try (OutputStream body = exchange.getResponseBody()) {
+				body.write(response);
+			}
+		});
+		server.start();
+
+		// accepts connections but never answers
+		silentSocket = new ServerSocket(0, 50, server.getAddress().getAddress());
+		Thread acceptor = new Thread(() -> {
+			while (!silentSocket.isClosed()) {
+				try {
+					silentConnections.add(silentSocket.accept());
+				} catch (IOException exception) {
+					return;
+				}
+			}
+		});
+		acceptor.setDaemon(true);
+		acceptor.start();
+
+		deviceSpecificationHelper = new MosipDeviceSpecificationHelper();
+		ReflectionTestUtils.setField(deviceSpecificationHelper, "maxConnections", 20);
+		ReflectionTestUtils.setField(deviceSpecificationHelper, "maxConnectionsPerPort", 5);
+
+		int serverPort = server.getAddress().getPort();
+		MdmBioDevice bioDevice = new MdmBioDevice();
+		bioDevice.setDeviceType("Finger");
+		bioDevice.setDeviceSubType("Slap");
+		bioDevice.setPort(serverPort);
+		Mockito.when(deviceSpecificationProvider.getMdmDevices(Mockito.anyString(), Mockito.anyInt()))
+				.thenAnswer(invocation -> (int) invocation.getArgument(1) == serverPort
+						? Collections.singletonList(bioDevice)
+						: Collections.emptyList());
+
+		deviceSpecificationFactory = new MosipDeviceSpecificationFactory();
+		ReflectionTestUtils.setField(deviceSpecificationFactory, "deviceSpecificationProviders",
+				Collections.singletonList(deviceSpecificationProvider));
+		ReflectionTestUtils.setField(deviceSpecificationFactory, "mosipDeviceSpecificationHelper",
+				deviceSpecificationHelper);
+		ReflectionTestUtils.setField(deviceSpecificationFactory, "portTimeout", 300);
+		ReflectionTestUtils.setField(deviceSpecificationFactory, "discoveryThreads", 16);
+		ReflectionTestUtils.setField(deviceSpecificationFactory, "defaultMDSPortFrom",
+				Math.max(1024, serverPort - PORTS / 2));
+		ReflectionTestUtils.setField(deviceSpecificationFactory, "defaultMDSPortTo",
+				Math.max(1024, serverPort - PORTS / 2) + PORTS);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		deviceSpecificationFactory.shutdown();
+		deviceSpecificationHelper.closeHttpClient();
+		MosipDeviceSpecificationFactory.getDeviceRegistryInfo().clear();
+		server.stop(0);
+		silentSocket.close();
+		for (Socket socket : silentConnections) {
+			socket.close();
+		}
+	}
+
+	@Test
+	public void discoverTest() throws Exception {
+		long start = System.currentTimeMillis();
+		deviceSpecificationFactory.initByPort(null);
+		long duration = System.currentTimeMillis() - start;
+
+		assertTrue("Discovery took " + duration + " ms", duration < 1000);
+		assertEquals(server.getAddress().getPort(),
+				MosipDeviceSpecificationFactory.getDeviceRegistryInfo().get("finger_slab").getPort());
+		assertSame(MosipDeviceSpecificationFactory.getDeviceRegistryInfo().get("finger_slab"),
+				deviceSpecificationFactory.getDeviceInfoByModality("FINGERPRINT_SLAB_LEFT"));
+	}
+
+	@Test
+	public void silentPortTimeoutTest() throws Exception {
+		int silentPort = silentSocket.getLocalPort();
+		ReflectionTestUtils.setField(deviceSpecificationFactory, "defaultMDSPortFrom", silentPort);
+		ReflectionTestUtils.setField(deviceSpecificationFactory, "defaultMDSPortTo", silentPort);
+
+		long start = System.currentTimeMillis();
+		deviceSpecificationFactory.initByPort(null);
+		long duration = System.currentTimeMillis() - start;
+
+		assertTrue("Discovery took " + duration + " ms", duration < 1000);
+		assertTrue(MosipDeviceSpecificationFactory.getDeviceRegistryInfo().isEmpty());
+	}
+
+	@Test
+	public void singleScanTest() {
+		CompletableFuture<Void> discovery = deviceSpecificationFactory.discover();
+		assertSame(discovery, deviceSpecificationFactory.discover());
+		discovery.join();
+
+		Mockito.verify(deviceSpecificationProvider, Mockito.times(1)).getMdmDevices(Mockito.anyString(),
+				Mockito.eq(server.getAddress().getPort()));
+	}
+}
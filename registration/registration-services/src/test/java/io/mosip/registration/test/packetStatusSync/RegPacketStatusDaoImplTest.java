@@ -2,7 +2,10 @@ package io.mosip.registration.test.packetStatusSync;
 
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -11,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import io.mosip.registration.dao.AuditLogControlDAO;
 import io.mosip.registration.dao.impl.RegPacketStatusDAOImpl;
@@ -35,6 +39,9 @@ public class RegPacketStatusDaoImplTest {
 	@Mock
 	AuditLogControlDAO auditLogControlDAO;
 
+	@Mock
+	JdbcTemplate jdbcTemplate;
+
 	@Test
 	public void getTest() {
 		when(registrationRepository.findById(Mockito.any(), Mockito.anyString())).thenReturn(new Registration());
@@ -76,4 +83,29 @@ public class RegPacketStatusDaoImplTest {
 
 	}
 
+	@Test
+	public void updateServerStatusTest() {
+		Map<String, String> serverStatusCodes = new LinkedHashMap<>();
+		serverStatusCodes.put("REG1", "PROCESSED");
+		serverStatusCodes.put("REG2", "REJECTED");
+
+		packetStatusDao.updateServerStatus(serverStatusCodes);
+
+		Mockito.verify(jdbcTemplate, Mockito.times(1)).batchUpdate(Mockito.startsWith("UPDATE REG.REGISTRATION"),
+				Mockito.<List<Object[]>>argThat(batchArgs -> batchArgs.size() == 2));
+		Mockito.verify(registrationRepository, Mockito.never()).update(Mockito.any());
+	}
+
+	@Test
+	public void deleteAllTest() {
+		packetStatusDao.deleteAll(Arrays.asList("REG1", "REG2", "REG3"));
+
+		Mockito.verify(jdbcTemplate, Mockito.times(1)).batchUpdate(
+				Mockito.eq("DELETE FROM REG.AUDIT_LOG_CONTROL WHERE REG_ID = ?"),
+				Mockito.<List<Object[]>>argThat(batchArgs -> batchArgs.size() == 3));
+		Mockito.verify(jdbcTemplate, Mockito.times(1)).batchUpdate(
+				Mockito.eq("DELETE FROM REG.REGISTRATION WHERE ID = ?"),
+				Mockito.<List<Object[]>>argThat(batchArgs -> batchArgs.size() == 3));
+	}
+
 }
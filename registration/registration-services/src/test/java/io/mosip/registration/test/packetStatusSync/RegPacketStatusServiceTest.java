@@ -2,25 +2,35 @@ package io.mosip.registration.test.packetStatusSync;
 
 import static io.mosip.kernel.core.util.JsonUtils.javaObjectToJsonString;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.net.SocketTimeoutException;
 import java.net.URISyntaxException;
 import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import io.mosip.kernel.core.util.HMACUtils2;
+import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -31,6 +41,7 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
 
@@ -41,6 +52,8 @@ import io.mosip.registration.context.SessionContext;
 import io.mosip.registration.context.SessionContext.UserContext;
 import io.mosip.registration.dao.RegPacketStatusDAO;
 import io.mosip.registration.dao.RegistrationDAO;
+import io.mosip.registration.dto.PacketStatusReaderDTO;
+import io.mosip.registration.dto.RegistrationIdDTO;
 import io.mosip.registration.dto.RegistrationPacketSyncDTO;
 import io.mosip.registration.dto.ResponseDTO;
 import io.mosip.registration.dto.SuccessResponseDTO;
@@ -59,6 +72,10 @@ public class RegPacketStatusServiceTest {
 
 	@Rule
 	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	@Mock
 	private ServiceDelegateUtil serviceDelegateUtil;
 	@Mock
@@ -88,6 +105,16 @@ public class RegPacketStatusServiceTest {
 		PowerMockito.doReturn(userContext).when(SessionContext.class, "userContext");
 		PowerMockito.when(SessionContext.userContext().getUserId()).thenReturn("mosip");
 
+		ReflectionTestUtils.setField(packetStatusService, "chunkSize", 100);
+		ReflectionTestUtils.setField(packetStatusService, "statusThreads", 2);
+		ReflectionTestUtils.setField(packetStatusService, "checkpointFile",
+				new File(temporaryFolder.getRoot(), "packet-status.checkpoint").getPath());
+		ReflectionTestUtils.setField(packetStatusService, "packetPageSize", 500);
+	}
+
+	@After
+	public void tearDown() {
+		packetStatusService.shutdown();
 	}
 
 	@AfterClass
@@ -120,7 +147,7 @@ public class RegPacketStatusServiceTest {
 		regis.setClientStatusCode(RegistrationConstants.PACKET_STATUS_CODE_PROCESSED);
 		list.add(regis);
 
-		when(packetStatusDao.getPacketIdsByStatusUploaded()).thenReturn(list);
+		mockUploadedPackets(list);
 
 		when(serviceDelegateUtil.post(Mockito.anyString(), Mockito.any(), Mockito.anyString())).thenReturn(response);
 		Assert.assertNotNull(packetStatusService.packetSyncStatus("System").getSuccessResponseDTO());
@@ -130,6 +157,115 @@ public class RegPacketStatusServiceTest {
 
 	}
 
+	@Test
+	public void packetSyncStatusChunksTest() throws RegBaseCheckedException, SocketTimeoutException {
+		ReflectionTestUtils.setField(packetStatusService, "chunkSize", 2);
+		mockUploadedPackets(preparePackets("REG1", "REG2", "REG3", "REG4", "REG5"));
+		mockPacketStatusResponse(null);
+
+		ResponseDTO responseDTO = packetStatusService.packetSyncStatus("System");
+
+		assertEquals(5, ((List<?>) responseDTO.getSuccessResponseDTO().getOtherAttributes()
+				.get(RegistrationConstants.PACKET_STATUS_SYNC_RESPONSE_ENTITY)).size());
+		Mockito.verify(serviceDelegateUtil, Mockito.times(3)).post(Mockito.anyString(), Mockito.any(),
+				Mockito.anyString());
+		Mockito.verify(packetStatusDao, Mockito.times(3)).updateServerStatus(Mockito.anyMap());
+		Mockito.verify(packetStatusDao, Mockito.never()).update(Mockito.any());
+		// read page by page after the last packet of the previous page
+		Mockito.verify(packetStatusDao).getPacketIdsByStatusUploaded(Mockito.any(), Mockito.eq(""), Mockito.eq(2));
+		Mockito.verify(packetStatusDao).getPacketIdsByStatusUploaded(Mockito.any(), Mockito.eq("REG2"), Mockito.eq(2));
+		Mockito.verify(packetStatusDao).getPacketIdsByStatusUploaded(Mockito.any(), Mockito.eq("REG4"), Mockito.eq(2));
+	}
+
+	@Test
+	public void packetSyncStatusResumeTest() throws RegBaseCheckedException, SocketTimeoutException {
+		ReflectionTestUtils.setField(packetStatusService, "chunkSize", 2);
+		File checkpoint = new File(temporaryFolder.getRoot(), "packet-status.checkpoint");
+		List<Registration> packets = preparePackets("REG1", "REG2", "REG3", "REG4");
+		mockUploadedPackets(packets);
+		mockPacketStatusResponse("REG3");
+
+		// the chunk of REG3 fails
+		Assert.assertNotNull(packetStatusService.packetSyncStatus("System").getErrorResponseDTOs());
+		assertTrue(checkpoint.exists());
+
+		// status of the first chunk saved by the failed run
+		packets.get(0).setServerStatusTimestamp(new Timestamp(System.currentTimeMillis()));
+		packets.get(1).setServerStatusTimestamp(new Timestamp(System.currentTimeMillis()));
+		mockPacketStatusResponse(null);
+
+		Assert.assertNotNull(packetStatusService.packetSyncStatus("System").getSuccessResponseDTO());
+		assertFalse(checkpoint.exists());
+		Mockito.verify(serviceDelegateUtil, Mockito.times(3)).post(Mockito.anyString(), Mockito.any(),
+				Mockito.anyString());
+		Mockito.verify(serviceDelegateUtil, Mockito.times(2)).post(Mockito.anyString(),
+				Mockito.argThat(request -> containsPacket(request, "REG3")), Mockito.anyString());
+	}
+
+	private List<Registration> preparePackets(String... registrationIds) {
+		List<Registration> packets = new ArrayList<>();
+		for (String registrationId : registrationIds) {
+			Registration packet = new Registration();
+			packet.setId(registrationId);
+			packet.setAckFilename("..//PacketStore/02-Jan-2019/" + registrationId + "_Ack.html");
+			packets.add(packet);
+		}
+		return packets;
+	}
+
+	/**
+	 * Answers the pages of uploaded packets like the database, by id and skipping
+	 * the packets whose status was read since the given time
+	 */
+	private void mockUploadedPackets(List<Registration> packets) {
+		when(packetStatusDao.getPacketIdsByStatusUploaded(Mockito.any(), Mockito.anyString(), Mockito.anyInt()))
+				.thenAnswer(invocation -> {
+					Timestamp serverStatusTime = invocation.getArgument(0);
+					String lastId = invocation.getArgument(1);
+					int pageSize = invocation.getArgument(2);
+					return packets.stream()
+							.filter(packet -> packet.getServerStatusTimestamp() == null
+									|| packet.getServerStatusTimestamp().before(serverStatusTime))
+							.filter(packet -> packet.getId().compareTo(lastId) > 0)
+							.sorted(Comparator.comparing(Registration::getId)).limit(pageSize)
+							.collect(Collectors.toList());
+				});
+	}
+
+	/**
+	 * Answers the status of each requested packet, fails the requests with the
+	 * given packet
+	 */
+	private void mockPacketStatusResponse(String failedRegistrationId)
+			throws RegBaseCheckedException, SocketTimeoutException {
+		when(serviceDelegateUtil.post(Mockito.anyString(), Mockito.any(), Mockito.anyString()))
+				.thenAnswer(invocation -> {
+					PacketStatusReaderDTO request = invocation.getArgument(1);
+					if (containsPacket(request, failedRegistrationId)) {
+						throw new SocketTimeoutException();
+					}
+					List<LinkedHashMap<String, String>> registrations = new ArrayList<>();
+					for (RegistrationIdDTO registrationIdDTO : request.getRequest()) {
+						LinkedHashMap<String, String> registration = new LinkedHashMap<>();
+						registration.put("registrationId", registrationIdDTO.getRegistrationId());
+						registration.put("statusCode", RegistrationConstants.PACKET_STATUS_CODE_PROCESSED);
+						registrations.add(registration);
+					}
+					LinkedHashMap<String, Object> response = new LinkedHashMap<>();
+					response.put(RegistrationConstants.RESPONSE, registrations);
+					return response;
+				});
+	}
+
+	private static boolean containsPacket(Object request, String registrationId) {
+		for (RegistrationIdDTO registrationIdDTO : ((PacketStatusReaderDTO) request).getRequest()) {
+			if (registrationIdDTO.getRegistrationId().equals(registrationId)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@Test
 	public void packetSyncStatusSuccessTestWithEmptyPackets()
 			throws HttpClientErrorException, RegBaseCheckedException, SocketTimeoutException {
@@ -149,7 +285,7 @@ public class RegPacketStatusServiceTest {
 		registrations.add(registration12);
 
 		List<Registration> list = new LinkedList<>();
-		when(packetStatusDao.getPacketIdsByStatusUploaded()).thenReturn(list);
+		mockUploadedPackets(list);
 
 		when(serviceDelegateUtil.post(Mockito.anyString(), Mockito.anyMap(), Mockito.anyString())).thenReturn(response);
 		Assert.assertNotNull(packetStatusService.packetSyncStatus("System").getSuccessResponseDTO());
@@ -168,7 +304,7 @@ public class RegPacketStatusServiceTest {
 		regis.setAckFilename("..//PacketStore/02-Jan-2019/2018782130000102012019115112_Ack.png");
 		regis.setClientStatusCode(RegistrationConstants.PACKET_STATUS_CODE_PROCESSED);
 		list.add(regis);
-		when(packetStatusDao.getPacketIdsByStatusUploaded()).thenReturn(list);
+		mockUploadedPackets(list);
 
 		when(serviceDelegateUtil.post(Mockito.anyString(), Mockito.anyMap(), Mockito.anyString()))
 				.thenThrow(SocketTimeoutException.class);
@@ -187,7 +323,7 @@ public class RegPacketStatusServiceTest {
 		regis.setAckFilename("..//PacketStore/02-Jan-2019/2018782130000102012019115112_Ack.png");
 		regis.setClientStatusCode(RegistrationConstants.PACKET_STATUS_CODE_PROCESSED);
 		list.add(regis);
-		when(packetStatusDao.getPacketIdsByStatusUploaded()).thenReturn(list);
+		mockUploadedPackets(list);
 
 		when(serviceDelegateUtil.post(Mockito.anyString(), Mockito.anyMap(), Mockito.anyString()))
 				.thenThrow(RuntimeException.class);
@@ -206,7 +342,7 @@ public class RegPacketStatusServiceTest {
 		regis.setClientStatusCode(RegistrationConstants.PACKET_STATUS_CODE_PROCESSED);
 		list.add(regis);
 
-		when(packetStatusDao.getPacketIdsByStatusUploaded()).thenReturn(list);
+		mockUploadedPackets(list);
 
 		List<LinkedHashMap<String, String>> registrations = new ArrayList<>();
 
@@ -227,15 +363,60 @@ public class RegPacketStatusServiceTest {
 		SuccessResponseDTO successResponseDTO = new SuccessResponseDTO();
 		successResponseDTO.setMessage(RegistrationConstants.REGISTRATION_DELETION_BATCH_JOBS_SUCCESS);
 
-		when(registrationDAO.get(Mockito.any(), Mockito.anyString())).thenReturn(list);
+		when(registrationDAO.get(Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyInt()))
+				.thenReturn(list);
 
 		Mockito.doNothing().when(packetStatusDao).delete(Mockito.any());
 
 		assertSame(successResponseDTO.getMessage(),
 				packetStatusService.deleteRegistrationPackets().getSuccessResponseDTO().getMessage());
+		Mockito.verify(packetStatusDao, Mockito.times(1)).deleteAll(Collections.singletonList("12345"));
 
 	}
 
+	@Test
+	public void deleteRegistrationPacketsPagesTest() {
+		ReflectionTestUtils.setField(packetStatusService, "packetPageSize", 2);
+		List<Registration> firstPage = preparePackets("REG1", "REG2");
+		List<Registration> lastPage = preparePackets("REG3");
+		firstPage.forEach(packet -> packet.setServerStatusCode(RegistrationConstants.PACKET_STATUS_CODE_PROCESSED));
+		lastPage.forEach(packet -> packet.setServerStatusCode(RegistrationConstants.PACKET_STATUS_CODE_PROCESSED));
+		when(registrationDAO.get(Mockito.any(), Mockito.anyString(), Mockito.eq(""), Mockito.eq(2)))
+				.thenReturn(firstPage);
+		when(registrationDAO.get(Mockito.any(), Mockito.anyString(), Mockito.eq("REG2"), Mockito.eq(2)))
+				.thenReturn(lastPage);
+
+		Assert.assertNotNull(packetStatusService.deleteRegistrationPackets().getSuccessResponseDTO());
+
+		Mockito.verify(packetStatusDao).deleteAll(Arrays.asList("REG1", "REG2"));
+		Mockito.verify(packetStatusDao).deleteAll(Collections.singletonList("REG3"));
+		Mockito.verify(registrationDAO, Mockito.times(2)).get(Mockito.any(), Mockito.anyString(), Mockito.anyString(),
+				Mockito.anyInt());
+	}
+
+	@Test
+	public void deletePacketFilesFirstTest() throws Exception {
+		List<Registration> packets = preparePackets("REG1", "REG2");
+		packets.forEach(packet -> packet.setServerStatusCode(RegistrationConstants.PACKET_STATUS_CODE_PROCESSED));
+		File deletedZip = temporaryFolder.newFile("REG1.zip");
+		File deletedAck = temporaryFolder.newFile("REG1_Ack.html");
+		packets.get(0).setAckFilename(deletedAck.getPath());
+		// a packet that cannot be deleted, a non empty folder
+		File keptZip = temporaryFolder.newFolder("REG2.zip");
+		new File(keptZip, "content").createNewFile();
+		packets.get(1).setAckFilename(new File(temporaryFolder.getRoot(), "REG2_Ack.html").getPath());
+		when(registrationDAO.get(Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyInt()))
+				.thenReturn(packets);
+
+		Assert.assertNotNull(packetStatusService.deleteRegistrationPackets().getSuccessResponseDTO());
+
+		assertFalse(deletedZip.exists());
+		assertFalse(deletedAck.exists());
+		// the row of the packet kept is kept, to retry its deletion
+		Mockito.verify(packetStatusDao).deleteAll(Collections.singletonList("REG1"));
+		assertTrue(keptZip.exists());
+	}
+
 	protected List<Registration> prepareSamplePackets() {
 		List<Registration> list = new LinkedList<>();
 		Registration regis = new Registration();
@@ -253,7 +434,8 @@ public class RegPacketStatusServiceTest {
 	public void deleteReRegistrationPacketsFailureTest() {
 		List<Registration> list = prepareSamplePackets();
 
-		when(registrationDAO.get(Mockito.any(), Mockito.anyString())).thenThrow(RuntimeException.class);
+		when(registrationDAO.get(Mockito.any(), Mockito.anyString(), Mockito.anyString(), Mockito.anyInt()))
+				.thenThrow(RuntimeException.class);
 
 		assertSame(RegistrationConstants.REGISTRATION_DELETION_BATCH_JOBS_FAILURE,
 				packetStatusService.deleteRegistrationPackets().getErrorResponseDTOs().get(0).getMessage());
@@ -272,7 +454,8 @@ public class RegPacketStatusServiceTest {
 		reg.setAckFilename("10001100010025920190430051904_Ack.html");
 		reg.setStatusCode("NEW");
 		packetsToBeSynched.add(reg);
-		Mockito.when(registrationDAO.getPacketsToBeSynched(Mockito.anyList())).thenReturn(packetsToBeSynched);
+		Mockito.when(registrationDAO.getPacketsToBeSynched(Mockito.anyList(), Mockito.anyString(), Mockito.anyInt()))
+				.thenReturn(packetsToBeSynched);
 		ResponseDTO responseDTO = new ResponseDTO();
 		SuccessResponseDTO successResponseDTO = new SuccessResponseDTO();
 		Map<String, Object> otherAttributes = new HashMap<>();
@@ -299,6 +482,7 @@ public class RegPacketStatusServiceTest {
 				registrationDAO.findByServerStatusCodeIn(RegistrationConstants.PACKET_STATUS_CODES_FOR_REMAPDELETE))
 				.thenReturn(list);
 		packetStatusService.deleteAllProcessedRegPackets();
+		Mockito.verify(packetStatusDao, Mockito.times(1)).deleteAll(Collections.singletonList("12345"));
 
 	}
 }
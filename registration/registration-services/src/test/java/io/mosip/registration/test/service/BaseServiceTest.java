@@ -1,5 +1,6 @@
 package io.mosip.registration.test.service;
 
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -18,11 +19,29 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import io.mosip.registration.constants.DeviceTypes;
+import io.mosip.registration.constants.PreConditionChecks;
+import io.mosip.registration.constants.RegistrationConstants;
+import io.mosip.registration.context.ApplicationContext;
 import io.mosip.registration.context.SessionContext;
+import io.mosip.registration.context.StationContext;
 import io.mosip.registration.dao.MachineMappingDAO;
+import io.mosip.registration.dao.RegistrationCenterDAO;
 import io.mosip.registration.dao.UserOnboardDAO;
+import io.mosip.registration.dto.ResponseDTO;
+import io.mosip.registration.dto.SuccessResponseDTO;
+import io.mosip.registration.entity.CenterMachine;
+import io.mosip.registration.entity.MachineMaster;
+import io.mosip.registration.entity.id.CenterMachineId;
+import io.mosip.registration.entity.id.RegMachineSpecId;
+import io.mosip.registration.exception.PreConditionCheckException;
 import io.mosip.registration.exception.RegBaseCheckedException;
+import io.mosip.registration.repositories.CenterMachineRepository;
+import io.mosip.registration.repositories.MachineMasterRepository;
 import io.mosip.registration.service.BaseService;
+import io.mosip.registration.service.config.GlobalParamService;
+import io.mosip.registration.service.operator.UserDetailService;
+import io.mosip.registration.service.remap.CenterMachineReMapService;
+import io.mosip.registration.service.sync.PolicySyncService;
 
 @RunWith(PowerMockRunner.class)
 @PowerMockIgnore({"com.sun.org.apache.xerces.*", "javax.xml.*", "org.xml.*", "javax.management.*"})
@@ -39,6 +58,27 @@ public class BaseServiceTest {
 	@Mock
 	private UserOnboardDAO onboardDAO;
 
+	@Mock
+	private MachineMasterRepository machineMasterRepository;
+
+	@Mock
+	private CenterMachineRepository centerMachineRepository;
+
+	@Mock
+	private RegistrationCenterDAO registrationCenterDAO;
+
+	@Mock
+	private UserDetailService userDetailService;
+
+	@Mock
+	private CenterMachineReMapService centerMachineReMapService;
+
+	@Mock
+	private PolicySyncService policySyncService;
+
+	@Mock
+	private GlobalParamService globalParamService;
+
 
 	@Test
 	public void getCeneterIdTest() {
@@ -72,7 +112,117 @@ public class BaseServiceTest {
 
 
 	}
-	
-	
+
+	@Test
+	public void stationContextTest() throws Exception {
+		mockSession(new StationContext());
+		mockStation(true);
+
+		baseService.proceedWithRegistration();
+		baseService.proceedWithRegistration();
+
+		Assert.assertEquals("10011", baseService.getCenterId());
+		Mockito.verify(machineMasterRepository, Mockito.times(1))
+				.findByNameIgnoreCaseAndRegMachineSpecIdLangCode(Mockito.anyString(), Mockito.any());
+		Mockito.verify(centerMachineRepository, Mockito.times(1)).findByCenterMachineIdMachineId("11002");
+		Mockito.verify(userDetailService, Mockito.times(1)).isValidUser("110011");
+		Mockito.verify(centerMachineReMapService, Mockito.times(1)).isMachineRemapped();
+		Mockito.verify(registrationCenterDAO, Mockito.times(1)).isMachineCenterActive("11002");
+		Mockito.verify(policySyncService, Mockito.times(1)).checkKeyValidation();
+	}
+
+	@Test
+	public void stationContextInvalidateTest() throws Exception {
+		StationContext stationContext = new StationContext();
+		mockSession(stationContext);
+		mockStation(false);
+
+		assertPreConditionFails();
+		mockStation(true);
+		// the invalid key is cached until the policy sync
+		assertPreConditionFails();
+
+		stationContext.invalidate(StationContext.POLICY_KEY_VALID);
+		baseService.proceedWithRegistration();
+		Mockito.verify(policySyncService, Mockito.times(2)).checkKeyValidation();
+	}
+
+	@Test
+	public void noStationContextTest() throws Exception {
+		mockSession(null);
+		mockStation(true);
+
+		baseService.proceedWithRegistration();
+		baseService.proceedWithRegistration();
+
+		Mockito.verify(registrationCenterDAO, Mockito.times(2)).isMachineCenterActive("11002");
+		Mockito.verify(policySyncService, Mockito.times(2)).checkKeyValidation();
+	}
+
+	@Test
+	public void globalParamMissingTest() {
+		StationContext stationContext = new StationContext();
+		mockSession(stationContext);
+		ApplicationContext.getInstance();
+		ApplicationContext.map().put("mosip.registration.test.present", "Y");
+		Mockito.when(globalParamService.getGlobalParams()).thenReturn(new HashMap<>());
+
+		Assert.assertNull(baseService.getGlobalConfigValueOf("mosip.registration.test.missing"));
+		Assert.assertNull(baseService.getGlobalConfigValueOf("mosip.registration.test.missing"));
+		Assert.assertEquals("Y", baseService.getGlobalConfigValueOf("mosip.registration.test.present"));
+		Mockito.verify(globalParamService, Mockito.times(1)).getGlobalParams();
+
+		stationContext.invalidateGlobalParams();
+		baseService.getGlobalConfigValueOf("mosip.registration.test.missing");
+		Mockito.verify(globalParamService, Mockito.times(2)).getGlobalParams();
+
+		ApplicationContext.map().remove("mosip.registration.test.present");
+	}
+
+	private void mockSession(StationContext stationContext) {
+		PowerMockito.mockStatic(SessionContext.class);
+		Mockito.when(SessionContext.isSessionContextAvailable()).thenReturn(true);
+		Mockito.when(SessionContext.userId()).thenReturn("110011");
+		Mockito.when(SessionContext.stationContext()).thenReturn(stationContext);
+		ApplicationContext.getInstance();
+	}
+
+	private void mockStation(boolean validKey) {
+		MachineMaster machineMaster = new MachineMaster();
+		RegMachineSpecId regMachineSpecId = new RegMachineSpecId();
+		regMachineSpecId.setId("11002");
+		machineMaster.setRegMachineSpecId(regMachineSpecId);
+		machineMaster.setIsActive(true);
+		Mockito.when(machineMasterRepository.findByNameIgnoreCaseAndRegMachineSpecIdLangCode(Mockito.anyString(),
+				Mockito.any())).thenReturn(machineMaster);
+
+		CenterMachine centerMachine = new CenterMachine();
+		CenterMachineId centerMachineId = new CenterMachineId();
+		centerMachineId.setMachineId("11002");
+		centerMachineId.setRegCenterId("10011");
+		centerMachine.setCenterMachineId(centerMachineId);
+		centerMachine.setIsActive(true);
+		Mockito.when(centerMachineRepository.findByCenterMachineIdMachineId("11002")).thenReturn(centerMachine);
+
+		Mockito.when(userDetailService.isValidUser("110011")).thenReturn(true);
+		Mockito.when(centerMachineReMapService.isMachineRemapped()).thenReturn(false);
+		Mockito.when(registrationCenterDAO.isMachineCenterActive("11002")).thenReturn(true);
+
+		ResponseDTO responseDTO = new ResponseDTO();
+		SuccessResponseDTO successResponseDTO = new SuccessResponseDTO();
+		successResponseDTO.setMessage(validKey ? RegistrationConstants.VALID_KEY : "INVALID_KEY");
+		responseDTO.setSuccessResponseDTO(successResponseDTO);
+		Mockito.when(policySyncService.checkKeyValidation()).thenReturn(responseDTO);
+	}
+
+	private void assertPreConditionFails() {
+		try {
+			baseService.proceedWithRegistration();
+			Assert.fail();
+		} catch (PreConditionCheckException exception) {
+			Assert.assertEquals(PreConditionChecks.NO_OR_INVALID_POLICY_KEY.name(), exception.getErrorCode());
+		}
+	}
+
 
 }
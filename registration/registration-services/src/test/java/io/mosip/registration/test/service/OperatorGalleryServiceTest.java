@@ -0,0 +1,159 @@
+package io.mosip.registration.test.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.biometrics.constant.BiometricFunction;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biosdk.provider.factory.BioAPIFactory;
+import io.mosip.kernel.biosdk.provider.spi.iBioProviderApi;
+import io.mosip.kernel.core.cbeffutil.entity.BIR;
+import io.mosip.registration.dao.UserDetailDAO;
+import io.mosip.registration.dto.packetmanager.BiometricsDto;
+import io.mosip.registration.entity.UserBiometric;
+import io.mosip.registration.entity.id.UserBiometricId;
+import io.mosip.registration.service.bio.impl.OperatorGalleryServiceImpl;
+
+public class OperatorGalleryServiceTest {
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@InjectMocks
+	private OperatorGalleryServiceImpl operatorGalleryService;
+
+	@Mock
+	private UserDetailDAO userDetailDAO;
+
+	@Mock
+	private BioAPIFactory bioAPIFactory;
+
+	@Mock
+	private iBioProviderApi bioProvider;
+
+	private final List<BiometricsDto> capture = Collections
+			.singletonList(new BiometricsDto("leftIndex", new byte[] { 1, 2, 3 }, 80));
+
+	@Before
+	public void setUp() throws Exception {
+		ReflectionTestUtils.setField(operatorGalleryService, "shardSize", 2);
+		ReflectionTestUtils.setField(operatorGalleryService, "matchThreads", 3);
+
+		Mockito.when(userDetailDAO.findAllActiveUsers(BiometricType.FINGER.value()))
+				.thenAnswer(invocation -> buildUserBiometrics(5, 2));
+		Mockito.when(bioAPIFactory.getBioProvider(BiometricType.FINGER, BiometricFunction.MATCH))
+				.thenReturn(bioProvider);
+	}
+
+	@After
+	public void tearDown() {
+		operatorGalleryService.shutdown();
+	}
+
+	public static List<UserBiometric> buildUserBiometrics(int operators, int fingers) {
+		String[] attributes = { "leftIndex", "leftMiddle", "leftRing", "leftLittle", "leftThumb", "rightIndex",
+				"rightMiddle", "rightRing", "rightLittle", "rightThumb" };
+		List<UserBiometric> userBiometrics = new ArrayList<>();
+		for (int operator = 0; operator < operators; operator++) {
+			for (int finger = 0; finger < fingers; finger++) {
+				UserBiometricId userBiometricId = new UserBiometricId();
+				userBiometricId.setUsrId("operator" + operator);
+				userBiometricId.setBioTypeCode(BiometricType.FINGER.value());
+				userBiometricId.setBioAttributeCode(attributes[finger]);
+				UserBiometric userBiometric = new UserBiometric();
+				userBiometric.setUserBiometricId(userBiometricId);
+				userBiometric.setBioIsoImage(new byte[] { (byte) operator, (byte) finger });
+				userBiometric.setQualityScore(90);
+				userBiometrics.add(userBiometric);
+			}
+		}
+		return userBiometrics;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void identifyInShardsTest() throws Exception {
+		Mockito.when(bioProvider.identify(Mockito.anyList(), Mockito.anyMap(), Mockito.eq(BiometricType.FINGER),
+				Mockito.isNull())).thenAnswer(invocation -> {
+					Map<String, List<BIR>> gallery = invocation.getArgument(1);
+					Map<String, Boolean> result = new HashMap<>();
+					gallery.keySet().forEach(userId -> result.put(userId, "operator4".equals(userId)));
+					return result;
+				});
+
+		assertTrue(operatorGalleryService.identify(BiometricType.FINGER, capture));
+
+		// 5 operators in shards of 2
+		ArgumentCaptor<Map<String, List<BIR>>> shards = ArgumentCaptor.forClass(Map.class);
+		Mockito.verify(bioProvider, Mockito.atLeastOnce()).identify(Mockito.anyList(), shards.capture(),
+				Mockito.eq(BiometricType.FINGER), Mockito.isNull());
+		shards.getAllValues().forEach(shard -> assertTrue(shard.size() <= 2));
+
+		assertTrue(operatorGalleryService.identify(BiometricType.FINGER, capture));
+		Mockito.verify(userDetailDAO, Mockito.times(1)).findAllActiveUsers(BiometricType.FINGER.value());
+	}
+
+	@Test
+	public void identifyNoMatchTest() throws Exception {
+		Mockito.when(bioProvider.identify(Mockito.anyList(), Mockito.anyMap(), Mockito.eq(BiometricType.FINGER),
+				Mockito.isNull())).thenReturn(Collections.singletonMap("operator0", false))
+				.thenThrow(new RuntimeException("SDK failure"))
+				.thenReturn(Collections.singletonMap("operator4", false));
+
+		assertFalse(operatorGalleryService.identify(BiometricType.FINGER, capture));
+		Mockito.verify(bioProvider, Mockito.times(3)).identify(Mockito.anyList(), Mockito.anyMap(),
+				Mockito.eq(BiometricType.FINGER), Mockito.isNull());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void verifyTest() throws Exception {
+		Mockito.when(bioProvider.verify(Mockito.anyList(), Mockito.anyList(), Mockito.eq(BiometricType.FINGER),
+				Mockito.isNull())).thenReturn(true);
+
+		assertTrue(operatorGalleryService.verify("operator1", BiometricType.FINGER, capture));
+		assertFalse(operatorGalleryService.verify("unknown", BiometricType.FINGER, capture));
+
+		ArgumentCaptor<List<BIR>> record = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(bioProvider, Mockito.times(1)).verify(Mockito.anyList(), record.capture(),
+				Mockito.eq(BiometricType.FINGER), Mockito.isNull());
+		assertEquals(2, record.getValue().size());
+	}
+
+	@Test
+	public void invalidateTest() throws Exception {
+		Mockito.when(bioProvider.verify(Mockito.anyList(), Mockito.anyList(), Mockito.eq(BiometricType.FINGER),
+				Mockito.isNull())).thenReturn(true);
+
+		assertTrue(operatorGalleryService.verify("operator1", BiometricType.FINGER, capture));
+		assertTrue(operatorGalleryService.verify("operator2", BiometricType.FINGER, capture));
+		Mockito.verify(userDetailDAO, Mockito.times(1)).findAllActiveUsers(BiometricType.FINGER.value());
+
+		// operator1 removed by the user detail sync
+		Mockito.when(userDetailDAO.findAllActiveUsers(BiometricType.FINGER.value()))
+				.thenReturn(buildUserBiometrics(1, 2));
+		operatorGalleryService.invalidate();
+
+		assertFalse(operatorGalleryService.verify("operator1", BiometricType.FINGER, capture));
+		Mockito.verify(userDetailDAO, Mockito.times(2)).findAllActiveUsers(BiometricType.FINGER.value());
+	}
+}
@@ -1,5 +1,7 @@
 package io.mosip.registration.test.service;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import java.io.ByteArrayOutputStream;
@@ -7,7 +9,9 @@ import java.io.File;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -48,6 +52,8 @@ import io.mosip.registration.dto.RegistrationMetaDataDTO;
 import io.mosip.registration.dto.UiSchemaDTO;
 import io.mosip.registration.dto.biometric.BiometricDTO;
 import io.mosip.registration.dto.biometric.BiometricInfoDTO;
+import io.mosip.registration.dto.packetmanager.DocumentDto;
+import io.mosip.registration.entity.DocumentType;
 import io.mosip.registration.exception.RegBaseCheckedException;
 import io.mosip.registration.exception.RegBaseUncheckedException;
 import io.mosip.registration.service.IdentitySchemaService;
@@ -129,6 +135,34 @@ public class PreRegZipHandlingServiceTest {
 		assertNotNull(registrationDTO);
 	}
 
+	@Test
+	public void extractPreRegZipFileDocumentsTest() throws Exception {
+		for (String documentField : Arrays.asList("POI", "POB", "POR")) {
+			UiSchemaDTO field = new UiSchemaDTO();
+			field.setId(documentField);
+			field.setType("documentType");
+			field.setSubType(documentField);
+			schemaFields.add(field);
+		}
+		DocumentType documentType = new DocumentType();
+		documentType.setName("BirthCertificate");
+		documentType.setCode("BC");
+		Mockito.when(documentTypeDAO.getDocTypesByNames(Mockito.anyCollection()))
+				.thenReturn(Collections.singletonList(documentType));
+		Mockito.when(identitySchemaService.getUISchema(Mockito.anyDouble())).thenReturn(schemaFields);
+
+		RegistrationDTO registrationDTO = preRegZipHandlingServiceImpl.extractPreRegZipFile(preRegPacket);
+
+		assertEquals(3, registrationDTO.getDocuments().size());
+		for (DocumentDto documentDto : registrationDTO.getDocuments().values()) {
+			assertEquals(29083, documentDto.getDocument().length);
+			assertEquals("BC", documentDto.getType());
+			assertEquals(documentDto.getCategory() + "_BC", documentDto.getValue());
+		}
+		Mockito.verify(documentTypeDAO, Mockito.times(1)).getDocTypesByNames(Mockito.anyCollection());
+		Mockito.verify(documentTypeDAO, Mockito.never()).getDocTypeByName(Mockito.anyString());
+	}
+
 	@Test(expected = RegBaseCheckedException.class)
 	public void extractPreRegZipFileTestNegative() throws Exception {
 		try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
@@ -193,9 +227,11 @@ public class PreRegZipHandlingServiceTest {
 	@Test
 	public void decryptPreRegPacketTest() throws RegBaseCheckedException, IOException {
 
-		final byte[] decrypted = preRegZipHandlingServiceImpl.decryptPreRegPacket("0E8BAAEB3CED73CBC9BF4964F321824A",
-				encryptPacket().getEncryptedPacket());
-		assertNotNull(decrypted);
+		PreRegistrationDTO preRegistrationDTO = encryptPacket();
+		final byte[] decrypted = preRegZipHandlingServiceImpl.decryptPreRegPacket(
+				preRegistrationDTO.getSymmetricKey(),
+				FileUtils.readFileToByteArray(new File(preRegistrationDTO.getPacketPath())));
+		assertArrayEquals(preRegPacket, decrypted);
 	}
 	//
 	// @Test(expected = RegBaseCheckedException.class)
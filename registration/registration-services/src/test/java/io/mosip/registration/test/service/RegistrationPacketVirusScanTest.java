@@ -1,24 +1,32 @@
 package io.mosip.registration.test.service;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import io.mosip.kernel.core.virusscanner.exception.VirusScannerException;
 import io.mosip.kernel.core.virusscanner.spi.VirusScanner;
+import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.context.ApplicationContext;
 import io.mosip.registration.service.packet.impl.RegistrationPacketVirusScanServiceImpl;
 
@@ -26,6 +34,9 @@ public class RegistrationPacketVirusScanTest {
 
 	@Rule
 	public MockitoRule MockitoRule = MockitoJUnit.rule();
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
 	
 	@Mock
 	private VirusScanner<Boolean, String> virusScanner;
@@ -42,7 +53,16 @@ public class RegistrationPacketVirusScanTest {
 		appMap.put("mosip.registration.database_path", "..//reg");
 		appMap.put("mosip.registration.logs_path", "..//Logs");
 		ApplicationContext.getInstance().setApplicationMap(appMap);
-		
+
+		ReflectionTestUtils.setField(registrationPacketVirusScanServiceImpl, "indexFile",
+				new File(temporaryFolder.getRoot(), "index/virus-scan-index.json").getPath());
+		ReflectionTestUtils.setField(registrationPacketVirusScanServiceImpl, "scanThreads", 4);
+		ReflectionTestUtils.setField(registrationPacketVirusScanServiceImpl, "rescanAfterDays", 7);
+	}
+
+	@After
+	public void tearDown() {
+		registrationPacketVirusScanServiceImpl.shutdown();
 	}
 	
 	@Test
@@ -69,4 +89,92 @@ public class RegistrationPacketVirusScanTest {
 		Mockito.when(virusScanner.scanDocument(Mockito.any(File.class))).thenThrow(new IOException());
 		assertNotNull(registrationPacketVirusScanServiceImpl.scanPacket().getErrorResponseDTOs());
 	}
+
+	@Test
+	public void incrementalScanTest() throws IOException {
+		File packets = temporaryFolder.newFolder("packets");
+		File packet = writeFile(new File(packets, "packet1.zip"), "packet one");
+		writeFile(new File(packets, "packet2.zip"), "packet two");
+		// same content as the first packet
+		writeFile(new File(packets, "copy/packet1.zip"), "packet one");
+		useFolders(packets);
+		AtomicLong scannedBytes = stubScanner();
+
+		assertEquals("Success", registrationPacketVirusScanServiceImpl.scanPacket().getSuccessResponseDTO().getMessage());
+		assertEquals(20, scannedBytes.getAndSet(0));
+
+		// nothing changed
+		assertEquals("Success", registrationPacketVirusScanServiceImpl.scanPacket().getSuccessResponseDTO().getMessage());
+		assertEquals(0, scannedBytes.get());
+
+		// touched but not changed
+		assertTrue(packet.setLastModified(packet.lastModified() - 60000));
+		registrationPacketVirusScanServiceImpl.scanPacket();
+		assertEquals(0, scannedBytes.get());
+
+		writeFile(packet, "packet one changed");
+		writeFile(new File(packets, "packet3.zip"), "packet three");
+		registrationPacketVirusScanServiceImpl.scanPacket();
+		assertEquals(30, scannedBytes.get());
+	}
+
+	@Test
+	public void overlappingFoldersTest() throws IOException {
+		File packets = temporaryFolder.newFolder("packets");
+		writeFile(new File(packets, "packet1.zip"), "packet one");
+		useFolders(packets);
+		ApplicationContext.map().put(RegistrationConstants.CLIENT_PATH, temporaryFolder.getRoot().getPath());
+		AtomicLong scannedBytes = stubScanner();
+
+		assertEquals("Success", registrationPacketVirusScanServiceImpl.scanPacket().getSuccessResponseDTO().getMessage());
+		assertEquals(10, scannedBytes.get());
+	}
+
+	@Test
+	public void infectedFileScannedAgainTest() throws IOException {
+		File packets = temporaryFolder.newFolder("packets");
+		writeFile(new File(packets, "packet1.zip"), "packet one");
+		writeFile(new File(packets, "infected.zip"), "EICAR");
+		useFolders(packets);
+		AtomicLong scannedBytes = stubScanner();
+
+		assertEquals("infected.zip;",
+				registrationPacketVirusScanServiceImpl.scanPacket().getSuccessResponseDTO().getMessage());
+		assertEquals(15, scannedBytes.getAndSet(0));
+
+		assertEquals("infected.zip;",
+				registrationPacketVirusScanServiceImpl.scanPacket().getSuccessResponseDTO().getMessage());
+		assertEquals(5, scannedBytes.get());
+	}
+
+	/**
+	 * Scans only the packets folder, the other folders are empty.
+	 */
+	private void useFolders(File packets) throws IOException {
+		String emptyFolder = temporaryFolder.newFolder().getPath();
+		ApplicationContext.map().put(RegistrationConstants.PKT_STORE_LOC, packets.getPath());
+		ApplicationContext.map().put(RegistrationConstants.PRE_REG_PACKET_LOCATION, emptyFolder);
+		ApplicationContext.map().put(RegistrationConstants.LOGS_PATH, emptyFolder);
+		ApplicationContext.map().put(RegistrationConstants.DB_PATH, emptyFolder);
+		ApplicationContext.map().put(RegistrationConstants.CLIENT_PATH, emptyFolder);
+	}
+
+	/**
+	 * Stubs the virus scanner to count the bytes scanned, a file with EICAR is infected.
+	 */
+	private AtomicLong stubScanner() throws IOException {
+		AtomicLong scannedBytes = new AtomicLong();
+		Mockito.when(virusScanner.scanDocument(Mockito.any(File.class))).thenAnswer(invocation -> {
+			byte[] content = Files.readAllBytes(((File) invocation.getArgument(0)).toPath());
+			scannedBytes.addAndGet(content.length);
+			return !new String(content, StandardCharsets.UTF_8).contains("EICAR");
+		});
+		return scannedBytes;
+	}
+
+	private static File writeFile(File file, String content) throws IOException {
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
 }
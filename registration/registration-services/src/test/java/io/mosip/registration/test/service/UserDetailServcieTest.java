@@ -28,9 +28,11 @@ import io.mosip.registration.dao.UserDetailDAO;
 import io.mosip.registration.dto.UserDetailDto;
 import io.mosip.registration.dto.UserDetailResponseDto;
 import io.mosip.registration.exception.RegBaseCheckedException;
+import io.mosip.registration.service.bio.OperatorGalleryService;
 import io.mosip.registration.service.operator.UserOnboardService;
 import io.mosip.registration.service.operator.impl.UserDetailServiceImpl;
 import io.mosip.registration.util.healthcheck.RegistrationAppHealthCheckUtil;
+import io.mosip.registration.util.restclient.AuthTokenUtilService;
 import io.mosip.registration.util.restclient.ServiceDelegateUtil;
 
 @RunWith(PowerMockRunner.class)
@@ -53,6 +55,12 @@ public class UserDetailServcieTest {
 	@Mock
 	private UserDetailDAO userDetailDAO;
 
+	@Mock
+	private OperatorGalleryService operatorGalleryService;
+
+	@Mock
+	private AuthTokenUtilService authTokenUtilService;
+
 	@Test
 	public void userDtls() throws HttpClientErrorException, SocketTimeoutException, RegBaseCheckedException {
 		PowerMockito.mockStatic(RegistrationAppHealthCheckUtil.class);
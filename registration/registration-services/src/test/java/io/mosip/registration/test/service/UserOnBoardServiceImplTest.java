@@ -46,6 +46,7 @@ import io.mosip.registration.dto.biometric.FingerprintDetailsDTO;
 import io.mosip.registration.dto.biometric.IrisDetailsDTO;
 import io.mosip.registration.exception.RegBaseCheckedException;
 import io.mosip.registration.exception.RegBaseUncheckedException;
+import io.mosip.registration.service.bio.OperatorGalleryService;
 import io.mosip.registration.service.operator.impl.UserOnboardServiceImpl;
 import io.mosip.registration.util.healthcheck.RegistrationAppHealthCheckUtil;
 import io.mosip.registration.util.healthcheck.RegistrationSystemPropertiesChecker;
@@ -80,6 +81,9 @@ public class UserOnBoardServiceImplTest {
 	
 	@Mock
 	private UserOnboardDAO userOnBoardDao;
+
+	@Mock
+	private OperatorGalleryService operatorGalleryService;
 	
 	@Mock
 	private KeyGenerator keyGenerator;
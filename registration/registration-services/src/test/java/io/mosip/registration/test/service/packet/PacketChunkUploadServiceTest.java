@@ -0,0 +1,286 @@
+package io.mosip.registration.test.service.packet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import io.mosip.kernel.core.util.HMACUtils2;
+import io.mosip.registration.audit.AuditManagerService;
+import io.mosip.registration.constants.RegistrationClientStatusCode;
+import io.mosip.registration.constants.RegistrationConstants;
+import io.mosip.registration.dao.RegistrationDAO;
+import io.mosip.registration.dto.PacketStatusDTO;
+import io.mosip.registration.entity.Registration;
+import io.mosip.registration.service.packet.impl.PacketUploadServiceImpl;
+import io.mosip.registration.util.restclient.ServiceDelegateUtil;
+
+/**
+ * Tests the chunked packet upload against an in-memory stub of the packet
+ * receiver chunk endpoint.
+ */
+public class PacketChunkUploadServiceTest {
+
+	private static final String RID = "10011100110001420200915102030";
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@InjectMocks
+	private PacketUploadServiceImpl packetUploadService;
+
+	@Mock
+	private ServiceDelegateUtil serviceDelegateUtil;
+
+	@Mock
+	private RegistrationDAO registrationDAO;
+
+	@Mock
+	private AuditManagerService auditFactory;
+
+	private byte[] packetBytes;
+
+	private Registration registration;
+
+	/** Bytes received by the stub server. */
+	private ByteArrayOutputStream serverPacket;
+
+	private AtomicInteger chunksReceived;
+
+	@Before
+	public void setUp() throws IOException {
+		packetBytes = new byte[5000];
+		new Random(7).nextBytes(packetBytes);
+		registration = createRegistration(RID);
+		Mockito.when(registrationDAO.getRegistrationById(Mockito.anyString(), Mockito.anyString()))
+				.thenReturn(registration);
+
+		serverPacket = new ByteArrayOutputStream();
+		chunksReceived = new AtomicInteger();
+
+		ReflectionTestUtils.setField(packetUploadService, "chunkedUploadEnabled", true);
+		ReflectionTestUtils.setField(packetUploadService, "uploadChunkSize", 1024);
+		ReflectionTestUtils.setField(packetUploadService, "uploadParallelism", 2);
+		ReflectionTestUtils.setField(packetUploadService, "uploadRetryCount", 2);
+		ReflectionTestUtils.setField(packetUploadService, "uploadRetryBackoff", 1L);
+	}
+
+	@After
+	public void tearDown() {
+		packetUploadService.destroy();
+	}
+
+	@Test
+	public void resumeAfterDroppedConnectionTest() throws Exception {
+		AtomicBoolean dropped = new AtomicBoolean();
+		String packetHash = HMACUtils2.digestAsPlainText(packetBytes);
+		registration.setPacketHash(packetHash);
+		stubOffsetEndpoint(true);
+		Mockito.when(serviceDelegateUtil.post(Mockito.eq(RegistrationConstants.PACKET_UPLOAD_CHUNK), Mockito.any(),
+				Mockito.anyString())).thenAnswer(invocation -> {
+					LinkedMultiValueMap<String, Object> map = invocation.getArgument(1);
+					assertEquals(packetHash, map.getFirst(RegistrationConstants.PACKET_UPLOAD_HASH));
+					if (serverPacket.size() == 2048 && !dropped.getAndSet(true)) {
+						throw new ResourceAccessException("Connection reset");
+					}
+					return receiveChunk(map);
+				});
+
+		packetUploadService.uploadPacket(RID);
+
+		assertArrayEquals(packetBytes, serverPacket.toByteArray());
+		assertEquals(5, chunksReceived.get());
+		Mockito.verify(registrationDAO).updateUploadOffset(RID, 5000L);
+		assertUploadStatus(RegistrationClientStatusCode.UPLOAD_SUCCESS_STATUS.getCode());
+	}
+
+	@Test
+	public void resumeFromLocalOffsetTest() throws Exception {
+		serverPacket.write(packetBytes, 0, 3072);
+		registration.setUploadOffset(3072L);
+		stubOffsetEndpoint(false);
+		Mockito.when(serviceDelegateUtil.post(Mockito.eq(RegistrationConstants.PACKET_UPLOAD_CHUNK), Mockito.any(),
+				Mockito.anyString())).thenAnswer(invocation -> receiveChunk(invocation.getArgument(1)));
+
+		packetUploadService.uploadPacket(RID);
+
+		assertArrayEquals(packetBytes, serverPacket.toByteArray());
+		assertEquals(2, chunksReceived.get());
+		assertUploadStatus(RegistrationClientStatusCode.UPLOAD_SUCCESS_STATUS.getCode());
+	}
+
+	@Test
+	public void verifyCompletedUploadTest() throws Exception {
+		serverPacket.write(packetBytes);
+		registration.setUploadOffset(5000L);
+		stubOffsetEndpoint(true);
+		Mockito.when(serviceDelegateUtil.post(Mockito.eq(RegistrationConstants.PACKET_UPLOAD_CHUNK), Mockito.any(),
+				Mockito.anyString())).thenAnswer(invocation -> receiveChunk(invocation.getArgument(1)));
+
+		packetUploadService.uploadPacket(RID);
+
+		assertArrayEquals(packetBytes, serverPacket.toByteArray());
+		assertEquals(1, chunksReceived.get());
+		assertUploadStatus(RegistrationClientStatusCode.UPLOAD_SUCCESS_STATUS.getCode());
+	}
+
+	@Test
+	public void syncedHashMismatchTest() throws Exception {
+		registration.setPacketHash(HMACUtils2.digestAsPlainText(new byte[] { 1, 2, 3 }));
+
+		packetUploadService.uploadPacket(RID);
+
+		Mockito.verify(serviceDelegateUtil, Mockito.never()).post(Mockito.eq(RegistrationConstants.PACKET_UPLOAD_CHUNK),
+				Mockito.any(), Mockito.anyString());
+		assertEquals(0, serverPacket.size());
+		assertUploadStatus(RegistrationClientStatusCode.UPLOAD_ERROR_STATUS.getCode());
+	}
+
+	@Test
+	public void retriesExhaustedTest() throws Exception {
+		stubOffsetEndpoint(true);
+		Mockito.when(serviceDelegateUtil.post(Mockito.eq(RegistrationConstants.PACKET_UPLOAD_CHUNK), Mockito.any(),
+				Mockito.anyString())).thenAnswer(invocation -> {
+					if (serverPacket.size() == 1024) {
+						throw new ResourceAccessException("Connection reset");
+					}
+					return receiveChunk(invocation.getArgument(1));
+				});
+
+		packetUploadService.uploadPacket(RID);
+
+		assertEquals(1024, serverPacket.size());
+		Mockito.verify(registrationDAO).updateUploadOffset(RID, 1024L);
+		assertUploadStatus(RegistrationClientStatusCode.UPLOAD_ERROR_STATUS.getCode());
+	}
+
+	@Test
+	public void parallelUploadPartialFailureTest() throws Exception {
+		String failingRid = "10011100110001420200915102031";
+		List<String> rids = Arrays.asList(RID, failingRid, "10011100110001420200915102032");
+		List<Registration> registrations = new ArrayList<>();
+		registrations.add(registration);
+		registrations.add(createRegistration(rids.get(1)));
+		registrations.add(createRegistration(rids.get(2)));
+		Mockito.when(registrationDAO.get(rids)).thenReturn(registrations);
+
+		stubOffsetEndpoint(false);
+		Map<String, Long> serverOffsets = Collections.synchronizedMap(new LinkedHashMap<>());
+		Mockito.when(serviceDelegateUtil.post(Mockito.eq(RegistrationConstants.PACKET_UPLOAD_CHUNK), Mockito.any(),
+				Mockito.anyString())).thenAnswer(invocation -> {
+					LinkedMultiValueMap<String, Object> map = invocation.getArgument(1);
+					String rid = (String) map.getFirst(RegistrationConstants.PACKET_UPLOAD_RID);
+					if (failingRid.equals(rid)) {
+						throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+					}
+					long offset = serverOffsets.merge(rid, (long) ((ByteArrayResource) map
+							.getFirst(RegistrationConstants.PACKET_TYPE)).getByteArray().length, Long::sum);
+					LinkedHashMap<String, Object> chunkResponse = new LinkedHashMap<>();
+					chunkResponse.put(RegistrationConstants.PACKET_UPLOAD_OFFSET_KEY, offset);
+					chunkResponse.put(RegistrationConstants.UPLOAD_STATUS, "PACKET_UPLOADED");
+					LinkedHashMap<String, Object> response = new LinkedHashMap<>();
+					response.put(RegistrationConstants.RESPONSE, chunkResponse);
+					return response;
+				});
+		Thread caller = Thread.currentThread();
+		List<Thread> statusThreads = Collections.synchronizedList(new ArrayList<>());
+		Mockito.when(registrationDAO.updateRegStatus(Mockito.any())).thenAnswer(invocation -> {
+			statusThreads.add(Thread.currentThread());
+			return null;
+		});
+
+		packetUploadService.uploadEODPackets(rids);
+
+		ArgumentCaptor<PacketStatusDTO> captor = ArgumentCaptor.forClass(PacketStatusDTO.class);
+		Mockito.verify(registrationDAO, Mockito.times(3)).updateRegStatus(captor.capture());
+		for (PacketStatusDTO packetStatus : captor.getAllValues()) {
+			assertEquals(failingRid.equals(packetStatus.getFileName())
+					? RegistrationClientStatusCode.UPLOAD_ERROR_STATUS.getCode()
+					: RegistrationClientStatusCode.UPLOAD_SUCCESS_STATUS.getCode(), packetStatus.getUploadStatus());
+		}
+		assertEquals(Collections.nCopies(3, caller), statusThreads);
+		assertEquals(Long.valueOf(5000L), serverOffsets.get(RID));
+		assertEquals(Long.valueOf(5000L), serverOffsets.get(rids.get(2)));
+	}
+
+	private Registration createRegistration(String rid) throws IOException {
+		File packet = temporaryFolder.newFile(rid + RegistrationConstants.ZIP_FILE_EXTENSION);
+		Files.write(packet.toPath(), packetBytes);
+		File ack = temporaryFolder.newFile(rid + RegistrationConstants.ACKNOWLEDGEMENT_FILE_EXTENSION);
+
+		Registration registration = new Registration();
+		registration.setId(rid);
+		registration.setAckFilename(ack.getAbsolutePath());
+		registration.setClientStatusCode(RegistrationClientStatusCode.META_INFO_SYN_SERVER.getCode());
+		return registration;
+	}
+
+	private void stubOffsetEndpoint(boolean knowsPacket) throws Exception {
+		Mockito.when(serviceDelegateUtil.get(Mockito.eq(RegistrationConstants.PACKET_UPLOAD_OFFSET), Mockito.anyMap(),
+				Mockito.anyBoolean(), Mockito.anyString())).thenAnswer(invocation -> {
+					LinkedHashMap<String, Object> response = new LinkedHashMap<>();
+					if (knowsPacket) {
+						LinkedHashMap<String, Object> offset = new LinkedHashMap<>();
+						offset.put(RegistrationConstants.PACKET_UPLOAD_OFFSET_KEY, serverPacket.size());
+						response.put(RegistrationConstants.RESPONSE, offset);
+					}
+					return response;
+				});
+	}
+
+	@SuppressWarnings("unchecked")
+	private LinkedHashMap<String, Object> receiveChunk(Object request) throws IOException {
+		LinkedMultiValueMap<String, Object> map = (LinkedMultiValueMap<String, Object>) request;
+		long offset = Long.parseLong((String) map.getFirst(RegistrationConstants.PACKET_UPLOAD_OFFSET_KEY));
+		assertEquals(serverPacket.size(), offset);
+		serverPacket.write(((ByteArrayResource) map.getFirst(RegistrationConstants.PACKET_TYPE)).getByteArray());
+		chunksReceived.incrementAndGet();
+
+		LinkedHashMap<String, Object> chunkResponse = new LinkedHashMap<>();
+		chunkResponse.put(RegistrationConstants.PACKET_UPLOAD_OFFSET_KEY, serverPacket.size());
+		chunkResponse.put(RegistrationConstants.UPLOAD_STATUS, "PACKET_UPLOADED");
+		LinkedHashMap<String, Object> response = new LinkedHashMap<>();
+		response.put(RegistrationConstants.RESPONSE, chunkResponse);
+		return response;
+	}
+
+	private void assertUploadStatus(String uploadStatus) {
+		ArgumentCaptor<PacketStatusDTO> captor = ArgumentCaptor.forClass(PacketStatusDTO.class);
+		Mockito.verify(registrationDAO).updateRegStatus(captor.capture());
+		assertEquals(uploadStatus, captor.getValue().getUploadStatus());
+	}
+
+}
@@ -0,0 +1,336 @@
+package io.mosip.registration.test.service.packet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.registration.constants.RegistrationClientStatusCode;
+import io.mosip.registration.constants.RegistrationConstants;
+import io.mosip.registration.context.ApplicationContext;
+import io.mosip.registration.dao.PacketOutboxDAO;
+import io.mosip.registration.dao.RegistrationDAO;
+import io.mosip.registration.dto.RegistrationDTO;
+import io.mosip.registration.dto.ResponseDTO;
+import io.mosip.registration.dto.SuccessResponseDTO;
+import io.mosip.registration.dto.packetmanager.BiometricsDto;
+import io.mosip.registration.entity.PacketOutbox;
+import io.mosip.registration.entity.Registration;
+import io.mosip.registration.exception.RegBaseCheckedException;
+import io.mosip.registration.exception.RegistrationExceptionConstants;
+import io.mosip.registration.service.packet.PacketOutboxService.Listener;
+import io.mosip.registration.service.packet.PacketOutboxService.Stage;
+import io.mosip.registration.service.packet.PacketUploadService;
+import io.mosip.registration.service.packet.impl.PacketOutboxServiceImpl;
+import io.mosip.registration.service.sync.PacketSynchService;
+import io.mosip.registration.util.healthcheck.RegistrationAppHealthCheckUtil;
+
+/**
+ * Runs registrations through the packet outbox against an in-memory outbox
+ * table.
+ */
+@RunWith(PowerMockRunner.class)
+@PowerMockIgnore({ "com.sun.org.apache.xerces.*", "javax.xml.*", "org.xml.*", "javax.management.*" })
+@PrepareForTest({ RegistrationAppHealthCheckUtil.class })
+public class PacketOutboxServiceTest {
+
+	private static final String RID = "10011100110001420200915102030";
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@InjectMocks
+	private PacketOutboxServiceImpl packetOutboxService;
+
+	@Mock
+	private PacketOutboxDAO packetOutboxDAO;
+
+	@Mock
+	private RegistrationDAO registrationDAO;
+
+	@Mock
+	private PacketSynchService packetSynchService;
+
+	@Mock
+	private PacketUploadService packetUploadService;
+
+	/** Outbox table, rows are copied like the database would. */
+	private final Map<String, PacketOutbox> outbox = new ConcurrentHashMap<>();
+
+	private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+	private final Listener listener = new Listener() {
+
+		@Override
+		public void onStageCompleted(String registrationId, Stage stage, ResponseDTO response) {
+			events.add(stage + " completed");
+		}
+
+		@Override
+		public void onStageFailed(String registrationId, Stage stage, ResponseDTO response) {
+			events.add(stage + " failed " + response.getErrorResponseDTOs().get(0).getCode());
+		}
+	};
+
+	private Registration registration;
+
+	@Before
+	public void setUp() {
+		ReflectionTestUtils.setField(packetOutboxService, "persistQueueCapacity", 5);
+		ReflectionTestUtils.setField(packetOutboxService, "syncMaxAttempts", 3);
+		ReflectionTestUtils.setField(packetOutboxService, "syncRetryDelay", 10L);
+		ReflectionTestUtils.setField(packetOutboxService, "uploadMaxAttempts", 2);
+		ReflectionTestUtils.setField(packetOutboxService, "uploadRetryDelay", 10L);
+		ReflectionTestUtils.setField(packetOutboxService, "offlineRetryDelay", 10L);
+
+		ApplicationContext.getInstance();
+		ApplicationContext.map().put(RegistrationConstants.EOD_PROCESS_CONFIG_FLAG, "N");
+
+		PowerMockito.mockStatic(RegistrationAppHealthCheckUtil.class);
+		Mockito.when(RegistrationAppHealthCheckUtil.isNetworkAvailable()).thenReturn(true);
+
+		Mockito.when(packetOutboxDAO.get(Mockito.anyString()))
+				.thenAnswer(invocation -> copy(outbox.get(invocation.getArgument(0))));
+		Mockito.when(packetOutboxDAO.save(Mockito.any(PacketOutbox.class))).thenAnswer(invocation -> {
+			PacketOutbox packetOutbox = invocation.getArgument(0);
+			outbox.put(packetOutbox.getRegId(), copy(packetOutbox));
+			return packetOutbox;
+		});
+		Mockito.doAnswer(invocation -> outbox.remove(invocation.getArgument(0))).when(packetOutboxDAO)
+				.delete(Mockito.anyString());
+		Mockito.when(packetOutboxDAO.getByStages(Mockito.anyList())).thenAnswer(invocation -> {
+			List<String> stages = invocation.getArgument(0);
+			return outbox.values().stream().filter(row -> stages.contains(row.getStage())).map(this::copy)
+					.collect(Collectors.toList());
+		});
+
+		registration = new Registration();
+		registration.setId(RID);
+		Mockito.when(registrationDAO.get(Collections.singletonList(RID)))
+				.thenReturn(Collections.singletonList(registration));
+	}
+
+	@After
+	public void tearDown() {
+		packetOutboxService.shutdown();
+		ApplicationContext.map().remove(RegistrationConstants.EOD_PROCESS_CONFIG_FLAG);
+	}
+
+	@Test
+	public void persistSyncUploadTest() throws Exception {
+		Mockito.when(packetSynchService.packetSync(RID)).thenReturn(RegistrationConstants.EMPTY);
+		Mockito.doAnswer(invocation -> {
+			registration.setFileUploadStatus(RegistrationClientStatusCode.UPLOAD_SUCCESS_STATUS.getCode());
+			return null;
+		}).when(packetUploadService).uploadPacket(RID);
+
+		packetOutboxService.submit(registrationDTO(RID), this::persisted, listener);
+
+		assertEquals("PERSIST completed", nextEvent());
+		assertEquals("SYNC completed", nextEvent());
+		assertEquals("UPLOAD completed", nextEvent());
+		assertNull(outbox.get(RID));
+	}
+
+	@Test
+	public void syncRetryTest() throws Exception {
+		Mockito.when(packetSynchService.packetSync(RID)).thenReturn("Unable to sync")
+				.thenThrow(new RuntimeException("Connection reset")).thenReturn("Unable to sync");
+
+		packetOutboxService.submit(registrationDTO(RID), this::persisted, listener);
+
+		assertEquals("PERSIST completed", nextEvent());
+		assertEquals("SYNC failed " + RegistrationExceptionConstants.REG_PACKET_SYNC_EXCEPTION.getErrorCode(),
+				nextEvent());
+		Mockito.verify(packetSynchService, Mockito.times(3)).packetSync(RID);
+		Mockito.verify(packetUploadService, Mockito.never()).uploadPacket(RID);
+
+		PacketOutbox packetOutbox = outbox.get(RID);
+		assertEquals(Stage.FAILED.name(), packetOutbox.getStage());
+		assertEquals(3, packetOutbox.getAttempts().intValue());
+	}
+
+	@Test
+	public void uploadNotAcknowledgedTest() throws Exception {
+		Mockito.when(packetSynchService.packetSync(RID)).thenReturn(RegistrationConstants.EMPTY);
+
+		packetOutboxService.submit(registrationDTO(RID), this::persisted, listener);
+
+		assertEquals("PERSIST completed", nextEvent());
+		assertEquals("SYNC completed", nextEvent());
+		assertEquals("UPLOAD failed " + RegistrationExceptionConstants.REG_PACKET_OUTBOX_NOT_UPLOADED.getErrorCode(),
+				nextEvent());
+		Mockito.verify(packetUploadService, Mockito.times(2)).uploadPacket(RID);
+	}
+
+	@Test
+	public void persistFailureTest() throws Exception {
+		packetOutboxService.submit(registrationDTO(RID), registrationDTO -> {
+			throw new RegBaseCheckedException("REG-TEST-001", "Packet not created");
+		}, listener);
+
+		assertEquals("PERSIST failed " + RegistrationExceptionConstants.REG_PACKET_CREATION_EXCEPTION.getErrorCode(),
+				nextEvent());
+		assertNull(outbox.get(RID));
+		Mockito.verify(packetSynchService, Mockito.never()).packetSync(RID);
+	}
+
+	@Test
+	public void duplicateSubmitTest() throws Exception {
+		CountDownLatch persisting = new CountDownLatch(1);
+		packetOutboxService.submit(registrationDTO(RID), registrationDTO -> {
+			persisting.await(5, TimeUnit.SECONDS);
+			return persisted(registrationDTO);
+		}, listener);
+
+		try {
+			packetOutboxService.submit(registrationDTO(RID), this::persisted, listener);
+			throw new AssertionError("Duplicate submit accepted");
+		} catch (RegBaseCheckedException regBaseCheckedException) {
+			assertEquals(RegistrationExceptionConstants.REG_PACKET_OUTBOX_DUPLICATE.getErrorCode(),
+					regBaseCheckedException.getErrorCode());
+		} finally {
+			persisting.countDown();
+		}
+		assertEquals("PERSIST completed", nextEvent());
+	}
+
+	@Test
+	public void resumeTest() throws Exception {
+		String interruptedRid = "10011100110001420200915102031";
+		PacketOutbox persisted = row(RID, Stage.PERSIST);
+		PacketOutbox interrupted = row(interruptedRid, Stage.PERSIST);
+		outbox.put(RID, persisted);
+		outbox.put(interruptedRid, interrupted);
+		Mockito.when(registrationDAO.get(Collections.singletonList(interruptedRid)))
+				.thenReturn(Collections.emptyList());
+		ApplicationContext.map().put(RegistrationConstants.EOD_PROCESS_CONFIG_FLAG, RegistrationConstants.ENABLE);
+		Mockito.when(packetSynchService.packetSync(RID)).thenReturn(RegistrationConstants.EMPTY);
+
+		packetOutboxService.resume(this::persisted, listener);
+
+		// with the EOD process enabled the packet is only synced
+		for (int i = 0; i < 3; i++) {
+			nextEvent();
+		}
+		// without its registration data the packet cannot be created again
+		assertEquals(Stage.FAILED.name(), outbox.get(interruptedRid).getStage());
+		assertNotNull(outbox.get(interruptedRid).getLastError());
+		assertNull(outbox.get(RID));
+		Mockito.verify(packetUploadService, Mockito.never()).uploadPacket(RID);
+	}
+
+	@Test
+	public void resumePersistTest() throws Exception {
+		// the application stops while the packet is created
+		CountDownLatch persisting = new CountDownLatch(1);
+		packetOutboxService.submit(registrationDTO(RID), registrationDTO -> {
+			persisting.countDown();
+			new CountDownLatch(1).await();
+			return persisted(registrationDTO);
+		}, listener);
+		persisting.await(5, TimeUnit.SECONDS);
+		PacketOutbox stopped = copy(outbox.get(RID));
+		assertEquals(Stage.PERSIST.name(), stopped.getStage());
+		assertNotNull(stopped.getRegistrationData());
+		packetOutboxService.shutdown();
+		nextEvent();
+
+		outbox.put(RID, stopped);
+		Mockito.when(registrationDAO.get(Collections.singletonList(RID))).thenReturn(Collections.emptyList());
+		ApplicationContext.map().put(RegistrationConstants.EOD_PROCESS_CONFIG_FLAG, RegistrationConstants.ENABLE);
+		Mockito.when(packetSynchService.packetSync(RID)).thenReturn(RegistrationConstants.EMPTY);
+		PacketOutboxServiceImpl restarted = new PacketOutboxServiceImpl();
+		for (String field : new String[] { "packetOutboxDAO", "registrationDAO", "packetSynchService",
+				"packetUploadService", "persistQueueCapacity", "syncMaxAttempts", "syncRetryDelay" }) {
+			ReflectionTestUtils.setField(restarted, field,
+					ReflectionTestUtils.getField(packetOutboxService, field));
+		}
+		BlockingQueue<RegistrationDTO> restored = new LinkedBlockingQueue<>();
+
+		try {
+			restarted.resume(registrationDTO -> {
+				restored.add(registrationDTO);
+				return persisted(registrationDTO);
+			}, listener);
+
+			assertEquals("PERSIST completed", nextEvent());
+			assertEquals("SYNC completed", nextEvent());
+			RegistrationDTO registrationDTO = restored.poll(5, TimeUnit.SECONDS);
+			assertEquals(RID, registrationDTO.getRegistrationId());
+			assertEquals("John Doe", registrationDTO.getDemographics().get("fullName"));
+			assertEquals(80.0, registrationDTO.getBiometric("applicant", "leftIndex").getQualityScore(), 0);
+			assertNull(outbox.get(RID));
+		} finally {
+			restarted.shutdown();
+		}
+	}
+
+	private ResponseDTO persisted(RegistrationDTO registrationDTO) {
+		ResponseDTO responseDTO = new ResponseDTO();
+		SuccessResponseDTO successResponseDTO = new SuccessResponseDTO();
+		successResponseDTO.setMessage(RegistrationConstants.SUCCESS);
+		responseDTO.setSuccessResponseDTO(successResponseDTO);
+		return responseDTO;
+	}
+
+	private RegistrationDTO registrationDTO(String registrationId) {
+		RegistrationDTO registrationDTO = new RegistrationDTO();
+		registrationDTO.setRegistrationId(registrationId);
+		registrationDTO.addDemographicField("fullName", "John Doe");
+		registrationDTO.addBiometric("applicant", "leftIndex",
+				new BiometricsDto("leftIndex", new byte[] { 1, 2, 3 }, 80.0));
+		return registrationDTO;
+	}
+
+	private String nextEvent() throws InterruptedException {
+		String event = events.poll(5, TimeUnit.SECONDS);
+		assertNotNull("No outbox event", event);
+		return event;
+	}
+
+	private PacketOutbox row(String registrationId, Stage stage) {
+		PacketOutbox packetOutbox = new PacketOutbox();
+		packetOutbox.setRegId(registrationId);
+		packetOutbox.setStage(stage.name());
+		packetOutbox.setAttempts(0);
+		return packetOutbox;
+	}
+
+	private PacketOutbox copy(PacketOutbox packetOutbox) {
+		if (packetOutbox == null) {
+			return null;
+		}
+		PacketOutbox copy = row(packetOutbox.getRegId(), Stage.valueOf(packetOutbox.getStage()));
+		copy.setAttempts(packetOutbox.getAttempts());
+		copy.setNextAttemptDtimes(packetOutbox.getNextAttemptDtimes());
+		copy.setLastError(packetOutbox.getLastError());
+		copy.setRegistrationData(packetOutbox.getRegistrationData());
+		return copy;
+	}
+}
@@ -8,11 +8,17 @@ import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -25,11 +31,13 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 
+import io.mosip.registration.audit.AuditManagerService;
 import io.mosip.registration.dao.RegistrationDAO;
 import io.mosip.registration.dto.PacketStatusDTO;
 import io.mosip.registration.entity.Registration;
@@ -45,6 +53,9 @@ public class PacketUploadServiceTest {
 	@Rule
 	public MockitoRule mockitoRule = MockitoJUnit.rule();
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	@Mock
 	private RegistrationDAO registrationDAO;
 
@@ -275,6 +286,46 @@ public class PacketUploadServiceTest {
 		assertEquals("E", registration.getFileUploadStatus());
 	}
 
+	@SuppressWarnings("unchecked")
+	@Test
+	public void uploadStatusPersistedOnCompletionTest() throws Exception {
+		ReflectionTestUtils.setField(packetUploadServiceImpl, "uploadParallelism", 2);
+		ReflectionTestUtils.setField(packetUploadServiceImpl, "auditFactory", Mockito.mock(AuditManagerService.class));
+		List<Registration> regList = new ArrayList<>();
+		for (String rid : Arrays.asList("10001", "10002")) {
+			temporaryFolder.newFile(rid + ".zip");
+			Registration registration = new Registration();
+			registration.setId(rid);
+			registration.setAckFilename(new File(temporaryFolder.getRoot(), rid + "_Ack.html").getPath());
+			registration.setClientStatusCode("SYNCED");
+			regList.add(registration);
+		}
+		Mockito.when(registrationDAO.get(Mockito.anyList())).thenReturn(regList);
+
+		// the first upload only completes once the status of the other upload is persisted
+		CountDownLatch otherPersisted = new CountDownLatch(1);
+		AtomicInteger uploads = new AtomicInteger();
+		LinkedHashMap<String, Object> respObj = new LinkedHashMap<>();
+		respObj.put("response", "Success");
+		Mockito.when(serviceDelegateUtil.post(Mockito.anyString(), Mockito.anyMap(), Mockito.anyString()))
+				.thenAnswer(invocation -> {
+					if (uploads.getAndIncrement() == 0 && !otherPersisted.await(5, TimeUnit.SECONDS)) {
+						throw new RegBaseUncheckedException("REG-TEST-001", "Upload status persisted in order");
+					}
+					return respObj;
+				});
+		List<String> persisted = Collections.synchronizedList(new ArrayList<>());
+		Mockito.when(registrationDAO.updateRegStatus(Mockito.any(PacketStatusDTO.class))).thenAnswer(invocation -> {
+			persisted.add(((PacketStatusDTO) invocation.getArgument(0)).getUploadStatus());
+			otherPersisted.countDown();
+			return new Registration();
+		});
+
+		packetUploadServiceImpl.uploadEODPackets(Arrays.asList("10001", "10002"));
+
+		assertEquals(Arrays.asList("S", "S"), persisted);
+	}
+
 	@Test
 	public void testuploadEODPackets()
 			throws HttpClientErrorException, ResourceAccessException, SocketTimeoutException, RegBaseCheckedException {
@@ -1,5 +1,6 @@
 package io.mosip.registration.test.template;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.when;
 
@@ -32,6 +33,7 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import io.mosip.kernel.core.qrcodegenerator.spi.QrCodeGenerator;
 import io.mosip.kernel.qrcode.generator.zxing.constant.QrVersion;
@@ -40,11 +42,16 @@ import io.mosip.registration.constants.RegistrationConstants;
 import io.mosip.registration.context.ApplicationContext;
 import io.mosip.registration.context.SessionContext;
 import io.mosip.registration.context.SessionContext.UserContext;
+import io.mosip.registration.dto.OSIDataDTO;
 import io.mosip.registration.dto.RegistrationCenterDetailDTO;
 import io.mosip.registration.dto.RegistrationDTO;
+import io.mosip.registration.dto.RegistrationMetaDataDTO;
 import io.mosip.registration.dto.ResponseDTO;
+import io.mosip.registration.dto.UiSchemaDTO;
 import io.mosip.registration.dto.biometric.FingerprintDetailsDTO;
+import io.mosip.registration.dto.packetmanager.DocumentDto;
 import io.mosip.registration.exception.RegBaseCheckedException;
+import io.mosip.registration.service.impl.IdentitySchemaServiceImpl;
 import io.mosip.registration.test.util.datastub.DataProvider;
 import io.mosip.registration.util.acktemplate.TemplateGenerator;
 
@@ -65,8 +72,13 @@ public class TemplateGeneratorTest {
 	
 	@Mock
 	QrCodeGenerator<QrVersion> qrCodeGenerator;
+
+	@Mock
+	IdentitySchemaServiceImpl identitySchemaServiceImpl;
 	
 	Map<String,Object> appMap = new HashMap<>();
+
+	private static final String SECTIONS_TEMPLATE = "$demographics.fullName.primaryValue $documents.proofOfAddress.value $isPreview";
 	
 	private RegistrationDTO registrationDTO;
 	
@@ -193,4 +205,91 @@ public class TemplateGeneratorTest {
 		assertNotNull(response.getSuccessResponseDTO());
 	}
 
+	@Test
+	public void generatePreviewThenAckTemplateTest() throws Exception {
+		mockApplicationContext();
+		RegistrationDTO registration = prepareRegistration();
+
+		assertEquals("John POA_Passport true", mergedTemplate(templateGenerator.generateTemplate(
+				SECTIONS_TEMPLATE, registration, template, RegistrationConstants.TEMPLATE_PREVIEW)));
+		assertEquals("John POA_Passport false", mergedTemplate(templateGenerator.generateTemplate(
+				SECTIONS_TEMPLATE, registration, template, RegistrationConstants.ACKNOWLEDGEMENT_TEMPLATE)));
+
+		// compiled once, QR code generated once
+		assertEquals(1, ((Map<?, ?>) ReflectionTestUtils.getField(templateGenerator, "compiledTemplates")).size());
+		Mockito.verify(qrCodeGenerator, Mockito.times(1)).generateQrCode(Mockito.anyString(), Mockito.any());
+	}
+
+	@Test
+	public void generateTemplateAfterChangeTest() throws Exception {
+		mockApplicationContext();
+		RegistrationDTO registration = prepareRegistration();
+
+		assertEquals("John POA_Passport true", mergedTemplate(templateGenerator.generateTemplate(
+				SECTIONS_TEMPLATE, registration, template, RegistrationConstants.TEMPLATE_PREVIEW)));
+
+		registration.addDemographicField("fullName", "eng", "Jane", "ar", "Jane");
+		registration.getDocuments().get("proofOfAddress").setValue("POA_Bill");
+		registration.setRegistrationId("10001100010025920190430051905");
+
+		assertEquals("Jane POA_Bill false", mergedTemplate(templateGenerator.generateTemplate(
+				SECTIONS_TEMPLATE, registration, template, RegistrationConstants.ACKNOWLEDGEMENT_TEMPLATE)));
+		Mockito.verify(qrCodeGenerator, Mockito.times(2)).generateQrCode(Mockito.anyString(), Mockito.any());
+
+		templateGenerator.generateTemplate("$isPreview", registration, template,
+				RegistrationConstants.ACKNOWLEDGEMENT_TEMPLATE);
+		assertEquals(2, ((Map<?, ?>) ReflectionTestUtils.getField(templateGenerator, "compiledTemplates")).size());
+	}
+
+	private void mockApplicationContext() throws RegBaseCheckedException {
+		PowerMockito.mockStatic(ApplicationContext.class);
+		when(ApplicationContext.applicationLanguage()).thenReturn("eng");
+		when(ApplicationContext.localLanguage()).thenReturn("ar");
+		when(ApplicationContext.localLanguageProperty()).thenReturn(dummyResourceBundle);
+		when(ApplicationContext.applicationLanguageBundle()).thenReturn(dummyResourceBundle);
+		when(ApplicationContext.map()).thenReturn(appMap);
+
+		List<UiSchemaDTO> schemaFields = new ArrayList<>();
+		schemaFields.add(prepareField("fullName", "simpleType", null));
+		schemaFields.add(prepareField("proofOfAddress", "documentType", "POA"));
+		when(identitySchemaServiceImpl.getUISchema(Mockito.anyDouble())).thenReturn(schemaFields);
+	}
+
+	private static UiSchemaDTO prepareField(String id, String type, String subType) {
+		UiSchemaDTO field = new UiSchemaDTO();
+		field.setId(id);
+		field.setType(type);
+		field.setSubType(subType);
+		HashMap<String, String> label = new HashMap<>();
+		label.put("primary", id);
+		label.put("secondary", id);
+		field.setLabel(label);
+		return field;
+	}
+
+	private static RegistrationDTO prepareRegistration() {
+		RegistrationDTO registration = new RegistrationDTO();
+		registration.setIdSchemaVersion(0.1);
+		registration.setRegistrationId("10001100010025920190430051904");
+		registration.setRegistrationMetaDataDTO(new RegistrationMetaDataDTO());
+		OSIDataDTO osiDataDTO = new OSIDataDTO();
+		osiDataDTO.setOperatorID("110011");
+		registration.setOsiDataDTO(osiDataDTO);
+		registration.addDemographicField("fullName", "eng", "John", "ar", "John");
+
+		DocumentDto document = new DocumentDto();
+		document.setCategory("POA");
+		document.setType("Passport");
+		document.setValue("POA_Passport");
+		document.setFormat("pdf");
+		document.setDocument(new byte[] { 1, 2, 3 });
+		registration.getDocuments().put("proofOfAddress", document);
+		return registration;
+	}
+
+	private static String mergedTemplate(ResponseDTO response) {
+		return response.getSuccessResponseDTO().getOtherAttributes().get(RegistrationConstants.TEMPLATE_NAME)
+				.toString();
+	}
+
 }
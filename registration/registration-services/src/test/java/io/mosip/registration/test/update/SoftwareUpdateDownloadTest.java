@@ -0,0 +1,231 @@
+package io.mosip.registration.test.update;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.mosip.kernel.core.util.HMACUtils2;
+import io.mosip.registration.constants.RegistrationConstants;
+import io.mosip.registration.context.ApplicationContext;
+import io.mosip.registration.service.config.GlobalParamService;
+import io.mosip.registration.update.SoftwareUpdateHandler;
+
+/**
+ * Downloads the jars of an update from a local server.
+ */
+public class SoftwareUpdateDownloadTest {
+
+	private static final String VERSION = "1.1.5.5";
+	private static final String UPGRADE_SERVER_URL = "client.upgrade.server.url";
+	private static final int JAR_SIZE = 256 * 1024;
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@InjectMocks
+	private SoftwareUpdateHandler softwareUpdateHandler;
+
+	@Mock
+	private GlobalParamService globalParamService;
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	private final Map<String, byte[]> jars = new HashMap<>();
+
+	private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+	private final Manifest manifest = new Manifest();
+
+	private ExecutorService serverExecutor;
+
+	private HttpServer server;
+
+	private volatile long delay;
+
+	private Path lib;
+
+	@Before
+	public void setUp() throws Exception {
+		lib = temporaryFolder.newFolder("lib").toPath();
+		Random random = new Random(42);
+		for (String jarName : Arrays.asList("a.jar", "b.jar", "c.jar", "d.jar")) {
+			byte[] jar = new byte[JAR_SIZE];
+			random.nextBytes(jar);
+			jars.put(jarName, jar);
+			Attributes attributes = new Attributes();
+			attributes.put(Attributes.Name.CONTENT_TYPE, HMACUtils2.digestAsPlainText(jar));
+			manifest.getEntries().put(jarName, attributes);
+		}
+
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/registration-client/" + VERSION + "/lib/", exchange -> {
+			String jarName = exchange.getRequestURI().getPath().replaceAll(".*/", "");
+			String range = exchange.getRequestHeaders().getFirst("Range");
+			requests.add(range == null ? jarName : jarName + " " + range);
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] jar = jars.get(jarName);
+			int offset = range == null ? 0 : Integer.parseInt(range.replaceAll("\\D", ""));
+			if (offset >= jar.length) {
+				exchange.sendResponseHeaders(416, -1);
+				exchange.close();
+				return;
+			}
+			exchange.sendResponseHeaders(offset == 0 ? 200 : 206, jar.length - offset);
+			try (OutputStream body = exchange.getResponseBody()) {
+				body.write(jar, offset, jar.length - offset);
+			}
+		});
+		serverExecutor = Executors.newFixedThreadPool(jars.size());
+		server.setExecutor(serverExecutor);
+		server.start();
+
+		ApplicationContext.map().put(UPGRADE_SERVER_URL,
+				"http://127.0.0.1:" + server.getAddress().getPort());
+		ApplicationContext.map().put(RegistrationConstants.HTTP_API_WRITE_TIMEOUT, "5000");
+		ApplicationContext.map().put(RegistrationConstants.HTTP_API_READ_TIMEOUT, "5000");
+		ReflectionTestUtils.setField(softwareUpdateHandler, "serverRegClientURL", "%s/registration-client/");
+		ReflectionTestUtils.setField(softwareUpdateHandler, "downloadThreads", jars.size());
+	}
+
+	@After
+	public void tearDown() {
+		softwareUpdateHandler.shutdown();
+		server.stop(0);
+		serverExecutor.shutdownNow();
+		ApplicationContext.map().remove(UPGRADE_SERVER_URL);
+	}
+
+	@Test
+	public void parallelDownloadTest() throws Exception {
+		delay = 300;
+
+		long start = System.currentTimeMillis();
+		checkJars(jarPaths("a.jar", "b.jar", "c.jar", "d.jar"));
+
+		assertTrue(System.currentTimeMillis() - start < 4 * delay);
+		for (String jarName : jars.keySet()) {
+			assertArrayEquals(jars.get(jarName), Files.readAllBytes(jarPath(jarName)));
+			assertFalse(Files.exists(partPath(jarName)));
+		}
+	}
+
+	@Test
+	public void unchangedJarNotDownloadedTest() throws Exception {
+		Files.write(jarPath("a.jar"), jars.get("a.jar"));
+		Files.write(jarPath("b.jar"), "old version".getBytes());
+
+		checkJars(jarPaths("a.jar", "b.jar"));
+
+		assertEquals(Arrays.asList("b.jar"), requests);
+		assertArrayEquals(jars.get("b.jar"), Files.readAllBytes(jarPath("b.jar")));
+	}
+
+	@Test
+	public void resumeTest() throws Exception {
+		Files.write(partPath("a.jar"), Arrays.copyOf(jars.get("a.jar"), JAR_SIZE / 2));
+		Files.write(partPath("b.jar"), jars.get("b.jar"));
+
+		checkJars(jarPaths("a.jar", "b.jar"));
+
+		assertTrue(requests.contains("a.jar bytes=" + JAR_SIZE / 2 + "-"));
+		assertTrue(requests.contains("b.jar bytes=" + JAR_SIZE + "-"));
+		assertArrayEquals(jars.get("a.jar"), Files.readAllBytes(jarPath("a.jar")));
+		assertArrayEquals(jars.get("b.jar"), Files.readAllBytes(jarPath("b.jar")));
+	}
+
+	@Test
+	public void checkSumMismatchTest() throws Exception {
+		Files.write(jarPath("a.jar"), "old version".getBytes());
+		manifest.getEntries().get("a.jar").put(Attributes.Name.CONTENT_TYPE, "0000");
+
+		try {
+			checkJars(jarPaths("a.jar"));
+			fail();
+		} catch (UndeclaredThrowableException exception) {
+			assertTrue(exception.getCause() instanceof IOException);
+		}
+		// the old jar is kept and the download starts over next time
+		assertArrayEquals("old version".getBytes(), Files.readAllBytes(jarPath("a.jar")));
+		assertFalse(Files.exists(partPath("a.jar")));
+	}
+
+	@Test
+	public void backUpTest() throws Exception {
+		Files.write(jarPath("a.jar"), "old version".getBytes());
+		Files.write(partPath("b.jar"), "partial".getBytes());
+		File backUp = temporaryFolder.newFolder("backup");
+
+		ReflectionTestUtils.invokeMethod(softwareUpdateHandler, "linkDirectory", lib.toFile(), backUp);
+		checkJars(jarPaths("a.jar"));
+
+		assertArrayEquals("old version".getBytes(), Files.readAllBytes(backUp.toPath().resolve("a.jar")));
+		assertFalse(Files.exists(backUp.toPath().resolve("b.jar.part")));
+
+		ReflectionTestUtils.invokeMethod(softwareUpdateHandler, "linkDirectory", backUp, lib.toFile());
+		assertArrayEquals("old version".getBytes(), Files.readAllBytes(jarPath("a.jar")));
+	}
+
+	private void checkJars(Map<String, Path> jarPaths) {
+		ReflectionTestUtils.invokeMethod(softwareUpdateHandler, "checkJars", VERSION, jarPaths, manifest);
+	}
+
+	private Map<String, Path> jarPaths(String... jarNames) {
+		Map<String, Path> jarPaths = new LinkedHashMap<>();
+		for (String jarName : jarNames) {
+			jarPaths.put(jarName, jarPath(jarName));
+		}
+		return jarPaths;
+	}
+
+	private Path jarPath(String jarName) {
+		return lib.resolve(jarName);
+	}
+
+	private Path partPath(String jarName) {
+		return lib.resolve(jarName + ".part");
+	}
+}
@@ -4,6 +4,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.util.jar.Manifest;
 
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -19,8 +22,10 @@ import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import io.mosip.registration.constants.RegistrationConstants;
+import io.mosip.registration.context.ApplicationContext;
 import io.mosip.registration.service.config.GlobalParamService;
 import io.mosip.registration.update.SoftwareUpdateHandler;
 
@@ -103,6 +108,21 @@ public class SoftwareUpdateHandlerTest {
 		Assert.assertFalse(softwareUpdateHandler.hasUpdate());
 	}
 
+	@Test
+	public void openConnectionSslTest() {
+		ApplicationContext.getInstance();
+		ApplicationContext.map().put(RegistrationConstants.HTTP_API_WRITE_TIMEOUT, "1000");
+		ApplicationContext.map().put(RegistrationConstants.HTTP_API_READ_TIMEOUT, "1000");
+		SSLSocketFactory defaultSocketFactory = HttpsURLConnection.getDefaultSSLSocketFactory();
+
+		HttpsURLConnection connection = ReflectionTestUtils.invokeMethod(softwareUpdateHandler, "openConnection",
+				"https://localhost/registration-client/maven-metadata.xml");
+
+		// the download uses the SSL configuration of the server calls, without changing the JVM default
+		Assert.assertNotSame(defaultSocketFactory, connection.getSSLSocketFactory());
+		Assert.assertSame(defaultSocketFactory, HttpsURLConnection.getDefaultSSLSocketFactory());
+	}
+
 	
 /*	@Test
 	public void hasUpdateGetCurrentVersionTest() {
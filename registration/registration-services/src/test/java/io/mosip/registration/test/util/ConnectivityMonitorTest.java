@@ -0,0 +1,118 @@
+package io.mosip.registration.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.mosip.registration.util.healthcheck.ConnectivityMonitor;
+import io.mosip.registration.util.healthcheck.ConnectivityMonitor.State;
+import io.mosip.registration.util.healthcheck.RegistrationAppHealthCheckUtil;
+
+/**
+ * Probes a local health check endpoint with the connectivity monitor.
+ */
+public class ConnectivityMonitorTest {
+
+	private HttpServer server;
+
+	private volatile int responseCode = 200;
+
+	private volatile long responseDelay;
+
+	private ConnectivityMonitor connectivityMonitor;
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/health", exchange -> {
+			try {
+				Thread.sleep(responseDelay);
+			} catch (InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			exchange.sendResponseHeaders(responseCode, -1);
+			exchange.close();
+		});
+		server.start();
+
+		connectivityMonitor = new ConnectivityMonitor();
+		// only the probes triggered by the tests run
+		ReflectionTestUtils.setField(connectivityMonitor, "probeInterval", 60000L);
+		ReflectionTestUtils.setField(connectivityMonitor, "offlineProbeInterval", 60000L);
+		ReflectionTestUtils.setField(connectivityMonitor, "probeTimeout", 2000);
+		ReflectionTestUtils.setField(connectivityMonitor, "degradedThreshold", 300L);
+	}
+
+	@After
+	public void tearDown() {
+		connectivityMonitor.stop();
+		server.stop(0);
+	}
+
+	@Test
+	public void onlineTest() {
+		connectivityMonitor.start(healthCheckUrl());
+
+		assertTrue(RegistrationAppHealthCheckUtil.isNetworkAvailable());
+		assertEquals(State.ONLINE, connectivityMonitor.getState());
+		assertTrue(connectivityMonitor.getLastProbeTime() > 0);
+	}
+
+	@Test
+	public void offlineAfterConnectionFailureTest() throws InterruptedException {
+		connectivityMonitor.start(healthCheckUrl());
+		assertTrue(connectivityMonitor.isNetworkAvailable());
+		long onlineSince = connectivityMonitor.getLastChangeTime();
+
+		server.stop(0);
+		RegistrationAppHealthCheckUtil.reportConnectionFailure();
+
+		awaitState(State.OFFLINE);
+		assertFalse(RegistrationAppHealthCheckUtil.isNetworkAvailable());
+		assertTrue(connectivityMonitor.getLastChangeTime() >= onlineSince);
+	}
+
+	@Test
+	public void unhealthyServerTest() {
+		responseCode = 503;
+		connectivityMonitor.start(healthCheckUrl());
+
+		assertFalse(connectivityMonitor.isNetworkAvailable());
+		assertEquals(State.OFFLINE, connectivityMonitor.getState());
+	}
+
+	@Test
+	public void degradedTest() throws InterruptedException {
+		responseDelay = 500;
+		connectivityMonitor.start(healthCheckUrl());
+
+		assertTrue(connectivityMonitor.isNetworkAvailable());
+		assertEquals(State.DEGRADED, connectivityMonitor.getState());
+
+		responseDelay = 0;
+		connectivityMonitor.probeNow();
+		awaitState(State.ONLINE);
+	}
+
+	private String healthCheckUrl() {
+		return "http://localhost:" + server.getAddress().getPort() + "/health";
+	}
+
+	private void awaitState(State state) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (connectivityMonitor.getState() != state && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		assertEquals(state, connectivityMonitor.getState());
+	}
+}
@@ -0,0 +1,94 @@
+package io.mosip.registration.test.util.mastersync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import io.mosip.registration.dto.mastersync.DynamicFieldDto;
+import io.mosip.registration.entity.Location;
+import io.mosip.registration.entity.RegistrationCenter;
+import io.mosip.registration.util.mastersync.EntityMapper;
+import io.mosip.registration.util.mastersync.MapperUtils;
+
+public class EntityMapperTest {
+
+	private static final String LOCATION = "{\"code\":\"KTA\",\"langCode\":\"eng\",\"name\":\"Kenitra\",\"hierarchyLevel\":3,"
+			+ "\"hierarchyName\":\"City\",\"parentLocCode\":\"RSK\",\"isActive\":true,\"crBy\":\"server\",\"unknown\":{\"a\":[1]}}";
+
+	private static final String CENTER = "{\"id\":\"10001\",\"langCode\":\"eng\",\"name\":\"Center A\",\"numberOfKiosks\":4,"
+			+ "\"centerStartTime\":\"09:00:00\",\"delDtimes\":\"2020-10-05T10:11:12.345Z\",\"isDeleted\":null,\"isActive\":false}";
+
+	@Test
+	public void mapStringAndObjectRowsTest() throws IOException {
+		String data = "[" + JSONObject.quote(LOCATION) + "," + LOCATION + "]";
+
+		List<Location> locations = MapperUtils.mapJSONArrayToEntities(data.getBytes(StandardCharsets.UTF_8),
+				Location.class);
+
+		assertEquals(2, locations.size());
+		for (Location location : locations) {
+			assertEquals("KTA", location.getCode());
+			assertEquals("eng", location.getLangCode());
+			assertEquals("Kenitra", location.getName());
+			assertEquals(3, location.getHierarchyLevel());
+			assertEquals("RSK", location.getParentLocCode());
+			assertTrue(location.getIsActive());
+			assertNull(location.getCrBy());
+		}
+	}
+
+	@Test
+	public void mapEmbeddedIdAndDateTypesTest() throws IOException {
+		RegistrationCenter center = EntityMapper.of(RegistrationCenter.class).map(CENTER);
+
+		assertEquals("10001", center.getRegistartionCenterId().getId());
+		assertEquals("eng", center.getRegistartionCenterId().getLangCode());
+		assertEquals(Integer.valueOf(4), center.getNumberOfKiosks());
+		assertEquals(Time.valueOf("09:00:00"), center.getCenterStartTime());
+		assertEquals(Timestamp.valueOf(LocalDateTime.of(2020, 10, 5, 10, 11, 12, 345_000_000)), center.getDelDtimes());
+		assertNull(center.getIsDeleted());
+		assertEquals(Boolean.FALSE, center.getIsActive());
+	}
+
+	@Test
+	public void mapJSONObjectToEntityTest() {
+		RegistrationCenter center = MapperUtils.mapJSONObjectToEntity(new JSONObject(CENTER), RegistrationCenter.class);
+
+		assertEquals("10001", center.getRegistartionCenterId().getId());
+		assertEquals("Center A", center.getName());
+	}
+
+	@Test
+	public void mapperIsBuiltOnceTest() {
+		assertSame(EntityMapper.of(Location.class), EntityMapper.of(Location.class));
+	}
+
+	@Test
+	public void convertJSONArrayToDtosTest() throws IOException {
+		String field = "{\"id\":\"1\",\"name\":\"bloodType\",\"langCode\":\"eng\",\"dataType\":\"string\",\"isActive\":true}";
+		String data = "[" + JSONObject.quote(field) + "," + field + "]";
+
+		List<DynamicFieldDto> fields = MapperUtils.convertJSONArrayToDtos(data.getBytes(StandardCharsets.UTF_8),
+				DynamicFieldDto.class);
+
+		assertEquals(2, fields.size());
+		assertEquals("bloodType", fields.get(0).getName());
+		assertEquals("bloodType", fields.get(1).getName());
+	}
+
+	@Test(expected = IOException.class)
+	public void notAnArrayTest() throws IOException {
+		MapperUtils.mapJSONArrayToEntities("{}".getBytes(StandardCharsets.UTF_8), Location.class);
+	}
+}
@@ -0,0 +1,173 @@
+package io.mosip.registration.test.util.mastersync;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.registration.entity.Language;
+import io.mosip.registration.entity.Location;
+import io.mosip.registration.entity.RegistrationCommonFields;
+import io.mosip.registration.entity.id.CodeAndLanguageCodeID;
+import io.mosip.registration.util.mastersync.MasterDataBulkWriter;
+
+/**
+ * Writes entities with {@link MasterDataBulkWriter} into an in-memory Derby
+ * database mapped by Hibernate, and reads them back through JPA.
+ */
+public class MasterDataBulkWriterTest {
+
+	private static final String URL = "jdbc:derby:memory:bulkWriter";
+
+	private static SessionFactory sessionFactory;
+
+	private EntityManager entityManager;
+
+	private MasterDataBulkWriter masterDataBulkWriter;
+
+	@BeforeClass
+	public static void createDatabase() {
+		sessionFactory = new Configuration().addAnnotatedClass(Language.class).addAnnotatedClass(Location.class)
+				.setProperty("hibernate.connection.driver_class", "org.apache.derby.jdbc.EmbeddedDriver")
+				.setProperty("hibernate.connection.url", URL + ";create=true")
+				.setProperty("hibernate.dialect", "org.hibernate.dialect.DerbyTenSevenDialect")
+				.setProperty("hibernate.hbm2ddl.auto", "create")
+				.setProperty("hibernate.hbm2ddl.create_namespaces", "true").buildSessionFactory();
+	}
+
+	@AfterClass
+	public static void dropDatabase() {
+		sessionFactory.close();
+		try {
+			DriverManager.getConnection(URL + ";drop=true");
+		} catch (SQLException exception) {
+			// Derby always reports a successful drop as an exception
+		}
+	}
+
+	@Before
+	public void setUp() {
+		entityManager = sessionFactory.createEntityManager();
+		masterDataBulkWriter = new MasterDataBulkWriter();
+		ReflectionTestUtils.setField(masterDataBulkWriter, "entityManager", entityManager);
+		ReflectionTestUtils.setField(masterDataBulkWriter, "batchSize", 2);
+	}
+
+	@After
+	public void tearDown() {
+		entityManager.getTransaction().begin();
+		entityManager.createQuery("DELETE FROM Language").executeUpdate();
+		entityManager.createQuery("DELETE FROM Location").executeUpdate();
+		entityManager.getTransaction().commit();
+		entityManager.close();
+	}
+
+	@Test
+	public void insertIntoEmptyTableTest() {
+		List<Language> languages = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			languages.add(language("l" + i, "Language " + i));
+		}
+
+		assertEquals(5, save(Language.class, languages));
+
+		entityManager.clear();
+		assertEquals(5L, count("Language"));
+		for (int i = 0; i < 5; i++) {
+			Language language = entityManager.find(Language.class, "l" + i);
+			assertEquals("Language " + i, language.getName());
+			assertEquals("SYSTEM", language.getCrBy());
+			assertEquals(Boolean.TRUE, language.getIsActive());
+		}
+	}
+
+	@Test
+	public void updateInPlaceTest() {
+		save(Location.class, Arrays.asList(location("L1", "eng", "Region 1", null),
+				location("L1", "fra", "Region 1 fr", null), location("L2", "eng", "Region 2", null)));
+
+		assertEquals(5, save(Location.class,
+				Arrays.asList(location("L1", "eng", "Region One", null), location("L2", "eng", "Region Two", null),
+						location("L3", "eng", "City 3", "L1"), location("L4", "eng", "City 4", "L2"),
+						location("L5", "eng", "City 5", "L2"))));
+
+		entityManager.clear();
+		assertEquals(6L, count("Location"));
+		assertEquals("Region One", findLocation("L1", "eng").getName());
+		assertEquals("Region 1 fr", findLocation("L1", "fra").getName());
+		assertEquals("Region Two", findLocation("L2", "eng").getName());
+		assertEquals("L2", findLocation("L5", "eng").getParentLocCode());
+		assertEquals(2, findLocation("L5", "eng").getHierarchyLevel());
+	}
+
+	@Test
+	public void duplicateRowsInPayloadTest() {
+		assertEquals(4, save(Language.class, Arrays.asList(language("l1", "First"), language("l2", "Second"),
+				language("l3", "Third"), language("l1", "First again"))));
+
+		entityManager.clear();
+		assertEquals(3L, count("Language"));
+		assertEquals("First again", entityManager.find(Language.class, "l1").getName());
+	}
+
+	private int save(Class<?> entityClass, List<?> entities) {
+		entityManager.getTransaction().begin();
+		int written = masterDataBulkWriter.saveAll(entityClass, entities);
+		entityManager.getTransaction().commit();
+		return written;
+	}
+
+	private long count(String entityName) {
+		return entityManager.createQuery("SELECT COUNT(e) FROM " + entityName + " e", Long.class).getSingleResult();
+	}
+
+	private Location findLocation(String code, String langCode) {
+		CodeAndLanguageCodeID id = new CodeAndLanguageCodeID();
+		id.setCode(code);
+		id.setLangCode(langCode);
+		return entityManager.find(Location.class, id);
+	}
+
+	private static Language language(String code, String name) {
+		Language language = new Language();
+		language.setCode(code);
+		language.setName(name);
+		language.setFamily("Indo-European");
+		language.setNativeName(name);
+		setCommonFields(language);
+		return language;
+	}
+
+	private static Location location(String code, String langCode, String name, String parentLocCode) {
+		Location location = new Location();
+		location.setCode(code);
+		location.setLangCode(langCode);
+		location.setName(name);
+		location.setHierarchyLevel(parentLocCode == null ? 1 : 2);
+		location.setHierarchyName(parentLocCode == null ? "Region" : "City");
+		location.setParentLocCode(parentLocCode);
+		setCommonFields(location);
+		return location;
+	}
+
+	private static void setCommonFields(RegistrationCommonFields entity) {
+		entity.setIsActive(true);
+		entity.setCrBy("SYSTEM");
+		entity.setCrDtime(new Timestamp(System.currentTimeMillis()));
+	}
+}
@@ -0,0 +1,168 @@
+package io.mosip.registration.test.util.restclient;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.springframework.core.env.Environment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.clientcrypto.service.impl.ClientCryptoFacade;
+import io.mosip.kernel.core.util.CryptoUtil;
+import io.mosip.registration.constants.RegistrationConstants;
+import io.mosip.registration.dao.UserDetailDAO;
+import io.mosip.registration.dto.AuthTokenDTO;
+import io.mosip.registration.entity.UserToken;
+import io.mosip.registration.repositories.UserTokenRepository;
+import io.mosip.registration.util.restclient.AuthTokenUtilService;
+import io.mosip.registration.util.restclient.RestClientUtil;
+
+public class AuthTokenUtilServiceTest {
+
+	@Rule
+	public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+	@InjectMocks
+	private AuthTokenUtilService authTokenUtilService;
+
+	@Mock(answer = Answers.RETURNS_DEEP_STUBS)
+	private ClientCryptoFacade clientCryptoFacade;
+
+	@Mock
+	private RestClientUtil restClientUtil;
+
+	@Mock
+	private Environment environment;
+
+	@Mock
+	private UserDetailDAO userDetailDAO;
+
+	@Mock
+	private UserTokenRepository userTokenRepository;
+
+	@Before
+	public void setUp() throws Exception {
+		ReflectionTestUtils.setField(authTokenUtilService, "refreshBeforeSeconds", 60L);
+
+		Mockito.when(environment.getProperty(Mockito.anyString())).thenAnswer(invocation -> {
+			String key = invocation.getArgument(0);
+			return key.endsWith(RegistrationConstants.SERVICE_URL) ? "https://localhost/v1/authenticate" : "1000";
+		});
+		Mockito.when(clientCryptoFacade.getClientSecurity().getSigningPublicPart()).thenReturn(new byte[] { 1, 2 });
+		Mockito.when(clientCryptoFacade.getClientSecurity().signData(Mockito.any())).thenReturn(new byte[] { 3, 4 });
+		Mockito.when(clientCryptoFacade.decrypt(Mockito.any())).thenReturn(
+				"{\"token\":\"token2\",\"refreshToken\":\"refresh2\",\"expiryTime\":3600,\"refreshExpiryTime\":7200}"
+						.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@After
+	public void tearDown() {
+		authTokenUtilService.shutdown();
+	}
+
+	@Test
+	public void fetchFromMemoryTest() throws Exception {
+		mockMachineToken(3600);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals("Authorization=token1", authTokenUtilService.fetchAuthToken("System").getCookie());
+		}
+
+		Mockito.verify(userTokenRepository, Mockito.times(1))
+				.findTopByTokenExpiryGreaterThanAndUserDetailIsActiveTrueOrderByTokenExpiryDesc(Mockito.anyLong());
+		Mockito.verifyZeroInteractions(restClientUtil);
+	}
+
+	@Test
+	public void singleFlightNewTokenTest() throws Exception {
+		mockMachineToken(3600);
+		String rejectedCookie = authTokenUtilService.fetchAuthToken("System").getCookie();
+
+		CountDownLatch tokenRequested = new CountDownLatch(1);
+		Mockito.when(restClientUtil.invokeForToken(Mockito.any())).thenAnswer(invocation -> {
+			tokenRequested.countDown();
+			Thread.sleep(200);
+			return tokenResponse();
+		});
+
+		// concurrent calls rejected with the same token
+		ExecutorService callers = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<AuthTokenDTO>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(callers.submit(() -> authTokenUtilService.fetchNewAuthToken("System", rejectedCookie)));
+			}
+			for (Future<AuthTokenDTO> result : results) {
+				assertEquals("Authorization=token2", result.get().getCookie());
+			}
+		} finally {
+			callers.shutdownNow();
+		}
+
+		Mockito.verify(restClientUtil, Mockito.times(1)).invokeForToken(Mockito.any());
+		assertEquals("Authorization=token2", authTokenUtilService.fetchAuthToken("System").getCookie());
+
+		// written to the database in the background
+		Mockito.verify(userDetailDAO, Mockito.timeout(2000)).updateAuthTokens(Mockito.eq("user1"),
+				Mockito.eq("token2"), Mockito.eq("refresh2"), Mockito.anyLong(), Mockito.anyLong());
+	}
+
+	@Test
+	public void proactiveRefreshTest() throws Exception {
+		// expires within the refresh window
+		mockMachineToken(30);
+		Mockito.when(restClientUtil.invokeForToken(Mockito.any())).thenReturn(tokenResponse());
+
+		assertEquals("Authorization=token1", authTokenUtilService.fetchAuthToken("System").getCookie());
+		assertEquals("Authorization=token1", authTokenUtilService.fetchAuthToken("System").getCookie());
+
+		Mockito.verify(restClientUtil, Mockito.timeout(2000)).invokeForToken(Mockito.any());
+		long deadline = System.currentTimeMillis() + 2000;
+		String cookie = null;
+		while (System.currentTimeMillis() < deadline
+				&& !"Authorization=token2".equals(cookie = authTokenUtilService.fetchAuthToken("System").getCookie())) {
+			Thread.sleep(20);
+		}
+		assertEquals("Authorization=token2", cookie);
+		Mockito.verify(restClientUtil, Mockito.times(1)).invokeForToken(Mockito.any());
+	}
+
+	private void mockMachineToken(long expiresInSeconds) {
+		long now = System.currentTimeMillis() / 1000;
+		UserToken userToken = new UserToken();
+		userToken.setUsrId("user1");
+		userToken.setToken("token1");
+		userToken.setRefreshToken("refresh1");
+		userToken.setTokenExpiry(now + expiresInSeconds);
+		userToken.setRtokenExpiry(now + 7200);
+		Mockito.when(userTokenRepository
+				.findTopByTokenExpiryGreaterThanAndUserDetailIsActiveTrueOrderByTokenExpiryDesc(Mockito.anyLong()))
+				.thenReturn(userToken);
+	}
+
+	private static Map<String, Object> tokenResponse() {
+		Map<String, Object> responseMap = new LinkedHashMap<>();
+		responseMap.put(RegistrationConstants.REST_RESPONSE_BODY,
+				Collections.singletonMap("response", CryptoUtil.encodeBase64("encrypted".getBytes())));
+		return responseMap;
+	}
+}
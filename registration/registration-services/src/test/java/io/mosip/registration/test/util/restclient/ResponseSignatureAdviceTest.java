@@ -1,49 +1,50 @@
 package io.mosip.registration.test.util.restclient;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.security.NoSuchAlgorithmException;
-import java.security.PrivateKey;
-import java.security.PublicKey;
-import java.security.spec.InvalidKeySpecException;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.Map;
-
-import javax.crypto.SecretKey;
+import java.util.Optional;
 
 import org.aspectj.lang.JoinPoint;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
-import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
-import org.powermock.api.mockito.PowerMockito;
-import org.powermock.core.classloader.annotations.PowerMockIgnore;
-import org.powermock.core.classloader.annotations.PrepareForTest;
-import org.powermock.modules.junit4.PowerMockRunner;
 import org.springframework.http.HttpHeaders;
-import org.springframework.web.client.RestTemplate;
-
-import io.mosip.kernel.core.crypto.spi.CryptoCoreSpec;
-import io.mosip.kernel.core.logger.spi.Logger;
-import io.mosip.kernel.core.signatureutil.spi.SignatureUtil;
-import io.mosip.kernel.keygenerator.bouncycastle.KeyGenerator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.kernel.core.util.CryptoUtil;
+import io.mosip.kernel.keymanagerservice.dto.KeyPairGenerateResponseDto;
+import io.mosip.kernel.keymanagerservice.service.KeymanagerService;
+import io.mosip.kernel.signature.dto.JWTSignatureVerifyRequestDto;
+import io.mosip.kernel.signature.dto.JWTSignatureVerifyResponseDto;
+import io.mosip.kernel.signature.service.SignatureService;
 import io.mosip.registration.constants.RegistrationConstants;
-import io.mosip.registration.context.ApplicationContext;
 import io.mosip.registration.exception.RegBaseCheckedException;
+import io.mosip.registration.service.sync.impl.PublicKeySyncImpl;
 import io.mosip.registration.util.advice.ResponseSignatureAdvice;
 import io.mosip.registration.util.restclient.RequestHTTPDTO;
 
-@RunWith(PowerMockRunner.class)
-@PowerMockIgnore({"com.sun.org.apache.xerces.*", "javax.xml.*", "org.xml.*", "javax.management.*"})
-@PrepareForTest({ ApplicationContext.class })
 public class ResponseSignatureAdviceTest {
 
+	private static final String SIGNATURE = "S6or4K8KD_bqdiDN-UjtyBSI-LPpm800xJF7VKsXIRcnf3z4MV5EbcBGoqc_OcstF6J1FYLTI5uCsonTIj7m4mNnf1H7jOTlZKErjBw0sDSt2PiLSVJdE642SRjD8RXEZGWl_BqGel5PyWfHnBP5Cmmflrtb2oXI8CqEoU7YDwXfcr0wNhy1mtlHpKQx9O82HqhHy59S7iMcBcdIE46rhm7sJkrnOYOU6hwcuGiOYZvbl_y_iOUn5HEZX_41iycQ5PZADDIngF8zJhLOAs1OS9MfJfaTBMtsvKwzfp3NGw6OXoAymYVlykCldCjDOIz6AlM2noKBz0vpc6i8Lxglhg";
+
+	private static final String RAW_BODY = "{\"id\":null,\"version\":null,\"responsetime\":\"2019-04-23T06:20:28.660Z\","
+			+ "\"metadata\":null,\"response\":{\"lastSyncTime\":\"2019-04-23T06:20:28.633Z\"},\"errors\":null}";
+
 	@Rule
 	public MockitoRule mockitoRule = MockitoJUnit.rule();
 
@@ -51,244 +52,175 @@ public class ResponseSignatureAdviceTest {
 	private ResponseSignatureAdvice responseSignatureAdvice;
 
 	@Mock
-	RestTemplate restTemplate;
-
-	@Mock       
-	private CryptoCoreSpec<byte[], byte[], SecretKey, PublicKey, PrivateKey, String> cryptoCore;
+	private SignatureService signatureService;
 
 	@Mock
-	KeyGenerator keyGenerator;
+	private KeymanagerService keymanagerService;
 
 	@Mock
-	SignatureUtil signatureUtil;
+	private PublicKeySyncImpl publicKeySync;
 
 	@Mock
 	private JoinPoint joinPointMock;
 
-	@Mock
-	private Object result;
-
-	@Mock
-	private Logger LOGGER;
-
 	@Before
-	public void init() throws Exception {
-		Map<String, Object> appMap = new HashMap<>();
-		appMap.put(RegistrationConstants.ASYMMETRIC_ALG_NAME, "RSA");
-
-		PowerMockito.mockStatic(ApplicationContext.class);
-		PowerMockito.doReturn(appMap).when(ApplicationContext.class, "map");
+	public void init() {
+		ReflectionTestUtils.setField(responseSignatureAdvice, "signRefId", "SIGN");
+		ReflectionTestUtils.setField(responseSignatureAdvice, "certificateCacheMillis", 3600000L);
+
+		KeyPairGenerateResponseDto certificateDto = new KeyPairGenerateResponseDto();
+		certificateDto.setCertificate("certificate");
+		certificateDto.setExpiryAt(LocalDateTime.now().plusYears(1));
+		Mockito.when(keymanagerService.getCertificate(RegistrationConstants.RESPONSE_SIGNATURE_PUBLIC_KEY_APP_ID,
+				Optional.of(RegistrationConstants.RESPONSE_SIGNATURE_PUBLIC_KEY_REF_ID))).thenReturn(certificateDto);
 	}
 
 	@Test
-	public void responseSignatureTest()
-			throws RegBaseCheckedException, URISyntaxException, InvalidKeySpecException, NoSuchAlgorithmException {
-
-		RequestHTTPDTO requestHTTPDTO = new RequestHTTPDTO();
-		requestHTTPDTO.setIsSignRequired(true);
-		requestHTTPDTO.setUri(new URI("/v1/mosip/test"));
-		Object[] args = new Object[1];
-		args[0] = requestHTTPDTO;
-		Mockito.when(joinPointMock.getArgs()).thenReturn(args);
-		Map<String, Object> mapResponse = new LinkedHashMap<>();
-		mapResponse.put("lastSyncTime", "2019-04-23T06:20:28.633Z");
-		mapResponse.put("publicKey", null);
-		mapResponse.put("issuedAt", null);
-		mapResponse.put("expiryAt", null);
-		Map<String, Object> linkedMapResponse = new LinkedHashMap<>();
-		linkedMapResponse.put("id", null);
-		linkedMapResponse.put("version", null);
-		linkedMapResponse.put("responsetime", "2019-04-23T06:20:28.660Z");
-		linkedMapResponse.put("metadata", null);
-		linkedMapResponse.put("response", mapResponse);
-		linkedMapResponse.put("errors", null);
-		HttpHeaders header = new HttpHeaders();
-		header.add("response-signature",
-				" S6or4K8KD_bqdiDN-UjtyBSI-LPpm800xJF7VKsXIRcnf3z4MV5EbcBGoqc_OcstF6J1FYLTI5uCsonTIj7m4mNnf1H7jOTlZKErjBw0sDSt2PiLSVJdE642SRjD8RXEZGWl_BqGel5PyWfHnBP5Cmmflrtb2oXI8CqEoU7YDwXfcr0wNhy1mtlHpKQx9O82HqhHy59S7iMcBcdIE46rhm7sJkrnOYOU6hwcuGiOYZvbl_y_iOUn5HEZX_41iycQ5PZADDIngF8zJhLOAs1OS9MfJfaTBMtsvKwzfp3NGw6OXoAymYVlykCldCjDOIz6AlM2noKBz0vpc6i8Lxglhg");
-
-		Map<String, Object> linkedMap = new LinkedHashMap<>();
-		linkedMap.put(RegistrationConstants.REST_RESPONSE_BODY, linkedMapResponse);
-		linkedMap.put(RegistrationConstants.REST_RESPONSE_HEADERS, header);
-		
-		Mockito.when(signatureUtil.validateWithPublicKey(Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
-				.thenReturn(true);
-		Mockito.when(cryptoCore.asymmetricDecrypt(Mockito.any(), Mockito.any()))
-				.thenReturn("rqN-Es-XfO9Ksl7mBJ0jjlWzkhMV1BPk4ShfOOq7QDQ".getBytes());
-
-		responseSignatureAdvice.responseSignatureValidation(joinPointMock, linkedMap);
-
+	public void responseSignatureTest() throws RegBaseCheckedException, URISyntaxException {
+		mockRequest(true, "/v1/mosip/test");
+		mockSignatureValid(true);
+
+		Map<String, Object> response = responseSignatureAdvice.responseSignatureValidation(joinPointMock,
+				buildResponse(mapResponse(null), true));
+
+		assertFalse(((Map<?, ?>) response.get(RegistrationConstants.REST_RESPONSE_BODY)).isEmpty());
+		assertNull(response.get(RegistrationConstants.REST_RESPONSE_RAW_BODY));
+
+		// verified against the body as received
+		ArgumentCaptor<JWTSignatureVerifyRequestDto> verifyRequest = ArgumentCaptor
+				.forClass(JWTSignatureVerifyRequestDto.class);
+		Mockito.verify(signatureService).jwtVerify(verifyRequest.capture());
+		assertEquals(CryptoUtil.encodeBase64(RAW_BODY.getBytes(StandardCharsets.UTF_8)),
+				verifyRequest.getValue().getActualData());
+		assertEquals(SIGNATURE, verifyRequest.getValue().getJwtSignatureData());
+		assertEquals("certificate", verifyRequest.getValue().getCertificateData());
 	}
 
 	@Test
-	public void responseSignatureTestCaseFail()
-			throws RegBaseCheckedException, URISyntaxException, InvalidKeySpecException, NoSuchAlgorithmException {
+	public void responseSignatureTestCaseFail() throws RegBaseCheckedException, URISyntaxException {
+		mockRequest(true, "/v1/mosip/test");
+		mockSignatureValid(false);
 
-		RequestHTTPDTO requestHTTPDTO = new RequestHTTPDTO();
-		requestHTTPDTO.setIsSignRequired(true);
-		requestHTTPDTO.setUri(new URI("/v1/mosip/test"));
-		Object[] args = new Object[1];
-		args[0] = requestHTTPDTO;
-		Mockito.when(joinPointMock.getArgs()).thenReturn(args);
-		Map<String, Object> mapResponse = new LinkedHashMap<>();
-		mapResponse.put("lastSyncTime", "2019-04-23T06:20:28.633Z");
-		mapResponse.put("publicKey", null);
-		mapResponse.put("issuedAt", null);
-		mapResponse.put("expiryAt", null);
-		Map<String, Object> linkedMapResponse = new LinkedHashMap<>();
-		linkedMapResponse.put("id", null);
-		linkedMapResponse.put("version", null);
-		linkedMapResponse.put("responsetime", "2019-04-23T06:20:28.660Z");
-		linkedMapResponse.put("metadata", null);
-		linkedMapResponse.put("response", mapResponse);
-		linkedMapResponse.put("errors", null);
+		Map<String, Object> response = responseSignatureAdvice.responseSignatureValidation(joinPointMock,
+				buildResponse(mapResponse(null), true));
 
-		HttpHeaders header = new HttpHeaders();
-		header.add("response-signature",
-				" S6or4K8KD_bqdiDN-UjtyBSI-LPpm800xJF7VKsXIRcnf3z4MV5EbcBGoqc_OcstF6J1FYLTI5uCsonTIj7m4mNnf1H7jOTlZKErjBw0sDSt2PiLSVJdE642SRjD8RXEZGWl_BqGel5PyWfHnBP5Cmmflrtb2oXI8CqEoU7YDwXfcr0wNhy1mtlHpKQx9O82HqhHy59S7iMcBcdIE46rhm7sJkrnOYOU6hwcuGiOYZvbl_y_iOUn5HEZX_41iycQ5PZADDIngF8zJhLOAs1OS9MfJfaTBMtsvKwzfp3NGw6OXoAymYVlykCldCjDOIz6AlM2noKBz0vpc6i8Lxglhg");
+		assertTrue(((Map<?, ?>) response.get(RegistrationConstants.REST_RESPONSE_BODY)).isEmpty());
+		// the certificate was just read, it is not read again
+		Mockito.verify(keymanagerService, Mockito.times(1)).getCertificate(Mockito.anyString(), Mockito.any());
+		assertEquals(1, responseSignatureAdvice.getVerificationStats().get("/v1/mosip/test").getInvalidCount());
+	}
 
-		Map<String, Object> linkedMap = new LinkedHashMap<>();
-		linkedMap.put(RegistrationConstants.REST_RESPONSE_BODY, linkedMapResponse);
-		linkedMap.put(RegistrationConstants.REST_RESPONSE_HEADERS, header);
-		
-		Mockito.when(signatureUtil.validateWithPublicKey(Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
-				.thenReturn(false);
-		Mockito.when(cryptoCore.asymmetricDecrypt(Mockito.any(), Mockito.any()))
-				.thenReturn("rqN-Es-XfO9Ksl7mBJ0jjlWzkhMV1BPk4ShfOOq7QDQ".getBytes());
+	@Test
+	public void responseSignatureWithoutRawBodyTest() throws RegBaseCheckedException, URISyntaxException {
+		mockRequest(true, "/v1/mosip/test");
+		mockSignatureValid(true);
 
-		responseSignatureAdvice.responseSignatureValidation(joinPointMock, linkedMap);
+		Map<String, Object> response = responseSignatureAdvice.responseSignatureValidation(joinPointMock,
+				buildResponse(mapResponse(null), false));
 
+		assertFalse(((Map<?, ?>) response.get(RegistrationConstants.REST_RESPONSE_BODY)).isEmpty());
+		Mockito.verify(signatureService).jwtVerify(Mockito.any());
 	}
 
 	@Test
-	public void responseSignatureTestFalse()
-			throws RegBaseCheckedException, URISyntaxException, InvalidKeySpecException, NoSuchAlgorithmException {
+	public void certificateCacheTest() throws RegBaseCheckedException, URISyntaxException {
+		mockRequest(true, "/v1/mosip/test");
+		mockSignatureValid(true);
 
-		RequestHTTPDTO requestHTTPDTO = new RequestHTTPDTO();
-		requestHTTPDTO.setIsSignRequired(true);
-		requestHTTPDTO.setUri(new URI("/v1/mosip/test"));
-		Object[] args = new Object[1];
-		args[0] = requestHTTPDTO;
-		Mockito.when(joinPointMock.getArgs()).thenReturn(args);
-		Map<String, Object> mapResponse = new LinkedHashMap<>();
-		mapResponse.put("lastSyncTime", "2019-04-23T06:20:28.633Z");
-		mapResponse.put("publicKey", null);
-		mapResponse.put("issuedAt", null);
-		mapResponse.put("expiryAt", null);
-		Map<String, Object> linkedMapResponse = new LinkedHashMap<>();
-		linkedMapResponse.put("id", null);
-		linkedMapResponse.put("version", null);
-		linkedMapResponse.put("responsetime", "2019-04-23T06:20:28.660Z");
-		linkedMapResponse.put("metadata", null);
-		linkedMapResponse.put("response", mapResponse);
-		linkedMapResponse.put("errors", null);
-		HttpHeaders header = new HttpHeaders();
-		header.add("response-signature",
-				" S6or4K8KD_bqdiDN-UjtyBSI-LPpm800xJF7VKsXIRcnf3z4MV5EbcBGoqc_OcstF6J1FYLTI5uCsonTIj7m4mNnf1H7jOTlZKErjBw0sDSt2PiLSVJdE642SRjD8RXEZGWl_BqGel5PyWfHnBP5Cmmflrtb2oXI8CqEoU7YDwXfcr0wNhy1mtlHpKQx9O82HqhHy59S7iMcBcdIE46rhm7sJkrnOYOU6hwcuGiOYZvbl_y_iOUn5HEZX_41iycQ5PZADDIngF8zJhLOAs1OS9MfJfaTBMtsvKwzfp3NGw6OXoAymYVlykCldCjDOIz6AlM2noKBz0vpc6i8Lxglhg");
+		for (int i = 0; i < 3; i++) {
+			responseSignatureAdvice.responseSignatureValidation(joinPointMock, buildResponse(mapResponse(null), true));
+		}
 
-		Map<String, Object> linkedMap = new LinkedHashMap<>();
-		linkedMap.put(RegistrationConstants.REST_RESPONSE_BODY, linkedMapResponse);
-		linkedMap.put(RegistrationConstants.REST_RESPONSE_HEADERS, header);
+		Mockito.verify(keymanagerService, Mockito.times(1)).getCertificate(Mockito.anyString(), Mockito.any());
+		Mockito.verify(signatureService, Mockito.times(3)).jwtVerify(Mockito.any());
+		assertEquals(3, responseSignatureAdvice.getVerificationStats().get("/v1/mosip/test").getCount());
+	}
 
-		Mockito.when(signatureUtil.validateWithPublicKey(Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
-				.thenReturn(true);
-		Mockito.when(cryptoCore.asymmetricDecrypt(Mockito.any(), Mockito.any()))
-				.thenReturn("qN-Es-XfO9Ksl7mBJ0jjlWzkhMV1BPk4ShfOOq7QDQ".getBytes());
+	@Test
+	public void certificateCacheExpiryTest() throws RegBaseCheckedException, URISyntaxException {
+		ReflectionTestUtils.setField(responseSignatureAdvice, "certificateCacheMillis", 0L);
+		mockRequest(true, "/v1/mosip/test");
+		mockSignatureValid(true);
 
-		responseSignatureAdvice.responseSignatureValidation(joinPointMock, linkedMap);
+		responseSignatureAdvice.responseSignatureValidation(joinPointMock, buildResponse(mapResponse(null), true));
+		responseSignatureAdvice.responseSignatureValidation(joinPointMock, buildResponse(mapResponse(null), true));
 
+		Mockito.verify(keymanagerService, Mockito.times(2)).getCertificate(Mockito.anyString(), Mockito.any());
 	}
 
 	@Test
-	public void responseSignatureTestNewKey()
-			throws RegBaseCheckedException, URISyntaxException, InvalidKeySpecException, NoSuchAlgorithmException {
-
-		RequestHTTPDTO requestHTTPDTO = new RequestHTTPDTO();
-		requestHTTPDTO.setIsSignRequired(true);
-		requestHTTPDTO.setUri(new URI("/v1/mosip/test"));
-		Object[] args = new Object[1];
-		args[0] = requestHTTPDTO;
-		Mockito.when(joinPointMock.getArgs()).thenReturn(args);
-		Map<String, Object> mapResponse = new LinkedHashMap<>();
-		mapResponse.put("lastSyncTime", "2019-04-23T06:20:28.633Z");
-		mapResponse.put("publicKey",
-				"MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAgIxusCzIYkOkWjG65eeLGNSXoNghIiH1wj1lxW1ZGqr35gM4od_5MXTmRAVamgFlPko8zfFgli-h0c2yLsPbPC2IGrHLB0FQp_MaCAst2xzQvG73nAr8Fkh-geJJ0KRvZE6TCYXNdRVczHfcxctyS4PGHCrHYv6GURzDlQ5SGmXko-xA92ULxpVrD-mYlZ7uOvr92dRJGR15p-D7cNXdBWwpc812aKTwYpHd719fryXrQ4JDrdeNXsjn7Q9BlehObc_MdAn1q3glsfx_VkuYhctT-vOEHiynkKfPlSMRd041U6pGNKgoqEuyvUlTRT7SgZQgzV9m0MEhWP9peehliQIDAQAB");
-		mapResponse.put("issuedAt", null);
-		mapResponse.put("expiryAt", null);
-		Map<String, Object> linkedMapResponse = new LinkedHashMap<>();
-		linkedMapResponse.put("id", null);
-		linkedMapResponse.put("version", null);
-		linkedMapResponse.put("responsetime", "2019-04-23T06:20:28.660Z");
-		linkedMapResponse.put("metadata", null);
-		linkedMapResponse.put("response", mapResponse);
-		linkedMapResponse.put("errors", null);
-		HttpHeaders header = new HttpHeaders();
-		header.add("response-signature",
-				" S6or4K8KD_bqdiDN-UjtyBSI-LPpm800xJF7VKsXIRcnf3z4MV5EbcBGoqc_OcstF6J1FYLTI5uCsonTIj7m4mNnf1H7jOTlZKErjBw0sDSt2PiLSVJdE642SRjD8RXEZGWl_BqGel5PyWfHnBP5Cmmflrtb2oXI8CqEoU7YDwXfcr0wNhy1mtlHpKQx9O82HqhHy59S7iMcBcdIE46rhm7sJkrnOYOU6hwcuGiOYZvbl_y_iOUn5HEZX_41iycQ5PZADDIngF8zJhLOAs1OS9MfJfaTBMtsvKwzfp3NGw6OXoAymYVlykCldCjDOIz6AlM2noKBz0vpc6i8Lxglhg");
-
-		Map<String, Object> linkedMap = new LinkedHashMap<>();
-		linkedMap.put(RegistrationConstants.REST_RESPONSE_BODY, linkedMapResponse);
-		linkedMap.put(RegistrationConstants.REST_RESPONSE_HEADERS, header);
+	public void rotatedCertificateTest() throws RegBaseCheckedException, URISyntaxException {
+		mockRequest(true, "/v1/mosip/test");
+		JWTSignatureVerifyResponseDto valid = new JWTSignatureVerifyResponseDto();
+		valid.setSignatureValid(true);
+		JWTSignatureVerifyResponseDto invalid = new JWTSignatureVerifyResponseDto();
+		invalid.setSignatureValid(false);
+		Mockito.when(signatureService.jwtVerify(Mockito.any())).thenReturn(valid, invalid, valid);
+
+		responseSignatureAdvice.responseSignatureValidation(joinPointMock, buildResponse(mapResponse(null), true));
+		Map<String, Object> response = responseSignatureAdvice.responseSignatureValidation(joinPointMock,
+				buildResponse(mapResponse(null), true));
+
+		// the cached certificate failed, the one from the key store is used
+		assertFalse(((Map<?, ?>) response.get(RegistrationConstants.REST_RESPONSE_BODY)).isEmpty());
+		Mockito.verify(keymanagerService, Mockito.times(2)).getCertificate(Mockito.anyString(), Mockito.any());
+	}
 
-		Mockito.when(signatureUtil.validateWithPublicKey(Mockito.anyString(), Mockito.anyString(), Mockito.anyString()))
-				.thenReturn(true);
-		Mockito.when(cryptoCore.asymmetricDecrypt(Mockito.any(), Mockito.any()))
-				.thenReturn("qN-Es-XfO9Ksl7mBJ0jjlWzkhMV1BPk4ShfOOq7QDQ".getBytes());
+	@Test
+	public void responseSignatureTestNewKey() throws RegBaseCheckedException, URISyntaxException {
+		mockRequest(true, "/v1/syncdata/getCertificate?applicationId=KERNEL&referenceId=SIGN");
+		mockSignatureValid(true);
 
-		responseSignatureAdvice.responseSignatureValidation(joinPointMock, linkedMap);
+		responseSignatureAdvice.responseSignatureValidation(joinPointMock, buildResponse(mapResponse("new"), true));
+		responseSignatureAdvice.responseSignatureValidation(joinPointMock, buildResponse(mapResponse("new"), true));
 
+		Mockito.verify(publicKeySync, Mockito.times(2)).saveSignPublicKey("new");
+		// the saved sign key is read again for each response
+		Mockito.verify(keymanagerService, Mockito.times(2)).getCertificate(Mockito.anyString(), Mockito.any());
 	}
 
 	@Test
 	public void responseSignatureTestFail() throws RegBaseCheckedException, URISyntaxException {
+		mockRequest(false, "/v1/mosip/test");
 
-		RequestHTTPDTO requestHTTPDTO = new RequestHTTPDTO();
-		requestHTTPDTO.setIsSignRequired(false);
-		requestHTTPDTO.setUri(new URI("/v1/mosip/test"));
-		Object[] args = new Object[1];
-		args[0] = requestHTTPDTO;
-		Mockito.when(joinPointMock.getArgs()).thenReturn(args);
-		Map<String, Object> mapResponse = new LinkedHashMap<>();
-		mapResponse.put("lastSyncTime", "2019-04-23T06:20:28.633Z");
-		mapResponse.put("publicKey", null);
-		mapResponse.put("issuedAt", null);
-		mapResponse.put("expiryAt", null);
-		Map<String, Object> linkedMapResponse = new LinkedHashMap<>();
-		linkedMapResponse.put("id", null);
-		linkedMapResponse.put("version", null);
-		linkedMapResponse.put("responsetime", "2019-04-23T06:20:28.660Z");
-		linkedMapResponse.put("metadata", null);
-		linkedMapResponse.put("response", mapResponse);
-		linkedMapResponse.put("errors", null);
-		Map<String, Object> linkedMapHeader = new LinkedHashMap<>();
-		linkedMapHeader.put("pragma", "no-cache");
-		linkedMapHeader.put("response-signature",
-				" S6or4K8KD_bqdiDN-UjtyBSI-LPpm800xJF7VKsXIRcnf3z4MV5EbcBGoqc_OcstF6J1FYLTI5uCsonTIj7m4mNnf1H7jOTlZKErjBw0sDSt2PiLSVJdE642SRjD8RXEZGWl_BqGel5PyWfHnBP5Cmmflrtb2oXI8CqEoU7YDwXfcr0wNhy1mtlHpKQx9O82HqhHy59S7iMcBcdIE46rhm7sJkrnOYOU6hwcuGiOYZvbl_y_iOUn5HEZX_41iycQ5PZADDIngF8zJhLOAs1OS9MfJfaTBMtsvKwzfp3NGw6OXoAymYVlykCldCjDOIz6AlM2noKBz0vpc6i8Lxglhg");
-
-		Map<String, Object> linkedMap = new LinkedHashMap<>();
-		linkedMap.put(RegistrationConstants.REST_RESPONSE_BODY, linkedMapResponse);
-		linkedMap.put(RegistrationConstants.REST_RESPONSE_HEADERS, linkedMapHeader);
-		
-		Mockito.when(cryptoCore.asymmetricDecrypt(Mockito.any(), Mockito.any()))
-				.thenReturn("qN-Es-XfO9Ksl7mBJ0jjlWzkhMV1BPk4ShfOOq7QDQ".getBytes());
-
-		responseSignatureAdvice.responseSignatureValidation(joinPointMock, linkedMap);
+		Map<String, Object> response = responseSignatureAdvice.responseSignatureValidation(joinPointMock,
+				buildResponse(mapResponse(null), false));
 
+		assertFalse(((Map<?, ?>) response.get(RegistrationConstants.REST_RESPONSE_BODY)).isEmpty());
+		Mockito.verifyZeroInteractions(signatureService, keymanagerService);
 	}
 
-	@Test(expected = Throwable.class)
+	@Test(expected = RegBaseCheckedException.class)
 	public void responseSignatureTestException() throws RegBaseCheckedException, URISyntaxException {
+		mockRequest(true, "/v1/mosip/test");
+		Mockito.when(signatureService.jwtVerify(Mockito.any())).thenThrow(new RuntimeException("invalid signature"));
+
+		responseSignatureAdvice.responseSignatureValidation(joinPointMock, buildResponse(mapResponse(null), true));
+	}
 
+	private void mockRequest(boolean isSignRequired, String uri) throws URISyntaxException {
 		RequestHTTPDTO requestHTTPDTO = new RequestHTTPDTO();
-		requestHTTPDTO.setIsSignRequired(true);
-		requestHTTPDTO.setUri(new URI("/v1/mosip/test"));
-		Object[] args = new Object[1];
-		args[0] = requestHTTPDTO;
-		Mockito.when(joinPointMock.getArgs()).thenReturn(args);
+		requestHTTPDTO.setIsSignRequired(isSignRequired);
+		requestHTTPDTO.setUri(new URI(uri));
+		Mockito.when(joinPointMock.getArgs()).thenReturn(new Object[] { requestHTTPDTO });
+	}
+
+	private void mockSignatureValid(boolean isSignatureValid) {
+		JWTSignatureVerifyResponseDto verifyResponseDto = new JWTSignatureVerifyResponseDto();
+		verifyResponseDto.setSignatureValid(isSignatureValid);
+		Mockito.when(signatureService.jwtVerify(Mockito.any())).thenReturn(verifyResponseDto);
+	}
+
+	private static Map<String, Object> mapResponse(String certificate) {
 		Map<String, Object> mapResponse = new LinkedHashMap<>();
 		mapResponse.put("lastSyncTime", "2019-04-23T06:20:28.633Z");
-		mapResponse.put("publicKey", null);
-		mapResponse.put("issuedAt", null);
-		mapResponse.put("expiryAt", null);
+		if (certificate != null) {
+			mapResponse.put(RegistrationConstants.CERTIFICATE, certificate);
+		}
+		return mapResponse;
+	}
+
+	private static Map<String, Object> buildResponse(Map<String, Object> mapResponse, boolean withRawBody) {
 		Map<String, Object> linkedMapResponse = new LinkedHashMap<>();
 		linkedMapResponse.put("id", null);
 		linkedMapResponse.put("version", null);
@@ -296,17 +228,16 @@ public class ResponseSignatureAdviceTest {
 		linkedMapResponse.put("metadata", null);
 		linkedMapResponse.put("response", mapResponse);
 		linkedMapResponse.put("errors", null);
-		Map<String, Object> linkedMapHeader = new LinkedHashMap<>();
-		linkedMapHeader.put("pragma", "no-cache");
-		linkedMapHeader.put("response-signature",
-				" S6or4K8KD_bqdiDN-UjtyBSI-LPpm800xJF7VKsXIRcnf3z4MV5EbcBGoqc_OcstF6J1FYLTI5uCsonTIj7m4mNnf1H7jOTlZKErjBw0sDSt2PiLSVJdE642SRjD8RXEZGWl_BqGel5PyWfHnBP5Cmmflrtb2oXI8CqEoU7YDwXfcr0wNhy1mtlHpKQx9O82HqhHy59S7iMcBcdIE46rhm7sJkrnOYOU6hwcuGiOYZvbl_y_iOUn5HEZX_41iycQ5PZADDIngF8zJhLOAs1OS9MfJfaTBMtsvKwzfp3NGw6OXoAymYVlykCldCjDOIz6AlM2noKBz0vpc6i8Lxglhg");
+		HttpHeaders header = new HttpHeaders();
+		header.add(RegistrationConstants.RESPONSE_SIGNATURE, SIGNATURE);
 
 		Map<String, Object> linkedMap = new LinkedHashMap<>();
 		linkedMap.put(RegistrationConstants.REST_RESPONSE_BODY, linkedMapResponse);
-		linkedMap.put(RegistrationConstants.REST_RESPONSE_HEADERS, linkedMapHeader);
-
-		responseSignatureAdvice.responseSignatureValidation(joinPointMock, linkedMap);
-
+		linkedMap.put(RegistrationConstants.REST_RESPONSE_HEADERS, header);
+		if (withRawBody) {
+			linkedMap.put(RegistrationConstants.REST_RESPONSE_RAW_BODY, RAW_BODY.getBytes(StandardCharsets.UTF_8));
+		}
+		return linkedMap;
 	}
 
 }